@@ -149,10 +149,32 @@ INSERT INTO `shenyu_dict` VALUES ('1679002911061737492', 'aiTokenLimitKey', 'URI
 INSERT INTO `shenyu_dict` VALUES ('1679002911061737493', 'aiTokenLimitKey', 'HEADER_KEY_RESOLVER', 'header', 'header', 'Rate limit by request header', 3, 1, '2024-02-07 14:31:49', '2024-02-07 14:31:49');
 INSERT INTO `shenyu_dict` VALUES ('1679002911061737494', 'aiTokenLimitKey', 'PARAMETER_KEY_RESOLVER', 'parameter', 'parameter', 'Rate limit by request parameter', 4, 1, '2024-02-07 14:31:49', '2024-02-07 14:31:49');
 INSERT INTO `shenyu_dict` VALUES ('1679002911061737495', 'aiTokenLimitKey', 'COOKIE_KEY_RESOLVER', 'cookie', 'cookie', 'Rate limit by request cookie', 5, 1, '2024-02-07 14:31:49', '2024-02-07 14:31:49');
+INSERT INTO `shenyu_dict` VALUES ('1679002911061737496', 'limiterMode', 'LIMITER_MODE', 'redis', 'redis', 'Rate limit by redis', 0, 1, '2025-03-12 06:02:32.450', '2025-03-12 06:02:32.450');
+INSERT INTO `shenyu_dict` VALUES ('1679002911061737497', 'limiterMode', 'LIMITER_MODE', 'hybrid', 'hybrid', 'Rate limit by tokens leased from redis', 1, 1, '2025-03-12 06:02:32.450', '2025-03-12 06:02:32.450');
+INSERT INTO `shenyu_dict` VALUES ('1679002911061737498', 'limiterMode', 'LIMITER_MODE', 'local', 'local', 'Rate limit in the memory of each gateway', 2, 1, '2025-03-12 06:02:32.450', '2025-03-12 06:02:32.450');
+INSERT INTO `shenyu_dict` VALUES ('1679002911061737499', 'http2', 'HTTP2', 'close', 'false', 'http/1.1 to the upstreams', 1, 1, '2025-03-12 06:02:32.450', '2025-03-12 06:02:32.450');
+INSERT INTO `shenyu_dict` VALUES ('1679002911061737500', 'http2', 'HTTP2', 'open', 'true', 'h2 or h2c to the upstreams', 0, 1, '2025-03-12 06:02:32.450', '2025-03-12 06:02:32.450');
 
 INSERT INTO `plugin_handle` VALUES ('1899702350766538752', '51', 'aiTokenLimitKey', 'aiTokenLimitKey', 3, 2, 0, '{\"required\":\"0\",\"rule\":\"\"}', '2025-03-12 06:01:49.725', '2025-03-12 06:07:49.856');
 INSERT INTO `plugin_handle` VALUES ('1899702411294539776', '51', 'timeWindowSeconds', 'timeWindowSeconds', 1, 2, 1, '{\"required\":\"0\",\"rule\":\"\"}', '2025-03-12 06:02:04.155', '2025-03-12 06:02:04.155');
 INSERT INTO `plugin_handle` VALUES ('1899702472330051584', '51', 'keyName', 'keyName', 2, 2, 2, '{\"required\":\"0\",\"rule\":\"\"}', '2025-03-12 06:02:18.707', '2025-03-12 06:02:18.707');
 INSERT INTO `plugin_handle` VALUES ('1899702529972371456', '51', 'tokenLimit', 'tokenLimit', 1, 2, 3, '{\"required\":\"0\",\"rule\":\"\"}', '2025-03-12 06:02:32.450', '2025-03-12 06:02:32.450');
+INSERT INTO `plugin_handle` VALUES ('1899702529972371457', '51', 'cutOffStream', 'cutOffStream', 3, 2, 4, '{\"defaultValue\":\"false\",\"rule\":\"\"}', '2025-03-12 06:02:32.450', '2025-03-12 06:02:32.450');
+INSERT INTO `plugin_handle` VALUES ('1899702529972371458', '51', 'budgetMode', 'budgetMode', 2, 2, 5, '{\"defaultValue\":\"redis\",\"rule\":\"\"}', '2025-03-12 06:02:32.450', '2025-03-12 06:02:32.450');
+INSERT INTO `plugin_handle` VALUES ('1899702529972371459', '51', 'flushInterval', 'flushInterval', 1, 2, 6, '{\"defaultValue\":\"1000\",\"rule\":\"\"}', '2025-03-12 06:02:32.450', '2025-03-12 06:02:32.450');
+INSERT INTO `plugin_handle` VALUES ('1899702529972371460', '42', 'clientWarmConnections', 'clientWarmConnections', 2, 1, 9, '{\"required\":\"0\",\"defaultValue\":\"0\",\"rule\":\"\"}', '2025-03-12 06:02:32.450', '2025-03-12 06:02:32.450');
+INSERT INTO `plugin_handle` VALUES ('1899702529972371461', '42', 'clientConnectTimeoutMs', 'clientConnectTimeoutMs', 2, 1, 10, '{\"required\":\"0\",\"defaultValue\":\"3000\",\"rule\":\"\"}', '2025-03-12 06:02:32.450', '2025-03-12 06:02:32.450');
+INSERT INTO `plugin_handle` VALUES ('1899702529972371466', '42', 'maxConnections', 'maxConnections', 2, 1, 11, '{\"required\":\"0\",\"defaultValue\":\"10000\",\"rule\":\"\"}', '2025-03-12 06:02:32.450', '2025-03-12 06:02:32.450');
+INSERT INTO `plugin_handle` VALUES ('1899702529972371467', '42', 'idleTimeoutMs', 'idleTimeoutMs', 2, 1, 12, '{\"required\":\"0\",\"defaultValue\":\"0\",\"placeholder\":\"0 means never\",\"rule\":\"\"}', '2025-03-12 06:02:32.450', '2025-03-12 06:02:32.450');
+DELETE FROM `plugin_handle` WHERE `plugin_id` = '42' AND `field` IN ('clientMaxConnections', 'clientPendingAcquireTimeout', 'clientPendingAcquireMaxCount', 'clientMaxLifeTimeMs');
+INSERT INTO `plugin_handle` VALUES ('1899702529972371462', '5', 'maxConnections', 'maxConnections', 1, 1, 7, '{\"required\":\"0\",\"defaultValue\":\"0\",\"placeholder\":\"0 means the shared pool\",\"rule\":\"\"}', '2025-03-12 06:02:32.450', '2025-03-12 06:02:32.450');
+INSERT INTO `plugin_handle` VALUES ('1899702529972371463', '5', 'pendingAcquireMaxCount', 'pendingAcquireMaxCount', 1, 1, 8, '{\"required\":\"0\",\"defaultValue\":\"0\",\"rule\":\"\"}', '2025-03-12 06:02:32.450', '2025-03-12 06:02:32.450');
+INSERT INTO `plugin_handle` VALUES ('1899702529972371464', '5', 'maxIdleTime', 'maxIdleTime', 1, 1, 9, '{\"required\":\"0\",\"defaultValue\":\"0\",\"placeholder\":\"max idle time ms\",\"rule\":\"\"}', '2025-03-12 06:02:32.450', '2025-03-12 06:02:32.450');
+INSERT INTO `plugin_handle` VALUES ('1899702529972371465', '5', 'maxLifeTime', 'maxLifeTime', 1, 1, 10, '{\"required\":\"0\",\"defaultValue\":\"0\",\"placeholder\":\"max life time ms\",\"rule\":\"\"}', '2025-03-12 06:02:32.450', '2025-03-12 06:02:32.450');
+INSERT INTO `plugin_handle` VALUES ('1899702529972371468', '4', 'limiterMode', 'limiterMode', 3, 2, 5, '{\"required\":\"0\",\"defaultValue\":\"redis\",\"rule\":\"\"}', '2025-03-12 06:02:32.450', '2025-03-12 06:02:32.450');
+INSERT INTO `plugin_handle` VALUES ('1899702529972371469', '4', 'leaseSize', 'leaseSize', 2, 2, 6, '{\"required\":\"0\",\"defaultValue\":\"0\",\"placeholder\":\"0 means a tenth of replenishRate\",\"rule\":\"\"}', '2025-03-12 06:02:32.450', '2025-03-12 06:02:32.450');
+INSERT INTO `plugin_handle` VALUES ('1899702529972371470', '5', 'hedgePercentile', 'hedgePercentile', 1, 2, 5, '{\"required\":\"0\",\"defaultValue\":\"0\",\"placeholder\":\"0 disables hedging, which replaces retries\",\"rule\":\"\"}', '2025-03-12 06:02:32.450', '2025-03-12 06:02:32.450');
+INSERT INTO `plugin_handle` VALUES ('1899702529972371471', '5', 'retryBudgetRatio', 'retryBudgetRatio', 1, 2, 6, '{\"required\":\"0\",\"defaultValue\":\"0.1\",\"rule\":\"\"}', '2025-03-12 06:02:32.450', '2025-03-12 06:02:32.450');
+INSERT INTO `plugin_handle` VALUES ('1899702529972371472', '5', 'http2', 'http2', 3, 2, 7, '{\"required\":\"0\",\"defaultValue\":\"false\",\"rule\":\"\"}', '2025-03-12 06:02:32.450', '2025-03-12 06:02:32.450');
 
 DELETE FROM `plugin_handle` WHERE `plugin_id` = '8';
\ No newline at end of file
@@ -42,6 +42,12 @@ public class HttpSyncProperties {
      */
     private int notifyBatchSize = 100;
 
+    /**
+     * The max changes kept for each config group to respond the delta, the client which falls
+     * further behind fetches the full data, default: 1000.
+     */
+    private int changeLogSize = 1000;
+
     /**
      * Gets the value of enabled.
      *
@@ -95,4 +101,22 @@ public class HttpSyncProperties {
     public void setNotifyBatchSize(final int notifyBatchSize) {
         this.notifyBatchSize = notifyBatchSize;
     }
+
+    /**
+     * Gets the value of changeLogSize.
+     *
+     * @return the value of changeLogSize
+     */
+    public int getChangeLogSize() {
+        return changeLogSize;
+    }
+
+    /**
+     * Sets the changeLogSize.
+     *
+     * @param changeLogSize changeLogSize
+     */
+    public void setChangeLogSize(final int changeLogSize) {
+        this.changeLogSize = changeLogSize;
+    }
 }
@@ -23,6 +23,7 @@ import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.constraints.NotNull;
 import org.apache.commons.lang3.ObjectUtils;
 import org.apache.commons.lang3.StringUtils;
+import org.apache.commons.lang3.math.NumberUtils;
 import org.apache.shenyu.admin.exception.ShenyuAdminException;
 import org.apache.shenyu.admin.listener.http.HttpLongPollingDataChangedListener;
 import org.apache.shenyu.admin.model.result.ShenyuAdminResult;
@@ -30,6 +31,7 @@ import org.apache.shenyu.admin.model.vo.NamespaceVO;
 import org.apache.shenyu.admin.service.NamespaceService;
 import org.apache.shenyu.admin.utils.ShenyuResultMessage;
 import org.apache.shenyu.common.dto.ConfigData;
+import org.apache.shenyu.common.dto.ConfigDelta;
 import org.apache.shenyu.common.enums.ConfigGroupEnum;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -39,6 +41,7 @@ import org.springframework.web.bind.annotation.ResponseBody;
 import org.springframework.web.bind.annotation.RestController;
 
 import java.util.Map;
+import java.util.Objects;
 
 
 /**
@@ -69,13 +72,7 @@ public class ConfigController {
      */
     @GetMapping("/fetch")
     public ShenyuAdminResult fetchConfigs(@NotNull final String[] groupKeys, final String namespaceId) {
-        if (StringUtils.isEmpty(namespaceId)) {
-            throw new ShenyuAdminException("namespaceId is null");
-        }
-        NamespaceVO existNamespace = namespaceService.findByNamespaceId(namespaceId);
-        if (StringUtils.isNotEmpty(namespaceId) && ObjectUtils.isEmpty(existNamespace)) {
-            throw new ShenyuAdminException("namespace is not exist");
-        }
+        checkNamespace(namespaceId);
         Map<String, ConfigData<?>> result = Maps.newHashMap();
         for (String groupKey : groupKeys) {
             ConfigData<?> data = httpLongPollingDataChangedListener.fetchConfig(ConfigGroupEnum.valueOf(groupKey), namespaceId);
@@ -84,6 +81,30 @@ public class ConfigController {
         return ShenyuAdminResult.success(ShenyuResultMessage.SUCCESS, result);
     }
     
+    /**
+     * Fetch the config changes since the revisions of the client.
+     * The revision of a group is the parameter named by the group key, in the format of "md5,revision".
+     *
+     * @param groupKeys   the group keys
+     * @param namespaceId namespaceId
+     * @param request     the request
+     * @return the shenyu result
+     */
+    @GetMapping("/delta")
+    public ShenyuAdminResult fetchConfigDeltas(@NotNull final String[] groupKeys, final String namespaceId, final HttpServletRequest request) {
+        checkNamespace(namespaceId);
+        Map<String, ConfigDelta<?>> result = Maps.newHashMap();
+        for (String groupKey : groupKeys) {
+            String[] params = StringUtils.split(request.getParameter(groupKey), ',');
+            boolean valid = Objects.nonNull(params) && params.length == 2;
+            String md5 = valid ? params[0] : null;
+            long revision = valid ? NumberUtils.toLong(params[1], -1L) : -1L;
+            ConfigDelta<?> delta = httpLongPollingDataChangedListener.fetchConfigDelta(ConfigGroupEnum.valueOf(groupKey), namespaceId, revision, md5);
+            result.put(groupKey, delta);
+        }
+        return ShenyuAdminResult.success(ShenyuResultMessage.SUCCESS, result);
+    }
+    
     /**
      * Listener.
      *
@@ -95,4 +116,14 @@ public class ConfigController {
         httpLongPollingDataChangedListener.doLongPolling(request, response);
     }
     
+    private void checkNamespace(final String namespaceId) {
+        if (StringUtils.isEmpty(namespaceId)) {
+            throw new ShenyuAdminException("namespaceId is null");
+        }
+        NamespaceVO existNamespace = namespaceService.findByNamespaceId(namespaceId);
+        if (StringUtils.isNotEmpty(namespaceId) && ObjectUtils.isEmpty(existNamespace)) {
+            throw new ShenyuAdminException("namespace is not exist");
+        }
+    }
+    
 }
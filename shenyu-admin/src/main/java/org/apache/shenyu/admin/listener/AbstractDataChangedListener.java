@@ -18,10 +18,15 @@
 package org.apache.shenyu.admin.listener;
 
 import jakarta.annotation.Resource;
+import java.math.BigInteger;
+import java.util.Collections;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
+import java.util.stream.Collectors;
 import org.apache.commons.codec.digest.DigestUtils;
 import org.apache.commons.collections4.CollectionUtils;
 import org.apache.commons.lang3.StringUtils;
@@ -37,6 +42,7 @@ import org.apache.shenyu.admin.service.RuleService;
 import org.apache.shenyu.admin.service.SelectorService;
 import org.apache.shenyu.common.dto.AppAuthData;
 import org.apache.shenyu.common.dto.ConfigData;
+import org.apache.shenyu.common.dto.ConfigDelta;
 import org.apache.shenyu.common.dto.DiscoverySyncData;
 import org.apache.shenyu.common.dto.MetaData;
 import org.apache.shenyu.common.dto.PluginData;
@@ -68,8 +74,19 @@ public abstract class AbstractDataChangedListener implements DataChangedListener
      */
     protected static final ConcurrentMap<String, ConfigDataCache> CACHE = new ConcurrentHashMap<>();
 
+    /**
+     * The change logs of the cache.
+     */
+    protected static final ConcurrentMap<String, ConfigChangeLog> CHANGE_LOG = new ConcurrentHashMap<>();
+
     private static final Logger LOG = LoggerFactory.getLogger(AbstractDataChangedListener.class);
 
+    /**
+     * the md5 of the keyed data is the sum of the md5 of each data modulo 2^128,
+     * so it is updated by the changed data only.
+     */
+    private static final BigInteger DIGEST_MODULUS = BigInteger.ONE.shiftLeft(128);
+
     @Resource
     private AppAuthService appAuthService;
 
@@ -114,25 +131,31 @@ public abstract class AbstractDataChangedListener implements DataChangedListener
      * @return the configuration data
      */
     public ConfigData<?> fetchConfig(final ConfigGroupEnum groupKey, final String namespaceId) {
-        ConfigDataCache config = CACHE.get(HttpLongPollingDataChangedListener.buildCacheKey(namespaceId, groupKey.name()));
-        switch (groupKey) {
-            case APP_AUTH:
-                return buildConfigData(config, AppAuthData.class);
-            case PLUGIN:
-                return buildConfigData(config, PluginData.class);
-            case RULE:
-                return buildConfigData(config, RuleData.class);
-            case SELECTOR:
-                return buildConfigData(config, SelectorData.class);
-            case META_DATA:
-                return buildConfigData(config, MetaData.class);
-            case PROXY_SELECTOR:
-                return buildConfigData(config, ProxySelectorData.class);
-            case DISCOVER_UPSTREAM:
-                return buildConfigData(config, DiscoverySyncData.class);
-            default:
-                throw new IllegalStateException("Unexpected groupKey: " + groupKey);
+        ConfigDataCache config = obtainConfig(groupKey, namespaceId);
+        return buildConfigData(config, dataType(groupKey));
+    }
+
+    /**
+     * fetch the configuration changes since the revision of the client from cache,
+     * the full configuration is returned if the changes are not kept.
+     *
+     * @param groupKey    the group key
+     * @param namespaceId the namespaceId
+     * @param revision    the revision of the client
+     * @param md5         the md5 of the client
+     * @return the configuration delta
+     */
+    public ConfigDelta<?> fetchConfigDelta(final ConfigGroupEnum groupKey, final String namespaceId, final long revision, final String md5) {
+        String configDataCacheKey = HttpLongPollingDataChangedListener.buildCacheKey(namespaceId, groupKey.name());
+        ConfigDataCache config = obtainConfig(groupKey, namespaceId);
+        List<ConfigChangeLog.Change> changes;
+        if (config.getRevision() == revision && StringUtils.equals(config.getMd5(), md5)) {
+            changes = Collections.emptyList();
+        } else {
+            ConfigChangeLog changeLog = CHANGE_LOG.get(configDataCacheKey);
+            changes = Objects.isNull(changeLog) ? null : changeLog.since(revision, md5, config);
         }
+        return buildConfigDelta(config, changes, dataType(groupKey));
     }
 
     @Override
@@ -141,7 +164,7 @@ public abstract class AbstractDataChangedListener implements DataChangedListener
             return;
         }
         String namespaceId = changed.stream().map(value -> StringUtils.defaultString(value.getNamespaceId(), SYS_DEFAULT_NAMESPACE_ID)).findFirst().get();
-        this.updateAppAuthCache(namespaceId);
+        this.updateCacheAndRecordChange(ConfigGroupEnum.APP_AUTH, namespaceId, changed, eventType, () -> this.updateAppAuthCache(namespaceId));
         this.afterAppAuthChanged(changed, eventType, namespaceId);
     }
 
@@ -160,7 +183,7 @@ public abstract class AbstractDataChangedListener implements DataChangedListener
             return;
         }
         String namespaceId = changed.stream().map(value -> StringUtils.defaultString(value.getNamespaceId(), SYS_DEFAULT_NAMESPACE_ID)).findFirst().get();
-        this.updateMetaDataCache(namespaceId);
+        this.updateCacheAndRecordChange(ConfigGroupEnum.META_DATA, namespaceId, changed, eventType, () -> this.updateMetaDataCache(namespaceId));
         this.afterMetaDataChanged(changed, eventType, namespaceId);
     }
 
@@ -179,7 +202,7 @@ public abstract class AbstractDataChangedListener implements DataChangedListener
             return;
         }
         String namespaceId = changed.stream().map(value -> StringUtils.defaultString(value.getNamespaceId(), SYS_DEFAULT_NAMESPACE_ID)).findFirst().get();
-        this.updatePluginCache(namespaceId);
+        this.updateCacheAndRecordChange(ConfigGroupEnum.PLUGIN, namespaceId, changed, eventType, () -> this.updatePluginCache(namespaceId));
         this.afterPluginChanged(changed, eventType, namespaceId);
     }
 
@@ -198,7 +221,7 @@ public abstract class AbstractDataChangedListener implements DataChangedListener
             return;
         }
         String namespaceId = changed.stream().map(value -> StringUtils.defaultString(value.getNamespaceId(), SYS_DEFAULT_NAMESPACE_ID)).findFirst().get();
-        this.updateRuleCache(namespaceId);
+        this.updateCacheAndRecordChange(ConfigGroupEnum.RULE, namespaceId, changed, eventType, () -> this.updateRuleCache(namespaceId));
         this.afterRuleChanged(changed, eventType, namespaceId);
     }
 
@@ -217,7 +240,7 @@ public abstract class AbstractDataChangedListener implements DataChangedListener
             return;
         }
         String namespaceId = changed.stream().map(value -> StringUtils.defaultString(value.getNamespaceId(), SYS_DEFAULT_NAMESPACE_ID)).findFirst().get();
-        this.updateSelectorCache(namespaceId);
+        this.updateCacheAndRecordChange(ConfigGroupEnum.SELECTOR, namespaceId, changed, eventType, () -> this.updateSelectorCache(namespaceId));
         this.afterSelectorChanged(changed, eventType, namespaceId);
     }
 
@@ -233,7 +256,7 @@ public abstract class AbstractDataChangedListener implements DataChangedListener
             return;
         }
         String namespaceId = changed.stream().map(value -> StringUtils.defaultString(value.getNamespaceId(), SYS_DEFAULT_NAMESPACE_ID)).findFirst().get();
-        this.updateProxySelectorDataCache(namespaceId);
+        this.updateCacheAndRecordChange(ConfigGroupEnum.PROXY_SELECTOR, namespaceId, changed, eventType, () -> this.updateProxySelectorDataCache(namespaceId));
         this.afterProxySelectorChanged(changed, eventType, namespaceId);
     }
 
@@ -258,7 +281,7 @@ public abstract class AbstractDataChangedListener implements DataChangedListener
             return;
         }
         String namespaceId = changed.stream().map(value -> StringUtils.defaultString(value.getNamespaceId(), SYS_DEFAULT_NAMESPACE_ID)).findFirst().get();
-        this.updateDiscoveryUpstreamDataCache(namespaceId);
+        this.updateCacheAndRecordChange(ConfigGroupEnum.DISCOVER_UPSTREAM, namespaceId, changed, eventType, () -> this.updateDiscoveryUpstreamDataCache(namespaceId));
         this.afterDiscoveryUpstreamDataChanged(changed, eventType, namespaceId);
     }
 
@@ -288,6 +311,133 @@ public abstract class AbstractDataChangedListener implements DataChangedListener
 
     protected abstract void afterInitialize();
 
+    /**
+     * The max changes kept for each config group, the change log is disabled if not positive.
+     *
+     * @return the change log size
+     */
+    protected int getChangeLogSize() {
+        return 0;
+    }
+
+    /**
+     * update the cache and record the change which produced the new revision of the cache.
+     * The change is not recorded if the cache is not changed by it or it is not incremental,
+     * and the clients before the current revision fetch the full data then.
+     *
+     * @param group       the group
+     * @param namespaceId the namespace id
+     * @param changed     the changed data
+     * @param eventType   the event type
+     * @param updater     the updater of the cache
+     */
+    private <T> void updateCacheAndRecordChange(final ConfigGroupEnum group, final String namespaceId, final List<T> changed,
+                                                final DataEventTypeEnum eventType, final Runnable updater) {
+        String configDataCacheKey = HttpLongPollingDataChangedListener.buildCacheKey(namespaceId, group.name());
+        synchronized (this) {
+            ConfigDataCache previous = CACHE.get(configDataCacheKey);
+            if (!applyChanges(configDataCacheKey, previous, changed, eventType)) {
+                updater.run();
+            }
+            ConfigDataCache current = CACHE.get(configDataCacheKey);
+            if (getChangeLogSize() <= 0 || Objects.isNull(current) || previous == current) {
+                return;
+            }
+            ConfigChangeLog changeLog = CHANGE_LOG.computeIfAbsent(configDataCacheKey, key -> new ConfigChangeLog(getChangeLogSize()));
+            if (Objects.nonNull(previous) && current.getRevision() == previous.getRevision() + 1 && isIncremental(eventType)) {
+                changeLog.append(previous, current, eventType.name(), GsonUtils.getInstance().toJson(changed));
+            } else {
+                changeLog.reset(current);
+            }
+        }
+    }
+
+    /**
+     * apply the changed data to the keyed data of the cache, so neither the data are reloaded
+     * nor the whole data are serialized for the change.
+     *
+     * @param configDataCacheKey the cache key
+     * @param previous           the previous cache
+     * @param changed            the changed data
+     * @param eventType          the event type
+     * @return false if the changes can not be applied and the cache should be reloaded
+     */
+    private <T> boolean applyChanges(final String configDataCacheKey, final ConfigDataCache previous, final List<T> changed, final DataEventTypeEnum eventType) {
+        if (Objects.isNull(previous) || Objects.isNull(previous.getEntries()) || !isIncremental(eventType)) {
+            return false;
+        }
+        boolean deleted = DataEventTypeEnum.DELETE == eventType;
+        Map<String, String> entries = new LinkedHashMap<>(previous.getEntries());
+        BigInteger digest = new BigInteger(previous.getMd5(), 16);
+        for (T data : changed) {
+            String key = keyOf(data);
+            if (Objects.isNull(key)) {
+                return false;
+            }
+            String json = deleted ? null : GsonUtils.getInstance().toJson(data);
+            String old = deleted ? entries.remove(key) : entries.put(key, json);
+            if (Objects.nonNull(old)) {
+                digest = digest.subtract(digestOf(key, old));
+            }
+            if (!deleted) {
+                digest = digest.add(digestOf(key, json));
+            }
+        }
+        String newMd5 = md5Of(digest);
+        if (newMd5.equals(previous.getMd5())) {
+            LOG.info("config cache[{}] is not changed, skip update.", configDataCacheKey);
+            return true;
+        }
+        ConfigDataCache newVal = new ConfigDataCache(configDataCacheKey, entries, newMd5, System.currentTimeMillis(),
+                previous.getNamespaceId(), previous.getRevision() + 1);
+        CACHE.put(configDataCacheKey, newVal);
+        LOG.info("apply {} changes to config cache[{}], updated: {}", eventType, configDataCacheKey, newVal);
+        return true;
+    }
+
+    /**
+     * the key of the data which the clients fetch the changes of, the other data are not keyed.
+     *
+     * @param data the data
+     * @return the key, null if the data is not keyed
+     */
+    private static String keyOf(final Object data) {
+        if (data instanceof SelectorData) {
+            return ((SelectorData) data).getId();
+        }
+        if (data instanceof RuleData) {
+            return ((RuleData) data).getId();
+        }
+        if (data instanceof MetaData) {
+            return ((MetaData) data).getId();
+        }
+        return null;
+    }
+
+    private static <T> Map<String, String> toEntries(final List<T> data) {
+        Map<String, String> entries = new LinkedHashMap<>(data.size());
+        for (T value : data) {
+            String key = keyOf(value);
+            if (Objects.isNull(key)) {
+                return null;
+            }
+            entries.put(key, GsonUtils.getInstance().toJson(value));
+        }
+        return entries;
+    }
+
+    private static BigInteger digestOf(final String key, final String json) {
+        return new BigInteger(1, DigestUtils.md5(key + json));
+    }
+
+    private static String md5Of(final BigInteger digest) {
+        return String.format("%032x", digest.mod(DIGEST_MODULUS));
+    }
+
+    private static boolean isIncremental(final DataEventTypeEnum eventType) {
+        return DataEventTypeEnum.CREATE == eventType || DataEventTypeEnum.UPDATE == eventType || DataEventTypeEnum.DELETE == eventType;
+    }
+
     /**
      * if md5 is not the same as the original, then update local cache.
      *
@@ -296,8 +446,10 @@ public abstract class AbstractDataChangedListener implements DataChangedListener
      * @param data  the new config data
      */
     protected <T> void updateCache(final ConfigGroupEnum group, final List<T> data, final String namespaceId) {
-        String json = GsonUtils.getInstance().toJson(data);
-        String newMd5 = DigestUtils.md5Hex(json);
+        Map<String, String> entries = toEntries(data);
+        String json = Objects.isNull(entries) ? GsonUtils.getInstance().toJson(data) : null;
+        String newMd5 = Objects.isNull(entries) ? DigestUtils.md5Hex(json)
+                : md5Of(entries.entrySet().stream().map(entry -> digestOf(entry.getKey(), entry.getValue())).reduce(BigInteger.ZERO, BigInteger::add));
         ConfigDataCache oldConfig = CACHE.get(HttpLongPollingDataChangedListener.buildCacheKey(namespaceId, group.name()));
         if (Objects.nonNull(oldConfig) && StringUtils.isNotBlank(oldConfig.getMd5())) {
             if (oldConfig.getMd5().equals(newMd5)) {
@@ -306,7 +458,9 @@ public abstract class AbstractDataChangedListener implements DataChangedListener
             }
         }
         String configDataCacheKey = HttpLongPollingDataChangedListener.buildCacheKey(namespaceId, group.name());
-        ConfigDataCache newVal = new ConfigDataCache(configDataCacheKey, json, newMd5, System.currentTimeMillis(), namespaceId);
+        long revision = Objects.isNull(oldConfig) ? 1L : oldConfig.getRevision() + 1;
+        ConfigDataCache newVal = Objects.isNull(entries) ? new ConfigDataCache(configDataCacheKey, json, newMd5, System.currentTimeMillis(), namespaceId, revision)
+                : new ConfigDataCache(configDataCacheKey, entries, newMd5, System.currentTimeMillis(), namespaceId, revision);
         ConfigDataCache oldVal = CACHE.put(newVal.getGroup(), newVal);
         LOG.info("update config cache[{}], old: {}, updated: {}", group, oldVal, newVal);
     }
@@ -371,8 +525,92 @@ public abstract class AbstractDataChangedListener implements DataChangedListener
         this.updateCache(ConfigGroupEnum.DISCOVER_UPSTREAM, discoveryUpstreamService.listAll(), namespaceId);
     }
 
+    /**
+     * get the cache of the group, the cache of a namespace created after the startup is loaded on the first fetch.
+     *
+     * @param groupKey    the group key
+     * @param namespaceId the namespace id
+     * @return the cache
+     */
+    private ConfigDataCache obtainConfig(final ConfigGroupEnum groupKey, final String namespaceId) {
+        String configDataCacheKey = HttpLongPollingDataChangedListener.buildCacheKey(namespaceId, groupKey.name());
+        ConfigDataCache config = CACHE.get(configDataCacheKey);
+        if (Objects.nonNull(config)) {
+            return config;
+        }
+        synchronized (this) {
+            if (!CACHE.containsKey(configDataCacheKey)) {
+                refreshGroupCache(groupKey, namespaceId);
+            }
+        }
+        return CACHE.get(configDataCacheKey);
+    }
+
+    private void refreshGroupCache(final ConfigGroupEnum groupKey, final String namespaceId) {
+        switch (groupKey) {
+            case APP_AUTH:
+                updateAppAuthCache(namespaceId);
+                break;
+            case PLUGIN:
+                updatePluginCache(namespaceId);
+                break;
+            case RULE:
+                updateRuleCache(namespaceId);
+                break;
+            case SELECTOR:
+                updateSelectorCache(namespaceId);
+                break;
+            case META_DATA:
+                updateMetaDataCache(namespaceId);
+                break;
+            case PROXY_SELECTOR:
+                updateProxySelectorDataCache(namespaceId);
+                break;
+            case DISCOVER_UPSTREAM:
+                updateDiscoveryUpstreamDataCache(namespaceId);
+                break;
+            default:
+                throw new IllegalStateException("Unexpected groupKey: " + groupKey);
+        }
+    }
+
     private <T> ConfigData<T> buildConfigData(final ConfigDataCache config, final Class<T> dataType) {
-        return new ConfigData<>(config.getMd5(), config.getLastModifyTime(), GsonUtils.getInstance().fromList(config.getJson(), dataType));
+        return new ConfigData<>(config.getMd5(), config.getLastModifyTime(), GsonUtils.getInstance().fromList(config.getJson(), dataType))
+                .setRevision(config.getRevision());
+    }
+
+    private <T> ConfigDelta<T> buildConfigDelta(final ConfigDataCache config, final List<ConfigChangeLog.Change> changes, final Class<T> dataType) {
+        ConfigDelta<T> delta = new ConfigDelta<T>()
+                .setMd5(config.getMd5())
+                .setLastModifyTime(config.getLastModifyTime())
+                .setRevision(config.getRevision());
+        if (Objects.isNull(changes)) {
+            return delta.setFull(true).setData(GsonUtils.getInstance().fromList(config.getJson(), dataType));
+        }
+        return delta.setChanges(changes.stream()
+                .map(change -> new ConfigDelta.Change<>(change.getRevision(), change.getEventType(), GsonUtils.getInstance().fromList(change.getJson(), dataType)))
+                .collect(Collectors.toList()));
+    }
+
+    private static Class<?> dataType(final ConfigGroupEnum groupKey) {
+        switch (groupKey) {
+            case APP_AUTH:
+                return AppAuthData.class;
+            case PLUGIN:
+                return PluginData.class;
+            case RULE:
+                return RuleData.class;
+            case SELECTOR:
+                return SelectorData.class;
+            case META_DATA:
+                return MetaData.class;
+            case PROXY_SELECTOR:
+                return ProxySelectorData.class;
+            case DISCOVER_UPSTREAM:
+                return DiscoverySyncData.class;
+            default:
+                throw new IllegalStateException("Unexpected groupKey: " + groupKey);
+        }
     }
 
 }
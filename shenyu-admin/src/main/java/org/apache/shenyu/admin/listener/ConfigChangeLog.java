@@ -0,0 +1,192 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.shenyu.admin.listener;
+
+import org.apache.commons.lang3.StringUtils;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * The bounded change log of a config group, each change is the revision of the {@link ConfigDataCache}
+ * it produced, so the clients at a kept revision can fetch the changes since it instead of the full data.
+ * The revisions are compared together with the md5, they are not comparable between the admin instances.
+ */
+public class ConfigChangeLog {
+
+    private final int capacity;
+
+    private final Deque<Change> changes = new ArrayDeque<>();
+
+    /**
+     * the revision before the first kept change.
+     */
+    private long baseRevision;
+
+    /**
+     * the md5 before the first kept change.
+     */
+    private String baseMd5;
+
+    /**
+     * Instantiates a new Config change log.
+     *
+     * @param capacity the max changes kept
+     */
+    public ConfigChangeLog(final int capacity) {
+        this.capacity = capacity;
+    }
+
+    /**
+     * Append the change which updated the cache from the previous to the current.
+     * The kept changes are dropped if they do not end with the previous, as the cache
+     * was refreshed without the changes.
+     *
+     * @param previous  the previous cache
+     * @param current   the current cache
+     * @param eventType the event type
+     * @param json      the json of the changed data
+     */
+    public synchronized void append(final ConfigDataCache previous, final ConfigDataCache current, final String eventType, final String json) {
+        if (!isLatest(previous.getRevision(), previous.getMd5())) {
+            reset(previous);
+        }
+        changes.addLast(new Change(current.getRevision(), current.getMd5(), eventType, json));
+        if (changes.size() > capacity) {
+            Change evicted = changes.removeFirst();
+            baseRevision = evicted.getRevision();
+            baseMd5 = evicted.getMd5();
+        }
+    }
+
+    /**
+     * Drop the kept changes, the clients before the current cache fetch the full data.
+     *
+     * @param current the current cache
+     */
+    public synchronized void reset(final ConfigDataCache current) {
+        changes.clear();
+        baseRevision = current.getRevision();
+        baseMd5 = current.getMd5();
+    }
+
+    /**
+     * Get the changes since the revision of the client to the current cache.
+     *
+     * @param revision the revision of the client
+     * @param md5      the md5 of the client
+     * @param current  the current cache
+     * @return the changes, or null if they are not kept
+     */
+    public synchronized List<Change> since(final long revision, final String md5, final ConfigDataCache current) {
+        if (!isLatest(current.getRevision(), current.getMd5())) {
+            return null;
+        }
+        if (baseRevision == revision && StringUtils.equals(baseMd5, md5)) {
+            return new ArrayList<>(changes);
+        }
+        for (Iterator<Change> iterator = changes.iterator(); iterator.hasNext();) {
+            Change change = iterator.next();
+            if (change.getRevision() == revision && StringUtils.equals(change.getMd5(), md5)) {
+                List<Change> result = new ArrayList<>(changes.size());
+                iterator.forEachRemaining(result::add);
+                return result;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Get the changes kept.
+     *
+     * @return the changes
+     */
+    public synchronized List<Change> getChanges() {
+        return Collections.unmodifiableList(new ArrayList<>(changes));
+    }
+
+    private boolean isLatest(final long revision, final String md5) {
+        Change last = changes.peekLast();
+        if (Objects.isNull(last)) {
+            return baseRevision == revision && StringUtils.equals(baseMd5, md5);
+        }
+        return last.getRevision() == revision && StringUtils.equals(last.getMd5(), md5);
+    }
+
+    /**
+     * The change of a revision.
+     */
+    public static final class Change {
+
+        private final long revision;
+
+        private final String md5;
+
+        private final String eventType;
+
+        private final String json;
+
+        Change(final long revision, final String md5, final String eventType, final String json) {
+            this.revision = revision;
+            this.md5 = md5;
+            this.eventType = eventType;
+            this.json = json;
+        }
+
+        /**
+         * Gets the revision.
+         *
+         * @return the revision
+         */
+        public long getRevision() {
+            return revision;
+        }
+
+        /**
+         * Gets the md5 after the change.
+         *
+         * @return the md5
+         */
+        public String getMd5() {
+            return md5;
+        }
+
+        /**
+         * Gets the event type.
+         *
+         * @return the event type
+         */
+        public String getEventType() {
+            return eventType;
+        }
+
+        /**
+         * Gets the json of the changed data.
+         *
+         * @return the json
+         */
+        public String getJson() {
+            return json;
+        }
+    }
+}
@@ -17,6 +17,10 @@
 
 package org.apache.shenyu.admin.listener;
 
+import java.util.Collections;
+import java.util.Map;
+import java.util.Objects;
+
 /**
  * Data cache to compare if data has changed.
  *
@@ -28,11 +32,18 @@ public class ConfigDataCache {
 
     private volatile String md5;
 
-    private final String json;
+    private volatile String json;
+
+    /**
+     * the json of each data keyed by its id, null if the data are not keyed.
+     */
+    private final Map<String, String> entries;
 
     private volatile long lastModifyTime;
 
     private final String namespaceId;
+
+    private final long revision;
     
     /**
      * Instantiates a new Config data cache.
@@ -43,11 +54,49 @@ public class ConfigDataCache {
      * @param lastModifyTime the last modify time
      */
     public ConfigDataCache(final String group, final String json, final String md5, final long lastModifyTime, final String namespaceId) {
+        this(group, json, md5, lastModifyTime, namespaceId, 0L);
+    }
+
+    /**
+     * Instantiates a new Config data cache.
+     *
+     * @param group          the group
+     * @param json           the json
+     * @param md5            the md5
+     * @param lastModifyTime the last modify time
+     * @param namespaceId    the namespace id
+     * @param revision       the revision
+     */
+    public ConfigDataCache(final String group, final String json, final String md5, final long lastModifyTime,
+                           final String namespaceId, final long revision) {
         this.group = group;
         this.json = json;
+        this.entries = null;
         this.md5 = md5;
         this.lastModifyTime = lastModifyTime;
         this.namespaceId = namespaceId;
+        this.revision = revision;
+    }
+
+    /**
+     * Instantiates a new Config data cache of the keyed data, the json of the whole data
+     * is joined from the entries when it is first read.
+     *
+     * @param group          the group
+     * @param entries        the json of each data keyed by its id
+     * @param md5            the md5
+     * @param lastModifyTime the last modify time
+     * @param namespaceId    the namespace id
+     * @param revision       the revision
+     */
+    public ConfigDataCache(final String group, final Map<String, String> entries, final String md5, final long lastModifyTime,
+                           final String namespaceId, final long revision) {
+        this.group = group;
+        this.entries = Collections.unmodifiableMap(entries);
+        this.md5 = md5;
+        this.lastModifyTime = lastModifyTime;
+        this.namespaceId = namespaceId;
+        this.revision = revision;
     }
     
     /**
@@ -94,9 +143,21 @@ public class ConfigDataCache {
      * @return the json
      */
     public String getJson() {
+        if (Objects.isNull(json) && Objects.nonNull(entries)) {
+            json = "[" + String.join(",", entries.values()) + "]";
+        }
         return json;
     }
 
+    /**
+     * Gets the json of each data keyed by its id.
+     *
+     * @return the entries, null if the data are not keyed
+     */
+    public Map<String, String> getEntries() {
+        return entries;
+    }
+
     /**
      * Gets namespaceId.
      *
@@ -106,12 +167,22 @@ public class ConfigDataCache {
         return namespaceId;
     }
 
+    /**
+     * Gets revision, it is increased when the data is changed.
+     *
+     * @return the revision
+     */
+    public long getRevision() {
+        return revision;
+    }
+
     @Override
     public String toString() {
         return "{"
                 + "group='" + group + '\''
                 + ", md5='" + md5 + '\''
                 + ", lastModifyTime=" + lastModifyTime
+                + ", revision=" + revision
                 + '}';
     }
 }
@@ -121,6 +121,11 @@ public class HttpLongPollingDataChangedListener extends AbstractDataChangedListe
         LOG.info("http sync strategy refresh interval: {}ms", syncInterval);
     }
 
+    @Override
+    protected int getChangeLogSize() {
+        return httpSyncProperties.getChangeLogSize();
+    }
+
     /**
      * If the configuration data changes, the group information for the change is immediately responded.
      * Otherwise, the client's request thread is blocked until any data changes or the specified timeout is reached.
@@ -22,6 +22,7 @@ import org.apache.shenyu.admin.model.vo.NamespaceVO;
 import org.apache.shenyu.admin.service.NamespaceService;
 import org.apache.shenyu.admin.utils.ShenyuResultMessage;
 import org.apache.shenyu.common.dto.ConfigData;
+import org.apache.shenyu.common.dto.ConfigDelta;
 import org.apache.shenyu.common.enums.ConfigGroupEnum;
 
 import org.junit.jupiter.api.BeforeEach;
@@ -95,6 +96,22 @@ public final class ConfigControllerTest {
         assertThat(response.getStatus()).isEqualTo(HttpStatus.OK.value());
     }
 
+    @Test
+    public void testFetchConfigDeltas() throws Exception {
+        final ConfigDelta<?> configDelta = new ConfigDelta<>().setMd5("md5-value2").setRevision(2L).setChanges(Collections.emptyList());
+        doReturn(configDelta).when(mockLongPollingListener).fetchConfigDelta(ConfigGroupEnum.RULE, SYS_DEFAULT_NAMESPACE_ID, 1L, "md5-value1");
+        doReturn(new NamespaceVO()).when(namespaceService).findByNamespaceId(SYS_DEFAULT_NAMESPACE_ID);
+        mockMvc.perform(get("/configs/delta")
+                        .param("groupKeys", new String[]{ConfigGroupEnum.RULE.toString()})
+                        .param(ConfigGroupEnum.RULE.toString(), "md5-value1,1")
+                        .param("namespaceId", SYS_DEFAULT_NAMESPACE_ID)
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data['RULE'].md5", is("md5-value2")))
+                .andExpect(jsonPath("$.data['RULE'].revision", is(2)))
+                .andExpect(jsonPath("$.data['RULE'].full", is(false)));
+    }
+
     @Test
     public void testListener() throws Exception {
         // Run the test
@@ -30,6 +30,7 @@ import org.apache.shenyu.admin.service.RuleService;
 import org.apache.shenyu.admin.service.SelectorService;
 import org.apache.shenyu.common.dto.AppAuthData;
 import org.apache.shenyu.common.dto.ConfigData;
+import org.apache.shenyu.common.dto.ConfigDelta;
 import org.apache.shenyu.common.dto.DiscoverySyncData;
 import org.apache.shenyu.common.dto.MetaData;
 import org.apache.shenyu.common.dto.PluginData;
@@ -48,10 +49,13 @@ import java.util.List;
 import java.util.concurrent.ConcurrentMap;
 
 import static org.apache.shenyu.common.constant.Constants.SYS_DEFAULT_NAMESPACE_ID;
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 /**
@@ -137,11 +141,13 @@ public final class AbstractDataChangedListenerTest {
 
         // clear first
         listener.getCache().clear();
+        listener.getChangeLog().clear();
     }
 
     @AfterEach
     public void cleanUp() {
         listener.getCache().clear();
+        listener.getChangeLog().clear();
     }
 
     @Test
@@ -172,6 +178,64 @@ public final class AbstractDataChangedListenerTest {
         assertNotNull(result5);
     }
 
+    @Test
+    public void testFetchConfigDelta() {
+        RuleData rule1 = RuleData.builder().id("1").name("rule1").build();
+        when(ruleService.listAll()).thenReturn(Lists.newArrayList(rule1));
+        listener.onRuleChanged(Lists.newArrayList(rule1), DataEventTypeEnum.CREATE);
+        ConfigData<?> config = listener.fetchConfig(ConfigGroupEnum.RULE, SYS_DEFAULT_NAMESPACE_ID);
+        assertEquals(1L, config.getRevision());
+
+        RuleData rule2 = RuleData.builder().id("2").name("rule2").build();
+        when(ruleService.listAll()).thenReturn(Lists.newArrayList(rule1, rule2));
+        listener.onRuleChanged(Lists.newArrayList(rule2), DataEventTypeEnum.CREATE);
+        ConfigDelta<?> delta = listener.fetchConfigDelta(ConfigGroupEnum.RULE, SYS_DEFAULT_NAMESPACE_ID, config.getRevision(), config.getMd5());
+        assertFalse(delta.isFull());
+        assertEquals(2L, delta.getRevision());
+        assertEquals(1, delta.getChanges().size());
+        assertEquals(DataEventTypeEnum.CREATE.name(), delta.getChanges().get(0).getEventType());
+        assertEquals("2", ((RuleData) delta.getChanges().get(0).getData().get(0)).getId());
+
+        ConfigDelta<?> latest = listener.fetchConfigDelta(ConfigGroupEnum.RULE, SYS_DEFAULT_NAMESPACE_ID, delta.getRevision(), delta.getMd5());
+        assertFalse(latest.isFull());
+        assertTrue(latest.getChanges().isEmpty());
+
+        ConfigDelta<?> unknown = listener.fetchConfigDelta(ConfigGroupEnum.RULE, SYS_DEFAULT_NAMESPACE_ID, config.getRevision(), "unknown");
+        assertTrue(unknown.isFull());
+        assertEquals(2, unknown.getData().size());
+    }
+
+    @Test
+    public void testFetchConfigDeltaWithoutCache() {
+        ConfigDelta<?> delta = listener.fetchConfigDelta(ConfigGroupEnum.RULE, SYS_DEFAULT_NAMESPACE_ID, -1L, null);
+        assertTrue(delta.isFull());
+        assertEquals(1L, delta.getRevision());
+        assertEquals(1, delta.getData().size());
+    }
+
+    @Test
+    public void testApplyChangesIncrementally() {
+        RuleData rule1 = RuleData.builder().id("1").name("rule1").build();
+        RuleData rule2 = RuleData.builder().id("2").name("rule2").build();
+        when(ruleService.listAll()).thenReturn(Lists.newArrayList(rule1));
+        listener.onRuleChanged(Lists.newArrayList(rule1), DataEventTypeEnum.CREATE);
+        listener.onRuleChanged(Lists.newArrayList(rule2), DataEventTypeEnum.CREATE);
+        RuleData updated = RuleData.builder().id("1").name("rule1-updated").build();
+        listener.onRuleChanged(Lists.newArrayList(updated), DataEventTypeEnum.UPDATE);
+        listener.onRuleChanged(Lists.newArrayList(rule2), DataEventTypeEnum.DELETE);
+        // only the first change loads the rules, the others are applied to the cache.
+        verify(ruleService, times(1)).listAll();
+        ConfigData<?> config = listener.fetchConfig(ConfigGroupEnum.RULE, SYS_DEFAULT_NAMESPACE_ID);
+        assertEquals(4L, config.getRevision());
+        assertEquals(1, config.getData().size());
+        assertEquals("rule1-updated", ((RuleData) config.getData().get(0)).getName());
+
+        // the md5 of the applied changes is the same as the md5 of the reloaded data.
+        listener.getCache().clear();
+        listener.updateCache(ConfigGroupEnum.RULE, Lists.newArrayList(updated), SYS_DEFAULT_NAMESPACE_ID);
+        assertEquals(config.getMd5(), listener.fetchConfig(ConfigGroupEnum.RULE, SYS_DEFAULT_NAMESPACE_ID).getMd5());
+    }
+
     @Test
     public void testOnAppAuthChanged() {
         List<AppAuthData> empty = Lists.newArrayList();
@@ -254,8 +318,17 @@ public final class AbstractDataChangedListenerTest {
             // NOP
         }
 
+        @Override
+        protected int getChangeLogSize() {
+            return 10;
+        }
+
         public ConcurrentMap<String, ConfigDataCache> getCache() {
             return CACHE;
         }
+
+        public ConcurrentMap<String, ConfigChangeLog> getChangeLog() {
+            return CHANGE_LOG;
+        }
     }
 }
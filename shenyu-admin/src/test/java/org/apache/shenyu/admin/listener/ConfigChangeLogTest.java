@@ -0,0 +1,80 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.shenyu.admin.listener;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * The TestCase for ConfigChangeLog.
+ */
+public final class ConfigChangeLogTest {
+
+    private static final String GROUP = "default_RULE";
+
+    private static final String NAMESPACE_ID = "649330b6-c2d7-4edc-be8e-8a54df9eb385";
+
+    @Test
+    public void testSince() {
+        ConfigChangeLog changeLog = new ConfigChangeLog(2);
+        ConfigDataCache cache1 = cache(1, "md5-1");
+        ConfigDataCache cache2 = cache(2, "md5-2");
+        ConfigDataCache cache3 = cache(3, "md5-3");
+        changeLog.reset(cache1);
+        changeLog.append(cache1, cache2, "CREATE", "[]");
+        changeLog.append(cache2, cache3, "UPDATE", "[]");
+        List<ConfigChangeLog.Change> changes = changeLog.since(1, "md5-1", cache3);
+        assertEquals(2, changes.size());
+        assertEquals(2, changes.get(0).getRevision());
+        assertEquals("UPDATE", changes.get(1).getEventType());
+        assertEquals(1, changeLog.since(2, "md5-2", cache3).size());
+        assertTrue(changeLog.since(3, "md5-3", cache3).isEmpty());
+        // the revision of another admin.
+        assertNull(changeLog.since(2, "md5-other", cache3));
+    }
+
+    @Test
+    public void testEvictAndReset() {
+        ConfigChangeLog changeLog = new ConfigChangeLog(1);
+        ConfigDataCache cache1 = cache(1, "md5-1");
+        ConfigDataCache cache2 = cache(2, "md5-2");
+        ConfigDataCache cache3 = cache(3, "md5-3");
+        changeLog.reset(cache1);
+        changeLog.append(cache1, cache2, "CREATE", "[]");
+        changeLog.append(cache2, cache3, "CREATE", "[]");
+        // too far behind.
+        assertNull(changeLog.since(1, "md5-1", cache3));
+        assertEquals(1, changeLog.since(2, "md5-2", cache3).size());
+        // the cache is refreshed without the change.
+        ConfigDataCache cache4 = cache(4, "md5-4");
+        assertNull(changeLog.since(3, "md5-3", cache4));
+        ConfigDataCache cache5 = cache(5, "md5-5");
+        changeLog.append(cache4, cache5, "DELETE", "[]");
+        assertNull(changeLog.since(3, "md5-3", cache5));
+        assertEquals(1, changeLog.since(4, "md5-4", cache5).size());
+    }
+
+    private static ConfigDataCache cache(final long revision, final String md5) {
+        return new ConfigDataCache(GROUP, "[]", md5, revision, NAMESPACE_ID, revision);
+    }
+}
@@ -0,0 +1,118 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.apache.shenyu.benchmark;
+
+import org.apache.shenyu.common.dto.RuleData;
+import org.apache.shenyu.common.dto.SelectorData;
+import org.apache.shenyu.common.utils.GsonUtils;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The benchmark of {@link GsonUtils}, a single selector as the request payload and
+ * the rule list as the payload of the data sync.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class GsonUtilsBenchmark {
+
+    private static final String PLUGIN_NAME = "benchmark";
+
+    /**
+     * the count of the rules in the list.
+     */
+    @Param({"1000", "10000", "100000"})
+    private int ruleSize;
+
+    private SelectorData selector;
+
+    private String selectorJson;
+
+    private List<RuleData> rules;
+
+    private String rulesJson;
+
+    /**
+     * Build the payloads.
+     */
+    @Setup(Level.Trial)
+    public void setup() {
+        selector = RouteTable.selectors(PLUGIN_NAME, 1).get(0);
+        selectorJson = GsonUtils.getInstance().toJson(selector);
+        rules = RouteTable.rules(PLUGIN_NAME, ruleSize / RouteTable.RULES_PER_SELECTOR);
+        rulesJson = GsonUtils.getInstance().toJson(rules);
+    }
+
+    /**
+     * Serialize the selector.
+     *
+     * @return the json
+     */
+    @Benchmark
+    public String toJsonSelector() {
+        return GsonUtils.getInstance().toJson(selector);
+    }
+
+    /**
+     * Deserialize the selector.
+     *
+     * @return the selector
+     */
+    @Benchmark
+    public SelectorData fromJsonSelector() {
+        return GsonUtils.getInstance().fromJson(selectorJson, SelectorData.class);
+    }
+
+    /**
+     * Serialize the rule list.
+     *
+     * @return the json
+     */
+    @Benchmark
+    public String toJsonRules() {
+        return GsonUtils.getInstance().toJson(rules);
+    }
+
+    /**
+     * Deserialize the rule list.
+     *
+     * @return the rules
+     */
+    @Benchmark
+    public List<RuleData> fromListRules() {
+        return GsonUtils.getInstance().fromList(rulesJson, RuleData.class);
+    }
+}
@@ -0,0 +1,98 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.apache.shenyu.benchmark;
+
+import org.apache.shenyu.loadbalancer.entity.Upstream;
+import org.apache.shenyu.loadbalancer.factory.LoadBalancerFactory;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The benchmark of selecting the upstream by the load balancer spi.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class LoadBalancerBenchmark {
+
+    private static final int IP_COUNT = 1 << 10;
+
+    @Param({"random", "roundRobin", "hash", "leastActive", "p2c", "shortestResponse"})
+    private String algorithm;
+
+    @Param({"3", "30", "300"})
+    private int upstreamSize;
+
+    private List<Upstream> upstreams;
+
+    private String[] ips;
+
+    private int cursor;
+
+    /**
+     * Build the upstreams, the weights of them are different.
+     */
+    @Setup(Level.Trial)
+    public void setup() {
+        upstreams = new ArrayList<>(upstreamSize);
+        long timestamp = System.currentTimeMillis() - TimeUnit.HOURS.toMillis(1);
+        for (int i = 0; i < upstreamSize; i++) {
+            upstreams.add(Upstream.builder()
+                    .protocol("http://")
+                    .url("10.0." + i / 256 + "." + i % 256 + ":8080")
+                    .weight(50 + i % 3 * 25)
+                    .status(true)
+                    .timestamp(timestamp)
+                    .warmup(0)
+                    .build());
+        }
+        ips = new String[IP_COUNT];
+        for (int i = 0; i < IP_COUNT; i++) {
+            ips[i] = "192.168." + i / 256 + "." + i % 256;
+        }
+    }
+
+    /**
+     * Select the upstream.
+     *
+     * @return the upstream
+     */
+    @Benchmark
+    public Upstream select() {
+        cursor = (cursor + 1) & (IP_COUNT - 1);
+        return LoadBalancerFactory.selector(upstreams, algorithm, ips[cursor]);
+    }
+}
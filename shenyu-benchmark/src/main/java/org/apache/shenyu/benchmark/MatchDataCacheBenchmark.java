@@ -0,0 +1,160 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.apache.shenyu.benchmark;
+
+import org.apache.shenyu.common.dto.RuleData;
+import org.apache.shenyu.common.dto.SelectorData;
+import org.apache.shenyu.plugin.base.cache.MatchDataCache;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The benchmark of the L1 match cache, the cache is filled with a path for every rule.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class MatchDataCacheBenchmark {
+
+    private static final String PLUGIN_NAME = "benchmark";
+
+    private static final int MASK = RouteTable.REQUEST_PATH_COUNT - 1;
+
+    /**
+     * the count of the cached paths.
+     */
+    @Param({"1000", "10000", "100000"})
+    private int routes;
+
+    private String[] hitPaths;
+
+    private String[] missPaths;
+
+    private SelectorData[] selectors;
+
+    private RuleData[] rules;
+
+    private int cursor;
+
+    /**
+     * Fill the cache.
+     */
+    @Setup(Level.Trial)
+    public void setup() {
+        int selectorSize = routes / RouteTable.RULES_PER_SELECTOR;
+        List<SelectorData> selectorList = RouteTable.selectors(PLUGIN_NAME, selectorSize);
+        List<RuleData> ruleList = RouteTable.rules(PLUGIN_NAME, selectorSize);
+        String[] cachedPaths = new String[routes];
+        for (int i = 0; i < routes; i++) {
+            cachedPaths[i] = "/svc" + i / RouteTable.RULES_PER_SELECTOR + "/path" + i;
+            MatchDataCache.getInstance().cacheSelectorData(cachedPaths[i], selectorList.get(i / RouteTable.RULES_PER_SELECTOR), routes, routes);
+            MatchDataCache.getInstance().cacheRuleData(cachedPaths[i], ruleList.get(i), routes, routes);
+        }
+        hitPaths = new String[RouteTable.REQUEST_PATH_COUNT];
+        missPaths = new String[RouteTable.REQUEST_PATH_COUNT];
+        selectors = new SelectorData[RouteTable.REQUEST_PATH_COUNT];
+        rules = new RuleData[RouteTable.REQUEST_PATH_COUNT];
+        for (int i = 0; i < RouteTable.REQUEST_PATH_COUNT; i++) {
+            int index = (int) ((i * 2654435761L) % routes);
+            hitPaths[i] = cachedPaths[index];
+            missPaths[i] = "/miss" + i;
+            selectors[i] = selectorList.get(index / RouteTable.RULES_PER_SELECTOR);
+            rules[i] = ruleList.get(index);
+        }
+    }
+
+    /**
+     * Clean the cache.
+     */
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        MatchDataCache.getInstance().cleanSelectorData();
+        MatchDataCache.getInstance().cleanRuleDataData();
+    }
+
+    /**
+     * Obtain the cached selector.
+     *
+     * @return the selector
+     */
+    @Benchmark
+    public SelectorData obtainSelectorHit() {
+        return MatchDataCache.getInstance().obtainSelectorData(PLUGIN_NAME, hitPaths[next()]);
+    }
+
+    /**
+     * Obtain the selector which is not cached.
+     *
+     * @return null
+     */
+    @Benchmark
+    public SelectorData obtainSelectorMiss() {
+        return MatchDataCache.getInstance().obtainSelectorData(PLUGIN_NAME, missPaths[next()]);
+    }
+
+    /**
+     * Obtain the cached rule.
+     *
+     * @return the rule
+     */
+    @Benchmark
+    public RuleData obtainRuleHit() {
+        return MatchDataCache.getInstance().obtainRuleData(PLUGIN_NAME, hitPaths[next()]);
+    }
+
+    /**
+     * Cache the rule of a cached path again.
+     */
+    @Benchmark
+    public void cacheRule() {
+        int index = next();
+        MatchDataCache.getInstance().cacheRuleData(hitPaths[index], rules[index], routes, routes);
+    }
+
+    /**
+     * Cache the selector of a cached path again.
+     */
+    @Benchmark
+    public void cacheSelector() {
+        int index = next();
+        MatchDataCache.getInstance().cacheSelectorData(hitPaths[index], selectors[index], routes, routes);
+    }
+
+    private int next() {
+        cursor = (cursor + 1) & MASK;
+        return cursor;
+    }
+}
@@ -0,0 +1,178 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.apache.shenyu.benchmark;
+
+import org.apache.shenyu.common.config.ShenyuConfig;
+import org.apache.shenyu.common.dto.PluginData;
+import org.apache.shenyu.common.dto.RuleData;
+import org.apache.shenyu.common.dto.SelectorData;
+import org.apache.shenyu.common.enums.TrieCacheTypeEnum;
+import org.apache.shenyu.plugin.api.ShenyuPluginChain;
+import org.apache.shenyu.plugin.api.utils.SpringBeanUtils;
+import org.apache.shenyu.plugin.base.AbstractShenyuPlugin;
+import org.apache.shenyu.plugin.base.cache.BaseDataCache;
+import org.apache.shenyu.plugin.base.cache.CommonPluginDataSubscriber;
+import org.apache.shenyu.plugin.base.cache.MatchDataCache;
+import org.apache.shenyu.plugin.base.trie.ShenyuTrie;
+import org.apache.shenyu.plugin.base.trie.ShenyuTrieListener;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.support.GenericApplicationContext;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+
+import java.util.Collections;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The benchmark of {@link AbstractShenyuPlugin#execute(ServerWebExchange, ShenyuPluginChain)},
+ * it matches the selector and the rule of a noop plugin with the match strategy of the gateway.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class PluginExecuteBenchmark {
+
+    private static final String PLUGIN_NAME = "benchmark";
+
+    private static final String DEFAULT = "default";
+
+    private static final String MATCH_CACHE = "matchCache";
+
+    private static final ShenyuPluginChain CHAIN = exchange -> Mono.empty();
+
+    /**
+     * the count of the selectors, every selector owns {@link RouteTable#RULES_PER_SELECTOR} rules.
+     */
+    @Param({"1000", "10000", "100000"})
+    private int selectors;
+
+    /**
+     * default: match the conditions only, matchCache: the L1 cache, others: the trie with the match mode.
+     */
+    @Param({DEFAULT, MATCH_CACHE, "antPathMatch", "pathPattern", "radixTree"})
+    private String strategy;
+
+    private GenericApplicationContext context;
+
+    private AbstractShenyuPlugin plugin;
+
+    private ServerWebExchange[] exchanges;
+
+    private int cursor;
+
+    /**
+     * Subscribe the route table.
+     */
+    @Setup(Level.Trial)
+    public void setup() {
+        ShenyuConfig shenyuConfig = new ShenyuConfig();
+        configure(shenyuConfig.getSelectorMatchCache().getCache(), shenyuConfig.getSelectorMatchCache().getTrie());
+        configure(shenyuConfig.getRuleMatchCache().getCache(), shenyuConfig.getRuleMatchCache().getTrie());
+        final String matchMode = shenyuConfig.getSelectorMatchCache().getTrie().getMatchMode();
+        context = new GenericApplicationContext();
+        context.registerBean(ShenyuConfig.class, () -> shenyuConfig);
+        context.registerBean(TrieCacheTypeEnum.SELECTOR.getTrieType(), ShenyuTrie.class, () -> new ShenyuTrie((long) selectors * RouteTable.RULES_PER_SELECTOR, matchMode));
+        context.registerBean(TrieCacheTypeEnum.RULE.getTrieType(), ShenyuTrie.class, () -> new ShenyuTrie((long) selectors * RouteTable.RULES_PER_SELECTOR, matchMode));
+        context.registerBean(ShenyuTrieListener.class);
+        context.refresh();
+        SpringBeanUtils.getInstance().setApplicationContext(context);
+
+        CommonPluginDataSubscriber subscriber = new CommonPluginDataSubscriber(Collections.emptyList(), context,
+                shenyuConfig.getSelectorMatchCache(), shenyuConfig.getRuleMatchCache());
+        subscriber.onSubscribe(PluginData.builder().id(PLUGIN_NAME).name(PLUGIN_NAME).enabled(true).build());
+        subscriber.refreshSelectorDataAll(RouteTable.selectors(PLUGIN_NAME, selectors));
+        subscriber.refreshRuleDataAll(RouteTable.rules(PLUGIN_NAME, selectors));
+
+        String[] paths = RouteTable.requestPaths(selectors, selectors);
+        exchanges = new ServerWebExchange[paths.length];
+        for (int i = 0; i < paths.length; i++) {
+            exchanges[i] = MockServerWebExchange.from(MockServerHttpRequest.get(paths[i]).build());
+        }
+        plugin = new NoopPlugin();
+    }
+
+    /**
+     * Clean the caches.
+     */
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        BaseDataCache.getInstance().cleanPluginData();
+        BaseDataCache.getInstance().cleanSelectorData();
+        BaseDataCache.getInstance().cleanRuleData();
+        MatchDataCache.getInstance().cleanSelectorData();
+        MatchDataCache.getInstance().cleanRuleDataData();
+        context.close();
+    }
+
+    /**
+     * Execute the plugin.
+     *
+     * @return the result of the plugin
+     */
+    @Benchmark
+    public Mono<Void> execute() {
+        cursor = (cursor + 1) & (RouteTable.REQUEST_PATH_COUNT - 1);
+        return plugin.execute(exchanges[cursor], CHAIN);
+    }
+
+    private void configure(final ShenyuConfig.MatchCacheConfig cacheConfig, final ShenyuConfig.ShenyuTrieConfig trieConfig) {
+        cacheConfig.setEnabled(MATCH_CACHE.equals(strategy));
+        trieConfig.setEnabled(!DEFAULT.equals(strategy) && !MATCH_CACHE.equals(strategy));
+        trieConfig.setCacheSize((long) selectors * RouteTable.RULES_PER_SELECTOR);
+        if (trieConfig.getEnabled()) {
+            trieConfig.setMatchMode(strategy);
+        }
+    }
+
+    private static final class NoopPlugin extends AbstractShenyuPlugin {
+
+        @Override
+        protected Mono<Void> doExecute(final ServerWebExchange exchange, final ShenyuPluginChain chain,
+                                       final SelectorData selector, final RuleData rule) {
+            return Mono.empty();
+        }
+
+        @Override
+        public int getOrder() {
+            return 0;
+        }
+
+        @Override
+        public String named() {
+            return PLUGIN_NAME;
+        }
+    }
+}
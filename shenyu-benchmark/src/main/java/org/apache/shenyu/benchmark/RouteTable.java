@@ -0,0 +1,182 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.apache.shenyu.benchmark;
+
+import org.apache.shenyu.common.dto.ConditionData;
+import org.apache.shenyu.common.dto.RuleData;
+import org.apache.shenyu.common.dto.SelectorData;
+import org.apache.shenyu.common.enums.MatchModeEnum;
+import org.apache.shenyu.common.enums.OperatorEnum;
+import org.apache.shenyu.common.enums.ParamTypeEnum;
+import org.apache.shenyu.common.enums.SelectorTypeEnum;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * The synthetic route table of the benchmarks, every selector owns a service prefix
+ * and its rules mix the wildcard, the variable and the suffix patterns of the uri.
+ */
+public final class RouteTable {
+
+    /**
+     * the rules of every selector.
+     */
+    public static final int RULES_PER_SELECTOR = 10;
+
+    /**
+     * the count of the request paths, it is a power of two so the benchmarks cycle by mask.
+     */
+    public static final int REQUEST_PATH_COUNT = 1 << 12;
+
+    private RouteTable() {
+    }
+
+    /**
+     * Build the selectors.
+     *
+     * @param pluginName the plugin name
+     * @param size the count of the selectors
+     * @return the selectors
+     */
+    public static List<SelectorData> selectors(final String pluginName, final int size) {
+        List<SelectorData> selectors = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            selectors.add(SelectorData.builder()
+                    .id(selectorId(i))
+                    .pluginName(pluginName)
+                    .name("selector-" + i)
+                    .matchMode(MatchModeEnum.AND.getCode())
+                    .type(SelectorTypeEnum.CUSTOM_FLOW.getCode())
+                    .sort(i)
+                    .enabled(true)
+                    .logged(false)
+                    .continued(true)
+                    .matchRestful(false)
+                    .conditionList(uriCondition(selectorPath(i)))
+                    .build());
+        }
+        return selectors;
+    }
+
+    /**
+     * Build the rules, {@link #RULES_PER_SELECTOR} rules for every selector.
+     *
+     * @param pluginName the plugin name
+     * @param selectorSize the count of the selectors
+     * @return the rules
+     */
+    public static List<RuleData> rules(final String pluginName, final int selectorSize) {
+        List<RuleData> rules = new ArrayList<>(selectorSize * RULES_PER_SELECTOR);
+        for (int i = 0; i < selectorSize; i++) {
+            for (int j = 0; j < RULES_PER_SELECTOR; j++) {
+                rules.add(RuleData.builder()
+                        .id(selectorId(i) + "-rule-" + j)
+                        .name("rule-" + j)
+                        .pluginName(pluginName)
+                        .selectorId(selectorId(i))
+                        .matchMode(MatchModeEnum.AND.getCode())
+                        .sort(j)
+                        .enabled(true)
+                        .loged(false)
+                        .matchRestful(false)
+                        .conditionDataList(uriCondition(rulePath(i, j)))
+                        .build());
+            }
+        }
+        return rules;
+    }
+
+    /**
+     * Build the request paths, every path hits one rule of the table.
+     *
+     * @param selectorSize the count of the selectors
+     * @param seed the random seed
+     * @return the request paths
+     */
+    public static String[] requestPaths(final int selectorSize, final long seed) {
+        Random random = new Random(seed);
+        String[] paths = new String[REQUEST_PATH_COUNT];
+        for (int k = 0; k < paths.length; k++) {
+            int i = random.nextInt(selectorSize);
+            int j = random.nextInt(RULES_PER_SELECTOR);
+            switch (j % 3) {
+                case 0:
+                    paths[k] = "/svc" + i + "/api" + j + "/detail/" + k;
+                    break;
+                case 1:
+                    paths[k] = "/svc" + i + "/item" + j + "/" + k;
+                    break;
+                default:
+                    paths[k] = "/svc" + i + "/order" + j + "/list.json";
+                    break;
+            }
+        }
+        return paths;
+    }
+
+    /**
+     * Gets the selector id.
+     *
+     * @param index the index of the selector
+     * @return the selector id
+     */
+    public static String selectorId(final int index) {
+        return "selector-" + index;
+    }
+
+    /**
+     * Gets the uri pattern of the selector.
+     *
+     * @param index the index of the selector
+     * @return the uri pattern
+     */
+    public static String selectorPath(final int index) {
+        return "/svc" + index + "/**";
+    }
+
+    /**
+     * Gets the uri pattern of the rule.
+     *
+     * @param selectorIndex the index of the selector
+     * @param ruleIndex the index of the rule in the selector
+     * @return the uri pattern
+     */
+    public static String rulePath(final int selectorIndex, final int ruleIndex) {
+        switch (ruleIndex % 3) {
+            case 0:
+                return "/svc" + selectorIndex + "/api" + ruleIndex + "/**";
+            case 1:
+                return "/svc" + selectorIndex + "/item" + ruleIndex + "/{id}";
+            default:
+                return "/svc" + selectorIndex + "/order" + ruleIndex + "/*.json";
+        }
+    }
+
+    private static List<ConditionData> uriCondition(final String path) {
+        ConditionData conditionData = new ConditionData();
+        conditionData.setParamType(ParamTypeEnum.URI.getName());
+        conditionData.setOperator(OperatorEnum.MATCH.getAlias());
+        conditionData.setParamName("/");
+        conditionData.setParamValue(path);
+        return Collections.singletonList(conditionData);
+    }
+}
@@ -0,0 +1,119 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.apache.shenyu.benchmark;
+
+import org.apache.shenyu.common.dto.RuleData;
+import org.apache.shenyu.common.dto.SelectorData;
+import org.apache.shenyu.common.enums.TrieCacheTypeEnum;
+import org.apache.shenyu.plugin.base.trie.ShenyuTrie;
+import org.apache.shenyu.plugin.base.trie.ShenyuTrieNode;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The benchmark of matching the selector trie and the rule trie.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class ShenyuTrieBenchmark {
+
+    private static final String PLUGIN_NAME = "benchmark";
+
+    /**
+     * the count of the selectors, every selector owns {@link RouteTable#RULES_PER_SELECTOR} rules.
+     */
+    @Param({"1000", "10000", "100000"})
+    private int selectors;
+
+    @Param({"antPathMatch", "pathPattern", "radixTree"})
+    private String matchMode;
+
+    private ShenyuTrie selectorTrie;
+
+    private ShenyuTrie ruleTrie;
+
+    private String[] paths;
+
+    private String[] selectorIds;
+
+    private int cursor;
+
+    /**
+     * Build the tries.
+     */
+    @Setup(Level.Trial)
+    public void setup() {
+        selectorTrie = new ShenyuTrie((long) selectors * RouteTable.RULES_PER_SELECTOR, matchMode);
+        ruleTrie = new ShenyuTrie((long) selectors * RouteTable.RULES_PER_SELECTOR, matchMode);
+        for (SelectorData selectorData : RouteTable.selectors(PLUGIN_NAME, selectors)) {
+            selectorTrie.putNode(selectorData.getConditionList().get(0).getParamValue(), selectorData, TrieCacheTypeEnum.SELECTOR);
+        }
+        for (RuleData ruleData : RouteTable.rules(PLUGIN_NAME, selectors)) {
+            ruleTrie.putNode(ruleData.getConditionDataList().get(0).getParamValue(), ruleData, TrieCacheTypeEnum.RULE);
+        }
+        paths = RouteTable.requestPaths(selectors, selectors);
+        selectorIds = new String[paths.length];
+        for (int i = 0; i < paths.length; i++) {
+            ShenyuTrieNode node = selectorTrie.match(paths[i], PLUGIN_NAME);
+            selectorIds[i] = ((SelectorData) node.getPathCache().get(PLUGIN_NAME).get(0)).getId();
+        }
+    }
+
+    /**
+     * Match the selector trie.
+     *
+     * @return the matched node
+     */
+    @Benchmark
+    public ShenyuTrieNode matchSelector() {
+        return selectorTrie.match(paths[next()], PLUGIN_NAME);
+    }
+
+    /**
+     * Match the rule trie of the selector matched by the path.
+     *
+     * @return the matched node
+     */
+    @Benchmark
+    public ShenyuTrieNode matchRule() {
+        int index = next();
+        return ruleTrie.match(paths[index], selectorIds[index]);
+    }
+
+    private int next() {
+        cursor = (cursor + 1) & (RouteTable.REQUEST_PATH_COUNT - 1);
+        return cursor;
+    }
+}
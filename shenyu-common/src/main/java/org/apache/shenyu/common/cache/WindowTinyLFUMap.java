@@ -19,6 +19,7 @@ package org.apache.shenyu.common.cache;
 
 import com.github.benmanes.caffeine.cache.Cache;
 import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
 
 import javax.annotation.concurrent.ThreadSafe;
 import java.io.Serializable;
@@ -75,18 +76,32 @@ public class WindowTinyLFUMap<K, V> extends AbstractMap<K, V> implements Seriali
      * @param weakKey weak key
      */
     public WindowTinyLFUMap(final int initialCapacity, final long maximumSize, final Boolean weakKey) {
+        this(initialCapacity, maximumSize, weakKey, Boolean.FALSE);
+    }
+    
+    /**
+     * initial caffeine cache which may record the hit, miss and eviction counters.
+     *
+     * <p>caffeine buffers the reads in striped ring buffers and records the frequency in a count-min sketch,
+     * so the reads never lock, the recorded counters are striped as well.</p>
+     *
+     * @param initialCapacity initial capacity
+     * @param maximumSize maximum size
+     * @param weakKey weak key
+     * @param recordStats record the hit, miss and eviction counters
+     * @see #stats()
+     */
+    public WindowTinyLFUMap(final int initialCapacity, final long maximumSize, final Boolean weakKey, final Boolean recordStats) {
+        Caffeine<Object, Object> builder = Caffeine.newBuilder()
+                .initialCapacity(initialCapacity)
+                .maximumSize(maximumSize);
         if (Boolean.TRUE.equals(weakKey)) {
-            this.cache = Caffeine.newBuilder()
-                    .weakKeys()
-                    .initialCapacity(initialCapacity)
-                    .maximumSize(maximumSize)
-                    .build();
-        } else {
-            this.cache = Caffeine.newBuilder()
-                    .initialCapacity(initialCapacity)
-                    .maximumSize(maximumSize)
-                    .build();
+            builder.weakKeys();
+        }
+        if (Boolean.TRUE.equals(recordStats)) {
+            builder.recordStats();
         }
+        this.cache = builder.build();
     }
     
     public WindowTinyLFUMap(final int initialSize, final long expireAfterWrite, final long maximumSize, final Boolean weakKey) {
@@ -109,9 +124,7 @@ public class WindowTinyLFUMap<K, V> extends AbstractMap<K, V> implements Seriali
     
     @Override
     public V put(final K key, final V value) {
-        V v = cache.getIfPresent(key);
-        cache.put(key, value);
-        return v;
+        return cache.asMap().put(key, value);
     }
     
     @Override
@@ -121,10 +134,8 @@ public class WindowTinyLFUMap<K, V> extends AbstractMap<K, V> implements Seriali
     
     @Override
     public V remove(final Object key) {
-        V value = cache.getIfPresent(key);
-        cache.invalidate(key);
-        cache.cleanUp();
-        return value;
+        // the pending maintenance is done by the next write or read buffer drain, not by the caller.
+        return cache.asMap().remove(key);
     }
     
     @Override
@@ -142,4 +153,14 @@ public class WindowTinyLFUMap<K, V> extends AbstractMap<K, V> implements Seriali
     public Set<Entry<K, V>> entrySet() {
         return cache.asMap().entrySet();
     }
+    
+    /**
+     * the snapshot of the hit, miss and eviction counters.
+     * all counters are zero unless the map is built with recordStats.
+     *
+     * @return the cache stats
+     */
+    public CacheStats stats() {
+        return cache.stats();
+    }
 }
@@ -39,6 +39,8 @@ public class ShenyuConfig {
     
     private FileConfig file = new FileConfig();
     
+    private ResponseConfig response = new ResponseConfig();
+    
     private ExcludePath exclude = new ExcludePath();
     
     private Health health = new Health();
@@ -51,6 +53,8 @@ public class ShenyuConfig {
     
     private UpstreamCheck upstreamCheck = new UpstreamCheck();
 
+    private UpstreamOutlier upstreamOutlier = new UpstreamOutlier();
+
     private CrossFilterConfig cross = new CrossFilterConfig();
 
     private RibbonConfig ribbon = new RibbonConfig();
@@ -253,6 +257,24 @@ public class ShenyuConfig {
         this.file = file;
     }
     
+    /**
+     * Gets response.
+     *
+     * @return the response
+     */
+    public ResponseConfig getResponse() {
+        return response;
+    }
+    
+    /**
+     * Sets response.
+     *
+     * @param response the response
+     */
+    public void setResponse(final ResponseConfig response) {
+        this.response = response;
+    }
+    
     /**
      * Gets exclude.
      *
@@ -306,6 +328,24 @@ public class ShenyuConfig {
     public void setUpstreamCheck(final UpstreamCheck upstreamCheck) {
         this.upstreamCheck = upstreamCheck;
     }
+
+    /**
+     * Gets upstream outlier.
+     *
+     * @return the upstream outlier
+     */
+    public UpstreamOutlier getUpstreamOutlier() {
+        return upstreamOutlier;
+    }
+
+    /**
+     * Sets upstream outlier.
+     *
+     * @param upstreamOutlier the upstream outlier
+     */
+    public void setUpstreamOutlier(final UpstreamOutlier upstreamOutlier) {
+        this.upstreamOutlier = upstreamOutlier;
+    }
     
     /**
      * Gets cross.
@@ -934,6 +974,33 @@ public class ShenyuConfig {
         }
     }
     
+    /**
+     * The type Response config.
+     */
+    public static class ResponseConfig {
+    
+        private Integer maxAggregateSize;
+    
+        /**
+         * Gets the max size in MB of the response body which is aggregated by the plugins.
+         * A larger or streamed body is not aggregated once it is set, every body is aggregated when it is not set.
+         *
+         * @return the max aggregate size
+         */
+        public Integer getMaxAggregateSize() {
+            return maxAggregateSize;
+        }
+    
+        /**
+         * Sets the max size in MB of the response body which is aggregated by the plugins.
+         *
+         * @param maxAggregateSize the max aggregate size
+         */
+        public void setMaxAggregateSize(final Integer maxAggregateSize) {
+            this.maxAggregateSize = maxAggregateSize;
+        }
+    }
+    
     /**
      * The type Switch config.
      */
@@ -1000,6 +1067,10 @@ public class ShenyuConfig {
         private boolean printEnabled;
         
         private Integer printInterval = 60000;
+
+        private String checkMode = "socket";
+
+        private String healthPath = "";
     
         /**
          * Gets enabled.
@@ -1144,6 +1215,269 @@ public class ShenyuConfig {
         public void setPrintInterval(final Integer printInterval) {
             this.printInterval = printInterval;
         }
+
+        /**
+         * Gets check mode, socket: a blocking socket for every upstream in the pool,
+         * nio: all upstreams are probed by one selector.
+         *
+         * @return the check mode
+         */
+        public String getCheckMode() {
+            return checkMode;
+        }
+
+        /**
+         * Sets check mode.
+         *
+         * @param checkMode the check mode
+         */
+        public void setCheckMode(final String checkMode) {
+            this.checkMode = checkMode;
+        }
+
+        /**
+         * Gets health path, the nio check sends a http get to it when it is not blank.
+         *
+         * @return the health path
+         */
+        public String getHealthPath() {
+            return healthPath;
+        }
+
+        /**
+         * Sets health path.
+         *
+         * @param healthPath the health path
+         */
+        public void setHealthPath(final String healthPath) {
+            this.healthPath = healthPath;
+        }
+    }
+    
+    /**
+     * The type Upstream outlier, the upstream is ejected by the result of the real traffic.
+     */
+    public static class UpstreamOutlier {
+
+        private boolean enabled;
+
+        private Integer consecutiveErrors = 5;
+
+        private Integer consecutiveConnectFailures = 3;
+
+        private Integer latencyPercentile = 99;
+
+        private Double latencyFactor = 3.0;
+
+        private Integer minimumRequests = 20;
+
+        private Integer minimumHosts = 3;
+
+        private Integer interval = 10000;
+
+        private Integer baseEjectionTime = 30000;
+
+        private Integer maxEjectionTime = 300000;
+
+        private Integer maxEjectionPercent = 50;
+
+        /**
+         * Gets enabled, false: passive outlier detection is off.
+         *
+         * @return the enabled
+         */
+        public boolean getEnabled() {
+            return enabled;
+        }
+
+        /**
+         * Sets enabled.
+         *
+         * @param enabled the enabled
+         */
+        public void setEnabled(final boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        /**
+         * Gets consecutive errors, the consecutive 5xx responses and connect failures to eject an upstream.
+         *
+         * @return the consecutive errors
+         */
+        public Integer getConsecutiveErrors() {
+            return consecutiveErrors;
+        }
+
+        /**
+         * Sets consecutive errors.
+         *
+         * @param consecutiveErrors the consecutive errors
+         */
+        public void setConsecutiveErrors(final Integer consecutiveErrors) {
+            this.consecutiveErrors = consecutiveErrors;
+        }
+
+        /**
+         * Gets consecutive connect failures, the consecutive connect failures to eject an upstream.
+         *
+         * @return the consecutive connect failures
+         */
+        public Integer getConsecutiveConnectFailures() {
+            return consecutiveConnectFailures;
+        }
+
+        /**
+         * Sets consecutive connect failures.
+         *
+         * @param consecutiveConnectFailures the consecutive connect failures
+         */
+        public void setConsecutiveConnectFailures(final Integer consecutiveConnectFailures) {
+            this.consecutiveConnectFailures = consecutiveConnectFailures;
+        }
+
+        /**
+         * Gets latency percentile, the percentile of the latency to find the slow upstream.
+         *
+         * @return the latency percentile
+         */
+        public Integer getLatencyPercentile() {
+            return latencyPercentile;
+        }
+
+        /**
+         * Sets latency percentile.
+         *
+         * @param latencyPercentile the latency percentile
+         */
+        public void setLatencyPercentile(final Integer latencyPercentile) {
+            this.latencyPercentile = latencyPercentile;
+        }
+
+        /**
+         * Gets latency factor, the upstream is ejected if its latency percentile is more than the factor times of the median of the selector.
+         *
+         * @return the latency factor
+         */
+        public Double getLatencyFactor() {
+            return latencyFactor;
+        }
+
+        /**
+         * Sets latency factor.
+         *
+         * @param latencyFactor the latency factor
+         */
+        public void setLatencyFactor(final Double latencyFactor) {
+            this.latencyFactor = latencyFactor;
+        }
+
+        /**
+         * Gets minimum requests, the minimum requests of an upstream in an interval to detect the latency outlier.
+         *
+         * @return the minimum requests
+         */
+        public Integer getMinimumRequests() {
+            return minimumRequests;
+        }
+
+        /**
+         * Sets minimum requests.
+         *
+         * @param minimumRequests the minimum requests
+         */
+        public void setMinimumRequests(final Integer minimumRequests) {
+            this.minimumRequests = minimumRequests;
+        }
+
+        /**
+         * Gets minimum hosts, the minimum upstreams of a selector to detect the latency outlier.
+         *
+         * @return the minimum hosts
+         */
+        public Integer getMinimumHosts() {
+            return minimumHosts;
+        }
+
+        /**
+         * Sets minimum hosts.
+         *
+         * @param minimumHosts the minimum hosts
+         */
+        public void setMinimumHosts(final Integer minimumHosts) {
+            this.minimumHosts = minimumHosts;
+        }
+
+        /**
+         * Gets interval, the interval in milliseconds of the latency detection.
+         *
+         * @return the interval
+         */
+        public Integer getInterval() {
+            return interval;
+        }
+
+        /**
+         * Sets interval.
+         *
+         * @param interval the interval
+         */
+        public void setInterval(final Integer interval) {
+            this.interval = interval;
+        }
+
+        /**
+         * Gets base ejection time, the ejection time in milliseconds, it is doubled by every ejection.
+         *
+         * @return the base ejection time
+         */
+        public Integer getBaseEjectionTime() {
+            return baseEjectionTime;
+        }
+
+        /**
+         * Sets base ejection time.
+         *
+         * @param baseEjectionTime the base ejection time
+         */
+        public void setBaseEjectionTime(final Integer baseEjectionTime) {
+            this.baseEjectionTime = baseEjectionTime;
+        }
+
+        /**
+         * Gets max ejection time, the max ejection time in milliseconds.
+         *
+         * @return the max ejection time
+         */
+        public Integer getMaxEjectionTime() {
+            return maxEjectionTime;
+        }
+
+        /**
+         * Sets max ejection time.
+         *
+         * @param maxEjectionTime the max ejection time
+         */
+        public void setMaxEjectionTime(final Integer maxEjectionTime) {
+            this.maxEjectionTime = maxEjectionTime;
+        }
+
+        /**
+         * Gets max ejection percent, the max percent of the ejected upstreams of a selector.
+         *
+         * @return the max ejection percent
+         */
+        public Integer getMaxEjectionPercent() {
+            return maxEjectionPercent;
+        }
+
+        /**
+         * Sets max ejection percent.
+         *
+         * @param maxEjectionPercent the max ejection percent
+         */
+        public void setMaxEjectionPercent(final Integer maxEjectionPercent) {
+            this.maxEjectionPercent = maxEjectionPercent;
+        }
     }
     
     /**
@@ -122,6 +122,21 @@ public interface Constants {
      */
     String RETRY_STRATEGY = "retryStrategy";
     
+    /**
+     * The constant HTTP_HEDGE_PERCENTILE.
+     */
+    String HTTP_HEDGE_PERCENTILE = "httpHedgePercentile";
+    
+    /**
+     * The constant HTTP_RETRY_BUDGET_RATIO.
+     */
+    String HTTP_RETRY_BUDGET_RATIO = "httpRetryBudgetRatio";
+    
+    /**
+     * The constant HTTP_UPSTREAM_HTTP2.
+     */
+    String HTTP_UPSTREAM_HTTP2 = "httpUpstreamHttp2";
+    
     /**
      * The constant LOAD_BALANCE.
      */
@@ -713,6 +728,11 @@ public interface Constants {
      */
     String SHENYU_ADMIN_PATH_CONFIGS_LISTENER = "/configs/listener";
     
+    /**
+     * shenyu admin path configs delta.
+     */
+    String SHENYU_ADMIN_PATH_CONFIGS_DELTA = "/configs/delta";
+    
     /**
      * zombie removal times.
      */
@@ -35,6 +35,8 @@ public class ConfigData<T> {
 
     private List<T> data;
 
+    private long revision;
+
     /**
      * no args constructor.
      */
@@ -114,6 +116,26 @@ public class ConfigData<T> {
         return this;
     }
 
+    /**
+     * get revision.
+     *
+     * @return revision
+     */
+    public long getRevision() {
+        return revision;
+    }
+
+    /**
+     * set revision.
+     *
+     * @param revision revision
+     * @return this
+     */
+    public ConfigData<T> setRevision(final long revision) {
+        this.revision = revision;
+        return this;
+    }
+
     @Override
     public boolean equals(final Object o) {
         if (this == o) {
@@ -123,12 +145,13 @@ public class ConfigData<T> {
             return false;
         }
         ConfigData<?> that = (ConfigData<?>) o;
-        return lastModifyTime == that.lastModifyTime && Objects.equals(md5, that.md5) && Objects.equals(data, that.data);
+        return lastModifyTime == that.lastModifyTime && revision == that.revision
+                && Objects.equals(md5, that.md5) && Objects.equals(data, that.data);
     }
 
     @Override
     public int hashCode() {
-        return Objects.hash(md5, lastModifyTime, data);
+        return Objects.hash(md5, lastModifyTime, data, revision);
     }
 
     @Override
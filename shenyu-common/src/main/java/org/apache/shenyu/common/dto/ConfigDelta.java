@@ -0,0 +1,228 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.shenyu.common.dto;
+
+import org.apache.shenyu.common.utils.GsonUtils;
+
+import java.util.List;
+
+/**
+ * The changes of a config group since a revision, the full data is responded
+ * if the changes since the revision are not kept any more.
+ *
+ * @param <T> the type of the data
+ */
+public class ConfigDelta<T> {
+
+    private String md5;
+
+    private long lastModifyTime;
+
+    private long revision;
+
+    private boolean full;
+
+    private List<T> data;
+
+    private List<Change<T>> changes;
+
+    /**
+     * get md5.
+     *
+     * @return md5
+     */
+    public String getMd5() {
+        return md5;
+    }
+
+    /**
+     * set md5.
+     *
+     * @param md5 md5
+     * @return this
+     */
+    public ConfigDelta<T> setMd5(final String md5) {
+        this.md5 = md5;
+        return this;
+    }
+
+    /**
+     * get lastModifyTime.
+     *
+     * @return lastModifyTime
+     */
+    public long getLastModifyTime() {
+        return lastModifyTime;
+    }
+
+    /**
+     * set lastModifyTime.
+     *
+     * @param lastModifyTime lastModifyTime
+     * @return this
+     */
+    public ConfigDelta<T> setLastModifyTime(final long lastModifyTime) {
+        this.lastModifyTime = lastModifyTime;
+        return this;
+    }
+
+    /**
+     * get revision.
+     *
+     * @return revision
+     */
+    public long getRevision() {
+        return revision;
+    }
+
+    /**
+     * set revision.
+     *
+     * @param revision revision
+     * @return this
+     */
+    public ConfigDelta<T> setRevision(final long revision) {
+        this.revision = revision;
+        return this;
+    }
+
+    /**
+     * whether the data is the full data.
+     *
+     * @return true if the data is the full data
+     */
+    public boolean isFull() {
+        return full;
+    }
+
+    /**
+     * set full.
+     *
+     * @param full full
+     * @return this
+     */
+    public ConfigDelta<T> setFull(final boolean full) {
+        this.full = full;
+        return this;
+    }
+
+    /**
+     * get the full data.
+     *
+     * @return data
+     */
+    public List<T> getData() {
+        return data;
+    }
+
+    /**
+     * set the full data.
+     *
+     * @param data data
+     * @return this
+     */
+    public ConfigDelta<T> setData(final List<T> data) {
+        this.data = data;
+        return this;
+    }
+
+    /**
+     * get the changes in revision order.
+     *
+     * @return changes
+     */
+    public List<Change<T>> getChanges() {
+        return changes;
+    }
+
+    /**
+     * set the changes.
+     *
+     * @param changes changes
+     * @return this
+     */
+    public ConfigDelta<T> setChanges(final List<Change<T>> changes) {
+        this.changes = changes;
+        return this;
+    }
+
+    @Override
+    public String toString() {
+        return GsonUtils.getInstance().toJson(this);
+    }
+
+    /**
+     * The change of a revision.
+     *
+     * @param <T> the type of the data
+     */
+    public static class Change<T> {
+
+        private long revision;
+
+        private String eventType;
+
+        private List<T> data;
+
+        /**
+         * no args constructor.
+         */
+        public Change() {
+        }
+
+        /**
+         * all args constructor.
+         *
+         * @param revision  revision
+         * @param eventType the name of {@link org.apache.shenyu.common.enums.DataEventTypeEnum}
+         * @param data      the changed data
+         */
+        public Change(final long revision, final String eventType, final List<T> data) {
+            this.revision = revision;
+            this.eventType = eventType;
+            this.data = data;
+        }
+
+        /**
+         * get revision.
+         *
+         * @return revision
+         */
+        public long getRevision() {
+            return revision;
+        }
+
+        /**
+         * get eventType.
+         *
+         * @return eventType
+         */
+        public String getEventType() {
+            return eventType;
+        }
+
+        /**
+         * get the changed data.
+         *
+         * @return data
+         */
+        public List<T> getData() {
+            return data;
+        }
+    }
+}
@@ -18,6 +18,7 @@
 package org.apache.shenyu.common.dto.convert.rule;
 
 import org.apache.shenyu.common.enums.AiTokenLimiterEnum;
+import org.apache.shenyu.common.enums.AiTokenLimiterModeEnum;
 import org.apache.shenyu.common.enums.TimeWindowEnum;
 
 import java.util.Objects;
@@ -46,6 +47,21 @@ public class AiTokenLimiterHandle {
      */
     private Long tokenLimit;
     
+    /**
+     * whether to cut off the stream which exceeds the remaining tokens.
+     */
+    private Boolean cutOffStream = Boolean.FALSE;
+    
+    /**
+     * the budget mode, redis or local.
+     */
+    private String budgetMode = AiTokenLimiterModeEnum.REDIS.getName();
+    
+    /**
+     * the interval in milliseconds to flush the local increments to redis in local mode.
+     */
+    private Long flushInterval = 1000L;
+    
     /**
      * apiTokenLimitKey.
      *
@@ -118,6 +134,60 @@ public class AiTokenLimiterHandle {
         this.tokenLimit = tokenLimit;
     }
     
+    /**
+     * get cutOffStream.
+     *
+     * @return cutOffStream
+     */
+    public Boolean getCutOffStream() {
+        return cutOffStream;
+    }
+    
+    /**
+     * set cutOffStream.
+     *
+     * @param cutOffStream cutOffStream
+     */
+    public void setCutOffStream(final Boolean cutOffStream) {
+        this.cutOffStream = cutOffStream;
+    }
+    
+    /**
+     * get budgetMode.
+     *
+     * @return budgetMode
+     */
+    public String getBudgetMode() {
+        return budgetMode;
+    }
+    
+    /**
+     * set budgetMode.
+     *
+     * @param budgetMode budgetMode
+     */
+    public void setBudgetMode(final String budgetMode) {
+        this.budgetMode = budgetMode;
+    }
+    
+    /**
+     * get flushInterval.
+     *
+     * @return flushInterval
+     */
+    public Long getFlushInterval() {
+        return flushInterval;
+    }
+    
+    /**
+     * set flushInterval.
+     *
+     * @param flushInterval flushInterval
+     */
+    public void setFlushInterval(final Long flushInterval) {
+        this.flushInterval = flushInterval;
+    }
+    
     /**
      * new default instance.
      *
@@ -139,6 +209,9 @@ public class AiTokenLimiterHandle {
                 + ", timeWindowSeconds=" + timeWindowSeconds
                 + ", keyName='" + keyName + '\''
                 + ", tokenLimit=" + tokenLimit
+                + ", cutOffStream=" + cutOffStream
+                + ", budgetMode='" + budgetMode + '\''
+                + ", flushInterval=" + flushInterval
                 + '}';
     }
     
@@ -153,12 +226,15 @@ public class AiTokenLimiterHandle {
         return aiTokenLimitType.equals(that.aiTokenLimitType)
                 && timeWindowSeconds.equals(that.timeWindowSeconds)
                 && keyName.equals(that.keyName)
-                && tokenLimit.equals(that.tokenLimit);
+                && tokenLimit.equals(that.tokenLimit)
+                && Objects.equals(cutOffStream, that.cutOffStream)
+                && Objects.equals(budgetMode, that.budgetMode)
+                && Objects.equals(flushInterval, that.flushInterval);
     }
     
     @Override
     public int hashCode() {
-        return Objects.hash(aiTokenLimitType, timeWindowSeconds, keyName, tokenLimit);
+        return Objects.hash(aiTokenLimitType, timeWindowSeconds, keyName, tokenLimit, cutOffStream, budgetMode, flushInterval);
     }
     
 }
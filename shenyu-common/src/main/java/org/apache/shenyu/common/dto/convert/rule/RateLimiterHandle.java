@@ -53,6 +53,16 @@ public class RateLimiterHandle {
      * key resolver name.
      */
     private String keyResolverName;
+
+    /**
+     * rate limiter mode, redis, hybrid or local, default redis.
+     */
+    private String limiterMode;
+
+    /**
+     * the tokens leased from redis at a time in hybrid mode, 0 means a tenth of the replenish rate.
+     */
+    private double leaseSize;
     
     /**
      * New default instance rate limiter handle.
@@ -177,6 +187,42 @@ public class RateLimiterHandle {
         this.keyResolverName = keyResolverName;
     }
 
+    /**
+     * get limiterMode.
+     *
+     * @return limiterMode rate limiter mode
+     */
+    public String getLimiterMode() {
+        return limiterMode;
+    }
+
+    /**
+     * set limiterMode.
+     *
+     * @param limiterMode limiterMode
+     */
+    public void setLimiterMode(final String limiterMode) {
+        this.limiterMode = limiterMode;
+    }
+
+    /**
+     * get leaseSize.
+     *
+     * @return leaseSize lease size
+     */
+    public double getLeaseSize() {
+        return leaseSize;
+    }
+
+    /**
+     * set leaseSize.
+     *
+     * @param leaseSize leaseSize
+     */
+    public void setLeaseSize(final double leaseSize) {
+        this.leaseSize = leaseSize;
+    }
+
     @Override
     public boolean equals(final Object o) {
         if (this == o) {
@@ -188,12 +234,13 @@ public class RateLimiterHandle {
         RateLimiterHandle that = (RateLimiterHandle) o;
         return Double.compare(that.replenishRate, replenishRate) == 0 && Double.compare(that.burstCapacity, burstCapacity) == 0
                 && Double.compare(that.requestCount, requestCount) == 0 && loged == that.loged
-                && Objects.equals(algorithmName, that.algorithmName) && Objects.equals(keyResolverName, that.keyResolverName);
+                && Objects.equals(algorithmName, that.algorithmName) && Objects.equals(keyResolverName, that.keyResolverName)
+                && Objects.equals(limiterMode, that.limiterMode) && Double.compare(that.leaseSize, leaseSize) == 0;
     }
 
     @Override
     public int hashCode() {
-        return Objects.hash(algorithmName, replenishRate, burstCapacity, requestCount, loged, keyResolverName);
+        return Objects.hash(algorithmName, replenishRate, burstCapacity, requestCount, loged, keyResolverName, limiterMode, leaseSize);
     }
 
     @Override
@@ -213,6 +260,11 @@ public class RateLimiterHandle {
                 + ", keyResolverName='"
                 + keyResolverName
                 + '\''
+                + ", limiterMode='"
+                + limiterMode
+                + '\''
+                + ", leaseSize="
+                + leaseSize
                 + '}';
     }
 }
@@ -28,6 +28,31 @@ public class CacheRuleHandle implements RuleHandle {
      * the cache timeout seconds.
      */
     private Long timeoutSeconds = 60L;
+
+    /**
+     * whether to coalesce the identical concurrent GET requests into one upstream request.
+     */
+    private Boolean coalesce = Boolean.FALSE;
+
+    /**
+     * the max milliseconds a coalesced request waits for the in-flight response.
+     */
+    private Long coalesceMaxWaitMillis = 3000L;
+
+    /**
+     * the max requests waiting for one in-flight response, the others request the upstream.
+     */
+    private Integer coalesceMaxFanOut = 1000;
+
+    /**
+     * the comma separated query params of the request fingerprint, the whole query if blank.
+     */
+    private String coalesceQueryParams;
+
+    /**
+     * the comma separated headers of the request fingerprint.
+     */
+    private String coalesceHeaders;
     
     /**
      * Get the timeout seconds.
@@ -47,6 +72,96 @@ public class CacheRuleHandle implements RuleHandle {
         this.timeoutSeconds = timeoutSeconds;
     }
     
+    /**
+     * Get the coalesce.
+     *
+     * @return the coalesce
+     */
+    public Boolean getCoalesce() {
+        return coalesce;
+    }
+    
+    /**
+     * Set the coalesce.
+     *
+     * @param coalesce the coalesce
+     */
+    public void setCoalesce(final Boolean coalesce) {
+        this.coalesce = coalesce;
+    }
+    
+    /**
+     * Get the coalesce max wait millis.
+     *
+     * @return the coalesce max wait millis
+     */
+    public Long getCoalesceMaxWaitMillis() {
+        return coalesceMaxWaitMillis;
+    }
+    
+    /**
+     * Set the coalesce max wait millis.
+     *
+     * @param coalesceMaxWaitMillis the coalesce max wait millis
+     */
+    public void setCoalesceMaxWaitMillis(final Long coalesceMaxWaitMillis) {
+        this.coalesceMaxWaitMillis = coalesceMaxWaitMillis;
+    }
+    
+    /**
+     * Get the coalesce max fan out.
+     *
+     * @return the coalesce max fan out
+     */
+    public Integer getCoalesceMaxFanOut() {
+        return coalesceMaxFanOut;
+    }
+    
+    /**
+     * Set the coalesce max fan out.
+     *
+     * @param coalesceMaxFanOut the coalesce max fan out
+     */
+    public void setCoalesceMaxFanOut(final Integer coalesceMaxFanOut) {
+        this.coalesceMaxFanOut = coalesceMaxFanOut;
+    }
+    
+    /**
+     * Get the coalesce query params.
+     *
+     * @return the coalesce query params
+     */
+    public String getCoalesceQueryParams() {
+        return coalesceQueryParams;
+    }
+    
+    /**
+     * Set the coalesce query params.
+     *
+     * @param coalesceQueryParams the coalesce query params
+     */
+    public void setCoalesceQueryParams(final String coalesceQueryParams) {
+        this.coalesceQueryParams = coalesceQueryParams;
+    }
+    
+    /**
+     * Get the coalesce headers.
+     *
+     * @return the coalesce headers
+     */
+    public String getCoalesceHeaders() {
+        return coalesceHeaders;
+    }
+    
+    /**
+     * Set the coalesce headers.
+     *
+     * @param coalesceHeaders the coalesce headers
+     */
+    public void setCoalesceHeaders(final String coalesceHeaders) {
+        this.coalesceHeaders = coalesceHeaders;
+    }
+    
     /**
      * New instance cache rule handle.
      *
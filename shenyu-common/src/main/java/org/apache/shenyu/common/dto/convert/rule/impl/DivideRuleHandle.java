@@ -60,6 +60,22 @@ public class DivideRuleHandle implements RuleHandle {
      * requestMaxSize.
      */
     private long requestMaxSize;
+
+    /**
+     * the latency percentile of the selector after which a hedged request is sent, 0 means disabled.
+     * hedging replaces the retries, the retry times are ignored for a hedged request.
+     */
+    private double hedgePercentile;
+
+    /**
+     * the ratio of hedged requests to requests allowed by the retry budget of the selector.
+     */
+    private double retryBudgetRatio = 0.1;
+
+    /**
+     * whether to speak http2 to the upstreams, h2 for https and h2c for http.
+     */
+    private boolean http2;
     
     /**
      * New instance divide rule handle.
@@ -178,6 +194,60 @@ public class DivideRuleHandle implements RuleHandle {
         this.requestMaxSize = requestMaxSize;
     }
 
+    /**
+     * get hedgePercentile.
+     *
+     * @return hedgePercentile
+     */
+    public double getHedgePercentile() {
+        return hedgePercentile;
+    }
+
+    /**
+     * set hedgePercentile.
+     *
+     * @param hedgePercentile hedgePercentile
+     */
+    public void setHedgePercentile(final double hedgePercentile) {
+        this.hedgePercentile = hedgePercentile;
+    }
+
+    /**
+     * get retryBudgetRatio.
+     *
+     * @return retryBudgetRatio
+     */
+    public double getRetryBudgetRatio() {
+        return retryBudgetRatio;
+    }
+
+    /**
+     * set retryBudgetRatio.
+     *
+     * @param retryBudgetRatio retryBudgetRatio
+     */
+    public void setRetryBudgetRatio(final double retryBudgetRatio) {
+        this.retryBudgetRatio = retryBudgetRatio;
+    }
+
+    /**
+     * get http2.
+     *
+     * @return http2
+     */
+    public boolean isHttp2() {
+        return http2;
+    }
+
+    /**
+     * set http2.
+     *
+     * @param http2 http2
+     */
+    public void setHttp2(final boolean http2) {
+        this.http2 = http2;
+    }
+
     @Override
     public boolean equals(final Object o) {
         if (this == o) {
@@ -187,14 +257,16 @@ public class DivideRuleHandle implements RuleHandle {
             return false;
         }
         DivideRuleHandle that = (DivideRuleHandle) o;
-        return retry == that.retry && timeout == that.timeout && headerMaxSize == that.headerMaxSize
+        return retry == that.retry && http2 == that.http2 && timeout == that.timeout && headerMaxSize == that.headerMaxSize
                 && requestMaxSize == that.requestMaxSize && Objects.equals(loadBalance, that.loadBalance)
+                && Double.compare(hedgePercentile, that.hedgePercentile) == 0
+                && Double.compare(retryBudgetRatio, that.retryBudgetRatio) == 0
                 && Objects.equals(retryStrategy, that.retryStrategy);
     }
 
     @Override
     public int hashCode() {
-        return Objects.hash(loadBalance, retryStrategy, retry, timeout, headerMaxSize, requestMaxSize);
+        return Objects.hash(loadBalance, retryStrategy, retry, timeout, headerMaxSize, requestMaxSize, hedgePercentile, retryBudgetRatio, http2);
     }
 
     @Override
@@ -214,6 +286,12 @@ public class DivideRuleHandle implements RuleHandle {
                 + headerMaxSize
                 + ", requestMaxSize="
                 + requestMaxSize
+                + ", hedgePercentile="
+                + hedgePercentile
+                + ", retryBudgetRatio="
+                + retryBudgetRatio
+                + ", http2="
+                + http2
                 + '}';
     }
 }
@@ -34,6 +34,26 @@ public class DivideUpstream extends CommonUpstream {
      */
     private int warmup;
 
+    /**
+     * the max connections of the dedicated connection pool, the shared pool is used if it is not positive.
+     */
+    private Integer maxConnections;
+
+    /**
+     * the max pending acquire count of the dedicated connection pool.
+     */
+    private Integer pendingAcquireMaxCount;
+
+    /**
+     * the max idle time of the dedicated connection pool, in milliseconds.
+     */
+    private Long maxIdleTime;
+
+    /**
+     * the max life time of the dedicated connection pool, in milliseconds.
+     */
+    private Long maxLifeTime;
+
     /**
      * no args constructor.
      */
@@ -105,6 +125,78 @@ public class DivideUpstream extends CommonUpstream {
         this.warmup = warmup;
     }
 
+    /**
+     * get max connections.
+     *
+     * @return max connections
+     */
+    public Integer getMaxConnections() {
+        return maxConnections;
+    }
+
+    /**
+     * set max connections.
+     *
+     * @param maxConnections max connections
+     */
+    public void setMaxConnections(final Integer maxConnections) {
+        this.maxConnections = maxConnections;
+    }
+
+    /**
+     * get pending acquire max count.
+     *
+     * @return pending acquire max count
+     */
+    public Integer getPendingAcquireMaxCount() {
+        return pendingAcquireMaxCount;
+    }
+
+    /**
+     * set pending acquire max count.
+     *
+     * @param pendingAcquireMaxCount pending acquire max count
+     */
+    public void setPendingAcquireMaxCount(final Integer pendingAcquireMaxCount) {
+        this.pendingAcquireMaxCount = pendingAcquireMaxCount;
+    }
+
+    /**
+     * get max idle time.
+     *
+     * @return max idle time
+     */
+    public Long getMaxIdleTime() {
+        return maxIdleTime;
+    }
+
+    /**
+     * set max idle time.
+     *
+     * @param maxIdleTime max idle time
+     */
+    public void setMaxIdleTime(final Long maxIdleTime) {
+        this.maxIdleTime = maxIdleTime;
+    }
+
+    /**
+     * get max life time.
+     *
+     * @return max life time
+     */
+    public Long getMaxLifeTime() {
+        return maxLifeTime;
+    }
+
+    /**
+     * set max life time.
+     *
+     * @param maxLifeTime max life time
+     */
+    public void setMaxLifeTime(final Long maxLifeTime) {
+        this.maxLifeTime = maxLifeTime;
+    }
+
     @Override
     public boolean equals(final Object o) {
         if (this == o) {
@@ -145,6 +237,14 @@ public class DivideUpstream extends CommonUpstream {
                 + getTimestamp()
                 + ", warmup="
                 + warmup
+                + ", maxConnections="
+                + maxConnections
+                + ", pendingAcquireMaxCount="
+                + pendingAcquireMaxCount
+                + ", maxIdleTime="
+                + maxIdleTime
+                + ", maxLifeTime="
+                + maxLifeTime
                 + ", namespaceId="
                 + getNamespaceId()
                 + '}';
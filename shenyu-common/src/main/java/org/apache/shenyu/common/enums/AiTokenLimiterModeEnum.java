@@ -0,0 +1,68 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.shenyu.common.enums;
+
+import java.util.Arrays;
+
+/**
+ * The ai token limiter mode enum.
+ */
+public enum AiTokenLimiterModeEnum {
+    
+    /**
+     * every request reserves and settles its tokens by the redis script.
+     */
+    REDIS("redis"),
+    
+    /**
+     * requests are judged by the node-local budget, the increments are flushed to redis in batches.
+     */
+    LOCAL("local");
+    
+    private final String name;
+    
+    /**
+     * all args constructor.
+     *
+     * @param name name
+     */
+    AiTokenLimiterModeEnum(final String name) {
+        this.name = name;
+    }
+    
+    /**
+     * get name.
+     *
+     * @return name
+     */
+    public String getName() {
+        return name;
+    }
+    
+    /**
+     * Acquire by name ai token limiter mode enum.
+     *
+     * @param name ai token limiter mode name
+     * @return AiTokenLimiterModeEnum
+     */
+    public static AiTokenLimiterModeEnum acquireByName(final String name) {
+        return Arrays.stream(AiTokenLimiterModeEnum.values())
+                .filter(e -> e.getName().equals(name)).findFirst()
+                .orElse(AiTokenLimiterModeEnum.REDIS);
+    }
+}
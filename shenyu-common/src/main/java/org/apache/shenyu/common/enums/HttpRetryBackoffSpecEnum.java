@@ -42,7 +42,12 @@ public enum HttpRetryBackoffSpecEnum {
     /**
      * Custom retry.
      */
-    CUSTOM_BACKOFF("custom");
+    CUSTOM_BACKOFF("custom"),
+
+    /**
+     * Hedged retry.
+     */
+    HEDGED_BACKOFF("hedged");
 
     private final String name;
 
@@ -142,6 +142,15 @@ public enum RpcTypeEnum {
         return Arrays.asList(RpcTypeEnum.HTTP, RpcTypeEnum.SPRING_CLOUD);
     }
 
+    /**
+     * acquire http like RPC type, which are proxied by the http client plugins.
+     *
+     * @return http like rpc types.
+     */
+    public static List<RpcTypeEnum> acquireHttpLikes() {
+        return Arrays.asList(RpcTypeEnum.HTTP, RpcTypeEnum.SPRING_CLOUD, RpcTypeEnum.AI);
+    }
+
     /**
      * acquireByName.
      *
@@ -31,7 +31,12 @@ public enum TrieMatchModeEnum {
     /**
      * path pattern.
      */
-    PATH_PATTERN("pathPattern");
+    PATH_PATTERN("pathPattern"),
+
+    /**
+     * compressed radix tree, the literal chars are merged into the edges and the path is matched without splitting.
+     */
+    RADIX_TREE("radixTree");
 
     private final String matchMode;
 
@@ -18,11 +18,19 @@
 package org.apache.shenyu.common.utils;
 
 import com.google.common.collect.ImmutableMap;
+import org.apache.commons.codec.binary.Hex;
+import org.apache.commons.codec.digest.HmacAlgorithms;
+import org.apache.commons.codec.digest.HmacUtils;
 
+import javax.crypto.Mac;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.function.Function;
 
 /**
  * SignUtils.
@@ -44,6 +52,13 @@ public final class SignUtils {
             SIGN_HS512, HmacHexUtils::hmacSha512Hex
     );
 
+    private static final Map<String, Function<String, Signer>> SIGNER_MAP = ImmutableMap.of(
+            SIGN_MD5, Md5Signer::new,
+            SIGN_HMD5, key -> new HmacSigner(HmacAlgorithms.HMAC_MD5, key),
+            SIGN_HS256, key -> new HmacSigner(HmacAlgorithms.HMAC_SHA_256, key),
+            SIGN_HS512, key -> new HmacSigner(HmacAlgorithms.HMAC_SHA_512, key)
+    );
+
     /**
      * Returns signature of data as hex string (lowercase).
      *
@@ -64,6 +79,26 @@ public final class SignUtils {
                 .sign(key, data);
     }
 
+    /**
+     * Returns a signer which signs the data incrementally, the signature of the data updated in order
+     * is the same as {@link #sign(String, String, String)} of the whole data.
+     *
+     * @param algorithmName the name of sign algorithm
+     * @param key           key
+     * @return the signer
+     * @throws NullPointerException          if key is null
+     * @throws UnsupportedOperationException if algorithmName isn't supported
+     */
+    public static Signer newSigner(final String algorithmName, final String key) {
+        if (Objects.isNull(key)) {
+            throw new NullPointerException("Key is null.");
+        }
+
+        return Optional.ofNullable(SIGNER_MAP.get(algorithmName))
+                .orElseThrow(() -> new UnsupportedOperationException("unsupported sign algorithm:" + algorithmName))
+                .apply(key);
+    }
+
     /**
      * Generate key string.
      *
@@ -78,4 +113,78 @@ public final class SignUtils {
         String sign(String key, String data);
     }
 
+    /**
+     * The signer which signs the data incrementally.
+     */
+    public interface Signer {
+
+        /**
+         * Updates the data to sign.
+         *
+         * @param data the data, its position is moved to the limit
+         * @return this signer
+         */
+        Signer update(ByteBuffer data);
+
+        /**
+         * Updates the data to sign.
+         *
+         * @param data the data
+         * @return this signer
+         */
+        default Signer update(final String data) {
+            return update(ByteBuffer.wrap(data.getBytes(StandardCharsets.UTF_8)));
+        }
+
+        /**
+         * Returns signature of the updated data as hex string (lowercase).
+         *
+         * @return signature
+         */
+        String sign();
+    }
+
+    private static final class Md5Signer implements Signer {
+
+        private final MessageDigest digest = org.apache.commons.codec.digest.DigestUtils.getMd5Digest();
+
+        private final String key;
+
+        Md5Signer(final String key) {
+            this.key = key;
+        }
+
+        @Override
+        public Signer update(final ByteBuffer data) {
+            digest.update(data);
+            return this;
+        }
+
+        @Override
+        public String sign() {
+            digest.update(key.getBytes(StandardCharsets.UTF_8));
+            return Hex.encodeHexString(digest.digest());
+        }
+    }
+
+    private static final class HmacSigner implements Signer {
+
+        private final Mac mac;
+
+        HmacSigner(final HmacAlgorithms algorithm, final String key) {
+            this.mac = HmacUtils.getInitializedMac(algorithm, key.getBytes(StandardCharsets.UTF_8));
+        }
+
+        @Override
+        public Signer update(final ByteBuffer data) {
+            mac.update(data);
+            return this;
+        }
+
+        @Override
+        public String sign() {
+            return Hex.encodeHexString(mac.doFinal());
+        }
+    }
+
 }
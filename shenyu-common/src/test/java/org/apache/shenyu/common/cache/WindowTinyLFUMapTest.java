@@ -51,4 +51,17 @@ public class WindowTinyLFUMapTest {
         Assert.assertEquals(map.get(key1), map.get(key2));
         Assert.assertEquals(1, map.size());
     }
+    
+    @Test
+    public void recordStats() {
+        WindowTinyLFUMap<String, String> map = new WindowTinyLFUMap<>(1, 1, Boolean.FALSE, Boolean.TRUE);
+        map.put("a", "1");
+        Assert.assertEquals("1", map.get("a"));
+        Assert.assertNull(map.get("b"));
+        Assert.assertEquals("1", map.put("a", "2"));
+        Assert.assertEquals("2", map.remove("a"));
+        Assert.assertEquals(1, map.stats().hitCount());
+        Assert.assertEquals(1, map.stats().missCount());
+        Assert.assertEquals(0, new WindowTinyLFUMap<String, String>(1, 1, Boolean.FALSE).stats().hitCount());
+    }
 }
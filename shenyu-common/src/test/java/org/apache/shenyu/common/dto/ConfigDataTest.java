@@ -52,6 +52,7 @@ public class ConfigDataTest {
         assertEquals(configData.getData(), Collections.emptyList());
         assertEquals(configData.getMd5(), MD5);
         assertEquals(configData.getLastModifyTime(), LAST_MODIFY_TIME);
+        assertEquals(configData.setRevision(1L).getRevision(), 1L);
     }
 
 }
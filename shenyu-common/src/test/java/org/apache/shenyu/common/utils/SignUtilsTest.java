@@ -19,6 +19,9 @@ package org.apache.shenyu.common.utils;
 
 import org.junit.jupiter.api.Test;
 
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.is;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
@@ -53,6 +56,17 @@ public final class SignUtilsTest {
             () -> SignUtils.sign("supported_algorithm", "key", "data"));
     }
 
+    @Test
+    public void testSignIncrementally() {
+        for (String algorithm : new String[]{SignUtils.SIGN_MD5, SignUtils.SIGN_HMD5, SignUtils.SIGN_HS256, SignUtils.SIGN_HS512}) {
+            String sign = SignUtils.newSigner(algorithm, "key").update("a1")
+                    .update(ByteBuffer.wrap("b2中".getBytes(StandardCharsets.UTF_8))).sign();
+            assertThat(sign, is(SignUtils.sign(algorithm, "key", "a1b2中")));
+        }
+        assertThrowsExactly(UnsupportedOperationException.class,
+            () -> SignUtils.newSigner("supported_algorithm", "key"));
+    }
+
     @Test
     public void testGenerateKey() {
         assertNotNull(SignUtils.generateKey());
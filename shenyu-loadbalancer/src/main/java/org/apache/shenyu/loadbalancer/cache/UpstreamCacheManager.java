@@ -25,13 +25,19 @@ import org.apache.shenyu.common.config.ShenyuConfig.UpstreamCheck;
 import org.apache.shenyu.common.utils.MapUtils;
 import org.apache.shenyu.common.utils.Singleton;
 import org.apache.shenyu.loadbalancer.entity.Upstream;
+import org.apache.shenyu.loadbalancer.entity.UpstreamConnectionPool;
 
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.concurrent.ScheduledThreadPoolExecutor;
 import java.util.concurrent.ThreadFactory;
 import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
 
 /**
@@ -43,8 +49,22 @@ public final class UpstreamCacheManager {
 
     private static final Map<String, List<Upstream>> UPSTREAM_MAP = Maps.newConcurrentMap();
 
+    /**
+     * upstream url -> the dedicated connection pool.
+     */
+    private static final Map<String, UpstreamConnectionPool> CONNECTION_POOL_MAP = Maps.newConcurrentMap();
+
+    /**
+     * selector id -> the connection pools of the selector handle, overridden by the pools of the discovery upstreams.
+     */
+    private static final Map<String, Map<String, UpstreamConnectionPool>> SELECTOR_CONNECTION_POOL_MAP = Maps.newConcurrentMap();
+
+    private static final List<Consumer<String>> CONNECTION_POOL_REMOVED_LISTENERS = new CopyOnWriteArrayList<>();
+
     private UpstreamCheckTask task;
 
+    private UpstreamOutlierDetector outlierDetector;
+
     /**
      * health check parameters.
      */
@@ -60,6 +80,10 @@ public final class UpstreamCacheManager {
 
     private int unhealthyThreshold;
 
+    private String checkMode;
+
+    private String healthPath;
+
     /**
      * healthy upstream print parameters.
      */
@@ -80,10 +104,16 @@ public final class UpstreamCacheManager {
         healthyThreshold = upstreamCheck.getHealthyThreshold();
         unhealthyThreshold = upstreamCheck.getUnhealthyThreshold();
         checkInterval = upstreamCheck.getInterval();
+        checkMode = upstreamCheck.getCheckMode();
+        healthPath = upstreamCheck.getHealthPath();
         printEnable = upstreamCheck.getPrintEnabled();
         printInterval = upstreamCheck.getPrintInterval();
         createTask();
         scheduleHealthCheck();
+        outlierDetector = new UpstreamOutlierDetector(shenyuConfig.getUpstreamOutlier(), selectorId -> task.getHealthyUpstream().get(selectorId));
+        if (outlierDetector.isEnabled()) {
+            outlierDetector.schedule();
+        }
     }
 
     private void createTask() {
@@ -92,6 +122,8 @@ public final class UpstreamCacheManager {
         task.setCheckTimeout(checkTimeout);
         task.setHealthyThreshold(healthyThreshold);
         task.setUnhealthyThreshold(unhealthyThreshold);
+        task.setCheckMode(checkMode);
+        task.setHealthPath(healthPath);
     }
 
     private void scheduleHealthCheck() {
@@ -122,7 +154,59 @@ public final class UpstreamCacheManager {
      * @return the list
      */
     public List<Upstream> findUpstreamListBySelectorId(final String selectorId) {
-        return task.getHealthyUpstream().get(selectorId);
+        return outlierDetector.filter(selectorId, task.getHealthyUpstream().get(selectorId));
+    }
+
+    /**
+     * Get the passive outlier detector.
+     *
+     * @return the outlier detector
+     */
+    public UpstreamOutlierDetector getOutlierDetector() {
+        return outlierDetector;
+    }
+
+    /**
+     * Find the dedicated connection pool of the upstream url.
+     *
+     * @param url the upstream url, eg. host:port
+     * @return the connection pool, null means the shared pool
+     */
+    public UpstreamConnectionPool findConnectionPool(final String url) {
+        return CONNECTION_POOL_MAP.get(url);
+    }
+
+    /**
+     * Add the listener notified with the upstream url whose dedicated connection pool is removed.
+     *
+     * @param listener the listener
+     */
+    public void addConnectionPoolRemovedListener(final Consumer<String> listener) {
+        CONNECTION_POOL_REMOVED_LISTENERS.add(listener);
+    }
+
+    /**
+     * Remove the connection pool removed listener.
+     *
+     * @param listener the listener
+     */
+    public void removeConnectionPoolRemovedListener(final Consumer<String> listener) {
+        CONNECTION_POOL_REMOVED_LISTENERS.remove(listener);
+    }
+
+    /**
+     * Submit the connection pools of the selector handle.
+     *
+     * @param selectorId      the selector id
+     * @param connectionPools upstream url -> the connection pool
+     */
+    public void submitConnectionPools(final String selectorId, final Map<String, UpstreamConnectionPool> connectionPools) {
+        if (connectionPools.isEmpty()) {
+            SELECTOR_CONNECTION_POOL_MAP.remove(selectorId);
+        } else {
+            SELECTOR_CONNECTION_POOL_MAP.put(selectorId, connectionPools);
+        }
+        refreshConnectionPools();
     }
 
     /**
@@ -132,7 +216,10 @@ public final class UpstreamCacheManager {
      */
     public void removeByKey(final String key) {
         UPSTREAM_MAP.remove(key);
+        SELECTOR_CONNECTION_POOL_MAP.remove(key);
         task.triggerRemoveAll(key);
+        outlierDetector.remove(key);
+        refreshConnectionPools();
     }
 
     /**
@@ -146,8 +233,29 @@ public final class UpstreamCacheManager {
         List<Upstream> existUpstream = MapUtils.computeIfAbsent(UPSTREAM_MAP, selectorId, k -> Lists.newArrayList());
         existUpstream.stream().filter(upstream -> !validUpstreamList.contains(upstream))
                 .forEach(upstream -> task.triggerRemoveOne(selectorId, upstream));
+        // the outlier stats are kept for the upstream whose url is still in the selector.
+        Set<String> validUrls = validUpstreamList.stream().map(Upstream::getUrl).filter(Objects::nonNull).map(String::trim).collect(Collectors.toSet());
+        existUpstream.stream().map(Upstream::getUrl).filter(url -> Objects.nonNull(url) && !validUrls.contains(url.trim()))
+                .forEach(url -> outlierDetector.remove(selectorId, url));
         validUpstreamList.stream().filter(upstream -> !existUpstream.contains(upstream))
                 .forEach(upstream -> task.triggerAddOne(selectorId, upstream));
         UPSTREAM_MAP.put(selectorId, validUpstreamList);
+        refreshConnectionPools();
+    }
+
+    private synchronized void refreshConnectionPools() {
+        // the same upstream may be shared by selectors, the last one wins.
+        Map<String, UpstreamConnectionPool> connectionPools = new HashMap<>();
+        SELECTOR_CONNECTION_POOL_MAP.values().forEach(connectionPools::putAll);
+        UPSTREAM_MAP.values().stream()
+                .flatMap(List::stream)
+                .filter(upstream -> Objects.nonNull(upstream.getConnectionPool()) && Objects.nonNull(upstream.getUrl()))
+                .forEach(upstream -> connectionPools.put(upstream.getUrl().trim(), upstream.getConnectionPool()));
+        Set<String> removed = CONNECTION_POOL_MAP.keySet().stream()
+                .filter(url -> !connectionPools.containsKey(url))
+                .collect(Collectors.toSet());
+        CONNECTION_POOL_MAP.keySet().removeAll(removed);
+        CONNECTION_POOL_MAP.putAll(connectionPools);
+        removed.forEach(url -> CONNECTION_POOL_REMOVED_LISTENERS.forEach(listener -> listener.accept(url)));
     }
 }
@@ -50,6 +50,8 @@ public final class UpstreamCheckTask implements Runnable {
      */
     private static final Logger LOG = LoggerFactory.getLogger(UpstreamCheckTask.class);
 
+    private static final String CHECK_MODE_NIO = "nio";
+
     private final Map<String, List<Upstream>> healthyUpstream = Maps.newConcurrentMap();
 
     private final Map<String, List<Upstream>> unhealthyUpstream = Maps.newConcurrentMap();
@@ -62,6 +64,8 @@ public final class UpstreamCheckTask implements Runnable {
 
     private final int checkInterval;
 
+    private ScheduledThreadPoolExecutor scheduler;
+
     private ExecutorService executor;
 
     private int poolSize;
@@ -71,6 +75,16 @@ public final class UpstreamCheckTask implements Runnable {
     private int healthyThreshold = 1;
 
     private int unhealthyThreshold = 1;
+
+    private String checkMode;
+
+    private String healthPath;
+
+    private UpstreamNioChecker nioChecker;
+
+    private volatile long lastCheckCost;
+
+    private volatile int lastCheckCount;
     
     /**
      * Instantiates a new Upstream check task.
@@ -96,13 +110,33 @@ public final class UpstreamCheckTask implements Runnable {
     public void schedule() {
         // executor for health check
         ThreadFactory healthCheckFactory = ShenyuThreadFactory.create("upstream-health-check", true);
-        new ScheduledThreadPoolExecutor(1, healthCheckFactory)
-                .scheduleWithFixedDelay(this, 3000, checkInterval, TimeUnit.MILLISECONDS);
+        scheduler = new ScheduledThreadPoolExecutor(1, healthCheckFactory);
+        scheduler.scheduleWithFixedDelay(this, 3000, checkInterval, TimeUnit.MILLISECONDS);
 
+        if (CHECK_MODE_NIO.equals(checkMode)) {
+            // all upstreams are probed by the selector in the health check thread
+            nioChecker = new UpstreamNioChecker(checkTimeout, healthPath);
+            return;
+        }
         // executor for async request, avoid request block health check thread
         ThreadFactory requestFactory = ShenyuThreadFactory.create("upstream-health-check-request", true);
         executor = new ScheduledThreadPoolExecutor(poolSize, requestFactory);
     }
+
+    /**
+     * Shutdown the health check, the nio checker is closed with its resolver pool.
+     */
+    public void shutdown() {
+        if (Objects.nonNull(scheduler)) {
+            scheduler.shutdownNow();
+        }
+        if (Objects.nonNull(executor)) {
+            executor.shutdownNow();
+        }
+        if (Objects.nonNull(nioChecker)) {
+            nioChecker.close();
+        }
+    }
     
     /**
      * Set check timeout.
@@ -149,6 +183,42 @@ public final class UpstreamCheckTask implements Runnable {
         this.unhealthyThreshold = unhealthyThreshold;
     }
 
+    /**
+     * Set check mode, socket or nio.
+     *
+     * @param checkMode check mode
+     */
+    public void setCheckMode(final String checkMode) {
+        this.checkMode = checkMode;
+    }
+
+    /**
+     * Set health path of the nio check.
+     *
+     * @param healthPath health path
+     */
+    public void setHealthPath(final String healthPath) {
+        this.healthPath = healthPath;
+    }
+
+    /**
+     * Get the cost of the last health check round.
+     *
+     * @return milliseconds
+     */
+    public long getLastCheckCost() {
+        return lastCheckCost;
+    }
+
+    /**
+     * Get the upstream count of the last health check round.
+     *
+     * @return the upstream count
+     */
+    public int getLastCheckCount() {
+        return lastCheckCount;
+    }
+
     @Override
     public void run() {
         healthCheck();
@@ -162,8 +232,10 @@ public final class UpstreamCheckTask implements Runnable {
              */
             synchronized (lock) {
                 if (tryStartHealthCheck()) {
+                    long start = System.currentTimeMillis();
                     doHealthCheck();
                     waitFinish();
+                    recordHealthCheck(System.currentTimeMillis() - start);
                 }
             }
         } catch (Exception e) {
@@ -174,8 +246,25 @@ public final class UpstreamCheckTask implements Runnable {
     }
 
     private void doHealthCheck() {
+        if (Objects.nonNull(nioChecker)) {
+            doNioHealthCheck();
+            return;
+        }
         check(healthyUpstream);
         check(unhealthyUpstream);
+        lastCheckCount = futures.size();
+    }
+
+    private void doNioHealthCheck() {
+        List<UpstreamWithSelectorId> entities = Lists.newArrayList();
+        healthyUpstream.forEach((selectorId, list) -> list.forEach(upstream -> entities.add(new UpstreamWithSelectorId(selectorId, upstream))));
+        unhealthyUpstream.forEach((selectorId, list) -> list.forEach(upstream -> entities.add(new UpstreamWithSelectorId(selectorId, upstream))));
+        boolean[] results = nioChecker.check(entities.stream().map(entity -> entity.getUpstream().getUrl()).collect(Collectors.toList()));
+        for (int i = 0; i < entities.size(); i++) {
+            UpstreamWithSelectorId entity = entities.get(i);
+            putEntityToMap(check(entity.getSelectorId(), entity.getUpstream(), results[i]));
+        }
+        lastCheckCount = entities.size();
     }
 
     private void check(final Map<String, List<Upstream>> map) {
@@ -190,7 +279,10 @@ public final class UpstreamCheckTask implements Runnable {
     }
 
     private UpstreamWithSelectorId check(final String selectorId, final Upstream upstream) {
-        boolean pass = UpstreamCheckUtils.checkUrl(upstream.getUrl(), checkTimeout);
+        return check(selectorId, upstream, UpstreamCheckUtils.checkUrl(upstream.getUrl(), checkTimeout));
+    }
+
+    private UpstreamWithSelectorId check(final String selectorId, final Upstream upstream, final boolean pass) {
         if (pass) {
             if (upstream.isHealthy()) {
                 upstream.setLastHealthTimestamp(System.currentTimeMillis());
@@ -234,6 +326,15 @@ public final class UpstreamCheckTask implements Runnable {
         futures.clear();
     }
 
+    private void recordHealthCheck(final long cost) {
+        lastCheckCost = cost;
+        if (cost > checkInterval) {
+            LOG.warn("[Health Check] checked {} upstream in {} ms, it is longer than the check interval {} ms.", lastCheckCount, cost, checkInterval);
+        } else if (LOG.isDebugEnabled()) {
+            LOG.debug("[Health Check] checked {} upstream in {} ms.", lastCheckCount, cost);
+        }
+    }
+
     private void putEntityToMap(final UpstreamWithSelectorId entity) {
         Upstream upstream = entity.getUpstream();
         if (upstream.isHealthy()) {
@@ -304,6 +405,7 @@ public final class UpstreamCheckTask implements Runnable {
      * Print healthy and unhealthy check log.
      */
     public void print() {
+        LOG.info("[Health Check] last round checked {} upstream in {} ms.", lastCheckCount, lastCheckCost);
         printHealthyUpstream();
         printUnhealthyUpstream();
     }
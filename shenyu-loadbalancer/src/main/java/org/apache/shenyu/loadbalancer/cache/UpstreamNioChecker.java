@@ -0,0 +1,311 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.apache.shenyu.loadbalancer.cache;
+
+import org.apache.commons.lang3.StringUtils;
+import org.apache.shenyu.common.concurrent.ShenyuThreadFactory;
+import org.apache.shenyu.common.constant.Constants;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channel;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.SocketChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Objects;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Health checker probes all upstream urls of a round concurrently by one selector.
+ * It connects every url like {@link org.apache.shenyu.common.utils.UpstreamCheckUtils#checkUrl(String, int)},
+ * and sends a http get to the health path with the connection when the path is not blank,
+ * the upstream passes if the response status is 2xx or 3xx.
+ * The host names are resolved by a resolver pool, every url is connected as soon as its host is resolved,
+ * so a slow dns never blocks the selector or the other urls of the round.
+ */
+public final class UpstreamNioChecker implements AutoCloseable {
+
+    private static final Logger LOG = LoggerFactory.getLogger(UpstreamNioChecker.class);
+
+    private static final String HTTP = "http://";
+
+    private static final String HTTPS = "https://";
+
+    private static final int STATUS_LINE_LENGTH = 256;
+
+    private static final int RESOLVER_THREADS = 4;
+
+    private final int timeout;
+
+    private final String healthPath;
+
+    private final ThreadPoolExecutor resolver;
+
+    /**
+     * Instantiates a new upstream nio checker.
+     *
+     * @param timeout the timeout of a round in milliseconds
+     * @param healthPath the health path, connect only if it is blank
+     */
+    public UpstreamNioChecker(final int timeout, final String healthPath) {
+        this.timeout = timeout;
+        this.healthPath = StringUtils.isBlank(healthPath) ? null
+                : healthPath.startsWith(Constants.PATH_SEPARATOR) ? healthPath : Constants.PATH_SEPARATOR + healthPath;
+        // the queue is unbounded so no url of a big round is rejected, the lookups left at the end of a round are cancelled.
+        this.resolver = new ThreadPoolExecutor(RESOLVER_THREADS, RESOLVER_THREADS, 0L, TimeUnit.MILLISECONDS,
+                new LinkedBlockingQueue<>(), ShenyuThreadFactory.create("upstream-health-check-resolver", true));
+    }
+
+    /**
+     * Check the urls, the round ends when all urls are checked or the timeout is reached.
+     *
+     * @param urls the upstream urls
+     * @return the results in the order of the urls, true is passed
+     */
+    public boolean[] check(final List<String> urls) {
+        boolean[] results = new boolean[urls.size()];
+        if (urls.isEmpty()) {
+            return results;
+        }
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(timeout);
+        try (Selector selector = Selector.open()) {
+            Queue<Probe> resolved = new ConcurrentLinkedQueue<>();
+            List<Probe> probes = new ArrayList<>(urls.size());
+            for (int i = 0; i < urls.size(); i++) {
+                Probe probe = resolve(i, urls.get(i));
+                if (Objects.nonNull(probe)) {
+                    probes.add(probe);
+                    probe.address.whenComplete((address, error) -> {
+                        resolved.offer(probe);
+                        selector.wakeup();
+                    });
+                }
+            }
+            int pending = probes.size();
+            while (pending > 0) {
+                Probe probe;
+                while (Objects.nonNull(probe = resolved.poll())) {
+                    if (!connect(selector, probe, results)) {
+                        pending--;
+                    }
+                }
+                long remaining = TimeUnit.NANOSECONDS.toMillis(deadline - System.nanoTime());
+                if (remaining <= 0 || pending <= 0) {
+                    break;
+                }
+                selector.select(remaining);
+                Iterator<SelectionKey> iterator = selector.selectedKeys().iterator();
+                while (iterator.hasNext()) {
+                    SelectionKey key = iterator.next();
+                    iterator.remove();
+                    if (!key.isValid()) {
+                        continue;
+                    }
+                    probe = (Probe) key.attachment();
+                    if (handle(key, probe)) {
+                        results[probe.index] = probe.passed;
+                        closeKey(key);
+                        pending--;
+                    }
+                }
+            }
+            for (SelectionKey key : selector.keys()) {
+                // the closed keys stay in the key set until the next select, they are not timeout.
+                if (key.isValid()) {
+                    LOG.warn("[Health Check] upstream {} check timeout after {} ms", ((Probe) key.attachment()).url, timeout);
+                    closeKey(key);
+                }
+            }
+            for (Probe probe : probes) {
+                if (probe.address.cancel(false)) {
+                    LOG.warn("[Health Check] upstream {} resolve timeout after {} ms", probe.url, timeout);
+                }
+            }
+        } catch (IOException e) {
+            LOG.error("[Health Check] selector is error", e);
+        }
+        return results;
+    }
+
+    /**
+     * Shutdown the resolver pool.
+     */
+    @Override
+    public void close() {
+        resolver.shutdownNow();
+    }
+
+    private Probe resolve(final int index, final String url) {
+        if (StringUtils.isBlank(url)) {
+            return null;
+        }
+        try {
+            final boolean isHttps = url.startsWith(HTTPS);
+            String address = url.startsWith(HTTP) || isHttps ? url.substring(url.indexOf("//") + 2) : url;
+            address = StringUtils.substringBefore(address, Constants.PATH_SEPARATOR);
+            String[] hostPort = StringUtils.split(address, Constants.COLONS);
+            final String host = hostPort[0].trim();
+            final int port = hostPort.length > 1 ? Integer.parseInt(hostPort[1].trim()) : isHttps ? 443 : 80;
+            // the https upstream is connected only, the tls handshake is out of the health check.
+            return new Probe(index, url, isHttps || Objects.isNull(healthPath) ? null : request(address),
+                    CompletableFuture.supplyAsync(() -> new InetSocketAddress(host, port), resolver));
+        } catch (Exception e) {
+            LOG.error("[Health Check] upstream {} resolve is error", url, e);
+            return null;
+        }
+    }
+
+    private boolean connect(final Selector selector, final Probe probe, final boolean[] results) {
+        SocketChannel channel = null;
+        try {
+            InetSocketAddress address = probe.address.join();
+            if (address.isUnresolved()) {
+                LOG.warn("[Health Check] upstream {} host is unresolved", probe.url);
+                return false;
+            }
+            channel = SocketChannel.open();
+            channel.configureBlocking(false);
+            if (!channel.connect(address)) {
+                channel.register(selector, SelectionKey.OP_CONNECT, probe);
+            } else if (Objects.nonNull(probe.request)) {
+                channel.register(selector, SelectionKey.OP_WRITE, probe);
+            } else {
+                // connected at once, it is passed without the selector.
+                channel.close();
+                results[probe.index] = true;
+                return false;
+            }
+            return true;
+        } catch (IOException | RuntimeException e) {
+            LOG.error("[Health Check] upstream {} connect is error", probe.url, e);
+            closeQuietly(channel);
+            return false;
+        }
+    }
+
+    private boolean handle(final SelectionKey key, final Probe probe) {
+        SocketChannel channel = (SocketChannel) key.channel();
+        try {
+            if (key.isConnectable()) {
+                channel.finishConnect();
+                if (Objects.isNull(probe.request)) {
+                    probe.passed = true;
+                    return true;
+                }
+                key.interestOps(SelectionKey.OP_WRITE);
+            }
+            if (key.isValid() && key.isWritable()) {
+                channel.write(probe.request);
+                if (!probe.request.hasRemaining()) {
+                    key.interestOps(SelectionKey.OP_READ);
+                }
+            }
+            if (key.isValid() && key.isReadable()) {
+                return read(channel, probe);
+            }
+            return false;
+        } catch (IOException e) {
+            LOG.warn("[Health Check] upstream {} check is error: {}", probe.url, e.getMessage());
+            return true;
+        }
+    }
+
+    private boolean read(final SocketChannel channel, final Probe probe) throws IOException {
+        int read = channel.read(probe.response);
+        String received = new String(probe.response.array(), 0, probe.response.position(), StandardCharsets.US_ASCII);
+        int lineEnd = received.indexOf("\r\n");
+        if (lineEnd < 0 && read >= 0 && probe.response.hasRemaining()) {
+            return false;
+        }
+        // status line: HTTP/1.1 200 OK
+        String[] statusLine = StringUtils.split(lineEnd < 0 ? received : received.substring(0, lineEnd), ' ');
+        int status = statusLine.length > 1 && statusLine[0].startsWith("HTTP/") ? parseStatus(statusLine[1]) : -1;
+        probe.passed = status >= 200 && status < 400;
+        if (!probe.passed) {
+            LOG.warn("[Health Check] upstream {} health path {} response status {}", probe.url, healthPath, status);
+        }
+        return true;
+    }
+
+    private ByteBuffer request(final String address) {
+        String request = "GET " + healthPath + " HTTP/1.1\r\n"
+                + "Host: " + address + "\r\n"
+                + "User-Agent: shenyu-health-check\r\n"
+                + "Connection: close\r\n\r\n";
+        return ByteBuffer.wrap(request.getBytes(StandardCharsets.US_ASCII));
+    }
+
+    private static int parseStatus(final String status) {
+        try {
+            return Integer.parseInt(status);
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+
+    private static void closeKey(final SelectionKey key) {
+        key.cancel();
+        closeQuietly(key.channel());
+    }
+
+    private static void closeQuietly(final Channel channel) {
+        if (Objects.isNull(channel)) {
+            return;
+        }
+        try {
+            channel.close();
+        } catch (IOException ignored) {
+            // ignored
+        }
+    }
+
+    private static final class Probe {
+
+        private final int index;
+
+        private final String url;
+
+        private final ByteBuffer request;
+
+        private final CompletableFuture<InetSocketAddress> address;
+
+        private final ByteBuffer response = ByteBuffer.allocate(STATUS_LINE_LENGTH);
+
+        private boolean passed;
+
+        Probe(final int index, final String url, final ByteBuffer request, final CompletableFuture<InetSocketAddress> address) {
+            this.index = index;
+            this.url = url;
+            this.request = request;
+            this.address = address;
+        }
+    }
+}
@@ -0,0 +1,301 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.apache.shenyu.loadbalancer.cache;
+
+import com.google.common.collect.Maps;
+import org.apache.commons.collections4.CollectionUtils;
+import org.apache.shenyu.common.concurrent.ShenyuThreadFactory;
+import org.apache.shenyu.common.config.ShenyuConfig.UpstreamOutlier;
+import org.apache.shenyu.common.utils.MapUtils;
+import org.apache.shenyu.loadbalancer.entity.Upstream;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Passive outlier detection for upstream servers, it is fed by the results of the real traffic.
+ * An upstream is ejected after the consecutive 5xx responses or connect failures, or when its latency percentile
+ * is far from the other upstreams of the selector. The ejection time grows exponentially by every ejection,
+ * and the ejected upstreams of a selector are capped by the max ejection percent.
+ */
+public final class UpstreamOutlierDetector implements Runnable {
+
+    private static final Logger LOG = LoggerFactory.getLogger(UpstreamOutlierDetector.class);
+
+    /**
+     * the latency samples of an upstream in an interval, it is a power of two.
+     */
+    private static final int LATENCY_SAMPLES = 128;
+
+    private final UpstreamOutlier config;
+
+    private final Function<String, List<Upstream>> upstreamSupplier;
+
+    /**
+     * selectorId -> the outlier stats of the selector.
+     */
+    private final Map<String, SelectorStats> selectorStatsMap = Maps.newConcurrentMap();
+
+    /**
+     * Instantiates a new upstream outlier detector.
+     *
+     * @param config the outlier config
+     * @param upstreamSupplier the upstream list of the selector
+     */
+    public UpstreamOutlierDetector(final UpstreamOutlier config, final Function<String, List<Upstream>> upstreamSupplier) {
+        this.config = config;
+        this.upstreamSupplier = upstreamSupplier;
+    }
+
+    /**
+     * Whether the outlier detection is enabled.
+     *
+     * @return true if enabled
+     */
+    public boolean isEnabled() {
+        return config.getEnabled();
+    }
+
+    /**
+     * Schedule the latency detection.
+     */
+    public void schedule() {
+        new ScheduledThreadPoolExecutor(1, ShenyuThreadFactory.create("upstream-outlier-detection", true))
+                .scheduleWithFixedDelay(this, config.getInterval(), config.getInterval(), TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Record the response of the upstream.
+     *
+     * @param selectorId the selector id
+     * @param url the upstream url, host:port
+     * @param statusCode the response status code
+     * @param elapsed the elapsed milliseconds
+     */
+    public void recordResponse(final String selectorId, final String url, final int statusCode, final long elapsed) {
+        if (!isEnabled()) {
+            return;
+        }
+        SelectorStats selectorStats = MapUtils.computeIfAbsent(selectorStatsMap, selectorId, k -> new SelectorStats());
+        OutlierStats stats = MapUtils.computeIfAbsent(selectorStats.upstreams, url, k -> new OutlierStats());
+        stats.latencies[stats.requests.getAndIncrement() & (LATENCY_SAMPLES - 1)] = elapsed;
+        if (statusCode < 500) {
+            stats.consecutiveErrors.set(0);
+            stats.consecutiveConnectFailures.set(0);
+            return;
+        }
+        stats.consecutiveConnectFailures.set(0);
+        if (stats.consecutiveErrors.incrementAndGet() >= config.getConsecutiveErrors()) {
+            eject(selectorId, selectorStats, url, stats, "consecutive 5xx responses");
+        }
+    }
+
+    /**
+     * Record the error of the upstream, the timeout and the connect failure.
+     *
+     * @param selectorId the selector id
+     * @param url the upstream url, host:port
+     * @param connectFailure whether the upstream is not connected
+     */
+    public void recordError(final String selectorId, final String url, final boolean connectFailure) {
+        if (!isEnabled()) {
+            return;
+        }
+        SelectorStats selectorStats = MapUtils.computeIfAbsent(selectorStatsMap, selectorId, k -> new SelectorStats());
+        OutlierStats stats = MapUtils.computeIfAbsent(selectorStats.upstreams, url, k -> new OutlierStats());
+        int errors = stats.consecutiveErrors.incrementAndGet();
+        int connectFailures = connectFailure ? stats.consecutiveConnectFailures.incrementAndGet() : stats.consecutiveConnectFailures.getAndSet(0);
+        if (connectFailure && connectFailures >= config.getConsecutiveConnectFailures()) {
+            eject(selectorId, selectorStats, url, stats, "consecutive connect failures");
+        } else if (errors >= config.getConsecutiveErrors()) {
+            eject(selectorId, selectorStats, url, stats, "consecutive errors");
+        }
+    }
+
+    /**
+     * Filter the ejected upstreams.
+     *
+     * @param selectorId the selector id
+     * @param upstreamList the upstream list
+     * @return the upstream list without the ejected upstreams
+     */
+    public List<Upstream> filter(final String selectorId, final List<Upstream> upstreamList) {
+        if (CollectionUtils.isEmpty(upstreamList)) {
+            return upstreamList;
+        }
+        SelectorStats selectorStats = selectorStatsMap.get(selectorId);
+        final long now = System.currentTimeMillis();
+        if (Objects.isNull(selectorStats) || selectorStats.ejectionDeadline <= now) {
+            return upstreamList;
+        }
+        return upstreamList.stream().filter(upstream -> !isEjected(selectorStats, upstream.getUrl(), now)).collect(Collectors.toList());
+    }
+
+    /**
+     * Whether the upstream is ejected.
+     *
+     * @param selectorId the selector id
+     * @param url the upstream url
+     * @return true if ejected
+     */
+    public boolean isEjected(final String selectorId, final String url) {
+        SelectorStats selectorStats = selectorStatsMap.get(selectorId);
+        return Objects.nonNull(selectorStats) && isEjected(selectorStats, url, System.currentTimeMillis());
+    }
+
+    private static boolean isEjected(final SelectorStats selectorStats, final String url, final long now) {
+        OutlierStats stats = selectorStats.upstreams.get(url.trim());
+        return Objects.nonNull(stats) && stats.ejectedUntil > now;
+    }
+
+    /**
+     * Remove the outlier stats of the selector.
+     *
+     * @param selectorId the selector id
+     */
+    public void remove(final String selectorId) {
+        selectorStatsMap.remove(selectorId);
+    }
+
+    /**
+     * Remove the outlier stats of the upstream which leaves the selector, so it is not counted as ejected.
+     *
+     * @param selectorId the selector id
+     * @param url the upstream url
+     */
+    public void remove(final String selectorId, final String url) {
+        SelectorStats selectorStats = selectorStatsMap.get(selectorId);
+        if (Objects.nonNull(selectorStats) && Objects.nonNull(url)) {
+            selectorStats.upstreams.remove(url.trim());
+        }
+    }
+
+    @Override
+    public void run() {
+        try {
+            selectorStatsMap.forEach(this::detectLatency);
+        } catch (Exception e) {
+            LOG.error("[Outlier Detection] Meet problem: ", e);
+        }
+    }
+
+    private void detectLatency(final String selectorId, final SelectorStats selectorStats) {
+        final long now = System.currentTimeMillis();
+        Map<String, Long> percentiles = Maps.newHashMap();
+        selectorStats.upstreams.forEach((url, stats) -> {
+            int requests = stats.requests.getAndSet(0);
+            if (stats.ejectedUntil > now) {
+                return;
+            }
+            if (stats.ejectionCount > 0) {
+                // the upstream is not ejected in the interval, decay the ejection time.
+                stats.ejectionCount--;
+            }
+            if (requests >= config.getMinimumRequests()) {
+                long[] samples = Arrays.copyOf(stats.latencies, Math.min(requests, LATENCY_SAMPLES));
+                Arrays.sort(samples);
+                int index = (int) Math.ceil(config.getLatencyPercentile() / 100.0 * samples.length) - 1;
+                percentiles.put(url, samples[Math.max(index, 0)]);
+            }
+        });
+        if (percentiles.size() < config.getMinimumHosts()) {
+            return;
+        }
+        long[] sorted = percentiles.values().stream().mapToLong(Long::longValue).sorted().toArray();
+        final long median = Math.max(sorted[sorted.length / 2], 1L);
+        percentiles.forEach((url, percentile) -> {
+            if (percentile > median * config.getLatencyFactor()) {
+                eject(selectorId, selectorStats, url, selectorStats.upstreams.get(url),
+                        "latency p" + config.getLatencyPercentile() + " " + percentile + " ms, median " + median + " ms");
+            }
+        });
+    }
+
+    private void eject(final String selectorId, final SelectorStats selectorStats, final String url,
+                       final OutlierStats stats, final String reason) {
+        synchronized (selectorStats) {
+            final long now = System.currentTimeMillis();
+            if (stats.ejectedUntil > now) {
+                return;
+            }
+            List<Upstream> upstreamList = upstreamSupplier.apply(selectorId);
+            if (CollectionUtils.isEmpty(upstreamList) || upstreamList.stream().noneMatch(upstream -> url.equals(upstream.getUrl().trim()))) {
+                return;
+            }
+            List<String> ejected = new ArrayList<>();
+            selectorStats.upstreams.forEach((k, v) -> {
+                if (v.ejectedUntil > now) {
+                    ejected.add(k);
+                }
+            });
+            // keep an upstream at least, and eject one upstream at least even if the percent is too small.
+            if (ejected.size() + 1 >= upstreamList.size()
+                    || !ejected.isEmpty() && (ejected.size() + 1) * 100 > upstreamList.size() * config.getMaxEjectionPercent()) {
+                LOG.warn("[Outlier Detection] Selector [{}] upstream {} is not ejected for the max ejection percent, reason: {}",
+                        selectorId, url, reason);
+                return;
+            }
+            long ejectionTime = Math.min((long) config.getBaseEjectionTime() << Math.min(stats.ejectionCount, 20), config.getMaxEjectionTime());
+            stats.ejectionCount++;
+            stats.ejectedUntil = now + ejectionTime;
+            stats.consecutiveErrors.set(0);
+            stats.consecutiveConnectFailures.set(0);
+            selectorStats.ejectionDeadline = Math.max(selectorStats.ejectionDeadline, stats.ejectedUntil);
+            LOG.warn("[Outlier Detection] Selector [{}] upstream {} is ejected for {} ms, reason: {}", selectorId, url, ejectionTime, reason);
+        }
+    }
+
+    private static final class SelectorStats {
+
+        /**
+         * url -> the outlier stats of the upstream.
+         */
+        private final Map<String, OutlierStats> upstreams = Maps.newConcurrentMap();
+
+        /**
+         * the max ejected time of the upstreams.
+         */
+        private volatile long ejectionDeadline;
+    }
+
+    private static final class OutlierStats {
+
+        private final AtomicInteger consecutiveErrors = new AtomicInteger();
+
+        private final AtomicInteger consecutiveConnectFailures = new AtomicInteger();
+
+        private final AtomicInteger requests = new AtomicInteger();
+
+        private final long[] latencies = new long[LATENCY_SAMPLES];
+
+        private volatile long ejectedUntil;
+
+        private volatile int ejectionCount;
+    }
+}
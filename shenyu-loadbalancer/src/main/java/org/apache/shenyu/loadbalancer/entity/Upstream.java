@@ -103,6 +103,11 @@ public final class Upstream {
      */
     private boolean gray;
 
+    /**
+     * the dedicated connection pool, null means the shared pool.
+     */
+    private final UpstreamConnectionPool connectionPool;
+
     /**
      * Total number of requests being processed.
      */
@@ -122,6 +127,7 @@ public final class Upstream {
         this.group = builder.group;
         this.version = builder.version;
         this.gray = builder.gray;
+        this.connectionPool = builder.connectionPool;
     }
 
     /**
@@ -400,6 +406,15 @@ public final class Upstream {
         return getSucceededElapsed().get() / succeeded;
     }
 
+    /**
+     * Gets the dedicated connection pool.
+     *
+     * @return the connection pool, null means the shared pool
+     */
+    public UpstreamConnectionPool getConnectionPool() {
+        return connectionPool;
+    }
+
     /**
      * build request domain.
      *
@@ -513,6 +528,11 @@ public final class Upstream {
          */
         private Boolean gray = false;
 
+        /**
+         * connectionPool.
+         */
+        private UpstreamConnectionPool connectionPool;
+
         /**
          * no args constructor.
          */
@@ -628,5 +648,16 @@ public final class Upstream {
             return this;
         }
 
+        /**
+         * build connectionPool.
+         *
+         * @param connectionPool connectionPool
+         * @return this builder
+         */
+        public Builder connectionPool(final UpstreamConnectionPool connectionPool) {
+            this.connectionPool = connectionPool;
+            return this;
+        }
+
     }
 }
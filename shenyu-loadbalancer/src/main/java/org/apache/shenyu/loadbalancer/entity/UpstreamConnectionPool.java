@@ -0,0 +1,119 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.shenyu.loadbalancer.entity;
+
+import java.util.Objects;
+
+/**
+ * The dedicated connection pool settings of an upstream, so that a slow upstream
+ * cannot exhaust the connections shared with the other upstreams.
+ */
+public final class UpstreamConnectionPool {
+
+    /**
+     * the max connections of the pool.
+     */
+    private final int maxConnections;
+
+    /**
+     * the max pending acquires, 0 means twice the max connections and -1 means no limit.
+     */
+    private final int pendingAcquireMaxCount;
+
+    /**
+     * the max idle millis of a connection, 0 means no limit.
+     */
+    private final long maxIdleTime;
+
+    /**
+     * the max life millis of a connection, 0 means no limit.
+     */
+    private final long maxLifeTime;
+
+    public UpstreamConnectionPool(final int maxConnections, final int pendingAcquireMaxCount,
+                                  final long maxIdleTime, final long maxLifeTime) {
+        this.maxConnections = maxConnections;
+        this.pendingAcquireMaxCount = pendingAcquireMaxCount;
+        this.maxIdleTime = maxIdleTime;
+        this.maxLifeTime = maxLifeTime;
+    }
+
+    /**
+     * Gets max connections.
+     *
+     * @return the max connections
+     */
+    public int getMaxConnections() {
+        return maxConnections;
+    }
+
+    /**
+     * Gets pending acquire max count.
+     *
+     * @return the pending acquire max count
+     */
+    public int getPendingAcquireMaxCount() {
+        return pendingAcquireMaxCount;
+    }
+
+    /**
+     * Gets max idle time.
+     *
+     * @return the max idle time
+     */
+    public long getMaxIdleTime() {
+        return maxIdleTime;
+    }
+
+    /**
+     * Gets max life time.
+     *
+     * @return the max life time
+     */
+    public long getMaxLifeTime() {
+        return maxLifeTime;
+    }
+
+    @Override
+    public boolean equals(final Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (Objects.isNull(o) || getClass() != o.getClass()) {
+            return false;
+        }
+        UpstreamConnectionPool that = (UpstreamConnectionPool) o;
+        return maxConnections == that.maxConnections && pendingAcquireMaxCount == that.pendingAcquireMaxCount
+                && maxIdleTime == that.maxIdleTime && maxLifeTime == that.maxLifeTime;
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(maxConnections, pendingAcquireMaxCount, maxIdleTime, maxLifeTime);
+    }
+
+    @Override
+    public String toString() {
+        return "UpstreamConnectionPool{"
+                + "maxConnections=" + maxConnections
+                + ", pendingAcquireMaxCount=" + pendingAcquireMaxCount
+                + ", maxIdleTime=" + maxIdleTime
+                + ", maxLifeTime=" + maxLifeTime
+                + '}';
+    }
+}
@@ -20,6 +20,7 @@ package org.apache.shenyu.loadbalancer.cache;
 import org.apache.shenyu.common.config.ShenyuConfig;
 import org.apache.shenyu.common.utils.Singleton;
 import org.apache.shenyu.loadbalancer.entity.Upstream;
+import org.apache.shenyu.loadbalancer.entity.UpstreamConnectionPool;
 import org.junit.jupiter.api.TestMethodOrder;
 import org.junit.jupiter.api.MethodOrderer;
 import org.junit.jupiter.api.Test;
@@ -27,7 +28,11 @@ import org.junit.jupiter.api.Order;
 import org.junit.jupiter.api.Assertions;
 
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
 
 
 /**
@@ -79,4 +84,43 @@ public class UpstreamCacheManagerTest {
         final UpstreamCacheManager upstreamCacheManager = UpstreamCacheManager.getInstance();
         Assertions.assertNull(upstreamCacheManager.findUpstreamListBySelectorId(SELECTOR_ID));
     }
+
+    @Test
+    @Order(5)
+    public void findConnectionPoolTest() {
+        final UpstreamCacheManager upstreamCacheManager = UpstreamCacheManager.getInstance();
+        final UpstreamConnectionPool connectionPool = new UpstreamConnectionPool(10, 20, 1000, 0);
+        List<Upstream> upstreamList = new ArrayList<>(2);
+        upstreamList.add(Upstream.builder().url("127.0.0.1:8080").status(true).connectionPool(connectionPool).build());
+        upstreamList.add(Upstream.builder().url("127.0.0.1:8081").status(true).build());
+        upstreamCacheManager.submit(SELECTOR_ID, upstreamList);
+        Assertions.assertEquals(connectionPool, upstreamCacheManager.findConnectionPool("127.0.0.1:8080"));
+        Assertions.assertNull(upstreamCacheManager.findConnectionPool("127.0.0.1:8081"));
+        upstreamCacheManager.removeByKey(SELECTOR_ID);
+        Assertions.assertNull(upstreamCacheManager.findConnectionPool("127.0.0.1:8080"));
+    }
+
+    @Test
+    @Order(6)
+    public void submitConnectionPoolsTest() {
+        final UpstreamCacheManager upstreamCacheManager = UpstreamCacheManager.getInstance();
+        final UpstreamConnectionPool handlePool = new UpstreamConnectionPool(10, 20, 1000, 0);
+        final UpstreamConnectionPool discoveryPool = new UpstreamConnectionPool(5, 10, 1000, 0);
+        final List<String> removed = new ArrayList<>();
+        final Consumer<String> listener = removed::add;
+        upstreamCacheManager.addConnectionPoolRemovedListener(listener);
+        Map<String, UpstreamConnectionPool> handlePools = new HashMap<>(2);
+        handlePools.put("127.0.0.1:8080", handlePool);
+        handlePools.put("127.0.0.1:8081", handlePool);
+        upstreamCacheManager.submitConnectionPools(SELECTOR_ID, handlePools);
+        upstreamCacheManager.submit(SELECTOR_ID, Collections.singletonList(Upstream.builder().url("127.0.0.1:8080").status(true).connectionPool(discoveryPool).build()));
+        // the pool of the discovery upstream overrides the pool of the selector handle.
+        Assertions.assertEquals(discoveryPool, upstreamCacheManager.findConnectionPool("127.0.0.1:8080"));
+        Assertions.assertEquals(handlePool, upstreamCacheManager.findConnectionPool("127.0.0.1:8081"));
+        upstreamCacheManager.removeByKey(SELECTOR_ID);
+        upstreamCacheManager.removeConnectionPoolRemovedListener(listener);
+        Assertions.assertNull(upstreamCacheManager.findConnectionPool("127.0.0.1:8080"));
+        Assertions.assertNull(upstreamCacheManager.findConnectionPool("127.0.0.1:8081"));
+        Assertions.assertTrue(removed.containsAll(handlePools.keySet()));
+    }
 }
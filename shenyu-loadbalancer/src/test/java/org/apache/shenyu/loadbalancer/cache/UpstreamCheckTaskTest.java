@@ -17,6 +17,7 @@
 
 package org.apache.shenyu.loadbalancer.cache;
 
+import com.sun.net.httpserver.HttpServer;
 import org.apache.commons.collections4.CollectionUtils;
 import org.apache.shenyu.common.dto.SelectorData;
 import org.apache.shenyu.loadbalancer.entity.Upstream;
@@ -24,6 +25,8 @@ import org.awaitility.Awaitility;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.Timeout;
 
+import java.io.IOException;
+import java.net.InetSocketAddress;
 import java.util.concurrent.TimeUnit;
 
 import static org.hamcrest.MatcherAssert.assertThat;
@@ -92,6 +95,36 @@ public class UpstreamCheckTaskTest {
         healthCheckTask.print();
     }
     
+    /**
+     * Test run with the nio check.
+     */
+    @Test
+    public void testRunNioCheck() throws IOException {
+        HttpServer server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.createContext("/health", exchange -> {
+            exchange.sendResponseHeaders(200, -1);
+            exchange.close();
+        });
+        server.start();
+        try {
+            final UpstreamCheckTask task = new UpstreamCheckTask(50000);
+            task.setCheckMode("nio");
+            task.setHealthPath("/health");
+            task.schedule();
+            Upstream online = Upstream.builder().url("127.0.0.1:" + server.getAddress().getPort()).build();
+            Upstream offline = Upstream.builder().url("").build();
+            task.triggerAddOne("s1", online);
+            task.triggerAddOne("s1", offline);
+            task.run();
+            assertThat(task.getHealthyUpstream().get("s1").size(), is(1));
+            assertTrue(task.getHealthyUpstream().get("s1").contains(online));
+            assertTrue(task.getUnhealthyUpstream().get("s1").contains(offline));
+            assertThat(task.getLastCheckCount(), is(2));
+        } finally {
+            server.stop(0);
+        }
+    }
+
     /**
      * Test trigger remove one.
      */
@@ -0,0 +1,107 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.apache.shenyu.loadbalancer.cache;
+
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.ServerSocket;
+import java.nio.channels.ServerSocketChannel;
+import java.util.Arrays;
+import java.util.Collections;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * The type Upstream nio checker test.
+ */
+public class UpstreamNioCheckerTest {
+
+    private HttpServer server;
+
+    private String url;
+
+    private String closedUrl;
+
+    @BeforeEach
+    public void setUp() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.createContext("/health", exchange -> {
+            exchange.sendResponseHeaders(200, -1);
+            exchange.close();
+        });
+        server.createContext("/down", exchange -> {
+            exchange.sendResponseHeaders(503, -1);
+            exchange.close();
+        });
+        server.start();
+        url = "127.0.0.1:" + server.getAddress().getPort();
+        try (ServerSocket socket = new ServerSocket(0)) {
+            closedUrl = "127.0.0.1:" + socket.getLocalPort();
+        }
+    }
+
+    @AfterEach
+    public void tearDown() {
+        server.stop(0);
+    }
+
+    @Test
+    public void testConnect() {
+        try (UpstreamNioChecker checker = new UpstreamNioChecker(3000, "")) {
+            boolean[] results = checker.check(Arrays.asList(url, "http://" + url, closedUrl, "", "http://"));
+            assertArrayEquals(new boolean[]{true, true, false, false, false}, results);
+            assertEquals(0, checker.check(Collections.emptyList()).length);
+        }
+    }
+
+    @Test
+    public void testHealthPath() {
+        try (UpstreamNioChecker checker = new UpstreamNioChecker(3000, "/health"); UpstreamNioChecker downChecker = new UpstreamNioChecker(3000, "down")) {
+            assertArrayEquals(new boolean[]{true, true, false}, checker.check(Arrays.asList(url, "http://" + url + "/ctx", closedUrl)));
+            assertArrayEquals(new boolean[]{false}, downChecker.check(Collections.singletonList(url)));
+        }
+    }
+
+    @Test
+    public void testUnresolvedHost() {
+        try (UpstreamNioChecker checker = new UpstreamNioChecker(3000, "/health")) {
+            assertArrayEquals(new boolean[]{false, true}, checker.check(Arrays.asList("upstream.invalid:8080", url)));
+        }
+    }
+
+    @Test
+    public void testManyUpstreams() throws IOException {
+        // more urls than the resolver threads and any bounded queue, every url is resolved and connected.
+        try (ServerSocketChannel listener = ServerSocketChannel.open(); UpstreamNioChecker checker = new UpstreamNioChecker(10000, "")) {
+            listener.bind(new InetSocketAddress("127.0.0.1", 0), 2048);
+            String listenerUrl = "localhost:" + ((InetSocketAddress) listener.getLocalAddress()).getPort();
+            boolean[] results = checker.check(Collections.nCopies(1500, listenerUrl));
+            for (boolean result : results) {
+                assertTrue(result);
+            }
+        }
+    }
+}
@@ -0,0 +1,144 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.apache.shenyu.loadbalancer.cache;
+
+import org.apache.shenyu.common.config.ShenyuConfig.UpstreamOutlier;
+import org.apache.shenyu.loadbalancer.entity.Upstream;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * The type Upstream outlier detector test.
+ */
+public class UpstreamOutlierDetectorTest {
+
+    private static final String SELECTOR_ID = "s1";
+
+    private final List<Upstream> upstreamList = Arrays.asList(upstream("10.0.0.1:8080"), upstream("10.0.0.2:8080"),
+            upstream("10.0.0.3:8080"), upstream("10.0.0.4:8080"));
+
+    private UpstreamOutlier config;
+
+    private UpstreamOutlierDetector detector;
+
+    @BeforeEach
+    public void setUp() {
+        config = new UpstreamOutlier();
+        config.setEnabled(true);
+        detector = new UpstreamOutlierDetector(config, selectorId -> upstreamList);
+    }
+
+    @Test
+    public void testConsecutiveErrors() {
+        for (int i = 0; i < 4; i++) {
+            detector.recordResponse(SELECTOR_ID, "10.0.0.1:8080", 503, 10);
+        }
+        detector.recordResponse(SELECTOR_ID, "10.0.0.1:8080", 200, 10);
+        detector.recordResponse(SELECTOR_ID, "10.0.0.1:8080", 503, 10);
+        assertFalse(detector.isEjected(SELECTOR_ID, "10.0.0.1:8080"));
+        assertSame(upstreamList, detector.filter(SELECTOR_ID, upstreamList));
+        for (int i = 0; i < 3; i++) {
+            detector.recordResponse(SELECTOR_ID, "10.0.0.1:8080", 500, 10);
+        }
+        detector.recordError(SELECTOR_ID, "10.0.0.1:8080", false);
+        assertTrue(detector.isEjected(SELECTOR_ID, "10.0.0.1:8080"));
+        List<Upstream> filtered = detector.filter(SELECTOR_ID, upstreamList);
+        assertEquals(3, filtered.size());
+        assertFalse(filtered.contains(upstreamList.get(0)));
+    }
+
+    @Test
+    public void testConsecutiveConnectFailures() {
+        detector.recordError(SELECTOR_ID, "10.0.0.2:8080", true);
+        detector.recordError(SELECTOR_ID, "10.0.0.2:8080", true);
+        assertFalse(detector.isEjected(SELECTOR_ID, "10.0.0.2:8080"));
+        detector.recordError(SELECTOR_ID, "10.0.0.2:8080", true);
+        assertTrue(detector.isEjected(SELECTOR_ID, "10.0.0.2:8080"));
+        // the url is not an upstream of the selector
+        for (int i = 0; i < 3; i++) {
+            detector.recordError(SELECTOR_ID, "10.0.0.9:8080", true);
+        }
+        assertFalse(detector.isEjected(SELECTOR_ID, "10.0.0.9:8080"));
+    }
+
+    @Test
+    public void testMaxEjectionPercent() {
+        config.setConsecutiveConnectFailures(1);
+        upstreamList.forEach(upstream -> detector.recordError(SELECTOR_ID, upstream.getUrl(), true));
+        assertEquals(2, detector.filter(SELECTOR_ID, upstreamList).size());
+
+        UpstreamOutlierDetector single = new UpstreamOutlierDetector(config, selectorId -> Collections.singletonList(upstreamList.get(0)));
+        single.recordError(SELECTOR_ID, "10.0.0.1:8080", true);
+        assertFalse(single.isEjected(SELECTOR_ID, "10.0.0.1:8080"));
+    }
+
+    @Test
+    public void testEjectionTimeGrows() throws InterruptedException {
+        config.setConsecutiveConnectFailures(1);
+        config.setBaseEjectionTime(200);
+        detector.recordError(SELECTOR_ID, "10.0.0.1:8080", true);
+        assertTrue(detector.isEjected(SELECTOR_ID, "10.0.0.1:8080"));
+        Thread.sleep(300);
+        assertFalse(detector.isEjected(SELECTOR_ID, "10.0.0.1:8080"));
+        detector.recordError(SELECTOR_ID, "10.0.0.1:8080", true);
+        Thread.sleep(300);
+        assertTrue(detector.isEjected(SELECTOR_ID, "10.0.0.1:8080"));
+    }
+
+    @Test
+    public void testLatencyOutlier() {
+        for (int i = 0; i < config.getMinimumRequests(); i++) {
+            detector.recordResponse(SELECTOR_ID, "10.0.0.1:8080", 200, 10);
+            detector.recordResponse(SELECTOR_ID, "10.0.0.2:8080", 200, 12);
+            detector.recordResponse(SELECTOR_ID, "10.0.0.3:8080", 200, 11);
+            detector.recordResponse(SELECTOR_ID, "10.0.0.4:8080", 200, 100);
+        }
+        detector.run();
+        assertTrue(detector.isEjected(SELECTOR_ID, "10.0.0.4:8080"));
+        assertFalse(detector.isEjected(SELECTOR_ID, "10.0.0.1:8080"));
+        // the stats of the interval are reset
+        detector.remove(SELECTOR_ID);
+        detector.run();
+        assertFalse(detector.isEjected(SELECTOR_ID, "10.0.0.4:8080"));
+    }
+
+    @Test
+    public void testRemoveUpstream() {
+        config.setConsecutiveConnectFailures(1);
+        detector.recordError(SELECTOR_ID, "10.0.0.1:8080", true);
+        assertTrue(detector.isEjected(SELECTOR_ID, "10.0.0.1:8080"));
+        // the upstream leaves the selector, its stats are not kept.
+        detector.remove(SELECTOR_ID, "10.0.0.1:8080");
+        assertFalse(detector.isEjected(SELECTOR_ID, "10.0.0.1:8080"));
+        assertEquals(4, detector.filter(SELECTOR_ID, upstreamList).size());
+    }
+
+    private static Upstream upstream(final String url) {
+        return Upstream.builder().url(url).weight(50).status(true).build();
+    }
+}
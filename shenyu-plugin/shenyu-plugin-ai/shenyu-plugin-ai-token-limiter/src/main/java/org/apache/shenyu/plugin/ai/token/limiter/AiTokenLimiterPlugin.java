@@ -23,9 +23,15 @@ import org.apache.shenyu.common.dto.RuleData;
 import org.apache.shenyu.common.dto.SelectorData;
 import org.apache.shenyu.common.dto.convert.rule.AiTokenLimiterHandle;
 import org.apache.shenyu.common.enums.AiTokenLimiterEnum;
+import org.apache.shenyu.common.enums.AiTokenLimiterModeEnum;
 import org.apache.shenyu.common.enums.PluginEnum;
 import org.apache.shenyu.plugin.ai.common.strategy.AiModel;
+import org.apache.shenyu.plugin.ai.token.limiter.budget.LocalTokenBudget;
+import org.apache.shenyu.plugin.ai.token.limiter.budget.RedisTokenBudget;
+import org.apache.shenyu.plugin.ai.token.limiter.budget.TokenBudget;
 import org.apache.shenyu.plugin.ai.token.limiter.handler.AiTokenLimiterPluginHandler;
+import org.apache.shenyu.plugin.ai.token.limiter.statistic.CompletionTokenCounter;
+import org.apache.shenyu.plugin.ai.token.limiter.statistic.GzipStreamDecoder;
 import org.apache.shenyu.plugin.api.ShenyuPluginChain;
 import org.apache.shenyu.plugin.api.result.ShenyuResultEnum;
 import org.apache.shenyu.plugin.api.result.ShenyuResultWrap;
@@ -38,8 +44,10 @@ import org.slf4j.LoggerFactory;
 import org.springframework.core.io.buffer.DataBuffer;
 import org.springframework.data.redis.core.ReactiveRedisTemplate;
 import org.springframework.http.HttpCookie;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.HttpStatusCode;
+import org.springframework.http.MediaType;
 import org.springframework.http.server.reactive.ServerHttpRequest;
 import org.springframework.http.server.reactive.ServerHttpResponse;
 import org.springframework.http.server.reactive.ServerHttpResponseDecorator;
@@ -49,19 +57,12 @@ import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 import reactor.util.annotation.NonNull;
 
-import java.io.ByteArrayInputStream;
-import java.io.ByteArrayOutputStream;
-import java.io.IOException;
 import java.nio.ByteBuffer;
-import java.nio.channels.Channels;
-import java.nio.channels.WritableByteChannel;
-import java.nio.charset.StandardCharsets;
-import java.time.Duration;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.function.Consumer;
-import java.util.zip.GZIPInputStream;
+import java.util.zip.DataFormatException;
 
 /**
  * Shenyu ai token limiter plugin.
@@ -72,6 +73,24 @@ public class AiTokenLimiterPlugin extends AbstractShenyuPlugin {
     
     private static final String REDIS_KEY_PREFIX = "SHENYU:AI:TOKENLIMIT:";
     
+    /**
+     * the rough bytes of one token, the content length is used to estimate the tokens of the request.
+     */
+    private static final long BYTES_PER_TOKEN = 4L;
+    
+    private final RedisTokenBudget redisTokenBudget;
+    
+    private final LocalTokenBudget localTokenBudget;
+    
+    public AiTokenLimiterPlugin() {
+        this(new LocalTokenBudget(new RedisTokenBudget()));
+    }
+    
+    public AiTokenLimiterPlugin(final LocalTokenBudget localTokenBudget) {
+        this.redisTokenBudget = new RedisTokenBudget();
+        this.localTokenBudget = localTokenBudget;
+    }
+    
     @Override
     protected Mono<Void> doExecute(final ServerWebExchange exchange, final ShenyuPluginChain chain,
                                    final SelectorData selector, final RuleData rule) {
@@ -82,61 +101,63 @@ public class AiTokenLimiterPlugin extends AbstractShenyuPlugin {
             return chain.execute(exchange);
         }
         
-        ReactiveRedisTemplate reactiveRedisTemplate = AiTokenLimiterPluginHandler.REDIS_CACHED_HANDLE.get().obtainHandle(PluginEnum.AI_TOKEN_LIMITER.getName());
+        ReactiveRedisTemplate<String, String> reactiveRedisTemplate = AiTokenLimiterPluginHandler.REDIS_CACHED_HANDLE.get().obtainHandle(PluginEnum.AI_TOKEN_LIMITER.getName());
         Assert.notNull(reactiveRedisTemplate, "reactiveRedisTemplate is null");
         
         // generate redis key
         String tokenLimitType = aiTokenLimiterHandle.getAiTokenLimitType();
         String keyName = aiTokenLimiterHandle.getKeyName();
-        Long tokenLimit = aiTokenLimiterHandle.getTokenLimit();
-        Long timeWindowSeconds = aiTokenLimiterHandle.getTimeWindowSeconds();
         
         String cacheKey = REDIS_KEY_PREFIX + getCacheKey(exchange, tokenLimitType, keyName);
         
-        final AiStatisticServerHttpResponse loggingServerHttpResponse = new AiStatisticServerHttpResponse(exchange, exchange.getResponse(),
-                tokens -> recordTokensUsage(reactiveRedisTemplate,
-                        cacheKey,
-                        tokens,
-                        timeWindowSeconds));
+        final boolean cutOffStream = Boolean.TRUE.equals(aiTokenLimiterHandle.getCutOffStream());
+        final TokenBudget tokenBudget = AiTokenLimiterModeEnum.LOCAL == AiTokenLimiterModeEnum.acquireByName(aiTokenLimiterHandle.getBudgetMode())
+                ? localTokenBudget : redisTokenBudget;
+        final long reservedTokens = estimateTokens(exchange.getRequest());
         
-        // check if the request is allowed
-        return isAllowed(reactiveRedisTemplate, cacheKey, tokenLimit)
-                .flatMap(allowed -> {
-                    if (!allowed) {
+        // check if the request is allowed and reserve the estimated tokens
+        return tokenBudget.reserve(reactiveRedisTemplate, cacheKey, aiTokenLimiterHandle, reservedTokens)
+                .flatMap(remainingTokens -> {
+                    if (remainingTokens <= 0) {
                         exchange.getResponse().setStatusCode(HttpStatus.TOO_MANY_REQUESTS);
                         final Consumer<HttpStatusCode> consumer = exchange.getAttribute(Constants.METRICS_RATE_LIMITER);
                         Optional.ofNullable(consumer).ifPresent(c -> c.accept(exchange.getResponse().getStatusCode()));
                         Object error = ShenyuResultWrap.error(exchange, ShenyuResultEnum.RUN_OUT_OF_TOKENS);
                         return WebFluxResultUtils.result(exchange, error);
                     }
-                    // record tokens usage
+                    // the reserved tokens stay charged, the completion tokens are settled once the response body finishes.
+                    final AtomicBoolean settled = new AtomicBoolean(false);
+                    final Consumer<Long> tokensRecorder = tokens -> {
+                        if (settled.compareAndSet(false, true)) {
+                            tokenBudget.settle(reactiveRedisTemplate, cacheKey, aiTokenLimiterHandle, tokens);
+                        }
+                    };
+                    final AiStatisticServerHttpResponse loggingServerHttpResponse = new AiStatisticServerHttpResponse(exchange, exchange.getResponse(),
+                            tokensRecorder, cutOffStream ? remainingTokens : Long.MAX_VALUE);
                     ServerWebExchange mutatedExchange = exchange.mutate()
                             .response(loggingServerHttpResponse)
                             .build();
                     
-                    return chain.execute(mutatedExchange);
+                    return chain.execute(mutatedExchange)
+                            .doFinally(signal -> {
+                                // release the reservation only if no response body is written, which is settled by itself.
+                                if (!loggingServerHttpResponse.isWritten() && settled.compareAndSet(false, true)) {
+                                    tokenBudget.release(reactiveRedisTemplate, cacheKey, aiTokenLimiterHandle, reservedTokens);
+                                }
+                            });
                 });
         
     }
     
     /**
-     * Check if the request is allowed based on rate limiting rules.
+     * Estimate the tokens of the request by its content length.
      *
-     * @param reactiveRedisTemplate the reactive Redis template
-     * @param cacheKey the cache key for the request
-     * @param tokenLimit the token limit for the request
-     * @return whether the request is allowed
+     * @param request the request
+     * @return the estimated tokens
      */
-    private Mono<Boolean> isAllowed(final ReactiveRedisTemplate reactiveRedisTemplate, final String cacheKey, final Long tokenLimit) {
-        
-        return reactiveRedisTemplate.opsForValue().get(cacheKey)
-                .defaultIfEmpty(0L)
-                .flatMap(currentTokens -> {
-                    if (Long.parseLong(currentTokens.toString()) >= tokenLimit) {
-                        return Mono.just(false);
-                    }
-                    return Mono.just(true);
-                });
+    private long estimateTokens(final ServerHttpRequest request) {
+        long contentLength = request.getHeaders().getContentLength();
+        return contentLength > 0 ? contentLength / BYTES_PER_TOKEN : 0L;
     }
     
     /**
@@ -178,14 +199,6 @@ public class AiTokenLimiterPlugin extends AbstractShenyuPlugin {
         return StringUtils.isBlank(key) ? "" : key;
     }
     
-    private void recordTokensUsage(final ReactiveRedisTemplate reactiveRedisTemplate, final String cacheKey, final Long tokens, final Long windowSeconds) {
-        // Record token usage with expiration
-        reactiveRedisTemplate.opsForValue()
-                .increment(cacheKey, tokens)
-                .flatMap(currentValue -> reactiveRedisTemplate.expire(cacheKey, Duration.ofSeconds(windowSeconds)))
-                .subscribe();
-    }
-    
     @Override
     public int getOrder() {
         return PluginEnum.AI_TOKEN_LIMITER.getCode();
@@ -204,111 +217,81 @@ public class AiTokenLimiterPlugin extends AbstractShenyuPlugin {
         
         private final Consumer<Long> tokensRecorder;
         
-        AiStatisticServerHttpResponse(final ServerWebExchange exchange, final ServerHttpResponse delegate, final Consumer<Long> tokensRecorder) {
+        private final long remainingTokens;
+        
+        private final AtomicBoolean written = new AtomicBoolean(false);
+        
+        AiStatisticServerHttpResponse(final ServerWebExchange exchange, final ServerHttpResponse delegate,
+                                      final Consumer<Long> tokensRecorder, final long remainingTokens) {
             super(delegate);
             this.exchange = exchange;
             this.serverHttpResponse = delegate;
             this.tokensRecorder = tokensRecorder;
+            this.remainingTokens = remainingTokens;
         }
         
         @Override
         @NonNull
         public Mono<Void> writeWith(@NonNull final Publisher<? extends DataBuffer> body) {
+            written.set(true);
             return super.writeWith(appendResponse(body));
         }
         
+        /**
+         * Whether the response body is written.
+         *
+         * @return true if the response body is written
+         */
+        boolean isWritten() {
+            return written.get();
+        }
+        
         @NonNull
         private Flux<? extends DataBuffer> appendResponse(final Publisher<? extends DataBuffer> body) {
-            
-            BodyWriter writer = new BodyWriter();
-            return Flux.from(body).doOnNext(buffer -> {
+            HttpHeaders headers = serverHttpResponse.getHeaders();
+            AiModel aiModel = exchange.getAttribute(Constants.AI_MODEL);
+            CompletionTokenCounter counter = new CompletionTokenCounter(Objects.requireNonNull(aiModel), isEventStream(headers));
+            GzipStreamDecoder decoder = isGzip(headers) ? new GzipStreamDecoder() : null;
+            AtomicBoolean decodeFailed = new AtomicBoolean(false);
+            Flux<? extends DataBuffer> flux = Flux.from(body).doOnNext(buffer -> {
+                if (decodeFailed.get()) {
+                    return;
+                }
                 try (DataBuffer.ByteBufferIterator bufferIterator = buffer.readableByteBuffers()) {
-                    bufferIterator.forEachRemaining(byteBuffer -> {
-                        // Handle gzip encoded response
-                        if (serverHttpResponse.getHeaders().containsKey(Constants.CONTENT_ENCODING)
-                                && serverHttpResponse.getHeaders().getFirst(Constants.CONTENT_ENCODING).contains(Constants.HTTP_ACCEPT_ENCODING_GZIP)) {
-                            try {
-                                ByteBuffer readOnlyBuffer = byteBuffer.asReadOnlyBuffer();
-                                byte[] compressed = new byte[readOnlyBuffer.remaining()];
-                                readOnlyBuffer.get(compressed);
-                                
-                                // Decompress gzipped content
-                                byte[] decompressed = decompressGzip(compressed);
-                                writer.write(ByteBuffer.wrap(decompressed));
-                                
-                            } catch (IOException e) {
-                                LOG.error("Failed to decompress gzipped response", e);
-                                writer.write(byteBuffer.asReadOnlyBuffer());
-                            }
+                    while (bufferIterator.hasNext()) {
+                        ByteBuffer byteBuffer = bufferIterator.next().asReadOnlyBuffer();
+                        if (Objects.isNull(decoder)) {
+                            counter.count(byteBuffer);
                         } else {
-                            writer.write(byteBuffer.asReadOnlyBuffer());
+                            decoder.decode(byteBuffer, counter::count);
                         }
-                    });
+                    }
+                } catch (DataFormatException e) {
+                    LOG.error("Failed to decompress gzipped response", e);
+                    decodeFailed.set(true);
                 }
-            }).doFinally(signal -> {
-                String responseBody = writer.output();
-                AiModel aiModel = exchange.getAttribute(Constants.AI_MODEL);
-                long tokens = Objects.requireNonNull(aiModel).getCompletionTokens(responseBody);
-                tokensRecorder.accept(tokens);
             });
-        }
-        
-        private byte[] decompressGzip(final byte[] compressed) throws IOException {
-            try (GZIPInputStream gzipInputStream = new GZIPInputStream(new ByteArrayInputStream(compressed));
-                 ByteArrayOutputStream outputStream = new ByteArrayOutputStream()) {
-                byte[] buffer = new byte[1024];
-                int len;
-                while ((len = gzipInputStream.read(buffer)) > 0) {
-                    outputStream.write(buffer, 0, len);
-                }
-                return outputStream.toByteArray();
+            if (remainingTokens < Long.MAX_VALUE) {
+                // cut off the response which exceeds the remaining tokens, the exceeding chunk is still sent.
+                flux = flux.takeUntil(buffer -> counter.getTokens() >= remainingTokens);
             }
-        }
-        
-    }
-    
-    static class BodyWriter {
-        
-        private final ByteArrayOutputStream stream = new ByteArrayOutputStream();
-        
-        private final WritableByteChannel channel = Channels.newChannel(stream);
-        
-        private final AtomicBoolean isClosed = new AtomicBoolean(false);
-        
-        void write(final ByteBuffer buffer) {
-            if (!isClosed.get()) {
-                try {
-                    channel.write(buffer);
-                } catch (IOException e) {
-                    isClosed.compareAndSet(false, true);
-                    LOG.error("Parse Failed.", e);
+            return flux.doFinally(signal -> {
+                if (Objects.nonNull(decoder)) {
+                    decoder.close();
                 }
-            }
+                tokensRecorder.accept(counter.finish());
+            });
         }
         
-        boolean isEmpty() {
-            return stream.size() == 0;
+        private static boolean isEventStream(final HttpHeaders headers) {
+            String contentType = headers.getFirst(HttpHeaders.CONTENT_TYPE);
+            return Objects.nonNull(contentType) && contentType.contains(MediaType.TEXT_EVENT_STREAM_VALUE);
         }
         
-        String output() {
-            try {
-                isClosed.compareAndSet(false, true);
-                return stream.toString(StandardCharsets.UTF_8);
-            } catch (Exception e) {
-                LOG.error("Write failed: ", e);
-                return "Write failed: " + e.getMessage();
-            } finally {
-                try {
-                    stream.close();
-                } catch (IOException e) {
-                    LOG.error("Close stream error: ", e);
-                }
-                try {
-                    channel.close();
-                } catch (IOException e) {
-                    LOG.error("Close channel error: ", e);
-                }
-            }
+        private static boolean isGzip(final HttpHeaders headers) {
+            String contentEncoding = headers.getFirst(Constants.CONTENT_ENCODING);
+            return Objects.nonNull(contentEncoding) && contentEncoding.contains(Constants.HTTP_ACCEPT_ENCODING_GZIP);
         }
+        
     }
 }
@@ -0,0 +1,151 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.shenyu.plugin.ai.token.limiter.budget;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.apache.shenyu.common.dto.convert.rule.AiTokenLimiterHandle;
+import org.springframework.data.redis.core.ReactiveRedisTemplate;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * The token budget which pre-aggregates the reservations and the settlements on the gateway node,
+ * requests are judged by the used tokens last read from redis plus the local increments, and the increments
+ * are flushed to redis in one batch per flush interval, which also reads back the usage of the other nodes.
+ * Only the first request of a key waits for redis, the fleet may exceed the limit by the usage of one flush interval.
+ */
+public class LocalTokenBudget implements TokenBudget {
+    
+    private static final long MAXIMUM_KEYS = 100000;
+    
+    private static final Duration EXPIRE_AFTER_ACCESS = Duration.ofMinutes(10);
+    
+    private final RedisTokenBudget redisTokenBudget;
+    
+    private final Cache<String, LocalBucket> buckets = Caffeine.newBuilder()
+            .maximumSize(MAXIMUM_KEYS)
+            .expireAfterAccess(EXPIRE_AFTER_ACCESS)
+            .build();
+    
+    public LocalTokenBudget(final RedisTokenBudget redisTokenBudget) {
+        this.redisTokenBudget = redisTokenBudget;
+    }
+    
+    @Override
+    public Mono<Long> reserve(final ReactiveRedisTemplate<String, String> redisTemplate, final String key,
+                              final AiTokenLimiterHandle handle, final long reserved) {
+        final LocalBucket bucket = buckets.get(key, LocalBucket::new);
+        return bucket.load(redisTemplate, handle).map(loaded -> {
+            final long remaining = handle.getTokenLimit() - bucket.getUsed();
+            // the denied bucket is flushed as well to read back the usage after the window expires.
+            bucket.add(redisTemplate, handle, remaining > 0 ? reserved : 0L);
+            return remaining;
+        });
+    }
+    
+    @Override
+    public void settle(final ReactiveRedisTemplate<String, String> redisTemplate, final String key,
+                       final AiTokenLimiterHandle handle, final long used) {
+        buckets.get(key, LocalBucket::new).add(redisTemplate, handle, used);
+    }
+    
+    @Override
+    public void release(final ReactiveRedisTemplate<String, String> redisTemplate, final String key,
+                        final AiTokenLimiterHandle handle, final long reserved) {
+        buckets.get(key, LocalBucket::new).add(redisTemplate, handle, -reserved);
+    }
+    
+    /**
+     * Remove the local buckets of all keys, the pending increments are still flushed.
+     */
+    public void clean() {
+        buckets.invalidateAll();
+    }
+    
+    private final class LocalBucket {
+        
+        private final String key;
+        
+        private final AtomicLong pending = new AtomicLong();
+        
+        private final AtomicBoolean scheduled = new AtomicBoolean();
+        
+        private final AtomicReference<Mono<Long>> loading = new AtomicReference<>();
+        
+        private volatile long observed = -1L;
+        
+        LocalBucket(final String key) {
+            this.key = key;
+        }
+        
+        long getUsed() {
+            return observed + pending.get();
+        }
+        
+        Mono<Long> load(final ReactiveRedisTemplate<String, String> redisTemplate, final AiTokenLimiterHandle handle) {
+            if (observed >= 0) {
+                return Mono.just(observed);
+            }
+            while (true) {
+                Mono<Long> current = loading.get();
+                if (Objects.nonNull(current)) {
+                    return current;
+                }
+                Mono<Long> load = redisTokenBudget.add(redisTemplate, key, handle, 0L)
+                        .doOnNext(used -> observed = used)
+                        .doFinally(signalType -> loading.set(null))
+                        .cache();
+                if (loading.compareAndSet(null, load)) {
+                    return load;
+                }
+            }
+        }
+        
+        void add(final ReactiveRedisTemplate<String, String> redisTemplate, final AiTokenLimiterHandle handle, final long delta) {
+            pending.addAndGet(delta);
+            if (scheduled.compareAndSet(false, true)) {
+                Mono.delay(Duration.ofMillis(handle.getFlushInterval()))
+                        .then(Mono.defer(() -> flush(redisTemplate, handle)))
+                        .doFinally(signalType -> {
+                            scheduled.set(false);
+                            if (pending.get() != 0) {
+                                add(redisTemplate, handle, 0L);
+                            }
+                        })
+                        .subscribe();
+            }
+        }
+        
+        private Mono<Long> flush(final ReactiveRedisTemplate<String, String> redisTemplate, final AiTokenLimiterHandle handle) {
+            final long delta = pending.get();
+            // the flushed increments are counted twice until they are subtracted, never counted none.
+            return redisTokenBudget.add(redisTemplate, key, handle, delta)
+                    .doOnNext(used -> {
+                        observed = used;
+                        pending.addAndGet(-delta);
+                    })
+                    .onErrorResume(throwable -> Mono.empty());
+        }
+    }
+}
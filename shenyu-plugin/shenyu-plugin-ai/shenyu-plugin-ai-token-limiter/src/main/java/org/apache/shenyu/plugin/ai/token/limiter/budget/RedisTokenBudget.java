@@ -0,0 +1,96 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.shenyu.plugin.ai.token.limiter.budget;
+
+import org.apache.shenyu.common.constant.Constants;
+import org.apache.shenyu.common.dto.convert.rule.AiTokenLimiterHandle;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.data.redis.core.ReactiveRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.scripting.support.ResourceScriptSource;
+import reactor.core.publisher.Mono;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * The token budget which reserves and settles the tokens of every request by the redis scripts,
+ * the check and the reservation are one atomic round trip, so the concurrent requests see the reservations of each other.
+ */
+public class RedisTokenBudget implements TokenBudget {
+    
+    private static final Logger LOG = LoggerFactory.getLogger(RedisTokenBudget.class);
+    
+    private static final String RESERVE_SCRIPT = "ai_token_reserve.lua";
+    
+    private static final String SETTLE_SCRIPT = "ai_token_settle.lua";
+    
+    private final RedisScript<List<Long>> reserveScript = loadScript(RESERVE_SCRIPT);
+    
+    private final RedisScript<List<Long>> settleScript = loadScript(SETTLE_SCRIPT);
+    
+    @Override
+    public Mono<Long> reserve(final ReactiveRedisTemplate<String, String> redisTemplate, final String key,
+                              final AiTokenLimiterHandle handle, final long reserved) {
+        final long limit = handle.getTokenLimit();
+        List<String> args = Arrays.asList(String.valueOf(limit), String.valueOf(reserved), String.valueOf(handle.getTimeWindowSeconds()));
+        return redisTemplate.execute(reserveScript, Collections.singletonList(key), args).next()
+                .map(results -> results.get(0) == 1L ? limit - results.get(1) + reserved : limit - results.get(1));
+    }
+    
+    @Override
+    public void settle(final ReactiveRedisTemplate<String, String> redisTemplate, final String key,
+                       final AiTokenLimiterHandle handle, final long used) {
+        add(redisTemplate, key, handle, used).onErrorResume(throwable -> Mono.empty()).subscribe();
+    }
+    
+    @Override
+    public void release(final ReactiveRedisTemplate<String, String> redisTemplate, final String key,
+                        final AiTokenLimiterHandle handle, final long reserved) {
+        add(redisTemplate, key, handle, -reserved).onErrorResume(throwable -> Mono.empty()).subscribe();
+    }
+    
+    /**
+     * Add the tokens to the window.
+     *
+     * @param redisTemplate the reactive redis template
+     * @param key the budget key
+     * @param handle the limiter handle
+     * @param delta the tokens to add
+     * @return the used tokens of the window
+     */
+    Mono<Long> add(final ReactiveRedisTemplate<String, String> redisTemplate, final String key,
+                   final AiTokenLimiterHandle handle, final long delta) {
+        List<String> args = Arrays.asList(String.valueOf(delta), String.valueOf(handle.getTimeWindowSeconds()));
+        return redisTemplate.execute(settleScript, Collections.singletonList(key), args).next()
+                .map(results -> results.get(0))
+                .doOnError(throwable -> LOG.error("settle ai tokens error, key: {}, tokens: {}, error: {}", key, delta, throwable.getMessage()));
+    }
+    
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private static RedisScript<List<Long>> loadScript(final String scriptName) {
+        DefaultRedisScript redisScript = new DefaultRedisScript<>();
+        redisScript.setScriptSource(new ResourceScriptSource(new ClassPathResource(Constants.SCRIPT_PATH + scriptName)));
+        redisScript.setResultType(List.class);
+        return redisScript;
+    }
+}
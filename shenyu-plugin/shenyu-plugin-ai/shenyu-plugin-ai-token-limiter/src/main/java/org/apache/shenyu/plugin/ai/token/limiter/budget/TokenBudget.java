@@ -0,0 +1,60 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.shenyu.plugin.ai.token.limiter.budget;
+
+import org.apache.shenyu.common.dto.convert.rule.AiTokenLimiterHandle;
+import org.springframework.data.redis.core.ReactiveRedisTemplate;
+import reactor.core.publisher.Mono;
+
+/**
+ * The token budget of the time window, a request reserves the estimated tokens before it is sent
+ * and settles the used tokens after the response is completed.
+ */
+public interface TokenBudget {
+    
+    /**
+     * Reserve the tokens if the used tokens of the window are below the limit.
+     *
+     * @param redisTemplate the reactive redis template
+     * @param key the budget key
+     * @param handle the limiter handle
+     * @param reserved the tokens to reserve
+     * @return the remaining tokens before the reservation, the request is not allowed if none remains
+     */
+    Mono<Long> reserve(ReactiveRedisTemplate<String, String> redisTemplate, String key, AiTokenLimiterHandle handle, long reserved);
+    
+    /**
+     * Add the completion tokens to the window, the reserved tokens estimated from the request stay charged.
+     *
+     * @param redisTemplate the reactive redis template
+     * @param key the budget key
+     * @param handle the limiter handle
+     * @param used the completion tokens
+     */
+    void settle(ReactiveRedisTemplate<String, String> redisTemplate, String key, AiTokenLimiterHandle handle, long used);
+    
+    /**
+     * Release the reservation of the request which writes no response.
+     *
+     * @param redisTemplate the reactive redis template
+     * @param key the budget key
+     * @param handle the limiter handle
+     * @param reserved the reserved tokens
+     */
+    void release(ReactiveRedisTemplate<String, String> redisTemplate, String key, AiTokenLimiterHandle handle, long reserved);
+}
@@ -24,6 +24,8 @@ import org.apache.shenyu.common.dto.SelectorData;
 import org.apache.shenyu.common.dto.convert.rule.AiTokenLimiterHandle;
 import org.apache.shenyu.common.enums.PluginEnum;
 import org.apache.shenyu.common.utils.GsonUtils;
+import org.apache.shenyu.plugin.ai.token.limiter.budget.LocalTokenBudget;
+import org.apache.shenyu.plugin.ai.token.limiter.budget.RedisTokenBudget;
 import org.apache.shenyu.plugin.ai.token.limiter.redis.RedisConfigProperties;
 import org.apache.shenyu.plugin.ai.token.limiter.redis.RedisConnectionFactory;
 import org.apache.shenyu.plugin.ai.token.limiter.redis.ShenyuReactiveRedisTemplate;
@@ -53,6 +55,16 @@ public class AiTokenLimiterPluginHandler implements PluginDataHandler {
     
     private static final Logger LOG = LoggerFactory.getLogger(AiTokenLimiterPluginHandler.class);
     
+    private final LocalTokenBudget localTokenBudget;
+    
+    public AiTokenLimiterPluginHandler() {
+        this(new LocalTokenBudget(new RedisTokenBudget()));
+    }
+    
+    public AiTokenLimiterPluginHandler(final LocalTokenBudget localTokenBudget) {
+        this.localTokenBudget = localTokenBudget;
+    }
+    
     @Override
     public void handlerPlugin(final PluginData pluginData) {
         if (Objects.nonNull(pluginData) && Boolean.TRUE.equals(pluginData.getEnabled())) {
@@ -68,6 +80,8 @@ public class AiTokenLimiterPluginHandler implements PluginDataHandler {
                         ShenyuRedisSerializationContext.stringSerializationContext());
                 REDIS_CACHED_HANDLE.get().cachedHandle(PluginEnum.AI_TOKEN_LIMITER.getName(), reactiveRedisTemplate);
                 REDIS_PROPERTIES_CACHED_HANDLE.get().cachedHandle(PluginEnum.AI_TOKEN_LIMITER.getName(), redisConfigProperties);
+                // the local buckets observed the usage of the former redis.
+                localTokenBudget.clean();
             }
         }
     }
@@ -89,12 +103,17 @@ public class AiTokenLimiterPluginHandler implements PluginDataHandler {
         Optional.ofNullable(ruleData.getHandle()).ifPresent(s -> {
             final AiTokenLimiterHandle rateLimiterHandle = GsonUtils.getInstance().fromJson(s, AiTokenLimiterHandle.class);
             CACHED_HANDLE.get().cachedHandle(CacheKeyUtils.INST.getKey(ruleData), rateLimiterHandle);
+            // the local buckets may be loaded with the former limit window.
+            localTokenBudget.clean();
         });
     }
     
     @Override
     public void removeRule(final RuleData ruleData) {
-        Optional.ofNullable(ruleData.getHandle()).ifPresent(s -> CACHED_HANDLE.get().removeHandle(CacheKeyUtils.INST.getKey(ruleData)));
+        Optional.ofNullable(ruleData.getHandle()).ifPresent(s -> {
+            CACHED_HANDLE.get().removeHandle(CacheKeyUtils.INST.getKey(ruleData));
+            localTokenBudget.clean();
+        });
     }
     
     @Override
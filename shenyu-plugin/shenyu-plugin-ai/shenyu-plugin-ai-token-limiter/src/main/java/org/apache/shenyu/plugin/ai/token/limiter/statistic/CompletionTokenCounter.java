@@ -0,0 +1,190 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.shenyu.plugin.ai.token.limiter.statistic;
+
+import org.apache.shenyu.plugin.ai.common.strategy.AiModel;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Objects;
+
+/**
+ * The completion token counter of one response.
+ * The {@code text/event-stream} response is parsed event by event as the chunks pass, only the current line
+ * and event are held, and the usage reported by the model overrides the estimate of one token per event.
+ * The other responses are buffered and parsed by the {@link AiModel} when finished.
+ */
+public final class CompletionTokenCounter {
+
+    /**
+     * the longer line or event is dropped, the usage event is far smaller than it.
+     */
+    private static final int MAX_EVENT_LENGTH = 64 * 1024;
+
+    private static final String DATA_FIELD = "data:";
+
+    private static final String DONE_DATA = "[DONE]";
+
+    private static final String USAGE = "\"usage\"";
+
+    private final AiModel aiModel;
+
+    private final boolean eventStream;
+
+    private final ByteArrayOutputStream body;
+
+    private final StringBuilder data = new StringBuilder();
+
+    private byte[] line = new byte[256];
+
+    private int lineLength;
+
+    private boolean lineDropped;
+
+    private boolean eventDropped;
+
+    private boolean previousCarriageReturn;
+
+    private long events;
+
+    private long reportedTokens;
+
+    public CompletionTokenCounter(final AiModel aiModel, final boolean eventStream) {
+        this.aiModel = aiModel;
+        this.eventStream = eventStream;
+        this.body = eventStream ? null : new ByteArrayOutputStream();
+    }
+
+    /**
+     * Count the decoded bytes of the response.
+     *
+     * @param buffer the decoded bytes, its position is moved to the limit
+     */
+    public void count(final ByteBuffer buffer) {
+        if (!eventStream) {
+            if (buffer.hasArray()) {
+                body.write(buffer.array(), buffer.arrayOffset() + buffer.position(), buffer.remaining());
+                buffer.position(buffer.limit());
+            } else {
+                while (buffer.hasRemaining()) {
+                    body.write(buffer.get());
+                }
+            }
+            return;
+        }
+        while (buffer.hasRemaining()) {
+            byte b = buffer.get();
+            if (b == '\n' && previousCarriageReturn) {
+                previousCarriageReturn = false;
+                continue;
+            }
+            previousCarriageReturn = b == '\r';
+            if (b == '\n' || b == '\r') {
+                endLine();
+            } else {
+                appendLine(b);
+            }
+        }
+    }
+
+    /**
+     * Get the completion tokens counted so far.
+     *
+     * @return the reported usage, or the estimate until the usage is reported
+     */
+    public long getTokens() {
+        return reportedTokens > 0 ? reportedTokens : events;
+    }
+
+    /**
+     * Finish the response.
+     *
+     * @return the completion tokens
+     */
+    public long finish() {
+        if (!eventStream) {
+            return aiModel.getCompletionTokens(body.toString(StandardCharsets.UTF_8));
+        }
+        if (lineLength > 0 || lineDropped) {
+            endLine();
+        }
+        dispatchEvent();
+        return getTokens();
+    }
+
+    private void appendLine(final byte b) {
+        if (lineDropped) {
+            return;
+        }
+        if (lineLength == line.length) {
+            if (lineLength == MAX_EVENT_LENGTH) {
+                lineDropped = true;
+                return;
+            }
+            line = Arrays.copyOf(line, Math.min(lineLength * 2, MAX_EVENT_LENGTH));
+        }
+        line[lineLength++] = b;
+    }
+
+    private void endLine() {
+        if (lineLength == 0 && !lineDropped) {
+            dispatchEvent();
+            return;
+        }
+        String field = lineDropped ? null : new String(line, 0, lineLength, StandardCharsets.UTF_8);
+        if (Objects.isNull(field) || field.length() + data.length() > MAX_EVENT_LENGTH) {
+            // the event is still counted, but its data can not be parsed.
+            eventDropped = true;
+            data.setLength(0);
+        } else if (!eventDropped && field.startsWith(DATA_FIELD)) {
+            int start = field.length() > DATA_FIELD.length() && field.charAt(DATA_FIELD.length()) == ' '
+                    ? DATA_FIELD.length() + 1 : DATA_FIELD.length();
+            if (data.length() > 0) {
+                data.append('\n');
+            }
+            data.append(field, start, field.length());
+        }
+        lineLength = 0;
+        lineDropped = false;
+    }
+
+    private void dispatchEvent() {
+        if (eventDropped) {
+            eventDropped = false;
+            events++;
+            return;
+        }
+        if (data.length() == 0) {
+            return;
+        }
+        String event = data.toString();
+        data.setLength(0);
+        if (DONE_DATA.equals(event)) {
+            return;
+        }
+        events++;
+        if (event.contains(USAGE)) {
+            Long tokens = aiModel.getCompletionTokens(event);
+            if (Objects.nonNull(tokens) && tokens > 0) {
+                reportedTokens = tokens;
+            }
+        }
+    }
+}
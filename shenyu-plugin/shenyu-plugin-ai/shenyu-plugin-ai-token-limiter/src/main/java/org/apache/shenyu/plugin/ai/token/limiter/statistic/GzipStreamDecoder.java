@@ -0,0 +1,183 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.shenyu.plugin.ai.token.limiter.statistic;
+
+import java.nio.ByteBuffer;
+import java.util.function.Consumer;
+import java.util.zip.DataFormatException;
+import java.util.zip.Inflater;
+
+/**
+ * The gzip decoder which inflates the chunks of one response with a single {@link Inflater},
+ * so the gzip members may span the chunks. The gzip header and trailer are skipped, not checked.
+ */
+public final class GzipStreamDecoder {
+
+    private static final int FIXED_HEADER_LENGTH = 10;
+
+    private static final int TRAILER_LENGTH = 8;
+
+    private static final int FLAG_HCRC = 2;
+
+    private static final int FLAG_EXTRA = 4;
+
+    private static final int FLAG_NAME = 8;
+
+    private static final int FLAG_COMMENT = 16;
+
+    private static final int FLAG_OFFSET = 3;
+
+    private final Inflater inflater = new Inflater(true);
+
+    private final byte[] output = new byte[8192];
+
+    private State state = State.FIXED_HEADER;
+
+    private int flags;
+
+    private int extraLength;
+
+    /**
+     * the bytes to read or skip in the current state.
+     */
+    private int remaining = FIXED_HEADER_LENGTH;
+
+    /**
+     * Decode the chunk.
+     *
+     * @param input    the compressed chunk, its position is moved to the limit
+     * @param consumer the consumer of the inflated bytes, the buffer is reused after it returns
+     * @throws DataFormatException if the deflate data is invalid
+     */
+    public void decode(final ByteBuffer input, final Consumer<ByteBuffer> consumer) throws DataFormatException {
+        while (input.hasRemaining()) {
+            switch (state) {
+                case FIXED_HEADER:
+                    readFixedHeader(input);
+                    break;
+                case EXTRA_LENGTH:
+                    readExtraLength(input);
+                    break;
+                case EXTRA:
+                case HCRC:
+                case TRAILER:
+                    skip(input);
+                    break;
+                case NAME:
+                case COMMENT:
+                    if (input.get() == 0) {
+                        nextHeaderState(state);
+                    }
+                    break;
+                case DATA:
+                default:
+                    inflate(input, consumer);
+            }
+        }
+    }
+
+    /**
+     * Release the inflater.
+     */
+    public void close() {
+        inflater.end();
+    }
+
+    private void readFixedHeader(final ByteBuffer input) {
+        if (remaining == FIXED_HEADER_LENGTH - FLAG_OFFSET) {
+            flags = input.get() & 0xff;
+        } else {
+            input.get();
+        }
+        if (--remaining == 0) {
+            nextHeaderState(State.FIXED_HEADER);
+        }
+    }
+
+    private void readExtraLength(final ByteBuffer input) {
+        // the little endian length of the extra field.
+        extraLength |= (input.get() & 0xff) << (8 * (2 - remaining));
+        if (--remaining == 0) {
+            remaining = extraLength;
+            nextHeaderState(State.EXTRA_LENGTH);
+        }
+    }
+
+    private void skip(final ByteBuffer input) {
+        int skipped = Math.min(remaining, input.remaining());
+        input.position(input.position() + skipped);
+        remaining -= skipped;
+        if (remaining > 0) {
+            return;
+        }
+        if (state == State.TRAILER) {
+            // the next gzip member.
+            state = State.FIXED_HEADER;
+            remaining = FIXED_HEADER_LENGTH;
+        } else {
+            nextHeaderState(state);
+        }
+    }
+
+    /**
+     * Move to the next present header field after the current one, or the data.
+     */
+    private void nextHeaderState(final State current) {
+        State next = current;
+        while (true) {
+            next = State.values()[next.ordinal() + 1];
+            if (next == State.EXTRA_LENGTH && (flags & FLAG_EXTRA) != 0) {
+                extraLength = 0;
+                remaining = 2;
+                break;
+            }
+            if (next == State.EXTRA && (flags & FLAG_EXTRA) != 0
+                    || next == State.NAME && (flags & FLAG_NAME) != 0
+                    || next == State.COMMENT && (flags & FLAG_COMMENT) != 0) {
+                break;
+            }
+            if (next == State.HCRC && (flags & FLAG_HCRC) != 0) {
+                remaining = 2;
+                break;
+            }
+            if (next == State.DATA) {
+                break;
+            }
+        }
+        state = next;
+    }
+
+    private void inflate(final ByteBuffer input, final Consumer<ByteBuffer> consumer) throws DataFormatException {
+        inflater.setInput(input);
+        while (!inflater.finished()) {
+            int length = inflater.inflate(output);
+            if (length > 0) {
+                consumer.accept(ByteBuffer.wrap(output, 0, length));
+            } else if (inflater.needsInput() || inflater.needsDictionary()) {
+                return;
+            }
+        }
+        inflater.reset();
+        state = State.TRAILER;
+        remaining = TRAILER_LENGTH;
+    }
+
+    private enum State {
+        FIXED_HEADER, EXTRA_LENGTH, EXTRA, NAME, COMMENT, HCRC, DATA, TRAILER
+    }
+}
@@ -0,0 +1,35 @@
+--
+-- Licensed to the Apache Software Foundation (ASF) under one or more
+-- contributor license agreements.  See the NOTICE file distributed with
+-- this work for additional information regarding copyright ownership.
+-- The ASF licenses this file to You under the Apache License, Version 2.0
+-- (the "License"); you may not use this file except in compliance with
+-- the License.  You may obtain a copy of the License at
+--
+--    http://www.apache.org/licenses/LICENSE-2.0
+--
+-- Unless required by applicable law or agreed to in writing, software
+-- distributed under the License is distributed on an "AS IS" BASIS,
+-- WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+-- See the License for the specific language governing permissions and
+-- limitations under the License.
+--
+
+-- reserve the tokens if the used tokens of the window are below the limit,
+-- returns { allowed, used tokens including the reservation }.
+local key = KEYS[1]
+
+local limit = tonumber(ARGV[1])
+local reserved = tonumber(ARGV[2])
+local window = tonumber(ARGV[3])
+
+local used = tonumber(redis.call("get", key) or "0")
+if used >= limit then
+  return { 0, used }
+end
+
+used = redis.call("incrby", key, reserved)
+if redis.call("ttl", key) < 0 then
+  redis.call("expire", key, window)
+end
+return { 1, used }
@@ -0,0 +1,34 @@
+--
+-- Licensed to the Apache Software Foundation (ASF) under one or more
+-- contributor license agreements.  See the NOTICE file distributed with
+-- this work for additional information regarding copyright ownership.
+-- The ASF licenses this file to You under the Apache License, Version 2.0
+-- (the "License"); you may not use this file except in compliance with
+-- the License.  You may obtain a copy of the License at
+--
+--    http://www.apache.org/licenses/LICENSE-2.0
+--
+-- Unless required by applicable law or agreed to in writing, software
+-- distributed under the License is distributed on an "AS IS" BASIS,
+-- WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+-- See the License for the specific language governing permissions and
+-- limitations under the License.
+--
+
+-- add the completion tokens, or subtract the released reservation,
+-- returns { used tokens of the window }.
+local key = KEYS[1]
+
+local delta = tonumber(ARGV[1])
+local window = tonumber(ARGV[2])
+
+local used = redis.call("incrby", key, delta)
+-- the reservation may be settled after the window of it expires.
+if used < 0 then
+  redis.call("set", key, 0)
+  used = 0
+end
+if redis.call("ttl", key) < 0 then
+  redis.call("expire", key, window)
+end
+return { used }
@@ -0,0 +1,114 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.apache.shenyu.plugin.ai.token.limiter;
+
+import org.apache.shenyu.common.constant.Constants;
+import org.apache.shenyu.common.dto.RuleData;
+import org.apache.shenyu.common.dto.SelectorData;
+import org.apache.shenyu.common.dto.convert.rule.AiTokenLimiterHandle;
+import org.apache.shenyu.common.enums.AiTokenLimiterModeEnum;
+import org.apache.shenyu.common.enums.PluginEnum;
+import org.apache.shenyu.plugin.ai.common.strategy.openai.OpenAI;
+import org.apache.shenyu.plugin.ai.token.limiter.budget.LocalTokenBudget;
+import org.apache.shenyu.plugin.ai.token.limiter.handler.AiTokenLimiterPluginHandler;
+import org.apache.shenyu.plugin.api.ShenyuPluginChain;
+import org.apache.shenyu.plugin.base.utils.CacheKeyUtils;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
+import org.springframework.data.redis.core.ReactiveRedisTemplate;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.nio.charset.StandardCharsets;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * The test case for {@link AiTokenLimiterPlugin}.
+ */
+public final class AiTokenLimiterPluginTest {
+    
+    private static final String BODY = "{\"usage\":{\"prompt_tokens\":10,\"completion_tokens\":7}}";
+    
+    private LocalTokenBudget localTokenBudget;
+    
+    private AiTokenLimiterPlugin aiTokenLimiterPlugin;
+    
+    private SelectorData selectorData;
+    
+    private RuleData ruleData;
+    
+    private ServerWebExchange exchange;
+    
+    @BeforeEach
+    public void setUp() {
+        localTokenBudget = mock(LocalTokenBudget.class);
+        when(localTokenBudget.reserve(any(), anyString(), any(), anyLong())).thenReturn(Mono.just(100L));
+        aiTokenLimiterPlugin = new AiTokenLimiterPlugin(localTokenBudget);
+        selectorData = SelectorData.builder().id("selector").build();
+        ruleData = RuleData.builder().id("rule").selectorId("selector").build();
+        AiTokenLimiterHandle handle = AiTokenLimiterHandle.newDefaultInstance();
+        handle.setBudgetMode(AiTokenLimiterModeEnum.LOCAL.getName());
+        AiTokenLimiterPluginHandler.CACHED_HANDLE.get().cachedHandle(CacheKeyUtils.INST.getKey(ruleData), handle);
+        AiTokenLimiterPluginHandler.REDIS_CACHED_HANDLE.get().cachedHandle(PluginEnum.AI_TOKEN_LIMITER.getName(), mock(ReactiveRedisTemplate.class));
+        exchange = MockServerWebExchange.from(MockServerHttpRequest.post("/v1/chat/completions").contentLength(40L).build());
+        exchange.getAttributes().put(Constants.AI_MODEL, new OpenAI());
+        exchange.getAttributes().put(Constants.CONTEXT_PATH, "/ai");
+    }
+    
+    @AfterEach
+    public void tearDown() {
+        AiTokenLimiterPluginHandler.CACHED_HANDLE.get().removeHandle(CacheKeyUtils.INST.getKey(ruleData));
+        AiTokenLimiterPluginHandler.REDIS_CACHED_HANDLE.get().removeHandle(PluginEnum.AI_TOKEN_LIMITER.getName());
+    }
+    
+    @Test
+    public void testSettleWrittenResponse() {
+        ShenyuPluginChain chain = mock(ShenyuPluginChain.class);
+        when(chain.execute(any())).thenAnswer(invocation -> {
+            ServerWebExchange mutated = invocation.getArgument(0);
+            return mutated.getResponse().writeWith(Mono.just(DefaultDataBufferFactory.sharedInstance.wrap(BODY.getBytes(StandardCharsets.UTF_8))));
+        });
+        StepVerifier.create(aiTokenLimiterPlugin.doExecute(exchange, chain, selectorData, ruleData)).verifyComplete();
+        verify(localTokenBudget).settle(any(), anyString(), any(), eq(7L));
+        verify(localTokenBudget, never()).release(any(), anyString(), any(), anyLong());
+    }
+    
+    @Test
+    public void testReleaseUnwrittenResponse() {
+        ShenyuPluginChain chain = mock(ShenyuPluginChain.class);
+        when(chain.execute(any())).thenReturn(Mono.empty());
+        StepVerifier.create(aiTokenLimiterPlugin.doExecute(exchange, chain, selectorData, ruleData)).verifyComplete();
+        // the reservation estimated from the content length is released.
+        verify(localTokenBudget).release(any(), anyString(), any(), eq(10L));
+        verify(localTokenBudget, never()).settle(any(), anyString(), any(), anyLong());
+    }
+}
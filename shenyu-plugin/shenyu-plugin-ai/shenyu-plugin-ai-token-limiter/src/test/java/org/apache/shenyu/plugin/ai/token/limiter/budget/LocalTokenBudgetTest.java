@@ -0,0 +1,93 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.shenyu.plugin.ai.token.limiter.budget;
+
+import org.apache.shenyu.common.dto.convert.rule.AiTokenLimiterHandle;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.core.ReactiveRedisTemplate;
+import reactor.core.publisher.Mono;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * The test case for {@link LocalTokenBudget}.
+ */
+public final class LocalTokenBudgetTest {
+    
+    private static final String KEY = "SHENYU:AI:TOKENLIMIT:test";
+    
+    private RedisTokenBudget redisTokenBudget;
+    
+    private ReactiveRedisTemplate<String, String> redisTemplate;
+    
+    private AiTokenLimiterHandle handle;
+    
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    public void setUp() {
+        redisTokenBudget = mock(RedisTokenBudget.class);
+        redisTemplate = mock(ReactiveRedisTemplate.class);
+        handle = AiTokenLimiterHandle.newDefaultInstance();
+        handle.setTokenLimit(100L);
+        handle.setFlushInterval(200L);
+    }
+    
+    @Test
+    public void testReserveAndFlush() {
+        when(redisTokenBudget.add(any(), eq(KEY), any(), eq(0L))).thenReturn(Mono.just(40L));
+        when(redisTokenBudget.add(any(), eq(KEY), any(), eq(30L))).thenReturn(Mono.just(90L));
+        LocalTokenBudget localTokenBudget = new LocalTokenBudget(redisTokenBudget);
+        assertEquals(60L, localTokenBudget.reserve(redisTemplate, KEY, handle, 20L).block());
+        assertEquals(40L, localTokenBudget.reserve(redisTemplate, KEY, handle, 20L).block());
+        localTokenBudget.settle(redisTemplate, KEY, handle, 10L);
+        localTokenBudget.release(redisTemplate, KEY, handle, 20L);
+        // the reservations, the settlement and the release are flushed in one batch.
+        verify(redisTokenBudget, timeout(1000)).add(any(), eq(KEY), any(), eq(30L));
+        verify(redisTokenBudget, times(1)).add(any(), eq(KEY), any(), eq(0L));
+        assertEquals(10L, localTokenBudget.reserve(redisTemplate, KEY, handle, 20L).block());
+    }
+    
+    @Test
+    public void testDenied() {
+        when(redisTokenBudget.add(any(), eq(KEY), any(), anyLong())).thenReturn(Mono.just(100L));
+        LocalTokenBudget localTokenBudget = new LocalTokenBudget(redisTokenBudget);
+        assertEquals(0L, localTokenBudget.reserve(redisTemplate, KEY, handle, 20L).block());
+        assertEquals(0L, localTokenBudget.reserve(redisTemplate, KEY, handle, 20L).block());
+    }
+    
+    @Test
+    public void testClean() {
+        when(redisTokenBudget.add(any(), eq(KEY), any(), eq(0L))).thenReturn(Mono.just(40L), Mono.just(70L));
+        handle.setFlushInterval(60000L);
+        LocalTokenBudget localTokenBudget = new LocalTokenBudget(redisTokenBudget);
+        assertEquals(60L, localTokenBudget.reserve(redisTemplate, KEY, handle, 0L).block());
+        localTokenBudget.clean();
+        // the cleaned bucket reads the usage from redis again.
+        assertEquals(30L, localTokenBudget.reserve(redisTemplate, KEY, handle, 0L).block());
+        verify(redisTokenBudget, times(2)).add(any(), eq(KEY), any(), eq(0L));
+    }
+}
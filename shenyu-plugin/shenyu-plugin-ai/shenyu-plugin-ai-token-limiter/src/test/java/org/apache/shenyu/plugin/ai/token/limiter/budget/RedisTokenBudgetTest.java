@@ -0,0 +1,134 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.apache.shenyu.plugin.ai.token.limiter.budget;
+
+import org.apache.shenyu.common.dto.PluginData;
+import org.apache.shenyu.common.dto.convert.rule.AiTokenLimiterHandle;
+import org.apache.shenyu.common.enums.PluginEnum;
+import org.apache.shenyu.common.utils.GsonUtils;
+import org.apache.shenyu.plugin.ai.token.limiter.handler.AiTokenLimiterPluginHandler;
+import org.apache.shenyu.plugin.ai.token.limiter.redis.RedisConfigProperties;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.core.ReactiveRedisTemplate;
+import reactor.test.StepVerifier;
+import redis.embedded.RedisServer;
+
+import java.time.Duration;
+import java.util.Objects;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * The test case for {@link RedisTokenBudget} and its lua scripts.
+ */
+public final class RedisTokenBudgetTest {
+    
+    private static final String KEY = "SHENYU:AI:TOKENLIMIT:redis";
+    
+    private static RedisServer redisServer;
+    
+    private static ReactiveRedisTemplate<String, String> redisTemplate;
+    
+    private final RedisTokenBudget redisTokenBudget = new RedisTokenBudget();
+    
+    private AiTokenLimiterHandle handle;
+    
+    @BeforeAll
+    @SuppressWarnings("unchecked")
+    public static void startup() {
+        redisServer = RedisServer.builder()
+                .port(63795)
+                .setting("maxmemory 64m")
+                .build();
+        redisServer.start();
+        RedisConfigProperties config = new RedisConfigProperties();
+        config.setUrl("127.0.0.1:63795");
+        PluginData pluginData = PluginData.builder()
+                .enabled(true)
+                .config(GsonUtils.getInstance().toJson(config))
+                .build();
+        new AiTokenLimiterPluginHandler().handlerPlugin(pluginData);
+        redisTemplate = AiTokenLimiterPluginHandler.REDIS_CACHED_HANDLE.get().obtainHandle(PluginEnum.AI_TOKEN_LIMITER.getName());
+    }
+    
+    @AfterAll
+    public static void end() {
+        redisServer.stop();
+    }
+    
+    @BeforeEach
+    public void setUp() {
+        redisTemplate.delete(KEY).block();
+        handle = AiTokenLimiterHandle.newDefaultInstance();
+        handle.setTokenLimit(100L);
+        handle.setTimeWindowSeconds(60L);
+    }
+    
+    @Test
+    public void testReserve() {
+        StepVerifier.create(redisTokenBudget.reserve(redisTemplate, KEY, handle, 30L)).expectNext(100L).verifyComplete();
+        assertEquals("30", redisTemplate.opsForValue().get(KEY).block());
+        long ttl = Objects.requireNonNull(redisTemplate.getExpire(KEY).block()).getSeconds();
+        assertTrue(ttl > 0 && ttl <= 60);
+        // the reservation is allowed as long as the used tokens are below the limit.
+        StepVerifier.create(redisTokenBudget.reserve(redisTemplate, KEY, handle, 80L)).expectNext(70L).verifyComplete();
+        StepVerifier.create(redisTokenBudget.reserve(redisTemplate, KEY, handle, 10L)).expectNext(-10L).verifyComplete();
+        assertEquals("110", redisTemplate.opsForValue().get(KEY).block());
+    }
+    
+    @Test
+    public void testAdd() {
+        StepVerifier.create(redisTokenBudget.add(redisTemplate, KEY, handle, 20L)).expectNext(20L).verifyComplete();
+        long ttl = Objects.requireNonNull(redisTemplate.getExpire(KEY).block()).getSeconds();
+        assertTrue(ttl > 0 && ttl <= 60);
+        // the used tokens never drop below zero.
+        StepVerifier.create(redisTokenBudget.add(redisTemplate, KEY, handle, -50L)).expectNext(0L).verifyComplete();
+        assertEquals("0", redisTemplate.opsForValue().get(KEY).block());
+    }
+    
+    @Test
+    public void testAddKeepsWindow() {
+        redisTemplate.opsForValue().set(KEY, "5", Duration.ofSeconds(1000L)).block();
+        StepVerifier.create(redisTokenBudget.add(redisTemplate, KEY, handle, 10L)).expectNext(15L).verifyComplete();
+        long ttl = Objects.requireNonNull(redisTemplate.getExpire(KEY).block()).getSeconds();
+        assertTrue(ttl > 60);
+    }
+    
+    @Test
+    public void testSettleAndRelease() throws InterruptedException {
+        StepVerifier.create(redisTokenBudget.reserve(redisTemplate, KEY, handle, 30L)).expectNext(100L).verifyComplete();
+        // the reservation stays charged and the completion tokens are added.
+        redisTokenBudget.settle(redisTemplate, KEY, handle, 20L);
+        awaitUsed("50");
+        redisTokenBudget.release(redisTemplate, KEY, handle, 30L);
+        awaitUsed("20");
+    }
+    
+    private static void awaitUsed(final String expected) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 5000L;
+        while (!expected.equals(redisTemplate.opsForValue().get(KEY).block()) && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10L);
+        }
+        assertEquals(expected, redisTemplate.opsForValue().get(KEY).block());
+    }
+}
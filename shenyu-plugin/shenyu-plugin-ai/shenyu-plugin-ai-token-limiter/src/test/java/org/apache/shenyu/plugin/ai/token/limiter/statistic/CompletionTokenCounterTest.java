@@ -0,0 +1,71 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.shenyu.plugin.ai.token.limiter.statistic;
+
+import org.apache.shenyu.plugin.ai.common.strategy.openai.OpenAI;
+import org.junit.jupiter.api.Test;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * The test case for {@link CompletionTokenCounter}.
+ */
+public final class CompletionTokenCounterTest {
+
+    private static final String CHUNK = "data: {\"choices\":[{\"delta\":{\"content\":\"hi\"}}]}\r\n\r\n";
+
+    @Test
+    public void testCountEventStream() {
+        CompletionTokenCounter counter = new CompletionTokenCounter(new OpenAI(), true);
+        count(counter, CHUNK.repeat(3));
+        assertEquals(3, counter.getTokens());
+        count(counter, "data: {\"choices\":[],\n"
+                + "data: \"usage\":{\"prompt_tokens\":5,\"completion_tokens\":20}}\n\n"
+                + "data: [DONE]\n\n");
+        assertEquals(20, counter.getTokens());
+        assertEquals(20, counter.finish());
+    }
+
+    @Test
+    public void testCountEventStreamWithoutUsage() {
+        CompletionTokenCounter counter = new CompletionTokenCounter(new OpenAI(), true);
+        counter.count(ByteBuffer.wrap((CHUNK.repeat(2) + ": comment\n\ndata: {}").getBytes(StandardCharsets.UTF_8)));
+        assertEquals(2, counter.getTokens());
+        assertEquals(3, counter.finish());
+    }
+
+    @Test
+    public void testCountJson() {
+        CompletionTokenCounter counter = new CompletionTokenCounter(new OpenAI(), false);
+        counter.count(ByteBuffer.wrap("{\"choices\":[],".getBytes(StandardCharsets.UTF_8)));
+        counter.count(ByteBuffer.wrap("\"usage\":{\"completion_tokens\":7}}".getBytes(StandardCharsets.UTF_8)));
+        assertEquals(0, counter.getTokens());
+        assertEquals(7, counter.finish());
+    }
+
+    private static void count(final CompletionTokenCounter counter, final String stream) {
+        byte[] bytes = stream.getBytes(StandardCharsets.UTF_8);
+        // the chunks split the lines and the line endings.
+        for (int i = 0; i < bytes.length; i += 5) {
+            counter.count(ByteBuffer.wrap(bytes, i, Math.min(5, bytes.length - i)));
+        }
+    }
+}
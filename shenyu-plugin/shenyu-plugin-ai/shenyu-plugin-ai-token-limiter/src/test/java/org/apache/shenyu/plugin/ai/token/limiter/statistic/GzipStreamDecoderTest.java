@@ -0,0 +1,84 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.shenyu.plugin.ai.token.limiter.statistic;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.zip.GZIPOutputStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * The test case for {@link GzipStreamDecoder}.
+ */
+public final class GzipStreamDecoderTest {
+
+    @Test
+    public void testDecodeMembersAcrossChunks() throws Exception {
+        String first = "data: {\"choices\":[{\"delta\":{\"content\":\"hello\"}}]}\n\n".repeat(100);
+        String second = "data: [DONE]\n\n";
+        ByteArrayOutputStream compressed = new ByteArrayOutputStream();
+        compressed.write(gzip(first));
+        compressed.write(gzip(second));
+        byte[] bytes = compressed.toByteArray();
+        GzipStreamDecoder decoder = new GzipStreamDecoder();
+        ByteArrayOutputStream decoded = new ByteArrayOutputStream();
+        // the chunks split the header, the data and the trailer.
+        for (int i = 0; i < bytes.length; i += 7) {
+            decoder.decode(ByteBuffer.wrap(bytes, i, Math.min(7, bytes.length - i)), buffer -> {
+                while (buffer.hasRemaining()) {
+                    decoded.write(buffer.get());
+                }
+            });
+        }
+        decoder.close();
+        assertEquals(first + second, decoded.toString(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    public void testDecodeOptionalHeaderFields() throws Exception {
+        byte[] member = gzip("hello");
+        ByteArrayOutputStream compressed = new ByteArrayOutputStream();
+        compressed.write(member, 0, 3);
+        // FEXTRA, FNAME, FCOMMENT and FHCRC.
+        compressed.write(4 | 8 | 16 | 2);
+        compressed.write(member, 4, 6);
+        compressed.write(new byte[] {3, 0, 'a', 'b', 'c'});
+        compressed.write(new byte[] {'n', 0});
+        compressed.write(new byte[] {'c', 0});
+        compressed.write(new byte[] {0, 0});
+        compressed.write(member, 10, member.length - 10);
+        GzipStreamDecoder decoder = new GzipStreamDecoder();
+        StringBuilder decoded = new StringBuilder();
+        decoder.decode(ByteBuffer.wrap(compressed.toByteArray()), buffer -> decoded.append(StandardCharsets.UTF_8.decode(buffer)));
+        decoder.close();
+        assertEquals("hello", decoded.toString());
+    }
+
+    private static byte[] gzip(final String content) throws IOException {
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        try (GZIPOutputStream gzipOutputStream = new GZIPOutputStream(outputStream)) {
+            gzipOutputStream.write(content.getBytes(StandardCharsets.UTF_8));
+        }
+        return outputStream.toByteArray();
+    }
+}
@@ -27,6 +27,8 @@ import org.springframework.web.server.ServerWebExchange;
 import reactor.core.publisher.Mono;
 
 import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
 import java.util.Objects;
 
 /**
@@ -101,6 +103,18 @@ public interface ShenyuPlugin {
         return Arrays.stream(rpcTypes).anyMatch(type -> Objects.equals(shenyuContext.getRpcType(), type.getName()));
     }
 
+    /**
+     * the rpc types this plugin works for.
+     * the plugin is skipped for any other rpc type without calling {@link #skip(ServerWebExchange)},
+     * so the web handler can drop it from the compiled chain of those rpc types.
+     * it must be consistent with {@link #skip(ServerWebExchange)}.
+     *
+     * @return the supported rpc types, empty means the plugin decides in {@link #skip(ServerWebExchange)} only.
+     */
+    default List<RpcTypeEnum> supportedRpcTypes() {
+        return Collections.emptyList();
+    }
+
     /**
      * the plugin execute skip except some rpc types.
      * if return true this plugin can not execute.
@@ -227,6 +227,11 @@ public enum ShenyuResultEnum {
      */
     KEY_NAME_AND_KEY_MUST_BE_CONFIGURED(-122, "The key attribute name and the key must be configured"),
     
+    /**
+     * Response body can not be transformed.
+     */
+    RESPONSE_BODY_TOO_LARGE(-123, "The response body is streamed or too large to be transformed!"),
+    
     /**
      * Key is incorrect.
      */
@@ -35,8 +35,9 @@ import org.apache.shenyu.plugin.api.ShenyuPlugin;
 import org.apache.shenyu.plugin.api.ShenyuPluginChain;
 import org.apache.shenyu.plugin.api.utils.SpringBeanUtils;
 import org.apache.shenyu.plugin.base.cache.BaseDataCache;
+import org.apache.shenyu.plugin.base.cache.CompiledConditionCache;
+import org.apache.shenyu.plugin.base.cache.ConditionIndexCache;
 import org.apache.shenyu.plugin.base.cache.MatchDataCache;
-import org.apache.shenyu.plugin.base.condition.strategy.MatchStrategyFactory;
 import org.apache.shenyu.plugin.base.trie.ShenyuTrie;
 import org.apache.shenyu.plugin.base.trie.ShenyuTrieNode;
 import org.slf4j.Logger;
@@ -143,7 +144,7 @@ public abstract class AbstractShenyuPlugin implements ShenyuPlugin {
             ruleData = trieMatchRule(exchange, selectorData, path);
             // trie cache fails to hit, execute default strategy
             if (Objects.isNull(ruleData)) {
-                ruleData = defaultMatchRule(exchange, rules, path);
+                ruleData = defaultMatchRule(exchange, selectorData, rules, path);
                 if (Objects.isNull(ruleData)) {
                     return handleRuleIfNull(pluginName, exchange, chain);
                 }
@@ -284,7 +285,7 @@ public abstract class AbstractShenyuPlugin implements ShenyuPlugin {
             if (CollectionUtils.isEmpty(selector.getConditionList())) {
                 return false;
             }
-            return MatchStrategyFactory.match(selector.getMatchMode(), selector.getConditionList(), exchange);
+            return CompiledConditionCache.getInstance().obtainSelectorConditions(selector).match(exchange);
         }
         return true;
     }
@@ -317,7 +318,7 @@ public abstract class AbstractShenyuPlugin implements ShenyuPlugin {
     }
 
     private Boolean filterRule(final RuleData ruleData, final ServerWebExchange exchange) {
-        return ruleData.getEnabled() && MatchStrategyFactory.match(ruleData.getMatchMode(), ruleData.getConditionDataList(), exchange);
+        return ruleData.getEnabled() && CompiledConditionCache.getInstance().obtainRuleConditions(ruleData).match(exchange);
     }
     
     private SelectorData trieMatchSelector(final ServerWebExchange exchange, final String pluginName, final String path) {
@@ -378,7 +379,9 @@ public abstract class AbstractShenyuPlugin implements ShenyuPlugin {
     }
     
     private SelectorData defaultMatchSelector(final ServerWebExchange exchange, final List<SelectorData> selectors, final String path) {
-        Pair<Boolean, SelectorData> matchSelectorPair = matchSelector(exchange, selectors);
+        // only evaluate the selectors which may match, the result is the same as scanning all selectors.
+        List<SelectorData> candidates = ConditionIndexCache.getInstance().obtainSelectorCandidates(named(), selectors, exchange);
+        Pair<Boolean, SelectorData> matchSelectorPair = matchSelector(exchange, candidates);
         SelectorData selectorData = matchSelectorPair.getRight();
         if (Objects.nonNull(selectorData)) {
             LogUtils.info(LOG, "{} selector match success from default strategy", named());
@@ -397,8 +400,9 @@ public abstract class AbstractShenyuPlugin implements ShenyuPlugin {
         }
     }
     
-    private RuleData defaultMatchRule(final ServerWebExchange exchange, final List<RuleData> rules, final String path) {
-        Pair<Boolean, RuleData> matchRulePair = matchRule(exchange, rules);
+    private RuleData defaultMatchRule(final ServerWebExchange exchange, final SelectorData selectorData, final List<RuleData> rules, final String path) {
+        List<RuleData> candidates = ConditionIndexCache.getInstance().obtainRuleCandidates(selectorData.getId(), rules, exchange);
+        Pair<Boolean, RuleData> matchRulePair = matchRule(exchange, candidates);
         RuleData ruleData = matchRulePair.getRight();
         if (Objects.nonNull(ruleData)) {
             LOG.info("{} rule match path from default strategy", named());
@@ -17,20 +17,29 @@
 
 package org.apache.shenyu.plugin.base.cache;
 
-import com.google.common.collect.Lists;
 import com.google.common.collect.Maps;
 import org.apache.shenyu.common.dto.PluginData;
 import org.apache.shenyu.common.dto.RuleData;
 import org.apache.shenyu.common.dto.SelectorData;
 
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.Comparator;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
 import java.util.concurrent.ConcurrentMap;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 /**
  * The type Base data cache.
+ *
+ * <p>The selector and rule lists are immutable snapshots sorted by sort, every change publishes a new snapshot,
+ * so the readers never lock or copy, and the indexes built from a snapshot are valid as long as it is published.
  */
 public final class BaseDataCache {
 
@@ -51,6 +60,10 @@ public final class BaseDataCache {
      */
     private static final ConcurrentMap<String, List<RuleData>> RULE_MAP = Maps.newConcurrentMap();
 
+    private static final Comparator<SelectorData> SELECTOR_COMPARATOR = Comparator.comparing(SelectorData::getSort, Comparator.nullsLast(Comparator.naturalOrder()));
+
+    private static final Comparator<RuleData> RULE_COMPARATOR = Comparator.comparing(RuleData::getSort, Comparator.nullsLast(Comparator.naturalOrder()));
+
     private BaseDataCache() {
     }
     
@@ -132,9 +145,8 @@ public final class BaseDataCache {
      */
     public void removeSelectData(final SelectorData selectorData) {
         Optional.ofNullable(selectorData).ifPresent(data -> {
-            final List<SelectorData> selectorDataList = SELECTOR_MAP.get(data.getPluginName());
             synchronized (SELECTOR_MAP) {
-                Optional.ofNullable(selectorDataList).ifPresent(list -> list.removeIf(e -> e.getId().equals(data.getId())));
+                SELECTOR_MAP.computeIfPresent(data.getPluginName(), (key, snapshot) -> remove(snapshot, Collections.singleton(data.getId()), SelectorData::getId));
             }
         });
     }
@@ -161,7 +173,25 @@ public final class BaseDataCache {
      * @param selectorDataList the selector data list
      */
     public void cleanSelectorDataSelf(final List<SelectorData> selectorDataList) {
-        selectorDataList.forEach(this::removeSelectData);
+        Map<String, Set<String>> removed = selectorDataList.stream().filter(Objects::nonNull)
+                .collect(Collectors.groupingBy(SelectorData::getPluginName, Collectors.mapping(SelectorData::getId, Collectors.toSet())));
+        synchronized (SELECTOR_MAP) {
+            removed.forEach((pluginName, ids) -> SELECTOR_MAP.computeIfPresent(pluginName, (key, snapshot) -> remove(snapshot, ids, SelectorData::getId)));
+        }
+    }
+    
+    /**
+     * Replace all the selector data, each plugin switches to its new snapshot at once,
+     * the plugins not in the list are removed.
+     *
+     * @param selectorDataList the selector data list
+     */
+    public void replaceSelectorData(final List<SelectorData> selectorDataList) {
+        Map<String, List<SelectorData>> snapshots = snapshots(selectorDataList, SelectorData::getPluginName, SelectorData::getId, SELECTOR_COMPARATOR);
+        synchronized (SELECTOR_MAP) {
+            SELECTOR_MAP.keySet().retainAll(snapshots.keySet());
+            SELECTOR_MAP.putAll(snapshots);
+        }
     }
     
     /**
@@ -190,9 +220,8 @@ public final class BaseDataCache {
      */
     public void removeRuleData(final RuleData ruleData) {
         Optional.ofNullable(ruleData).ifPresent(data -> {
-            final List<RuleData> ruleDataList = RULE_MAP.get(data.getSelectorId());
             synchronized (RULE_MAP) {
-                Optional.ofNullable(ruleDataList).ifPresent(list -> list.removeIf(rule -> rule.getId().equals(data.getId())));
+                RULE_MAP.computeIfPresent(data.getSelectorId(), (key, snapshot) -> remove(snapshot, Collections.singleton(data.getId()), RuleData::getId));
             }
         });
     }
@@ -219,7 +248,25 @@ public final class BaseDataCache {
      * @param ruleDataList the rule data list
      */
     public void cleanRuleDataSelf(final List<RuleData> ruleDataList) {
-        ruleDataList.forEach(this::removeRuleData);
+        Map<String, Set<String>> removed = ruleDataList.stream().filter(Objects::nonNull)
+                .collect(Collectors.groupingBy(RuleData::getSelectorId, Collectors.mapping(RuleData::getId, Collectors.toSet())));
+        synchronized (RULE_MAP) {
+            removed.forEach((selectorId, ids) -> RULE_MAP.computeIfPresent(selectorId, (key, snapshot) -> remove(snapshot, ids, RuleData::getId)));
+        }
+    }
+    
+    /**
+     * Replace all the rule data, each selector switches to its new snapshot at once,
+     * the selectors not in the list are removed.
+     *
+     * @param ruleDataList the rule data list
+     */
+    public void replaceRuleData(final List<RuleData> ruleDataList) {
+        Map<String, List<RuleData>> snapshots = snapshots(ruleDataList, RuleData::getSelectorId, RuleData::getId, RULE_COMPARATOR);
+        synchronized (RULE_MAP) {
+            RULE_MAP.keySet().retainAll(snapshots.keySet());
+            RULE_MAP.putAll(snapshots);
+        }
     }
     
     /**
@@ -259,24 +306,14 @@ public final class BaseDataCache {
         return RULE_MAP;
     }
     
-
     /**
-     *  cache rule data.
+     * cache rule data.
      *
      * @param data the rule data
      */
     private void ruleAccept(final RuleData data) {
-        String selectorId = data.getSelectorId();
         synchronized (RULE_MAP) {
-            if (RULE_MAP.containsKey(selectorId)) {
-                List<RuleData> existList = RULE_MAP.get(selectorId);
-                final List<RuleData> resultList = existList.stream().filter(r -> !r.getId().equals(data.getId())).collect(Collectors.toList());
-                resultList.add(data);
-                final List<RuleData> collect = resultList.stream().sorted(Comparator.comparing(RuleData::getSort)).collect(Collectors.toList());
-                RULE_MAP.put(selectorId, collect);
-            } else {
-                RULE_MAP.put(selectorId, Lists.newArrayList(data));
-            }
+            RULE_MAP.put(data.getSelectorId(), insert(RULE_MAP.get(data.getSelectorId()), data, RuleData::getId, RULE_COMPARATOR));
         }
     }
 
@@ -286,17 +323,67 @@ public final class BaseDataCache {
      * @param data the selector data
      */
     private void selectorAccept(final SelectorData data) {
-        String key = data.getPluginName();
         synchronized (SELECTOR_MAP) {
-            if (SELECTOR_MAP.containsKey(key)) {
-                List<SelectorData> existList = SELECTOR_MAP.get(key);
-                final List<SelectorData> resultList = existList.stream().filter(r -> !r.getId().equals(data.getId())).collect(Collectors.toList());
-                resultList.add(data);
-                final List<SelectorData> collect = resultList.stream().sorted(Comparator.comparing(SelectorData::getSort)).collect(Collectors.toList());
-                SELECTOR_MAP.put(key, collect);
-            } else {
-                SELECTOR_MAP.put(key, Lists.newArrayList(data));
+            SELECTOR_MAP.put(data.getPluginName(), insert(SELECTOR_MAP.get(data.getPluginName()), data, SelectorData::getId, SELECTOR_COMPARATOR));
+        }
+    }
+
+    /**
+     * the new snapshot which replaces the data with the same id, and puts it after the data with the same sort.
+     *
+     * @param snapshot the current snapshot, maybe null
+     * @param data the data
+     * @param id the id of the data
+     * @param comparator the sort comparator
+     * @param <T> the data type
+     * @return the new snapshot
+     */
+    private static <T> List<T> insert(final List<T> snapshot, final T data, final Function<T, String> id, final Comparator<T> comparator) {
+        if (Objects.isNull(snapshot) || snapshot.isEmpty()) {
+            return Collections.singletonList(data);
+        }
+        final String dataId = id.apply(data);
+        List<T> result = new ArrayList<>(snapshot.size() + 1);
+        boolean inserted = false;
+        for (T exist : snapshot) {
+            if (Objects.equals(id.apply(exist), dataId)) {
+                continue;
+            }
+            if (!inserted && comparator.compare(data, exist) < 0) {
+                result.add(data);
+                inserted = true;
+            }
+            result.add(exist);
+        }
+        if (!inserted) {
+            result.add(data);
+        }
+        return Collections.unmodifiableList(result);
+    }
+
+    private static <T> List<T> remove(final List<T> snapshot, final Set<String> ids, final Function<T, String> id) {
+        List<T> result = snapshot.stream().filter(data -> !ids.contains(id.apply(data))).collect(Collectors.toList());
+        return result.size() == snapshot.size() ? snapshot : Collections.unmodifiableList(result);
+    }
+
+    private static <T> Map<String, List<T>> snapshots(final List<T> dataList, final Function<T, String> key,
+                                                       final Function<T, String> id, final Comparator<T> comparator) {
+        // the later data with the same id replaces the former one, the same as caching them one by one.
+        Map<String, Map<String, T>> grouped = new LinkedHashMap<>();
+        for (T data : dataList) {
+            if (Objects.isNull(data) || Objects.isNull(key.apply(data))) {
+                continue;
             }
+            Map<String, T> group = grouped.computeIfAbsent(key.apply(data), k -> new LinkedHashMap<>());
+            group.remove(id.apply(data));
+            group.put(id.apply(data), data);
         }
+        Map<String, List<T>> snapshots = new LinkedHashMap<>(grouped.size());
+        grouped.forEach((k, group) -> {
+            List<T> snapshot = new ArrayList<>(group.values());
+            snapshot.sort(comparator);
+            snapshots.put(k, Collections.unmodifiableList(snapshot));
+        });
+        return snapshots;
     }
 }
@@ -0,0 +1,112 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.shenyu.plugin.base.cache;
+
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+import java.util.function.Supplier;
+
+/**
+ * The metrics of a cache which records its stats, the stats are read when the metrics are scraped.
+ */
+public final class CacheMetrics implements CacheMetricsMXBean {
+
+    private static final Logger LOG = LoggerFactory.getLogger(CacheMetrics.class);
+
+    private static final String OBJECT_NAME_PREFIX = "org.apache.shenyu:type=Cache,name=";
+
+    private final String name;
+
+    private final Supplier<CacheStats> stats;
+
+    /**
+     * Instantiates a new cache metrics.
+     *
+     * @param name  the cache name
+     * @param stats the supplier of the cache stats
+     */
+    public CacheMetrics(final String name, final Supplier<CacheStats> stats) {
+        this.name = name;
+        this.stats = stats;
+    }
+
+    /**
+     * register to the platform MBean server, it is ignored if registered.
+     */
+    public void register() {
+        MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+        try {
+            ObjectName objectName = new ObjectName(OBJECT_NAME_PREFIX + name);
+            if (!server.isRegistered(objectName)) {
+                server.registerMBean(this, objectName);
+            }
+        } catch (JMException e) {
+            LOG.warn("register cache metrics error, name: {}", name, e);
+        }
+    }
+
+    /**
+     * deregister from the platform MBean server, it is ignored if not registered.
+     */
+    public void deregister() {
+        MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+        try {
+            ObjectName objectName = new ObjectName(OBJECT_NAME_PREFIX + name);
+            if (server.isRegistered(objectName)) {
+                server.unregisterMBean(objectName);
+            }
+        } catch (JMException e) {
+            LOG.warn("deregister cache metrics error, name: {}", name, e);
+        }
+    }
+
+    /**
+     * get the cache name.
+     *
+     * @return the cache name
+     */
+    public String getName() {
+        return name;
+    }
+
+    @Override
+    public long getHitCount() {
+        return stats.get().hitCount();
+    }
+
+    @Override
+    public long getMissCount() {
+        return stats.get().missCount();
+    }
+
+    @Override
+    public double getHitRate() {
+        return stats.get().hitRate();
+    }
+
+    @Override
+    public long getEvictionCount() {
+        return stats.get().evictionCount();
+    }
+}
@@ -0,0 +1,54 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.shenyu.plugin.base.cache;
+
+/**
+ * The hit, miss and eviction counters of a cache, they are registered to the platform MBean server as
+ * {@code org.apache.shenyu:type=Cache,name=<cache>}, so the metrics plugin exports them
+ * by the jmx collector, e.g. {@code jmxConfig: '{"whitelistObjectNames": ["org.apache.shenyu:type=Cache,*"]}'}.
+ */
+public interface CacheMetricsMXBean {
+
+    /**
+     * get the count of lookups which found a cached value.
+     *
+     * @return hit count
+     */
+    long getHitCount();
+
+    /**
+     * get the count of lookups which found nothing.
+     *
+     * @return miss count
+     */
+    long getMissCount();
+
+    /**
+     * get the ratio of hits to lookups, it is 1.0 when there is no lookup.
+     *
+     * @return hit rate
+     */
+    double getHitRate();
+
+    /**
+     * get the count of values evicted by the size or the expiration.
+     *
+     * @return eviction count
+     */
+    long getEvictionCount();
+}
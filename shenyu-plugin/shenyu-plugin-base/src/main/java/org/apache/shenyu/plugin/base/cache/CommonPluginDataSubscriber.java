@@ -153,10 +153,33 @@ public class CommonPluginDataSubscriber implements PluginDataSubscriber {
         LOG.info("start refresh all selector data");
         BaseDataCache.getInstance().cleanSelectorData();
         MatchDataCache.getInstance().cleanSelectorData();
+        ConditionIndexCache.getInstance().cleanSelectorIndex();
+        CompiledConditionCache.getInstance().cleanSelectorConditions();
         ShenyuTrie selectorTrie = SpringBeanUtils.getInstance().getBean(TrieCacheTypeEnum.SELECTOR.getTrieType());
         selectorTrie.clear();
     }
     
+    @Override
+    public void refreshSelectorDataAll(final List<SelectorData> selectorDataList) {
+        LOG.info("start refresh all selector data, size: {}", selectorDataList.size());
+        // swap in the new snapshots at once, the requests never see the empty cache during the refresh.
+        BaseDataCache.getInstance().replaceSelectorData(selectorDataList);
+        MatchDataCache.getInstance().cleanSelectorData();
+        if (ruleMatchCacheConfig.getCache().getEnabled()) {
+            MatchDataCache.getInstance().cleanRuleDataData();
+        }
+        ConditionIndexCache.getInstance().cleanSelectorIndex();
+        CompiledConditionCache.getInstance().cleanSelectorConditions();
+        ShenyuTrie selectorTrie = SpringBeanUtils.getInstance().getBean(TrieCacheTypeEnum.SELECTOR.getTrieType());
+        selectorTrie.clear();
+        selectorDataList.stream().filter(Objects::nonNull).forEach(selectorData -> {
+            CompiledConditionCache.getInstance().cacheSelectorConditions(selectorData);
+            Optional.ofNullable(handlerMap.get(selectorData.getPluginName()))
+                    .ifPresent(handler -> handler.handlerSelector(selectorData));
+            updateSelectorTrieCache(selectorData);
+        });
+    }
+    
     @Override
     public void refreshSelectorDataSelf(final List<SelectorData> selectorDataList) {
         if (CollectionUtils.isEmpty(selectorDataList)) {
@@ -182,10 +205,29 @@ public class CommonPluginDataSubscriber implements PluginDataSubscriber {
         LOG.info("start refresh all rule data");
         BaseDataCache.getInstance().cleanRuleData();
         MatchDataCache.getInstance().cleanRuleDataData();
+        ConditionIndexCache.getInstance().cleanRuleIndex();
+        CompiledConditionCache.getInstance().cleanRuleConditions();
         ShenyuTrie ruleTrie = SpringBeanUtils.getInstance().getBean(TrieCacheTypeEnum.RULE.getTrieType());
         ruleTrie.clear();
     }
     
+    @Override
+    public void refreshRuleDataAll(final List<RuleData> ruleDataList) {
+        LOG.info("start refresh all rule data, size: {}", ruleDataList.size());
+        BaseDataCache.getInstance().replaceRuleData(ruleDataList);
+        MatchDataCache.getInstance().cleanRuleDataData();
+        ConditionIndexCache.getInstance().cleanRuleIndex();
+        CompiledConditionCache.getInstance().cleanRuleConditions();
+        ShenyuTrie ruleTrie = SpringBeanUtils.getInstance().getBean(TrieCacheTypeEnum.RULE.getTrieType());
+        ruleTrie.clear();
+        ruleDataList.stream().filter(Objects::nonNull).forEach(ruleData -> {
+            CompiledConditionCache.getInstance().cacheRuleConditions(ruleData);
+            Optional.ofNullable(handlerMap.get(ruleData.getPluginName()))
+                    .ifPresent(handler -> handler.handlerRule(ruleData));
+            updateRuleTrieCache(ruleData);
+        });
+    }
+    
     @Override
     public void refreshRuleDataSelf(final List<RuleData> ruleDataList) {
         if (CollectionUtils.isEmpty(ruleDataList)) {
@@ -236,6 +278,8 @@ public class CommonPluginDataSubscriber implements PluginDataSubscriber {
         } else if (data instanceof SelectorData) {
             SelectorData selectorData = (SelectorData) data;
             BaseDataCache.getInstance().cacheSelectData(selectorData);
+            ConditionIndexCache.getInstance().removeSelectorIndex(selectorData.getPluginName());
+            CompiledConditionCache.getInstance().cacheSelectorConditions(selectorData);
             Optional.ofNullable(handlerMap.get(selectorData.getPluginName()))
                     .ifPresent(handler -> handler.handlerSelector(selectorData));
             // remove match cache
@@ -251,6 +295,8 @@ public class CommonPluginDataSubscriber implements PluginDataSubscriber {
         } else if (data instanceof RuleData) {
             RuleData ruleData = (RuleData) data;
             BaseDataCache.getInstance().cacheRuleData(ruleData);
+            ConditionIndexCache.getInstance().removeRuleIndex(ruleData.getSelectorId());
+            CompiledConditionCache.getInstance().cacheRuleConditions(ruleData);
             Optional.ofNullable(handlerMap.get(ruleData.getPluginName()))
                     .ifPresent(handler -> handler.handlerRule(ruleData));
             if (ruleMatchCacheConfig.getCache().getEnabled()) {
@@ -293,6 +339,8 @@ public class CommonPluginDataSubscriber implements PluginDataSubscriber {
         } else if (data instanceof SelectorData) {
             SelectorData selectorData = (SelectorData) data;
             BaseDataCache.getInstance().removeSelectData(selectorData);
+            ConditionIndexCache.getInstance().removeSelectorIndex(selectorData.getPluginName());
+            CompiledConditionCache.getInstance().removeSelectorConditions(selectorData.getId());
             Optional.ofNullable(handlerMap.get(selectorData.getPluginName()))
                     .ifPresent(handler -> handler.removeSelector(selectorData));
             // remove selector match cache
@@ -307,6 +355,8 @@ public class CommonPluginDataSubscriber implements PluginDataSubscriber {
         } else if (data instanceof RuleData) {
             RuleData ruleData = (RuleData) data;
             BaseDataCache.getInstance().removeRuleData(ruleData);
+            ConditionIndexCache.getInstance().removeRuleIndex(ruleData.getSelectorId());
+            CompiledConditionCache.getInstance().removeRuleConditions(ruleData.getId());
             Optional.ofNullable(handlerMap.get(ruleData.getPluginName()))
                     .ifPresent(handler -> handler.removeRule(ruleData));
             if (ruleMatchCacheConfig.getCache().getEnabled()) {
@@ -0,0 +1,156 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.shenyu.plugin.base.cache;
+
+import com.google.common.collect.Maps;
+import org.apache.shenyu.common.dto.RuleData;
+import org.apache.shenyu.common.dto.SelectorData;
+import org.apache.shenyu.plugin.base.condition.compiled.CompiledConditions;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.Objects;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * The compiled conditions of selectors and rules, they are compiled by the data subscriber
+ * when {@link BaseDataCache} is updated, and compiled on demand if missing.
+ */
+public final class CompiledConditionCache {
+
+    private static final Logger LOG = LoggerFactory.getLogger(CompiledConditionCache.class);
+
+    private static final CompiledConditionCache INSTANCE = new CompiledConditionCache();
+
+    /**
+     * selectorId -> compiled conditions.
+     */
+    private static final ConcurrentMap<String, CompiledConditions> SELECTOR_CONDITION_MAP = Maps.newConcurrentMap();
+
+    /**
+     * ruleId -> compiled conditions.
+     */
+    private static final ConcurrentMap<String, CompiledConditions> RULE_CONDITION_MAP = Maps.newConcurrentMap();
+
+    private CompiledConditionCache() {
+    }
+
+    /**
+     * Gets instance.
+     *
+     * @return the instance
+     */
+    public static CompiledConditionCache getInstance() {
+        return INSTANCE;
+    }
+
+    /**
+     * Compile and cache the selector conditions.
+     *
+     * @param selectorData the selector data
+     */
+    public void cacheSelectorConditions(final SelectorData selectorData) {
+        try {
+            obtainSelectorConditions(selectorData);
+        } catch (Exception e) {
+            // the invalid condition fails the request as before, do not break the data sync.
+            LOG.warn("compile selector conditions error, selector id: {}", selectorData.getId(), e);
+        }
+    }
+
+    /**
+     * Obtain the compiled selector conditions.
+     *
+     * @param selectorData the selector data
+     * @return the compiled conditions
+     */
+    public CompiledConditions obtainSelectorConditions(final SelectorData selectorData) {
+        final String selectorId = selectorData.getId();
+        CompiledConditions conditions = Objects.isNull(selectorId) ? null : SELECTOR_CONDITION_MAP.get(selectorId);
+        if (Objects.isNull(conditions) || !conditions.isCompiledFrom(selectorData.getMatchMode(), selectorData.getConditionList())) {
+            conditions = CompiledConditions.compile(selectorData.getMatchMode(), selectorData.getConditionList());
+            if (Objects.nonNull(selectorId)) {
+                SELECTOR_CONDITION_MAP.put(selectorId, conditions);
+            }
+        }
+        return conditions;
+    }
+
+    /**
+     * Compile and cache the rule conditions.
+     *
+     * @param ruleData the rule data
+     */
+    public void cacheRuleConditions(final RuleData ruleData) {
+        try {
+            obtainRuleConditions(ruleData);
+        } catch (Exception e) {
+            LOG.warn("compile rule conditions error, rule id: {}", ruleData.getId(), e);
+        }
+    }
+
+    /**
+     * Obtain the compiled rule conditions.
+     *
+     * @param ruleData the rule data
+     * @return the compiled conditions
+     */
+    public CompiledConditions obtainRuleConditions(final RuleData ruleData) {
+        final String ruleId = ruleData.getId();
+        CompiledConditions conditions = Objects.isNull(ruleId) ? null : RULE_CONDITION_MAP.get(ruleId);
+        if (Objects.isNull(conditions) || !conditions.isCompiledFrom(ruleData.getMatchMode(), ruleData.getConditionDataList())) {
+            conditions = CompiledConditions.compile(ruleData.getMatchMode(), ruleData.getConditionDataList());
+            if (Objects.nonNull(ruleId)) {
+                RULE_CONDITION_MAP.put(ruleId, conditions);
+            }
+        }
+        return conditions;
+    }
+
+    /**
+     * Remove selector conditions.
+     *
+     * @param selectorId the selector id
+     */
+    public void removeSelectorConditions(final String selectorId) {
+        SELECTOR_CONDITION_MAP.remove(selectorId);
+    }
+
+    /**
+     * Remove rule conditions.
+     *
+     * @param ruleId the rule id
+     */
+    public void removeRuleConditions(final String ruleId) {
+        RULE_CONDITION_MAP.remove(ruleId);
+    }
+
+    /**
+     * Clean selector conditions.
+     */
+    public void cleanSelectorConditions() {
+        SELECTOR_CONDITION_MAP.clear();
+    }
+
+    /**
+     * Clean rule conditions.
+     */
+    public void cleanRuleConditions() {
+        RULE_CONDITION_MAP.clear();
+    }
+}
@@ -0,0 +1,156 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.shenyu.plugin.base.cache;
+
+import com.google.common.collect.Maps;
+import org.apache.shenyu.common.dto.RuleData;
+import org.apache.shenyu.common.dto.SelectorData;
+import org.apache.shenyu.common.enums.SelectorTypeEnum;
+import org.apache.shenyu.plugin.base.condition.index.ConditionIndex;
+import org.springframework.web.server.ServerWebExchange;
+
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * The condition index cache of selectors and rules, the index is invalidated by the data subscriber
+ * and rebuilt from {@link BaseDataCache} by the next request.
+ * Every invalidation stamps the key with a new version, so an index built from a list which is written
+ * concurrently or in place is never served after the write.
+ */
+public final class ConditionIndexCache {
+
+    private static final ConditionIndexCache INSTANCE = new ConditionIndexCache();
+
+    /**
+     * pluginName -> selector index.
+     */
+    private static final ConcurrentMap<String, ConditionIndex<SelectorData>> SELECTOR_INDEX_MAP = Maps.newConcurrentMap();
+
+    /**
+     * selectorId -> rule index.
+     */
+    private static final ConcurrentMap<String, ConditionIndex<RuleData>> RULE_INDEX_MAP = Maps.newConcurrentMap();
+
+    /**
+     * pluginName -> the version of the selectors.
+     */
+    private static final ConcurrentMap<String, Long> SELECTOR_VERSION_MAP = Maps.newConcurrentMap();
+
+    /**
+     * selectorId -> the version of the rules.
+     */
+    private static final ConcurrentMap<String, Long> RULE_VERSION_MAP = Maps.newConcurrentMap();
+
+    private static final AtomicLong VERSION = new AtomicLong();
+
+    private static volatile long selectorCleanVersion;
+
+    private static volatile long ruleCleanVersion;
+
+    private ConditionIndexCache() {
+    }
+
+    /**
+     * Gets instance.
+     *
+     * @return the instance
+     */
+    public static ConditionIndexCache getInstance() {
+        return INSTANCE;
+    }
+
+    /**
+     * Obtain the selectors which may match the exchange.
+     *
+     * @param pluginName the plugin name
+     * @param selectors the selectors of the plugin
+     * @param exchange the exchange
+     * @return the candidate selectors
+     */
+    public List<SelectorData> obtainSelectorCandidates(final String pluginName, final List<SelectorData> selectors, final ServerWebExchange exchange) {
+        long version = Math.max(SELECTOR_VERSION_MAP.getOrDefault(pluginName, 0L), selectorCleanVersion);
+        ConditionIndex<SelectorData> index = SELECTOR_INDEX_MAP.get(pluginName);
+        if (Objects.isNull(index) || !index.isBuiltFrom(selectors, version)) {
+            index = ConditionIndex.build(selectors, selector -> Boolean.TRUE.equals(selector.getEnabled()),
+                    selector -> selector.getType() != SelectorTypeEnum.CUSTOM_FLOW.getCode(),
+                    SelectorData::getMatchMode, SelectorData::getConditionList, version);
+            SELECTOR_INDEX_MAP.put(pluginName, index);
+        }
+        return index.candidates(exchange);
+    }
+
+    /**
+     * Obtain the rules which may match the exchange.
+     *
+     * @param selectorId the selector id
+     * @param rules the rules of the selector
+     * @param exchange the exchange
+     * @return the candidate rules
+     */
+    public List<RuleData> obtainRuleCandidates(final String selectorId, final List<RuleData> rules, final ServerWebExchange exchange) {
+        long version = Math.max(RULE_VERSION_MAP.getOrDefault(selectorId, 0L), ruleCleanVersion);
+        ConditionIndex<RuleData> index = RULE_INDEX_MAP.get(selectorId);
+        if (Objects.isNull(index) || !index.isBuiltFrom(rules, version)) {
+            index = ConditionIndex.build(rules, rule -> Boolean.TRUE.equals(rule.getEnabled()), rule -> false,
+                    RuleData::getMatchMode, RuleData::getConditionDataList, version);
+            RULE_INDEX_MAP.put(selectorId, index);
+        }
+        return index.candidates(exchange);
+    }
+
+    /**
+     * Remove selector index.
+     *
+     * @param pluginName the plugin name
+     */
+    public void removeSelectorIndex(final String pluginName) {
+        SELECTOR_VERSION_MAP.put(pluginName, VERSION.incrementAndGet());
+        SELECTOR_INDEX_MAP.remove(pluginName);
+    }
+
+    /**
+     * Remove rule index.
+     *
+     * @param selectorId the selector id
+     */
+    public void removeRuleIndex(final String selectorId) {
+        RULE_VERSION_MAP.put(selectorId, VERSION.incrementAndGet());
+        RULE_INDEX_MAP.remove(selectorId);
+    }
+
+    /**
+     * Clean selector index.
+     */
+    public void cleanSelectorIndex() {
+        selectorCleanVersion = VERSION.incrementAndGet();
+        SELECTOR_VERSION_MAP.clear();
+        SELECTOR_INDEX_MAP.clear();
+    }
+
+    /**
+     * Clean rule index.
+     */
+    public void cleanRuleIndex() {
+        ruleCleanVersion = VERSION.incrementAndGet();
+        RULE_VERSION_MAP.clear();
+        RULE_INDEX_MAP.clear();
+    }
+}
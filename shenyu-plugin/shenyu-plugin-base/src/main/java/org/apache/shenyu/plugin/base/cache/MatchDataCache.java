@@ -17,6 +17,7 @@
 
 package org.apache.shenyu.plugin.base.cache;
 
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
 import com.google.common.collect.Maps;
 import org.apache.shenyu.common.cache.WindowTinyLFUMap;
 import org.apache.shenyu.common.dto.RuleData;
@@ -27,6 +28,7 @@ import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.concurrent.ConcurrentMap;
+import java.util.function.Supplier;
 
 
 /**
@@ -47,6 +49,15 @@ public final class MatchDataCache {
      */
     private static final ConcurrentMap<String, Map<String, RuleData>> RULE_DATA_MAP = Maps.newConcurrentMap();
 
+    private static final String SELECTOR = "selector";
+
+    private static final String RULE = "rule";
+
+    /**
+     * the kind and plugin name -> the metrics of the match cache.
+     */
+    private static final ConcurrentMap<String, CacheMetrics> METRICS = Maps.newConcurrentMap();
+
     private MatchDataCache() {
     }
 
@@ -66,6 +77,7 @@ public final class MatchDataCache {
      */
     public void removeSelectorData(final String pluginName) {
         SELECTOR_DATA_MAP.remove(pluginName);
+        deregisterMetrics(SELECTOR, pluginName);
     }
     
     /**
@@ -99,6 +111,7 @@ public final class MatchDataCache {
      * Clean selector data.
      */
     public void cleanSelectorData() {
+        SELECTOR_DATA_MAP.keySet().forEach(pluginName -> deregisterMetrics(SELECTOR, pluginName));
         SELECTOR_DATA_MAP.clear();
     }
 
@@ -111,8 +124,10 @@ public final class MatchDataCache {
      * @param maximumSize maximumSize
      */
     public void cacheSelectorData(final String path, final SelectorData selectorData, final int initialCapacity, final long maximumSize) {
-        MapUtils.computeIfAbsent(SELECTOR_DATA_MAP, selectorData.getPluginName(), map ->
-                new WindowTinyLFUMap<>(initialCapacity, maximumSize, Boolean.FALSE)).put(path, selectorData);
+        MapUtils.computeIfAbsent(SELECTOR_DATA_MAP, selectorData.getPluginName(), pluginName -> {
+            registerMetrics(SELECTOR, pluginName, () -> obtainSelectorCacheStats(pluginName));
+            return new WindowTinyLFUMap<>(initialCapacity, maximumSize, Boolean.FALSE, Boolean.TRUE);
+        }).put(path, selectorData);
     }
 
     /**
@@ -124,7 +139,7 @@ public final class MatchDataCache {
      */
     public SelectorData obtainSelectorData(final String pluginName, final String path) {
         final Map<String, SelectorData> lruMap = SELECTOR_DATA_MAP.get(pluginName);
-        return Optional.ofNullable(lruMap).orElse(Maps.newHashMap()).get(path);
+        return Objects.isNull(lruMap) ? null : lruMap.get(path);
     }
     
     /**
@@ -136,8 +151,10 @@ public final class MatchDataCache {
      * @param maximumSize maximum size
      */
     public void cacheRuleData(final String path, final RuleData ruleData, final int initialCapacity, final long maximumSize) {
-        MapUtils.computeIfAbsent(RULE_DATA_MAP, ruleData.getPluginName(), map ->
-                new WindowTinyLFUMap<>(initialCapacity, maximumSize, Boolean.FALSE)).put(path, ruleData);
+        MapUtils.computeIfAbsent(RULE_DATA_MAP, ruleData.getPluginName(), pluginName -> {
+            registerMetrics(RULE, pluginName, () -> obtainRuleCacheStats(pluginName));
+            return new WindowTinyLFUMap<>(initialCapacity, maximumSize, Boolean.FALSE, Boolean.TRUE);
+        }).put(path, ruleData);
     }
     
     /**
@@ -147,6 +164,7 @@ public final class MatchDataCache {
      */
     public void removeRuleData(final String pluginName) {
         RULE_DATA_MAP.remove(pluginName);
+        deregisterMetrics(RULE, pluginName);
     }
     
     /**
@@ -194,6 +212,7 @@ public final class MatchDataCache {
      * clear the cache.
      */
     public void cleanRuleDataData() {
+        RULE_DATA_MAP.keySet().forEach(pluginName -> deregisterMetrics(RULE, pluginName));
         RULE_DATA_MAP.clear();
     }
     
@@ -206,7 +225,27 @@ public final class MatchDataCache {
      */
     public RuleData obtainRuleData(final String pluginName, final String path) {
         final Map<String, RuleData> lruMap = RULE_DATA_MAP.get(pluginName);
-        return Optional.ofNullable(lruMap).orElse(Maps.newHashMap()).get(path);
+        return Objects.isNull(lruMap) ? null : lruMap.get(path);
+    }
+    
+    /**
+     * get the hit, miss and eviction counters of the selector match cache.
+     *
+     * @param pluginName pluginName
+     * @return the cache stats
+     */
+    public CacheStats obtainSelectorCacheStats(final String pluginName) {
+        return stats(SELECTOR_DATA_MAP.get(pluginName));
+    }
+    
+    /**
+     * get the hit, miss and eviction counters of the rule match cache.
+     *
+     * @param pluginName pluginName
+     * @return the cache stats
+     */
+    public CacheStats obtainRuleCacheStats(final String pluginName) {
+        return stats(RULE_DATA_MAP.get(pluginName));
     }
     
     /**
@@ -227,4 +266,22 @@ public final class MatchDataCache {
         return RULE_DATA_MAP;
     }
     
+    /**
+     * register the metrics of the match cache as {@code org.apache.shenyu:type=Cache,name=match-<kind>-<plugin>}.
+     */
+    private static void registerMetrics(final String kind, final String pluginName, final Supplier<CacheStats> stats) {
+        METRICS.computeIfAbsent(kind + "-" + pluginName, key -> {
+            CacheMetrics metrics = new CacheMetrics("match-" + key, stats);
+            metrics.register();
+            return metrics;
+        });
+    }
+
+    private static void deregisterMetrics(final String kind, final String pluginName) {
+        Optional.ofNullable(METRICS.remove(kind + "-" + pluginName)).ifPresent(CacheMetrics::deregister);
+    }
+    
+    private static CacheStats stats(final Map<String, ?> lruMap) {
+        return lruMap instanceof WindowTinyLFUMap ? ((WindowTinyLFUMap<String, ?>) lruMap).stats() : CacheStats.empty();
+    }
 }
@@ -0,0 +1,93 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.shenyu.plugin.base.condition.compiled;
+
+import org.apache.commons.lang3.StringUtils;
+import org.apache.shenyu.common.dto.ConditionData;
+import org.apache.shenyu.plugin.base.condition.data.ParameterData;
+import org.apache.shenyu.plugin.base.condition.data.ParameterDataFactory;
+import org.apache.shenyu.plugin.base.condition.judge.BlankPredicateJudge;
+import org.apache.shenyu.plugin.base.condition.judge.PredicateJudge;
+import org.apache.shenyu.plugin.base.condition.judge.PredicateJudgeFactory;
+import org.springframework.web.server.ServerWebExchange;
+
+import java.util.Objects;
+import java.util.function.Predicate;
+
+/**
+ * The compiled condition, the parameter data and the predicate judge are resolved once,
+ * it is the same as {@link PredicateJudgeFactory#judge(ConditionData, String)}.
+ */
+public final class CompiledCondition {
+
+    private static final Predicate<String> NEVER = realData -> false;
+
+    private final ConditionData conditionData;
+
+    private final ParameterData parameterData;
+
+    private final Predicate<String> predicate;
+
+    private CompiledCondition(final ConditionData conditionData, final ParameterData parameterData, final Predicate<String> predicate) {
+        this.conditionData = conditionData;
+        this.parameterData = parameterData;
+        this.predicate = predicate;
+    }
+
+    /**
+     * Compile the condition data.
+     *
+     * @param conditionData the condition data
+     * @return the compiled condition
+     */
+    public static CompiledCondition compile(final ConditionData conditionData) {
+        if (Objects.isNull(conditionData) || StringUtils.isBlank(conditionData.getOperator())) {
+            return new CompiledCondition(conditionData, null, NEVER);
+        }
+        ParameterData parameterData = ParameterDataFactory.newInstance(conditionData.getParamType());
+        PredicateJudge predicateJudge = PredicateJudgeFactory.newInstance(conditionData.getOperator());
+        Predicate<String> predicate = Objects.isNull(conditionData.getParamValue())
+                ? realData -> predicateJudge.judge(conditionData, realData) : predicateJudge.compile(conditionData);
+        if (predicateJudge instanceof BlankPredicateJudge) {
+            return new CompiledCondition(conditionData, parameterData, predicate);
+        }
+        return new CompiledCondition(conditionData, parameterData, realData -> StringUtils.isNotBlank(realData) && predicate.test(realData));
+    }
+
+    /**
+     * Test the exchange.
+     *
+     * @param exchange the exchange
+     * @return true is pass, false is not pass
+     */
+    public boolean test(final ServerWebExchange exchange) {
+        if (Objects.isNull(parameterData)) {
+            return false;
+        }
+        return predicate.test(parameterData.builder(conditionData.getParamName(), exchange));
+    }
+
+    /**
+     * Gets the condition data.
+     *
+     * @return the condition data
+     */
+    public ConditionData getConditionData() {
+        return conditionData;
+    }
+}
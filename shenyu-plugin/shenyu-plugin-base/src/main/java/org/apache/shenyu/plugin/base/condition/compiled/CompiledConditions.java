@@ -0,0 +1,85 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.shenyu.plugin.base.condition.compiled;
+
+import org.apache.shenyu.common.dto.ConditionData;
+import org.apache.shenyu.plugin.base.condition.strategy.MatchStrategy;
+import org.apache.shenyu.plugin.base.condition.strategy.MatchStrategyFactory;
+import org.springframework.web.server.ServerWebExchange;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+import java.util.stream.Collectors;
+
+/**
+ * The compiled condition list of a selector or a rule, it is compiled when the data is cached
+ * and reused by every request.
+ */
+public final class CompiledConditions {
+
+    private final Integer matchMode;
+
+    private final List<ConditionData> source;
+
+    private final MatchStrategy matchStrategy;
+
+    private final List<CompiledCondition> conditions;
+
+    private CompiledConditions(final Integer matchMode, final List<ConditionData> source,
+                               final MatchStrategy matchStrategy, final List<CompiledCondition> conditions) {
+        this.matchMode = matchMode;
+        this.source = source;
+        this.matchStrategy = matchStrategy;
+        this.conditions = conditions;
+    }
+
+    /**
+     * Compile the condition list.
+     *
+     * @param matchMode the match mode
+     * @param conditionDataList the condition list
+     * @return the compiled conditions
+     */
+    public static CompiledConditions compile(final Integer matchMode, final List<ConditionData> conditionDataList) {
+        List<CompiledCondition> conditions = Objects.isNull(conditionDataList) ? Collections.emptyList()
+                : conditionDataList.stream().map(CompiledCondition::compile).collect(Collectors.toList());
+        return new CompiledConditions(matchMode, conditionDataList, MatchStrategyFactory.newInstance(matchMode), conditions);
+    }
+
+    /**
+     * Whether these conditions are compiled from the match mode and the condition list.
+     *
+     * @param matchMode the match mode
+     * @param conditionDataList the condition list
+     * @return true if compiled from them
+     */
+    public boolean isCompiledFrom(final Integer matchMode, final List<ConditionData> conditionDataList) {
+        return source == conditionDataList && Objects.equals(this.matchMode, matchMode);
+    }
+
+    /**
+     * Match the exchange.
+     *
+     * @param exchange the exchange
+     * @return true is match, false is not match
+     */
+    public boolean match(final ServerWebExchange exchange) {
+        return matchStrategy.matchCompiled(conditions, exchange);
+    }
+}
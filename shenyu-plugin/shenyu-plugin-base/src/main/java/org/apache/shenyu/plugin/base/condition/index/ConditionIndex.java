@@ -0,0 +1,316 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.shenyu.plugin.base.condition.index;
+
+import org.apache.commons.collections4.CollectionUtils;
+import org.apache.commons.lang3.StringUtils;
+import org.apache.shenyu.common.dto.ConditionData;
+import org.apache.shenyu.common.enums.MatchModeEnum;
+import org.apache.shenyu.common.enums.OperatorEnum;
+import org.apache.shenyu.common.enums.ParamTypeEnum;
+import org.apache.shenyu.plugin.base.condition.data.ParameterDataFactory;
+import org.springframework.web.server.ServerWebExchange;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.regex.Pattern;
+
+/**
+ * The condition index of selectors or rules.
+ *
+ * <p>Every data whose conditions must all hold is put into one bucket by its most selective
+ * condition: uri equals, host equals, header equals, literal uri prefix or request method equals.
+ * The data can not be bucketed, like the or mode or the full flow selector, is always a candidate.
+ * The candidates keep the order of the source list, so the match result is the same as scanning the whole list.
+ */
+public final class ConditionIndex<T> {
+
+    private static final Pattern LITERAL_PATH = Pattern.compile("[A-Za-z0-9\\-._~/]*");
+
+    private final List<T> source;
+
+    private final long version;
+
+    private final List<T> items;
+
+    private final int[] unindexed;
+
+    private final Map<String, int[]> uriBuckets;
+
+    private final Map<String, int[]> uriPrefixBuckets;
+
+    private final int[] uriPrefixLengths;
+
+    private final Map<String, int[]> hostBuckets;
+
+    private final Map<String, Map<String, int[]>> headerBuckets;
+
+    private final Map<String, int[]> methodBuckets;
+
+    private ConditionIndex(final Builder<T> builder) {
+        this.source = builder.source;
+        this.version = builder.version;
+        this.items = builder.items;
+        this.unindexed = toArray(builder.unindexed);
+        this.uriBuckets = toBuckets(builder.uriBuckets);
+        this.uriPrefixBuckets = toBuckets(builder.uriPrefixBuckets);
+        this.uriPrefixLengths = builder.uriPrefixBuckets.keySet().stream().mapToInt(String::length).distinct().sorted().toArray();
+        this.hostBuckets = toBuckets(builder.hostBuckets);
+        this.methodBuckets = toBuckets(builder.methodBuckets);
+        Map<String, Map<String, int[]>> headers = new HashMap<>(builder.headerBuckets.size());
+        builder.headerBuckets.forEach((name, buckets) -> headers.put(name, toBuckets(buckets)));
+        this.headerBuckets = headers;
+    }
+
+    /**
+     * Build the condition index.
+     *
+     * @param source the source data list, it is sorted
+     * @param enabled whether the data is enabled
+     * @param unconditional whether the data matches without conditions
+     * @param matchMode the match mode of the data
+     * @param conditions the conditions of the data
+     * @param version the version of the source list, which is bumped whenever the list is written
+     * @param <T> the data type
+     * @return the condition index
+     */
+    public static <T> ConditionIndex<T> build(final List<T> source,
+                                              final Predicate<T> enabled,
+                                              final Predicate<T> unconditional,
+                                              final Function<T, Integer> matchMode,
+                                              final Function<T, List<ConditionData>> conditions,
+                                              final long version) {
+        Builder<T> builder = new Builder<>(source, version);
+        for (T data : source) {
+            if (!enabled.test(data)) {
+                continue;
+            }
+            int position = builder.items.size();
+            builder.items.add(data);
+            List<ConditionData> conditionList = conditions.apply(data);
+            if (unconditional.test(data) || CollectionUtils.isEmpty(conditionList)) {
+                builder.unindexed.add(position);
+                continue;
+            }
+            if (conditionList.size() > 1 && !MatchModeEnum.match(matchMode.apply(data), MatchModeEnum.AND)) {
+                builder.unindexed.add(position);
+                continue;
+            }
+            builder.index(position, conditionList);
+        }
+        return new ConditionIndex<>(builder);
+    }
+
+    /**
+     * Whether this index is built from the source list of the version.
+     *
+     * @param list the source list
+     * @param listVersion the current version of the source list
+     * @return true if the list is unchanged since the index built
+     */
+    public boolean isBuiltFrom(final List<T> list, final long listVersion) {
+        return source == list && version == listVersion;
+    }
+
+    /**
+     * Obtain the candidates which may match the exchange, in the order of the source list.
+     *
+     * @param exchange the exchange
+     * @return the candidates
+     */
+    public List<T> candidates(final ServerWebExchange exchange) {
+        if (items.isEmpty()) {
+            return Collections.emptyList();
+        }
+        BitSet positions = new BitSet(items.size());
+        mark(positions, unindexed);
+        if (!uriBuckets.isEmpty() || uriPrefixLengths.length > 0) {
+            String uri = ParameterDataFactory.builderData(ParamTypeEnum.URI.getName(), null, exchange);
+            if (!isLiteralPath(uri)) {
+                // the path patterns normalize such paths before matching, so they may match without the literal prefix.
+                return items;
+            }
+            if (Objects.nonNull(uri)) {
+                mark(positions, uriBuckets.get(uri));
+                for (int length : uriPrefixLengths) {
+                    if (length > uri.length()) {
+                        break;
+                    }
+                    mark(positions, uriPrefixBuckets.get(uri.substring(0, length)));
+                }
+            }
+        }
+        if (!hostBuckets.isEmpty()) {
+            mark(positions, hostBuckets.get(ParameterDataFactory.builderData(ParamTypeEnum.HOST.getName(), null, exchange)));
+        }
+        if (!methodBuckets.isEmpty()) {
+            mark(positions, methodBuckets.get(ParameterDataFactory.builderData(ParamTypeEnum.REQUEST_METHOD.getName(), null, exchange)));
+        }
+        for (Map.Entry<String, Map<String, int[]>> entry : headerBuckets.entrySet()) {
+            mark(positions, entry.getValue().get(ParameterDataFactory.builderData(ParamTypeEnum.HEADER.getName(), entry.getKey(), exchange)));
+        }
+        List<T> candidates = new ArrayList<>(positions.cardinality());
+        for (int i = positions.nextSetBit(0); i >= 0; i = positions.nextSetBit(i + 1)) {
+            candidates.add(items.get(i));
+        }
+        return candidates;
+    }
+
+    private static boolean isLiteralPath(final String uri) {
+        return Objects.isNull(uri) || !(uri.contains("//") || uri.indexOf('%') >= 0 || uri.indexOf(';') >= 0);
+    }
+
+    private static void mark(final BitSet positions, final int[] bucket) {
+        if (Objects.isNull(bucket)) {
+            return;
+        }
+        for (int position : bucket) {
+            positions.set(position);
+        }
+    }
+
+    private static int[] toArray(final List<Integer> positions) {
+        return positions.stream().mapToInt(Integer::intValue).toArray();
+    }
+
+    private static Map<String, int[]> toBuckets(final Map<String, List<Integer>> buckets) {
+        if (buckets.isEmpty()) {
+            return Collections.emptyMap();
+        }
+        Map<String, int[]> result = new HashMap<>(buckets.size());
+        buckets.forEach((key, positions) -> result.put(key, toArray(positions)));
+        return result;
+    }
+
+    /**
+     * the literal prefix of the path pattern, cut at the last '/' before the first wildcard,
+     * e.g. {@code /api/order/**} is {@code /api/order}, it also matches {@code /api/order} itself.
+     *
+     * @param pattern the path pattern
+     * @return the literal prefix, blank if the pattern has no safe literal prefix
+     */
+    private static String patternPrefix(final String pattern) {
+        int wildcard = StringUtils.indexOfAny(pattern, '*', '?', '{');
+        String literal = wildcard < 0 ? pattern : pattern.substring(0, wildcard);
+        int slash = literal.lastIndexOf('/');
+        if (slash <= 0) {
+            return "";
+        }
+        literal = literal.substring(0, slash);
+        if (literal.contains("//") || !LITERAL_PATH.matcher(literal).matches()) {
+            return "";
+        }
+        return literal;
+    }
+
+    private static final class Builder<T> {
+
+        private final List<T> source;
+
+        private final long version;
+
+        private final List<T> items = new ArrayList<>();
+
+        private final List<Integer> unindexed = new ArrayList<>();
+
+        private final Map<String, List<Integer>> uriBuckets = new HashMap<>();
+
+        private final Map<String, List<Integer>> uriPrefixBuckets = new HashMap<>();
+
+        private final Map<String, List<Integer>> hostBuckets = new HashMap<>();
+
+        private final Map<String, Map<String, List<Integer>>> headerBuckets = new HashMap<>();
+
+        private final Map<String, List<Integer>> methodBuckets = new HashMap<>();
+
+        Builder(final List<T> source, final long version) {
+            this.source = source;
+            this.version = version;
+        }
+
+        /**
+         * put the position into the bucket of its most selective condition.
+         *
+         * @param position the position
+         * @param conditionList the conditions, all of them must hold
+         */
+        void index(final int position, final List<ConditionData> conditionList) {
+            String uri = null;
+            String host = null;
+            ConditionData header = null;
+            String uriPrefix = "";
+            String method = null;
+            for (ConditionData condition : conditionList) {
+                if (Objects.isNull(condition) || Objects.isNull(condition.getParamValue())) {
+                    continue;
+                }
+                String type = condition.getParamType();
+                String operator = condition.getOperator();
+                String value = condition.getParamValue().trim();
+                boolean equals = OperatorEnum.EQ.getAlias().equals(operator);
+                if (ParamTypeEnum.URI.getName().equals(type)) {
+                    if (equals) {
+                        uri = value;
+                    } else {
+                        String prefix = uriPrefix(operator, value);
+                        if (prefix.length() > uriPrefix.length()) {
+                            uriPrefix = prefix;
+                        }
+                    }
+                } else if (equals && ParamTypeEnum.HOST.getName().equals(type)) {
+                    host = value;
+                } else if (equals && ParamTypeEnum.HEADER.getName().equals(type) && StringUtils.isNotBlank(condition.getParamName())) {
+                    header = condition;
+                } else if (equals && ParamTypeEnum.REQUEST_METHOD.getName().equals(type)) {
+                    method = value;
+                }
+            }
+            if (Objects.nonNull(uri)) {
+                uriBuckets.computeIfAbsent(uri, key -> new ArrayList<>()).add(position);
+            } else if (Objects.nonNull(host)) {
+                hostBuckets.computeIfAbsent(host, key -> new ArrayList<>()).add(position);
+            } else if (Objects.nonNull(header)) {
+                headerBuckets.computeIfAbsent(header.getParamName(), key -> new HashMap<>())
+                        .computeIfAbsent(header.getParamValue().trim(), key -> new ArrayList<>()).add(position);
+            } else if (StringUtils.isNotEmpty(uriPrefix)) {
+                uriPrefixBuckets.computeIfAbsent(uriPrefix, key -> new ArrayList<>()).add(position);
+            } else if (Objects.nonNull(method)) {
+                methodBuckets.computeIfAbsent(method, key -> new ArrayList<>()).add(position);
+            } else {
+                unindexed.add(position);
+            }
+        }
+
+        private static String uriPrefix(final String operator, final String value) {
+            if (OperatorEnum.STARTS_WITH.getAlias().equals(operator)) {
+                return value;
+            }
+            if (OperatorEnum.MATCH.getAlias().equals(operator) || OperatorEnum.PATH_PATTERN.getAlias().equals(operator)) {
+                return patternPrefix(value);
+            }
+            return "";
+        }
+    }
+}
@@ -20,6 +20,8 @@ package org.apache.shenyu.plugin.base.condition.judge;
 import org.apache.shenyu.common.dto.ConditionData;
 import org.apache.shenyu.spi.SPI;
 
+import java.util.function.Predicate;
+
 /**
  * Predicate judge.
  */
@@ -36,4 +38,15 @@ public interface PredicateJudge {
      */
     Boolean judge(ConditionData conditionData, String realData);
 
+    /**
+     * compile the conditionData into a reusable predicate of realData,
+     * the judge may prepare the pattern or the trimmed value once instead of on every request.
+     *
+     * @param conditionData {@linkplain ConditionData}
+     * @return the predicate of realData
+     */
+    default Predicate<String> compile(ConditionData conditionData) {
+        return realData -> judge(conditionData, realData);
+    }
+
 }
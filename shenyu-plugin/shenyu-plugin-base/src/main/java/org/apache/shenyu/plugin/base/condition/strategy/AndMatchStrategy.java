@@ -18,6 +18,7 @@
 package org.apache.shenyu.plugin.base.condition.strategy;
 
 import org.apache.shenyu.common.dto.ConditionData;
+import org.apache.shenyu.plugin.base.condition.compiled.CompiledCondition;
 import org.apache.shenyu.plugin.base.condition.judge.PredicateJudgeFactory;
 import org.apache.shenyu.spi.Join;
 import org.springframework.web.server.ServerWebExchange;
@@ -36,4 +37,14 @@ public class AndMatchStrategy extends AbstractMatchStrategy implements MatchStra
                 .stream()
                 .allMatch(condition -> PredicateJudgeFactory.judge(condition, buildRealData(condition, exchange)));
     }
+
+    @Override
+    public boolean matchCompiled(final List<CompiledCondition> conditions, final ServerWebExchange exchange) {
+        for (int i = 0; i < conditions.size(); i++) {
+            if (!conditions.get(i).test(exchange)) {
+                return false;
+            }
+        }
+        return true;
+    }
 }
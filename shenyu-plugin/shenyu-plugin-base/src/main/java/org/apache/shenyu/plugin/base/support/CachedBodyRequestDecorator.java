@@ -0,0 +1,45 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.shenyu.plugin.base.support;
+
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.http.server.reactive.ServerHttpRequestDecorator;
+import reactor.core.publisher.Flux;
+import reactor.util.annotation.NonNull;
+
+/**
+ * The request decorator which replays the cached body, every subscriber reads a retained slice
+ * of the body and releases it, the cached body is released by the one who caches it.
+ */
+public class CachedBodyRequestDecorator extends ServerHttpRequestDecorator {
+
+    private final DataBuffer body;
+
+    public CachedBodyRequestDecorator(final ServerHttpRequest delegate, final DataBuffer body) {
+        super(delegate);
+        this.body = body;
+    }
+
+    @Override
+    @NonNull
+    @SuppressWarnings("deprecation")
+    public Flux<DataBuffer> getBody() {
+        return Flux.defer(() -> Flux.just(body.retainedSlice(body.readPosition(), body.readableByteCount())));
+    }
+}
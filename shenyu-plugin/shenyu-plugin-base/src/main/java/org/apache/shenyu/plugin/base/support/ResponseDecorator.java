@@ -18,6 +18,7 @@
 package org.apache.shenyu.plugin.base.support;
 
 import org.apache.shenyu.plugin.api.utils.WebFluxResultUtils;
+import org.apache.shenyu.plugin.base.utils.ResponseUtils;
 import org.reactivestreams.Publisher;
 import org.springframework.core.io.buffer.DataBuffer;
 import org.springframework.core.io.buffer.DataBufferUtils;
@@ -48,13 +49,11 @@ public class ResponseDecorator extends ServerHttpResponseDecorator {
     @Override
     @NonNull
     public Mono<Void> writeWith(@NonNull final Publisher<? extends DataBuffer> body) {
-        final Mono<DataBuffer> dataBufferMono = DataBufferUtils.join(body);
-        return dataBufferMono.flatMap(dataBuffer -> {
-            byte[] bytes = new byte[dataBuffer.readableByteCount()];
-            dataBuffer.read(bytes);
-            String bodyString = new String(bytes, StandardCharsets.UTF_8);
+        return ResponseUtils.aggregate(getDelegate(), body, dataBuffer -> {
+            String bodyString = dataBuffer.toString(StandardCharsets.UTF_8);
+            DataBufferUtils.release(dataBuffer);
             final String convertStr = convert.apply(bodyString);
             return WebFluxResultUtils.result(this.exchange, convertStr);
-        });
+        }, ResponseUtils.rejectPassThrough(this.exchange));
     }
 }
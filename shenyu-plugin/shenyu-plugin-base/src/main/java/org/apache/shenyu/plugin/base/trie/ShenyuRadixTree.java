@@ -0,0 +1,469 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.shenyu.plugin.base.trie;
+
+import org.apache.commons.lang3.ArrayUtils;
+import org.apache.commons.lang3.StringUtils;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Predicate;
+
+/**
+ * The compressed radix tree of the uri paths of a plugin or a selector, it is used by {@link ShenyuTrie}
+ * in the radix tree match mode.
+ *
+ * <p>The literal chars of the paths are merged into the edges, so a chain of single child nodes is one node.
+ * The wildcard segment, {@code **} and path variable are precomputed as the slots of the node.
+ * The request path is matched char by char without splitting.</p>
+ * <p>The nodes are immutable, every change publishes a new root, so the match never locks.
+ * The matched {@link ShenyuTrieNode} holds the data of the path, the same as the other match modes.</p>
+ */
+public final class ShenyuRadixTree {
+
+    private static final String WILDCARD = "*";
+
+    private static final String MATCH_ALL = "**";
+
+    private static final String PATH_VARIABLE = "{}";
+
+    private static final Node EMPTY = new Node("");
+
+    /**
+     * normalized path -> the node holds the data.
+     */
+    private final Map<String, ShenyuTrieNode> pathNodes = new ConcurrentHashMap<>();
+
+    private volatile Node root = EMPTY;
+
+    /**
+     * Get the node of the path, or create it if absent.
+     *
+     * @param uriPath the uri path
+     * @return the node, null if the path is blank
+     */
+    public synchronized ShenyuTrieNode computeNode(final String uriPath) {
+        List<String> tokens = tokenize(uriPath);
+        if (tokens.isEmpty()) {
+            return null;
+        }
+        String key = String.join("", tokens);
+        ShenyuTrieNode node = pathNodes.get(key);
+        if (Objects.nonNull(node)) {
+            return node;
+        }
+        node = new ShenyuTrieNode(key, uriPath, true);
+        root = insert(root, tokens, 1, tokens.get(0), node);
+        pathNodes.put(key, node);
+        return node;
+    }
+
+    /**
+     * Get the node of the path.
+     *
+     * @param uriPath the uri path
+     * @return the node, null if absent
+     */
+    public ShenyuTrieNode getNode(final String uriPath) {
+        List<String> tokens = tokenize(uriPath);
+        return tokens.isEmpty() ? null : pathNodes.get(String.join("", tokens));
+    }
+
+    /**
+     * Remove the node of the path.
+     *
+     * @param uriPath the uri path
+     */
+    public synchronized void removeNode(final String uriPath) {
+        List<String> tokens = tokenize(uriPath);
+        if (tokens.isEmpty() || Objects.isNull(pathNodes.remove(String.join("", tokens)))) {
+            return;
+        }
+        Node newRoot = remove(root, tokens, 1, tokens.get(0));
+        root = Objects.isNull(newRoot) ? EMPTY : newRoot;
+    }
+
+    /**
+     * Whether the tree is empty.
+     *
+     * @return true if empty
+     */
+    public boolean isEmpty() {
+        return pathNodes.isEmpty();
+    }
+
+    /**
+     * Match the request path, the literal is tried first, then the wildcard, {@code **} and path variable.
+     *
+     * @param uriPath the request path
+     * @param accept whether the node holds the data
+     * @return the matched node, null if not match
+     */
+    public ShenyuTrieNode match(final String uriPath, final Predicate<ShenyuTrieNode> accept) {
+        if (StringUtils.isEmpty(uriPath)) {
+            return null;
+        }
+        String path = uriPath;
+        if (path.charAt(0) != '/' || path.contains("//")) {
+            // the same as splitting the path, the empty segments are ignored.
+            path = "/" + String.join("/", StringUtils.split(path, "/"));
+        }
+        int end = path.length();
+        while (end > 0 && path.charAt(end - 1) == '/') {
+            end--;
+        }
+        if (end == 0) {
+            return null;
+        }
+        return match(root, path, 0, end, accept);
+    }
+
+    private static ShenyuTrieNode match(final Node node, final String path, final int pos, final int end, final Predicate<ShenyuTrieNode> accept) {
+        if (pos == end) {
+            ShenyuTrieNode result = accepted(node.value, accept);
+            int index = Arrays.binarySearch(node.labels, '/');
+            if (Objects.isNull(result) && index >= 0 && node.children[index].prefix.length() == 1) {
+                result = matchAllEmpty(node.children[index], accept);
+            }
+            return result;
+        }
+        ShenyuTrieNode result;
+        int index = Arrays.binarySearch(node.labels, path.charAt(pos));
+        if (index >= 0) {
+            Node child = node.children[index];
+            String prefix = child.prefix;
+            int length = prefix.length();
+            if (pos + length <= end && path.regionMatches(pos, prefix, 0, length)) {
+                result = match(child, path, pos + length, end, accept);
+                if (Objects.nonNull(result)) {
+                    return result;
+                }
+            } else if (pos + length - 1 == end && prefix.charAt(length - 1) == '/' && path.regionMatches(pos, prefix, 0, length - 1)) {
+                result = matchAllEmpty(child, accept);
+                if (Objects.nonNull(result)) {
+                    return result;
+                }
+            }
+        }
+        if (!node.hasSlots()) {
+            return null;
+        }
+        int segmentEnd = path.indexOf('/', pos);
+        if (segmentEnd < 0 || segmentEnd > end) {
+            segmentEnd = end;
+        }
+        for (int i = 0; i < node.wildcards.length; i++) {
+            if (isMatchWildcard(path, pos, segmentEnd, node.wildcardPatterns[i])) {
+                result = match(node.wildcards[i], path, segmentEnd, end, accept);
+                if (Objects.nonNull(result)) {
+                    return result;
+                }
+            }
+        }
+        if (Objects.nonNull(node.matchAll)) {
+            // ** matches zero or more segments
+            result = match(node.matchAll, path, pos - 1, end, accept);
+            int next = segmentEnd;
+            while (Objects.isNull(result)) {
+                result = match(node.matchAll, path, next, end, accept);
+                if (next == end) {
+                    break;
+                }
+                next = path.indexOf('/', next + 1);
+                if (next < 0 || next > end) {
+                    next = end;
+                }
+            }
+            if (Objects.nonNull(result)) {
+                return result;
+            }
+        }
+        if (Objects.nonNull(node.variable)) {
+            return match(node.variable, path, segmentEnd, end, accept);
+        }
+        return null;
+    }
+
+    /**
+     * the path ends before the trailing {@code /**}, e.g. the path /a matches /a/**.
+     *
+     * @param node the node whose prefix ends with '/'
+     * @param accept whether the node holds the data
+     * @return the matched node, null if not match
+     */
+    private static ShenyuTrieNode matchAllEmpty(final Node node, final Predicate<ShenyuTrieNode> accept) {
+        return Objects.isNull(node.matchAll) ? null : accepted(node.matchAll.value, accept);
+    }
+
+    private static ShenyuTrieNode accepted(final ShenyuTrieNode value, final Predicate<ShenyuTrieNode> accept) {
+        return Objects.nonNull(value) && accept.test(value) ? value : null;
+    }
+
+    private static boolean isMatchWildcard(final String path, final int from, final int to, final String pattern) {
+        int sIndex = from;
+        int pIndex = 0;
+        int sRecord = -1;
+        int pRecord = -1;
+        int pLength = pattern.length();
+        while (sIndex < to) {
+            if (pIndex < pLength && pattern.charAt(pIndex) == '*') {
+                pRecord = ++pIndex;
+                sRecord = sIndex;
+            } else if (pIndex < pLength && path.charAt(sIndex) == pattern.charAt(pIndex)) {
+                sIndex++;
+                pIndex++;
+            } else if (pRecord >= 0) {
+                pIndex = pRecord;
+                sIndex = ++sRecord;
+            } else {
+                return false;
+            }
+        }
+        while (pIndex < pLength && pattern.charAt(pIndex) == '*') {
+            pIndex++;
+        }
+        return pIndex == pLength && to > from;
+    }
+
+    /**
+     * the path is split into the literal runs and the slots, the literal runs start with '/', e.g.
+     * {@code /a/b/*.html/{id}} is {@code /a/b/}, {@code *.html}, {@code /}, {@code {}}.
+     *
+     * @param uriPath the uri path
+     * @return the tokens, empty if the path is blank
+     */
+    private static List<String> tokenize(final String uriPath) {
+        String[] segments = StringUtils.split(StringUtils.strip(uriPath, "/"), "/");
+        if (ArrayUtils.isEmpty(segments)) {
+            return new ArrayList<>(0);
+        }
+        List<String> tokens = new ArrayList<>(segments.length);
+        StringBuilder literal = new StringBuilder();
+        for (String segment : segments) {
+            literal.append('/');
+            if (isSlot(segment)) {
+                tokens.add(literal.toString());
+                tokens.add(isPathVariable(segment) ? PATH_VARIABLE : segment);
+                literal.setLength(0);
+            } else {
+                literal.append(segment);
+            }
+        }
+        if (literal.length() > 0) {
+            tokens.add(literal.toString());
+        }
+        return tokens;
+    }
+
+    private static boolean isSlot(final String token) {
+        return token.contains(WILDCARD) || isPathVariable(token);
+    }
+
+    private static boolean isPathVariable(final String token) {
+        return token.startsWith("{") && token.endsWith("}");
+    }
+
+    private static Node insert(final Node node, final List<String> tokens, final int index, final String rest, final ShenyuTrieNode value) {
+        if (!rest.isEmpty()) {
+            int position = Arrays.binarySearch(node.labels, rest.charAt(0));
+            if (position < 0) {
+                return node.withChild(insert(new Node(rest), tokens, index, "", value));
+            }
+            Node child = node.children[position];
+            int common = StringUtils.indexOfDifference(child.prefix, rest);
+            if (common < 0 || common == child.prefix.length()) {
+                return node.withChild(insert(child, tokens, index, rest.substring(child.prefix.length()), value));
+            }
+            Node split = new Node(child.prefix.substring(0, common)).withChild(child.withPrefix(child.prefix.substring(common)));
+            return node.withChild(insert(split, tokens, index, rest.substring(common), value));
+        }
+        if (index == tokens.size()) {
+            return node.withValue(value);
+        }
+        String slot = tokens.get(index);
+        Node child = Objects.isNull(node.slot(slot)) ? EMPTY : node.slot(slot);
+        String next = index + 1 < tokens.size() ? tokens.get(index + 1) : "";
+        return node.withSlot(slot, insert(child, tokens, Math.min(index + 2, tokens.size()), next, value));
+    }
+
+    private static Node remove(final Node node, final List<String> tokens, final int index, final String rest) {
+        Node result;
+        if (!rest.isEmpty()) {
+            int position = Arrays.binarySearch(node.labels, rest.charAt(0));
+            if (position < 0 || !rest.startsWith(node.children[position].prefix)) {
+                return node;
+            }
+            Node child = node.children[position];
+            Node newChild = remove(child, tokens, index, rest.substring(child.prefix.length()));
+            if (newChild == child) {
+                return node;
+            }
+            result = Objects.isNull(newChild) ? node.withoutChild(position) : node.withChild(newChild);
+        } else if (index == tokens.size()) {
+            if (Objects.isNull(node.value)) {
+                return node;
+            }
+            result = node.withValue(null);
+        } else {
+            String slot = tokens.get(index);
+            Node child = node.slot(slot);
+            if (Objects.isNull(child)) {
+                return node;
+            }
+            String next = index + 1 < tokens.size() ? tokens.get(index + 1) : "";
+            Node newChild = remove(child, tokens, Math.min(index + 2, tokens.size()), next);
+            if (newChild == child) {
+                return node;
+            }
+            result = node.withSlot(slot, newChild);
+        }
+        return compact(result);
+    }
+
+    private static Node compact(final Node node) {
+        if (Objects.nonNull(node.value) || node.hasSlots()) {
+            return node;
+        }
+        if (node.children.length == 0) {
+            return null;
+        }
+        // the root and the slot nodes have no prefix, they are kept.
+        if (node.children.length == 1 && !node.prefix.isEmpty()) {
+            Node child = node.children[0];
+            return child.withPrefix(node.prefix + child.prefix);
+        }
+        return node;
+    }
+
+    private static final class Node {
+
+        private static final char[] NO_LABELS = new char[0];
+
+        private static final Node[] NO_NODES = new Node[0];
+
+        private static final String[] NO_PATTERNS = new String[0];
+
+        private final String prefix;
+
+        /**
+         * the first chars of the literal children, sorted.
+         */
+        private final char[] labels;
+
+        private final Node[] children;
+
+        private final String[] wildcardPatterns;
+
+        private final Node[] wildcards;
+
+        private final Node matchAll;
+
+        private final Node variable;
+
+        private final ShenyuTrieNode value;
+
+        Node(final String prefix) {
+            this(prefix, NO_LABELS, NO_NODES, NO_PATTERNS, NO_NODES, null, null, null);
+        }
+
+        private Node(final String prefix, final char[] labels, final Node[] children, final String[] wildcardPatterns,
+                     final Node[] wildcards, final Node matchAll, final Node variable, final ShenyuTrieNode value) {
+            this.prefix = prefix;
+            this.labels = labels;
+            this.children = children;
+            this.wildcardPatterns = wildcardPatterns;
+            this.wildcards = wildcards;
+            this.matchAll = matchAll;
+            this.variable = variable;
+            this.value = value;
+        }
+
+        boolean hasSlots() {
+            return wildcards.length > 0 || Objects.nonNull(matchAll) || Objects.nonNull(variable);
+        }
+
+        Node slot(final String slot) {
+            if (MATCH_ALL.equals(slot)) {
+                return matchAll;
+            }
+            if (PATH_VARIABLE.equals(slot)) {
+                return variable;
+            }
+            int position = ArrayUtils.indexOf(wildcardPatterns, slot);
+            return position < 0 ? null : wildcards[position];
+        }
+
+        Node withPrefix(final String newPrefix) {
+            return new Node(newPrefix, labels, children, wildcardPatterns, wildcards, matchAll, variable, value);
+        }
+
+        Node withValue(final ShenyuTrieNode newValue) {
+            return new Node(prefix, labels, children, wildcardPatterns, wildcards, matchAll, variable, newValue);
+        }
+
+        Node withChild(final Node child) {
+            char label = child.prefix.charAt(0);
+            int position = Arrays.binarySearch(labels, label);
+            if (position >= 0) {
+                Node[] newChildren = children.clone();
+                newChildren[position] = child;
+                return new Node(prefix, labels, newChildren, wildcardPatterns, wildcards, matchAll, variable, value);
+            }
+            int insertion = -position - 1;
+            char[] newLabels = new char[labels.length + 1];
+            Node[] newChildren = new Node[children.length + 1];
+            System.arraycopy(labels, 0, newLabels, 0, insertion);
+            System.arraycopy(children, 0, newChildren, 0, insertion);
+            newLabels[insertion] = label;
+            newChildren[insertion] = child;
+            System.arraycopy(labels, insertion, newLabels, insertion + 1, labels.length - insertion);
+            System.arraycopy(children, insertion, newChildren, insertion + 1, children.length - insertion);
+            return new Node(prefix, newLabels, newChildren, wildcardPatterns, wildcards, matchAll, variable, value);
+        }
+
+        Node withoutChild(final int position) {
+            return new Node(prefix, ArrayUtils.remove(labels, position), ArrayUtils.remove(children, position),
+                    wildcardPatterns, wildcards, matchAll, variable, value);
+        }
+
+        Node withSlot(final String slot, final Node child) {
+            if (MATCH_ALL.equals(slot)) {
+                return new Node(prefix, labels, children, wildcardPatterns, wildcards, child, variable, value);
+            }
+            if (PATH_VARIABLE.equals(slot)) {
+                return new Node(prefix, labels, children, wildcardPatterns, wildcards, matchAll, child, value);
+            }
+            int position = ArrayUtils.indexOf(wildcardPatterns, slot);
+            if (position < 0) {
+                return Objects.isNull(child) ? this : new Node(prefix, labels, children, ArrayUtils.add(wildcardPatterns, slot),
+                        ArrayUtils.add(wildcards, child), matchAll, variable, value);
+            }
+            if (Objects.isNull(child)) {
+                return new Node(prefix, labels, children, ArrayUtils.remove(wildcardPatterns, position),
+                        ArrayUtils.remove(wildcards, position), matchAll, variable, value);
+            }
+            Node[] newWildcards = wildcards.clone();
+            newWildcards[position] = child;
+            return new Node(prefix, labels, children, wildcardPatterns, newWildcards, matchAll, variable, value);
+        }
+    }
+}
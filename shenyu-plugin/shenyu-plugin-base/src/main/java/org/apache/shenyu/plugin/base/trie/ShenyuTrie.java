@@ -33,6 +33,7 @@ import org.apache.shenyu.common.utils.ListUtil;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.Comparator;
@@ -60,14 +61,20 @@ public class ShenyuTrie {
     private final Map<String, ShenyuTrieNode> keyRootMap;
     
     /**
-     * the mode includes antPathMatch and pathPattern
-     * antPathMatch means all full match, pathPattern is used in web.
+     * the radix trees of the radix tree match mode, the key is the same as keyRootMap.
+     */
+    private final Map<String, ShenyuRadixTree> keyRadixTreeMap;
+    
+    /**
+     * the mode includes antPathMatch, pathPattern and radixTree
+     * antPathMatch means all full match, pathPattern is used in web, radixTree is the compressed trie of antPathMatch.
      */
     private final TrieMatchModeEnum matchMode;
 
     public ShenyuTrie(final Long cacheSize, final String matchMode) {
         this.matchMode = TrieMatchModeEnum.acquireTrieMatch(matchMode);
         this.keyRootMap = new WindowTinyLFUMap<>(cacheSize);
+        this.keyRadixTreeMap = new WindowTinyLFUMap<>(cacheSize);
     }
 
     /**
@@ -75,6 +82,7 @@ public class ShenyuTrie {
      */
     public void clear() {
         cleanup(this.keyRootMap);
+        cleanup(this.keyRadixTreeMap);
     }
 
     /**
@@ -83,7 +91,7 @@ public class ShenyuTrie {
      * @return status
      */
     public boolean isEmpty() {
-        return this.keyRootMap.isEmpty();
+        return this.keyRootMap.isEmpty() && this.keyRadixTreeMap.isEmpty();
     }
 
     /**
@@ -117,6 +125,10 @@ public class ShenyuTrie {
         if (StringUtils.isBlank(uriPath)) {
             return;
         }
+        if (isRadixTree()) {
+            putRadixTreeNode(uriPath, source, cacheType);
+            return;
+        }
         String strippedPath = StringUtils.strip(uriPath, "/");
         String[] pathParts = StringUtils.split(strippedPath, "/");
         if (ArrayUtils.isEmpty(pathParts)) {
@@ -276,6 +288,14 @@ public class ShenyuTrie {
      * @return {@linkplain ShenyuTrieNode}
      */
     public ShenyuTrieNode match(final String uriPath, final String bizInfo) {
+        if (isRadixTree()) {
+            ShenyuRadixTree radixTree = keyRadixTreeMap.get(bizInfo);
+            return Objects.isNull(radixTree) ? null : radixTree.match(uriPath, node -> checkNode(node, bizInfo));
+        }
+        return matchTrie(uriPath, bizInfo);
+    }
+    
+    private ShenyuTrieNode matchTrie(final String uriPath, final String bizInfo) {
         String strippedPath = StringUtils.strip(uriPath, "/");
         String[] pathParts = StringUtils.split(strippedPath, "/");
         if (ArrayUtils.isEmpty(pathParts)) {
@@ -399,6 +419,10 @@ public class ShenyuTrie {
         if (StringUtils.isBlank(path)) {
             return;
         }
+        if (isRadixTree()) {
+            removeRadixTreeNode(path, source, cacheType);
+            return;
+        }
         String strippedPath = StringUtils.strip(path, "/");
         String[] pathParts = StringUtils.split(strippedPath, "/");
         ShenyuTrieNode currentNode;
@@ -430,6 +454,7 @@ public class ShenyuTrie {
      */
     public void removeByKey(final String key) {
         keyRootMap.remove(key);
+        keyRadixTreeMap.remove(key);
     }
     
     /**
@@ -443,6 +468,10 @@ public class ShenyuTrie {
         if (StringUtils.isBlank(uriPath)) {
             return null;
         }
+        if (isRadixTree()) {
+            ShenyuRadixTree radixTree = keyRadixTreeMap.get(bizInfo);
+            return Objects.isNull(radixTree) ? null : radixTree.getNode(uriPath);
+        }
         String strippedPath = StringUtils.strip(uriPath, "/");
         String[] pathParts = StringUtils.split(strippedPath, "/");
         // get node from path pathParts
@@ -469,9 +498,70 @@ public class ShenyuTrie {
      * @return key set
      */
     public Set<String> getKeyRootKeys() {
-        return keyRootMap.keySet();
+        return isRadixTree() ? keyRadixTreeMap.keySet() : keyRootMap.keySet();
     }
 
+    private boolean isRadixTree() {
+        return TrieMatchModeEnum.RADIX_TREE.equals(matchMode);
+    }
+    
+    /**
+     * put the data to the radix tree, the data list of the node is copied on write.
+     *
+     * @param uriPath uri path
+     * @param source rule data or selector data
+     * @param cacheType cache type
+     * @param <T> biz info type
+     */
+    private <T> void putRadixTreeNode(final String uriPath, final T source, final TrieCacheTypeEnum cacheType) {
+        final String key = TrieCacheTypeEnum.RULE.equals(cacheType) ? ((RuleData) source).getSelectorId() : ((SelectorData) source).getPluginName();
+        ShenyuRadixTree radixTree = keyRadixTreeMap.computeIfAbsent(key, k -> new ShenyuRadixTree());
+        synchronized (radixTree) {
+            ShenyuTrieNode node = radixTree.computeNode(uriPath);
+            if (Objects.isNull(node)) {
+                return;
+            }
+            List<Object> dataList = new ArrayList<>(node.getPathCache().getOrDefault(key, Collections.emptyList()));
+            dataList.removeIf(data -> Objects.equals(dataId(data), dataId(source)));
+            dataList.add(source);
+            dataList.sort(Comparator.comparing(ShenyuTrie::dataSort, Comparator.nullsLast(Comparator.naturalOrder())));
+            node.getPathCache().put(key, dataList);
+            node.setBizInfo(key);
+        }
+    }
+    
+    private <T> void removeRadixTreeNode(final String path, final T source, final TrieCacheTypeEnum cacheType) {
+        final String key = TrieCacheTypeEnum.RULE.equals(cacheType) ? ((RuleData) source).getSelectorId() : ((SelectorData) source).getPluginName();
+        ShenyuRadixTree radixTree = keyRadixTreeMap.get(key);
+        if (Objects.isNull(radixTree)) {
+            return;
+        }
+        synchronized (radixTree) {
+            ShenyuTrieNode node = radixTree.getNode(path);
+            if (Objects.isNull(node)) {
+                return;
+            }
+            List<Object> dataList = new ArrayList<>(node.getPathCache().getOrDefault(key, Collections.emptyList()));
+            if (!dataList.removeIf(data -> Objects.equals(dataId(data), dataId(source)))) {
+                return;
+            }
+            if (dataList.isEmpty()) {
+                node.getPathCache().remove(key);
+                radixTree.removeNode(path);
+            } else {
+                node.getPathCache().put(key, dataList);
+            }
+        }
+    }
+    
+    private static String dataId(final Object data) {
+        return data instanceof RuleData ? ((RuleData) data).getId() : ((SelectorData) data).getId();
+    }
+    
+    private static Integer dataSort(final Object data) {
+        return data instanceof RuleData ? ((RuleData) data).getSort() : ((SelectorData) data).getSort();
+    }
+    
     /**
      * check legal path.
      *
@@ -17,15 +17,25 @@
 
 package org.apache.shenyu.plugin.base.utils;
 
+import org.apache.shenyu.common.config.ShenyuConfig;
 import org.apache.shenyu.common.constant.Constants;
+import org.apache.shenyu.plugin.api.result.ShenyuResultEnum;
+import org.apache.shenyu.plugin.api.result.ShenyuResultWrap;
 import org.apache.shenyu.plugin.api.utils.SpringBeanUtils;
+import org.apache.shenyu.plugin.api.utils.WebFluxResultUtils;
 import org.apache.shenyu.plugin.base.support.BodyInserterContext;
 import org.apache.shenyu.plugin.base.support.CachedBodyOutputMessage;
 import org.reactivestreams.Publisher;
 import org.reactivestreams.Subscriber;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.context.ApplicationContext;
 import org.springframework.core.io.buffer.DataBuffer;
 import org.springframework.core.io.buffer.DataBufferUtils;
 import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ReactiveHttpOutputMessage;
 import org.springframework.http.codec.HttpMessageReader;
 import org.springframework.http.codec.ServerCodecConfigurer;
@@ -39,6 +49,8 @@ import reactor.core.publisher.Mono;
 
 import java.util.List;
 import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.function.Function;
 
 /**
@@ -46,6 +58,8 @@ import java.util.function.Function;
  */
 public final class ResponseUtils {
     
+    private static final Logger LOG = LoggerFactory.getLogger(ResponseUtils.class);
+    
     private static final String CHUNKED = "chunked";
     
     private ResponseUtils() {
@@ -93,6 +107,76 @@ public final class ResponseUtils {
         return DataBufferUtils.join(outputMessage.getBody());
     }
     
+    /**
+     * aggregate the response body for the plugin which requires the whole body.
+     * when the max aggregate size is configured, the body is streamed to the pass through function without aggregation
+     * when it is an event stream, or it is larger than the max aggregate size, in which case the buffers received so far are replayed.
+     * every body is aggregated when the max aggregate size is not configured.
+     * The plugin which must not write the body as it is passes {@link #rejectPassThrough(ServerWebExchange)}.
+     *
+     * @param response    current response
+     * @param body        current response body
+     * @param aggregated  the function of the aggregated body, which owns the buffer
+     * @param passThrough the function of the body which is not aggregated
+     * @return Mono.
+     */
+    public static Mono<Void> aggregate(final ServerHttpResponse response,
+                                       final Publisher<? extends DataBuffer> body,
+                                       final Function<DataBuffer, Mono<Void>> aggregated,
+                                       final Function<Publisher<? extends DataBuffer>, Mono<Void>> passThrough) {
+        final long maxSize = getMaxAggregateSize();
+        if (maxSize < Long.MAX_VALUE
+                && (response.getHeaders().getContentLength() > maxSize || isStreaming(response.getHeaders().getContentType()))) {
+            return passThrough.apply(body);
+        }
+        return Flux.defer(() -> {
+            final AtomicLong size = new AtomicLong();
+            // the first group is the whole body, or the buffers until the size exceeds the max aggregate size.
+            return Flux.from(body)
+                    .<DataBuffer>map(DataBuffer.class::cast)
+                    .bufferUntil(buffer -> size.addAndGet(buffer.readableByteCount()) > maxSize)
+                    .switchOnFirst((signal, groups) -> {
+                        if (signal.isOnError()) {
+                            return groups.then();
+                        }
+                        if (size.get() > maxSize) {
+                            return passThrough.apply(groups.concatMapIterable(Function.identity()));
+                        }
+                        if (!signal.hasValue()) {
+                            return aggregated.apply(response.bufferFactory().wrap(new byte[0]));
+                        }
+                        return groups.next().flatMap(buffers -> aggregated.apply(response.bufferFactory().join(buffers)));
+                    });
+        }).doOnDiscard(DataBuffer.class, DataBufferUtils::release)
+                // the buffered group is discarded as a whole when the pass through function cancels it.
+                .doOnDiscard(List.class, buffers -> buffers.forEach(buffer -> {
+                    if (buffer instanceof DataBuffer) {
+                        DataBufferUtils.release((DataBuffer) buffer);
+                    }
+                }))
+                .then();
+    }
+    
+    /**
+     * the pass through function which fails closed, the body is cancelled and released,
+     * and a bad gateway error is written instead of the body which can not be transformed.
+     *
+     * @param exchange the exchange
+     * @return the pass through function
+     */
+    public static Function<Publisher<? extends DataBuffer>, Mono<Void>> rejectPassThrough(final ServerWebExchange exchange) {
+        return body -> Flux.from(body).take(0).then(Mono.defer(() -> {
+            LOG.error("the response body of {} is streamed or exceeds the max aggregate size, reject it", exchange.getRequest().getURI().getRawPath());
+            ServerHttpResponse response = exchange.getResponse();
+            response.setStatusCode(HttpStatus.BAD_GATEWAY);
+            response.getHeaders().remove(HttpHeaders.CONTENT_LENGTH);
+            response.getHeaders().remove(HttpHeaders.TRANSFER_ENCODING);
+            response.getHeaders().remove(HttpHeaders.CONTENT_ENCODING);
+            Object error = ShenyuResultWrap.error(exchange, ShenyuResultEnum.RESPONSE_BODY_TOO_LARGE);
+            return WebFluxResultUtils.result(exchange, error);
+        }));
+    }
+    
     /**
      * release source.
      *
@@ -139,9 +223,9 @@ public final class ResponseUtils {
         BodyInserter<P, ReactiveHttpOutputMessage> bodyInserter = BodyInserters.fromPublisher(publisher, elementClass);
         CachedBodyOutputMessage outputMessage = ResponseUtils.newCachedBodyOutputMessage(exchange);
         return bodyInserter.insert(outputMessage, new BodyInserterContext()).then(Mono.defer(() -> {
-            Mono<DataBuffer> messageBody = ResponseUtils.fixBodyMessage(exchange.getResponse(), outputMessage);
+            fixHeaders(exchange.getResponse().getHeaders());
             exchange.getAttributes().put(Constants.CLIENT_RESPONSE_ATTR, clientResponse);
-            return exchange.getResponse().writeWith(messageBody);
+            return exchange.getResponse().writeWith(outputMessage.getBody());
         })).onErrorResume((Function<Throwable, Mono<Void>>) throwable -> ResponseUtils.release(outputMessage, throwable));
     }
 
@@ -153,6 +237,27 @@ public final class ResponseUtils {
         return SpringBeanUtils.getInstance().getBean(ServerCodecConfigurer.class).getReaders();
     }
     
+    /**
+     * Gets the max aggregate size in bytes from the shenyu config, the size is not limited when it is not configured.
+     *
+     * @return the max aggregate size
+     */
+    private static long getMaxAggregateSize() {
+        ApplicationContext applicationContext = SpringBeanUtils.getInstance().getApplicationContext();
+        return Optional.ofNullable(applicationContext)
+                .map(context -> context.getBeanProvider(ShenyuConfig.class))
+                .map(ObjectProvider::getIfAvailable)
+                .map(config -> config.getResponse().getMaxAggregateSize())
+                .filter(maxAggregateSize -> maxAggregateSize > 0)
+                .map(maxAggregateSize -> (long) maxAggregateSize * Constants.BYTES_PER_MB)
+                .orElse(Long.MAX_VALUE);
+    }
+    
+    private static boolean isStreaming(final MediaType contentType) {
+        return Objects.nonNull(contentType)
+                && (MediaType.TEXT_EVENT_STREAM.isCompatibleWith(contentType) || MediaType.APPLICATION_NDJSON.isCompatibleWith(contentType));
+    }
+    
     /**
      * fix headers.
      *
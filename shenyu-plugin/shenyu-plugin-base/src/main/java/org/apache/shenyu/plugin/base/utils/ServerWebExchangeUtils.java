@@ -18,9 +18,12 @@
 package org.apache.shenyu.plugin.base.utils;
 
 import org.apache.shenyu.plugin.base.support.BodyInserterContext;
+import org.apache.shenyu.plugin.base.support.CachedBodyRequestDecorator;
 import org.apache.shenyu.plugin.base.support.CachedBodyOutputMessage;
 import org.apache.shenyu.plugin.base.support.RequestDecorator;
 import org.apache.shenyu.plugin.base.support.ResponseDecorator;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
 import org.springframework.http.ReactiveHttpOutputMessage;
 import org.springframework.http.codec.HttpMessageReader;
 import org.springframework.http.server.reactive.ServerHttpRequestDecorator;
@@ -31,6 +34,7 @@ import org.springframework.web.server.ServerWebExchange;
 import reactor.core.publisher.Mono;
 
 import java.util.List;
+import java.util.function.BiFunction;
 import java.util.function.Function;
 
 public class ServerWebExchangeUtils {
@@ -63,6 +67,22 @@ public class ServerWebExchangeUtils {
 
     }
 
+    /**
+     * Caches Request Body without decoding it, the same buffers are replayed to the downstream plugins.
+     *
+     * @param exchange serverWebExchange
+     * @param function function of the cached body and the exchange which replays it
+     * @return Mono.
+     */
+    public static Mono<Void> cacheRequestBody(final ServerWebExchange exchange,
+                                              final BiFunction<DataBuffer, ServerWebExchange, Mono<Void>> function) {
+        return DataBufferUtils.join(exchange.getRequest().getBody())
+                .defaultIfEmpty(exchange.getResponse().bufferFactory().wrap(new byte[0]))
+                .flatMap(body -> Mono.using(() -> body,
+                        cachedBody -> function.apply(cachedBody, exchange.mutate().request(new CachedBodyRequestDecorator(exchange.getRequest(), cachedBody)).build()),
+                        DataBufferUtils::release));
+    }
+
     /**
      * Rewrites Response Body.
      *
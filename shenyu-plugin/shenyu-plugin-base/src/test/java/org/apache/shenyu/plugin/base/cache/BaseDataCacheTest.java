@@ -30,6 +30,7 @@ import java.util.concurrent.ConcurrentHashMap;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 
 /**
  * Test cases for BaseDataCache.
@@ -239,6 +240,38 @@ public final class BaseDataCacheTest {
         assertEquals(Lists.newArrayList(ruleData), ruleDataList);
     }
 
+    @Test
+    public void testCacheRuleDataKeepsSortOrder() throws NoSuchFieldException, IllegalAccessException {
+        ConcurrentHashMap<String, List<RuleData>> ruleMap = getFieldByName(ruleMapStr);
+        ruleMap.remove(mockSelectorId1);
+        RuleData firstRuleData = RuleData.builder().id("1").selectorId(mockSelectorId1).sort(2).build();
+        RuleData secondRuleData = RuleData.builder().id("2").selectorId(mockSelectorId1).sort(1).build();
+        RuleData thirdRuleData = RuleData.builder().id("3").selectorId(mockSelectorId1).sort(2).build();
+        BaseDataCache.getInstance().cacheRuleData(firstRuleData);
+        BaseDataCache.getInstance().cacheRuleData(secondRuleData);
+        BaseDataCache.getInstance().cacheRuleData(thirdRuleData);
+        List<RuleData> snapshot = BaseDataCache.getInstance().obtainRuleData(mockSelectorId1);
+        assertEquals(Lists.newArrayList(secondRuleData, firstRuleData, thirdRuleData), snapshot);
+        assertThrows(UnsupportedOperationException.class, () -> snapshot.add(firstRuleData));
+
+        RuleData updatedRuleData = RuleData.builder().id("2").selectorId(mockSelectorId1).sort(3).build();
+        BaseDataCache.getInstance().cacheRuleData(updatedRuleData);
+        assertEquals(Lists.newArrayList(firstRuleData, thirdRuleData, updatedRuleData), BaseDataCache.getInstance().obtainRuleData(mockSelectorId1));
+        assertEquals(Lists.newArrayList(secondRuleData, firstRuleData, thirdRuleData), snapshot);
+    }
+
+    @Test
+    public void testReplaceSelectorData() throws NoSuchFieldException, IllegalAccessException {
+        ConcurrentHashMap<String, List<SelectorData>> selectorMap = getFieldByName(selectorMapStr);
+        selectorMap.put(mockPluginName1, Lists.newArrayList(SelectorData.builder().id("1").pluginName(mockPluginName1).build()));
+        SelectorData firstSelectorData = SelectorData.builder().id("2").pluginName(mockPluginName2).sort(2).build();
+        SelectorData secondSelectorData = SelectorData.builder().id("3").pluginName(mockPluginName2).sort(1).build();
+
+        BaseDataCache.getInstance().replaceSelectorData(Lists.newArrayList(firstSelectorData, secondSelectorData));
+        assertNull(selectorMap.get(mockPluginName1));
+        assertEquals(Lists.newArrayList(secondSelectorData, firstSelectorData), selectorMap.get(mockPluginName2));
+    }
+
     @SuppressWarnings("rawtypes")
     private ConcurrentHashMap getFieldByName(final String name) throws NoSuchFieldException, IllegalAccessException {
         BaseDataCache baseDataCache = BaseDataCache.getInstance();
@@ -167,6 +167,22 @@ public final class CommonPluginDataSubscriberTest {
         assertNull(baseDataCache.obtainSelectorData(secondCachedSelectorData.getPluginName()));
     }
 
+    @Test
+    public void testRefreshSelectorDataAllWithList() {
+        baseDataCache.cleanSelectorData();
+        SelectorData staleSelectorData = SelectorData.builder().id("1").enabled(true).pluginName(mockPluginName1).sort(1).build();
+        baseDataCache.cacheSelectData(staleSelectorData);
+        final List<SelectorData> snapshot = baseDataCache.obtainSelectorData(mockPluginName1);
+
+        SelectorData firstSelectorData = SelectorData.builder().id("2").enabled(true).pluginName(mockPluginName2).sort(2).build();
+        SelectorData secondSelectorData = SelectorData.builder().id("3").enabled(true).pluginName(mockPluginName2).sort(1).build();
+        commonPluginDataSubscriber.refreshSelectorDataAll(Lists.newArrayList(firstSelectorData, secondSelectorData));
+        assertNull(baseDataCache.obtainSelectorData(mockPluginName1));
+        assertEquals(Lists.newArrayList(secondSelectorData, firstSelectorData), baseDataCache.obtainSelectorData(mockPluginName2));
+        // the published snapshot is never changed
+        assertEquals(Lists.newArrayList(staleSelectorData), snapshot);
+    }
+
     @Test
     public void testRefreshSelectorDataSelf() {
         baseDataCache.cleanSelectorData();
@@ -218,6 +234,20 @@ public final class CommonPluginDataSubscriberTest {
         assertNull(baseDataCache.obtainRuleData(firstCachedRuleData.getSelectorId()));
     }
 
+    @Test
+    public void testRefreshRuleDataAllWithList() {
+        baseDataCache.cleanRuleData();
+        RuleData staleRuleData = RuleData.builder().id("1").selectorId(mockSelectorId1).pluginName(mockPluginName1).sort(1).build();
+        baseDataCache.cacheRuleData(staleRuleData);
+
+        RuleData firstRuleData = RuleData.builder().id("2").selectorId(mockSelectorId2).pluginName(mockPluginName2).sort(1).build();
+        RuleData secondRuleData = RuleData.builder().id("2").selectorId(mockSelectorId2).pluginName(mockPluginName2).name("updated").sort(1).build();
+        commonPluginDataSubscriber.refreshRuleDataAll(Lists.newArrayList(firstRuleData, secondRuleData));
+        assertNull(baseDataCache.obtainRuleData(mockSelectorId1));
+        assertEquals(1, baseDataCache.obtainRuleData(mockSelectorId2).size());
+        assertEquals("updated", baseDataCache.obtainRuleData(mockSelectorId2).get(0).getName());
+    }
+
     @Test
     public void testRefreshRuleDataSelf() {
         baseDataCache.cleanRuleData();
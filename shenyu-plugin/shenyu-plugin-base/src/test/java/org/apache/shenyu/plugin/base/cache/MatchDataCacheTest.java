@@ -22,10 +22,14 @@ import org.apache.shenyu.common.dto.RuleData;
 import org.apache.shenyu.common.dto.SelectorData;
 import org.junit.jupiter.api.Test;
 
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
 import java.lang.reflect.Field;
 import java.util.concurrent.ConcurrentHashMap;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNull;
 
 @SuppressWarnings("unchecked")
@@ -69,6 +73,19 @@ public final class MatchDataCacheTest {
         selectorMap.clear();
     }
 
+    @Test
+    public void testSelectorCacheMetrics() throws Exception {
+        String pluginName = "MOCK_PLUGIN_NAME_METRICS";
+        SelectorData selectorData = SelectorData.builder().id("1").pluginName(pluginName).sort(1).build();
+        MatchDataCache.getInstance().cacheSelectorData(path1, selectorData, 100, 100);
+        MatchDataCache.getInstance().obtainSelectorData(pluginName, path1);
+        MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+        ObjectName objectName = new ObjectName("org.apache.shenyu:type=Cache,name=match-selector-" + pluginName);
+        assertEquals(1L, server.getAttribute(objectName, "HitCount"));
+        MatchDataCache.getInstance().removeSelectorData(pluginName);
+        assertFalse(server.isRegistered(objectName));
+    }
+
     @SuppressWarnings("rawtypes")
     private ConcurrentHashMap getFieldByName(final String name) throws NoSuchFieldException, IllegalAccessException {
         MatchDataCache matchDataCache = MatchDataCache.getInstance();
@@ -0,0 +1,78 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.apache.shenyu.plugin.base.condition.compiled;
+
+import org.apache.shenyu.common.dto.ConditionData;
+import org.apache.shenyu.common.enums.MatchModeEnum;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import org.springframework.web.server.ServerWebExchange;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Test cases for CompiledConditions.
+ */
+public final class CompiledConditionsTest {
+
+    private final ServerWebExchange exchange = MockServerWebExchange.from(MockServerHttpRequest.get("/http/order/findById")
+            .header("tenant", "shenyu").build());
+
+    @Test
+    public void testAndMatch() {
+        List<ConditionData> conditions = Arrays.asList(buildCondition("uri", "pathPattern", null, "/http/**"),
+                buildCondition("header", "regex", "tenant", " shen.* "),
+                buildCondition("uri", "match", null, "/http/order/*"));
+        CompiledConditions compiled = CompiledConditions.compile(MatchModeEnum.AND.getCode(), conditions);
+        assertTrue(compiled.match(exchange));
+        assertTrue(compiled.isCompiledFrom(MatchModeEnum.AND.getCode(), conditions));
+        assertFalse(compiled.isCompiledFrom(MatchModeEnum.OR.getCode(), conditions));
+        assertFalse(CompiledConditions.compile(MatchModeEnum.AND.getCode(), Arrays.asList(conditions.get(0),
+                buildCondition("header", "=", "tenant", "other"))).match(exchange));
+    }
+
+    @Test
+    public void testOrMatch() {
+        List<ConditionData> conditions = Arrays.asList(buildCondition("uri", "=", null, "/other"),
+                buildCondition("header", "isBlank", "missing", "ignored"));
+        assertTrue(CompiledConditions.compile(MatchModeEnum.OR.getCode(), conditions).match(exchange));
+        assertFalse(CompiledConditions.compile(MatchModeEnum.OR.getCode(), Collections.singletonList(conditions.get(0))).match(exchange));
+    }
+
+    @Test
+    public void testBlankRealData() {
+        List<ConditionData> conditions = Collections.singletonList(buildCondition("header", "regex", "missing", ".*"));
+        assertFalse(CompiledConditions.compile(MatchModeEnum.AND.getCode(), conditions).match(exchange));
+    }
+
+    private static ConditionData buildCondition(final String paramType, final String operator, final String paramName, final String paramValue) {
+        ConditionData conditionData = new ConditionData();
+        conditionData.setParamType(paramType);
+        conditionData.setOperator(operator);
+        conditionData.setParamName(paramName);
+        conditionData.setParamValue(paramValue);
+        return conditionData;
+    }
+}
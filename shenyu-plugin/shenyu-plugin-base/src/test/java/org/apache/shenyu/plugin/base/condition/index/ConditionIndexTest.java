@@ -0,0 +1,120 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.apache.shenyu.plugin.base.condition.index;
+
+import org.apache.shenyu.common.dto.ConditionData;
+import org.apache.shenyu.common.dto.SelectorData;
+import org.apache.shenyu.common.enums.MatchModeEnum;
+import org.apache.shenyu.common.enums.SelectorTypeEnum;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Test cases for ConditionIndex.
+ */
+public final class ConditionIndexTest {
+
+    private final List<SelectorData> selectors = new ArrayList<>();
+
+    private ConditionIndex<SelectorData> index;
+
+    @BeforeEach
+    public void setUp() {
+        selectors.add(buildSelector("uri-eq", MatchModeEnum.AND, buildCondition("uri", "=", null, "/http/order/findById")));
+        selectors.add(buildSelector("uri-match", MatchModeEnum.AND, buildCondition("uri", "match", null, "/http/order/**")));
+        selectors.add(buildSelector("uri-starts", MatchModeEnum.AND, buildCondition("uri", "startsWith", null, "/dubbo")));
+        selectors.add(buildSelector("header", MatchModeEnum.AND, buildCondition("uri", "match", null, "/**"),
+                buildCondition("header", "=", "tenant", "shenyu")));
+        selectors.add(buildSelector("method", MatchModeEnum.AND, buildCondition("req_method", "=", null, "POST")));
+        selectors.add(buildSelector("or", MatchModeEnum.OR, buildCondition("uri", "=", null, "/a"),
+                buildCondition("uri", "=", null, "/b")));
+        SelectorData disabled = buildSelector("disabled", MatchModeEnum.AND, buildCondition("uri", "match", null, "/**"));
+        disabled.setEnabled(false);
+        selectors.add(disabled);
+        SelectorData fullFlow = buildSelector("full", MatchModeEnum.AND);
+        fullFlow.setType(SelectorTypeEnum.FULL_FLOW.getCode());
+        selectors.add(fullFlow);
+        index = ConditionIndex.build(selectors, selector -> Boolean.TRUE.equals(selector.getEnabled()),
+                selector -> selector.getType() != SelectorTypeEnum.CUSTOM_FLOW.getCode(),
+                SelectorData::getMatchMode, SelectorData::getConditionList, 1L);
+    }
+
+    @Test
+    public void testUriCandidates() {
+        MockServerWebExchange exchange = MockServerWebExchange.from(MockServerHttpRequest.get("/http/order/findById").build());
+        assertEquals(Arrays.asList("uri-eq", "uri-match", "or", "full"), names(index.candidates(exchange)));
+        exchange = MockServerWebExchange.from(MockServerHttpRequest.get("/http/order").build());
+        assertEquals(Arrays.asList("uri-match", "or", "full"), names(index.candidates(exchange)));
+        exchange = MockServerWebExchange.from(MockServerHttpRequest.get("/dubbo/findAll").build());
+        assertEquals(Arrays.asList("uri-starts", "or", "full"), names(index.candidates(exchange)));
+    }
+
+    @Test
+    public void testHeaderAndMethodCandidates() {
+        MockServerWebExchange exchange = MockServerWebExchange.from(MockServerHttpRequest.post("/other").header("tenant", "shenyu").build());
+        assertEquals(Arrays.asList("header", "method", "or", "full"), names(index.candidates(exchange)));
+    }
+
+    @Test
+    public void testNormalizedPathFallback() {
+        MockServerWebExchange exchange = MockServerWebExchange.from(MockServerHttpRequest.get("/http/order;v=1/findById").build());
+        assertEquals(7, index.candidates(exchange).size());
+    }
+
+    @Test
+    public void testIsBuiltFrom() {
+        assertTrue(index.isBuiltFrom(selectors, 1L));
+        assertFalse(index.isBuiltFrom(new ArrayList<>(selectors), 1L));
+        // the list written in place at the same size is detected by the version.
+        selectors.set(0, buildSelector("replaced", MatchModeEnum.AND, buildCondition("uri", "=", null, "/replaced")));
+        assertFalse(index.isBuiltFrom(selectors, 2L));
+    }
+
+    private static List<String> names(final List<SelectorData> selectors) {
+        return selectors.stream().map(SelectorData::getName).collect(Collectors.toList());
+    }
+
+    private static SelectorData buildSelector(final String name, final MatchModeEnum matchMode, final ConditionData... conditions) {
+        return SelectorData.builder().id(name).name(name).enabled(true)
+                .type(SelectorTypeEnum.CUSTOM_FLOW.getCode())
+                .matchMode(matchMode.getCode())
+                .conditionList(Arrays.asList(conditions))
+                .build();
+    }
+
+    private static ConditionData buildCondition(final String paramType, final String operator, final String paramName, final String paramValue) {
+        ConditionData conditionData = new ConditionData();
+        conditionData.setParamType(paramType);
+        conditionData.setOperator(operator);
+        conditionData.setParamName(paramName);
+        conditionData.setParamValue(paramValue);
+        return conditionData;
+    }
+}
@@ -0,0 +1,122 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.shenyu.plugin.base.trie;
+
+import org.apache.shenyu.common.dto.SelectorData;
+import org.apache.shenyu.common.enums.TrieCacheTypeEnum;
+import org.apache.shenyu.common.enums.TrieMatchModeEnum;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Collections;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Test cases for ShenyuRadixTree.
+ */
+public final class ShenyuRadixTreeTest {
+
+    private ShenyuRadixTree radixTree;
+
+    @BeforeEach
+    public void setUp() {
+        radixTree = new ShenyuRadixTree();
+    }
+
+    @Test
+    public void testLiteral() {
+        ShenyuTrieNode abc = radixTree.computeNode("/a/b/c");
+        ShenyuTrieNode abd = radixTree.computeNode("/a/b/d/");
+        final ShenyuTrieNode ax = radixTree.computeNode("a/x");
+        assertSame(abc, radixTree.computeNode("/a/b/c"));
+        assertSame(abc, match("/a/b/c"));
+        assertSame(abd, match("/a/b/d"));
+        assertSame(ax, match("//a//x/"));
+        assertNull(match("/a/b"));
+        assertNull(match("/a/b/cc"));
+
+        radixTree.removeNode("/a/b/c");
+        assertNull(match("/a/b/c"));
+        assertSame(abd, match("/a/b/d"));
+        assertSame(ax, match("/a/x"));
+        radixTree.removeNode("/a/b/d");
+        radixTree.removeNode("/a/x");
+        assertTrue(radixTree.isEmpty());
+        assertNull(match("/a/x"));
+    }
+
+    @Test
+    public void testWildcardAndPathVariable() {
+        ShenyuTrieNode html = radixTree.computeNode("/a/*.html");
+        ShenyuTrieNode variable = radixTree.computeNode("/a/{id}/b");
+        final ShenyuTrieNode literal = radixTree.computeNode("/a/c/b");
+        assertSame(html, match("/a/index.html"));
+        assertNull(match("/a/b/index.html"));
+        assertSame(variable, match("/a/1/b"));
+        assertSame(literal, match("/a/c/b"));
+        assertSame(radixTree.getNode("/a/{name}/b"), variable);
+        // backtrack from the literal to the path variable
+        radixTree.removeNode("/a/c/b");
+        radixTree.computeNode("/a/c/d");
+        assertSame(variable, match("/a/c/b"));
+    }
+
+    @Test
+    public void testMatchAll() {
+        ShenyuTrieNode middle = radixTree.computeNode("/a/**/c");
+        final ShenyuTrieNode tail = radixTree.computeNode("/x/**");
+        assertSame(middle, match("/a/c"));
+        assertSame(middle, match("/a/b/c"));
+        assertSame(middle, match("/a/b/d/c"));
+        assertNull(match("/a/b/d"));
+        assertSame(tail, match("/x"));
+        assertSame(tail, match("/x/y/z"));
+        assertNull(match("/xy"));
+    }
+
+    @Test
+    public void testShenyuTrieRadixTreeMode() {
+        ShenyuTrie shenyuTrie = new ShenyuTrie(100L, TrieMatchModeEnum.RADIX_TREE.getMatchMode());
+        SelectorData first = SelectorData.builder().id("1").pluginName("divide").sort(2).build();
+        SelectorData second = SelectorData.builder().id("2").pluginName("divide").sort(1).build();
+        shenyuTrie.putNode(Collections.singletonList("/http/order/**"), first, TrieCacheTypeEnum.SELECTOR);
+        shenyuTrie.putNode("/http/order/**", second, TrieCacheTypeEnum.SELECTOR);
+        ShenyuTrieNode node = shenyuTrie.match("/http/order/findById", "divide");
+        assertNotNull(node);
+        assertEquals(2, node.getPathCache().get("divide").size());
+        assertSame(second, node.getPathCache().get("divide").get(0));
+        assertNull(shenyuTrie.match("/http/order/findById", "other"));
+
+        shenyuTrie.remove("/http/order/**", first, TrieCacheTypeEnum.SELECTOR);
+        assertEquals(Collections.singletonList(second), shenyuTrie.getNode("/http/order/**", "divide").getPathCache().get("divide"));
+        shenyuTrie.remove("/http/order/**", second, TrieCacheTypeEnum.SELECTOR);
+        assertNull(shenyuTrie.match("/http/order/findById", "divide"));
+        assertNull(shenyuTrie.getNode("/http/order/**", "divide"));
+        shenyuTrie.clear();
+        assertTrue(shenyuTrie.isEmpty());
+    }
+
+    private ShenyuTrieNode match(final String path) {
+        return radixTree.match(path, node -> true);
+    }
+}
@@ -0,0 +1,165 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.shenyu.plugin.base.utils;
+
+import io.netty.buffer.UnpooledByteBufAllocator;
+import org.apache.shenyu.common.config.ShenyuConfig;
+import org.apache.shenyu.plugin.api.result.DefaultShenyuResult;
+import org.apache.shenyu.plugin.api.result.ShenyuResult;
+import org.apache.shenyu.plugin.api.utils.SpringBeanUtils;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
+import org.springframework.core.io.buffer.NettyDataBuffer;
+import org.springframework.core.io.buffer.NettyDataBufferFactory;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.http.server.reactive.MockServerHttpResponse;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Test case for {@link ResponseUtils}.
+ */
+public final class ResponseUtilsTest {
+
+    private static final int CHUNK_SIZE = 1024 * 1024;
+
+    @Test
+    public void testAggregate() {
+        AtomicReference<String> aggregated = new AtomicReference<>();
+        Flux<DataBuffer> body = Flux.just(wrap("hello, "), wrap("shenyu"));
+        StepVerifier.create(ResponseUtils.aggregate(new MockServerHttpResponse(), body, dataBuffer -> {
+            aggregated.set(dataBuffer.toString(StandardCharsets.UTF_8));
+            DataBufferUtils.release(dataBuffer);
+            return Mono.empty();
+        }, passThrough -> Mono.error(new IllegalStateException()))).verifyComplete();
+        assertEquals("hello, shenyu", aggregated.get());
+    }
+
+    @Test
+    public void testAggregateEmptyBody() {
+        AtomicReference<Integer> aggregated = new AtomicReference<>();
+        StepVerifier.create(ResponseUtils.aggregate(new MockServerHttpResponse(), Flux.empty(), dataBuffer -> {
+            aggregated.set(dataBuffer.readableByteCount());
+            return Mono.empty();
+        }, passThrough -> Mono.error(new IllegalStateException()))).verifyComplete();
+        assertEquals(0, aggregated.get());
+    }
+
+    @Test
+    public void testAggregateWithoutMaxAggregateSize() {
+        mockContext(null);
+        MockServerHttpResponse response = new MockServerHttpResponse();
+        response.getHeaders().setContentType(MediaType.TEXT_EVENT_STREAM);
+        AtomicReference<Integer> aggregated = new AtomicReference<>();
+        Flux<DataBuffer> body = Flux.range(0, 3).map(i -> DefaultDataBufferFactory.sharedInstance.wrap(new byte[CHUNK_SIZE]));
+        StepVerifier.create(ResponseUtils.aggregate(response, body, dataBuffer -> {
+            aggregated.set(dataBuffer.readableByteCount());
+            return Mono.empty();
+        }, passThrough -> Mono.error(new IllegalStateException()))).verifyComplete();
+        assertEquals(3 * CHUNK_SIZE, aggregated.get());
+    }
+
+    @Test
+    public void testPassThroughBeyondMaxAggregateSize() {
+        mockContext(2);
+        List<Integer> chunks = new ArrayList<>();
+        AtomicReference<DataBuffer> aggregated = new AtomicReference<>();
+        Flux<DataBuffer> body = Flux.range(0, 3).map(i -> DefaultDataBufferFactory.sharedInstance.wrap(new byte[CHUNK_SIZE]));
+        StepVerifier.create(ResponseUtils.aggregate(new MockServerHttpResponse(), body, dataBuffer -> {
+            aggregated.set(dataBuffer);
+            return Mono.empty();
+        }, passThrough -> Flux.from(passThrough).doOnNext(dataBuffer -> chunks.add(dataBuffer.readableByteCount())).then())).verifyComplete();
+        assertNull(aggregated.get());
+        assertEquals(List.of(CHUNK_SIZE, CHUNK_SIZE, CHUNK_SIZE), chunks);
+    }
+
+    @Test
+    public void testPassThroughEventStream() {
+        mockContext(2);
+        MockServerHttpResponse response = new MockServerHttpResponse();
+        response.getHeaders().setContentType(MediaType.TEXT_EVENT_STREAM);
+        Flux<DataBuffer> body = Flux.just(wrap("data: shenyu\n\n"));
+        AtomicReference<String> passed = new AtomicReference<>();
+        StepVerifier.create(ResponseUtils.aggregate(response, body, dataBuffer -> Mono.error(new IllegalStateException()),
+                passThrough -> Flux.from(passThrough).doOnNext(dataBuffer -> passed.set(dataBuffer.toString(StandardCharsets.UTF_8))).then()))
+                .verifyComplete();
+        assertEquals("data: shenyu\n\n", passed.get());
+    }
+
+    @Test
+    public void testRejectBeyondMaxAggregateSize() {
+        mockContext(2);
+        MockServerWebExchange exchange = MockServerWebExchange.from(MockServerHttpRequest.get("/test"));
+        NettyDataBufferFactory bufferFactory = new NettyDataBufferFactory(UnpooledByteBufAllocator.DEFAULT);
+        List<NettyDataBuffer> chunks = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            chunks.add((NettyDataBuffer) bufferFactory.wrap(new byte[CHUNK_SIZE]));
+        }
+        StepVerifier.create(ResponseUtils.aggregate(exchange.getResponse(), Flux.fromIterable(chunks), dataBuffer -> Mono.error(new IllegalStateException()),
+                ResponseUtils.rejectPassThrough(exchange))).verifyComplete();
+        // the body is not written as it is, and the buffered chunks are released.
+        assertEquals(HttpStatus.BAD_GATEWAY, exchange.getResponse().getStatusCode());
+        assertTrue(exchange.getResponse().getBodyAsString().block().contains("-123"));
+        chunks.forEach(chunk -> assertEquals(0, chunk.getNativeBuffer().refCnt()));
+    }
+
+    @Test
+    public void testRejectEventStream() {
+        mockContext(2);
+        MockServerWebExchange exchange = MockServerWebExchange.from(MockServerHttpRequest.get("/test"));
+        exchange.getResponse().getHeaders().setContentType(MediaType.TEXT_EVENT_STREAM);
+        StepVerifier.create(ResponseUtils.aggregate(exchange.getResponse(), Flux.never(), dataBuffer -> Mono.error(new IllegalStateException()),
+                ResponseUtils.rejectPassThrough(exchange))).verifyComplete();
+        assertEquals(HttpStatus.BAD_GATEWAY, exchange.getResponse().getStatusCode());
+    }
+
+    @SuppressWarnings("unchecked")
+    private void mockContext(final Integer maxAggregateSize) {
+        ShenyuConfig shenyuConfig = new ShenyuConfig();
+        shenyuConfig.getResponse().setMaxAggregateSize(maxAggregateSize);
+        ObjectProvider<ShenyuConfig> provider = mock(ObjectProvider.class);
+        when(provider.getIfAvailable()).thenReturn(shenyuConfig);
+        ConfigurableApplicationContext context = mock(ConfigurableApplicationContext.class);
+        when(context.getBeanProvider(ShenyuConfig.class)).thenReturn(provider);
+        when(context.getBean(ShenyuResult.class)).thenReturn(new DefaultShenyuResult());
+        SpringBeanUtils.getInstance().setApplicationContext(context);
+    }
+
+    private DataBuffer wrap(final String value) {
+        return DefaultDataBufferFactory.sharedInstance.wrap(value.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -25,11 +25,14 @@ import org.apache.shenyu.plugin.api.ShenyuPluginChain;
 import org.apache.shenyu.plugin.api.utils.WebFluxResultUtils;
 import org.apache.shenyu.plugin.base.AbstractShenyuPlugin;
 import org.apache.shenyu.plugin.base.utils.CacheKeyUtils;
+import org.apache.shenyu.plugin.base.utils.ResponseUtils;
+import org.apache.shenyu.plugin.cache.coalesce.RequestCoalescer;
 import org.apache.shenyu.plugin.cache.handler.CachePluginDataHandler;
 import org.apache.shenyu.plugin.cache.utils.CacheUtils;
 import org.reactivestreams.Publisher;
 import org.springframework.core.io.buffer.DataBuffer;
 import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.http.HttpMethod;
 import org.springframework.http.MediaType;
 import org.springframework.http.server.reactive.ServerHttpResponseDecorator;
 import org.springframework.web.server.ServerWebExchange;
@@ -39,6 +42,7 @@ import reactor.util.annotation.NonNull;
 
 import java.util.Objects;
 import java.util.Optional;
+import java.util.function.Function;
 
 /**
  * CacheWritePlugin.
@@ -62,12 +66,10 @@ public class CachePlugin extends AbstractShenyuPlugin {
                             return exchange.getResponse().writeWith(Mono.just(exchange.getResponse().bufferFactory().wrap(bytes))
                                     .doOnNext(data -> exchange.getResponse().getHeaders().setContentLength(data.readableByteCount())));
                         }
-                        CacheRuleHandle cacheRuleHandle = buildRuleHandle(rule);
-                        return chain.execute(exchange.mutate().response(new CacheHttpResponse(exchange, cacheRuleHandle)).build());
+                        return executeUpstream(exchange, chain, buildRuleHandle(rule));
                     });
         }
-        CacheRuleHandle cacheRuleHandle = buildRuleHandle(rule);
-        return chain.execute(exchange.mutate().response(new CacheHttpResponse(exchange, cacheRuleHandle)).build());
+        return executeUpstream(exchange, chain, buildRuleHandle(rule));
     }
 
     @Override
@@ -80,6 +82,16 @@ public class CachePlugin extends AbstractShenyuPlugin {
         return PluginEnum.CACHE.getName();
     }
     
+    private Mono<Void> executeUpstream(final ServerWebExchange exchange, final ShenyuPluginChain chain, final CacheRuleHandle cacheRuleHandle) {
+        final Function<ServerWebExchange, Mono<Void>> upstream = upstreamExchange ->
+                chain.execute(upstreamExchange.mutate().response(new CacheHttpResponse(upstreamExchange, cacheRuleHandle)).build());
+        if (Objects.nonNull(cacheRuleHandle) && Boolean.TRUE.equals(cacheRuleHandle.getCoalesce())
+                && HttpMethod.GET.equals(exchange.getRequest().getMethod())) {
+            return RequestCoalescer.getInstance().coalesce(CacheUtils.coalesceKey(exchange, cacheRuleHandle), exchange, cacheRuleHandle, upstream);
+        }
+        return upstream.apply(exchange);
+    }
+
     private CacheRuleHandle buildRuleHandle(final RuleData rule) {
         return CachePluginDataHandler.CACHED_HANDLE.get().obtainHandle(CacheKeyUtils.INST.getKey(rule));
     }
@@ -100,12 +112,13 @@ public class CachePlugin extends AbstractShenyuPlugin {
         @Override
         @NonNull
         public Mono<Void> writeWith(@NonNull final Publisher<? extends DataBuffer> body) {
-            final Mono<DataBuffer> dataBufferMono = DataBufferUtils.join(body);
-            return dataBufferMono.flatMap(dataBuffer -> {
+            // the response larger than the max aggregate size is streamed without being cached.
+            return ResponseUtils.aggregate(getDelegate(), body, dataBuffer -> {
                 byte[] bytes = new byte[dataBuffer.readableByteCount()];
                 dataBuffer.read(bytes);
+                DataBufferUtils.release(dataBuffer);
                 return WebFluxResultUtils.result(this.exchange, cacheResponse(bytes));
-            });
+            }, super::writeWith);
         }
 
         @NonNull
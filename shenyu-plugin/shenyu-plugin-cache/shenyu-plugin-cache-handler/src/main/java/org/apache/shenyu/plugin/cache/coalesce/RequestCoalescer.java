@@ -0,0 +1,173 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.shenyu.plugin.cache.coalesce;
+
+import org.apache.shenyu.common.dto.convert.rule.impl.CacheRuleHandle;
+import org.apache.shenyu.plugin.base.utils.ResponseUtils;
+import org.reactivestreams.Publisher;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.http.server.reactive.ServerHttpResponseDecorator;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+import reactor.util.annotation.NonNull;
+
+import java.time.Duration;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+/**
+ * The request coalescer, the identical concurrent requests share the response of one in-flight upstream request.
+ * The first request of a key requests the upstream and the others wait for its response,
+ * they request the upstream by themselves when the wait times out, the fan out is exceeded
+ * or the in-flight request completes without a response body.
+ */
+public final class RequestCoalescer {
+
+    private static final RequestCoalescer INSTANCE = new RequestCoalescer();
+
+    /**
+     * coalesce key -> in-flight request.
+     */
+    private final ConcurrentMap<String, InFlight> inFlights = new ConcurrentHashMap<>();
+
+    private RequestCoalescer() {
+    }
+
+    /**
+     * Gets instance.
+     *
+     * @return the instance
+     */
+    public static RequestCoalescer getInstance() {
+        return INSTANCE;
+    }
+
+    /**
+     * Coalesce the request.
+     *
+     * @param key the coalesce key
+     * @param exchange the exchange
+     * @param cacheRuleHandle the cache rule handle
+     * @param upstream the function to request the upstream with the exchange
+     * @return the result
+     */
+    public Mono<Void> coalesce(final String key, final ServerWebExchange exchange, final CacheRuleHandle cacheRuleHandle,
+                               final Function<ServerWebExchange, Mono<Void>> upstream) {
+        final InFlight created = new InFlight();
+        final InFlight inFlight = inFlights.putIfAbsent(key, created);
+        if (Objects.isNull(inFlight)) {
+            return Mono.defer(() -> upstream.apply(exchange.mutate().response(new CoalescingHttpResponse(exchange.getResponse(), created)).build()))
+                    .doFinally(signal -> {
+                        inFlights.remove(key, created);
+                        // release the waiters if no response is shared.
+                        created.sink.tryEmitEmpty();
+                    });
+        }
+        if (inFlight.waiters.incrementAndGet() > cacheRuleHandle.getCoalesceMaxFanOut()) {
+            return upstream.apply(exchange);
+        }
+        return inFlight.sink.asMono()
+                .timeout(Duration.ofMillis(cacheRuleHandle.getCoalesceMaxWaitMillis()), Mono.empty())
+                .map(Optional::of)
+                .defaultIfEmpty(Optional.empty())
+                .flatMap(response -> response.isPresent() ? write(exchange, response.get()) : upstream.apply(exchange));
+    }
+
+    /**
+     * Gets the count of the in-flight requests.
+     *
+     * @return the count
+     */
+    public int inFlightSize() {
+        return inFlights.size();
+    }
+
+    private Mono<Void> write(final ServerWebExchange exchange, final CoalescedResponse coalescedResponse) {
+        final ServerHttpResponse response = exchange.getResponse();
+        response.setStatusCode(coalescedResponse.statusCode);
+        coalescedResponse.headers.forEach((name, values) -> {
+            if (!HttpHeaders.CONTENT_LENGTH.equalsIgnoreCase(name)) {
+                response.getHeaders().put(name, values);
+            }
+        });
+        response.getHeaders().setContentLength(coalescedResponse.body.length);
+        return response.writeWith(Mono.fromSupplier(() -> response.bufferFactory().wrap(coalescedResponse.body)));
+    }
+
+    private static final class InFlight {
+
+        private final Sinks.One<CoalescedResponse> sink = Sinks.one();
+
+        private final AtomicInteger waiters = new AtomicInteger();
+    }
+
+    private static final class CoalescedResponse {
+
+        private final HttpStatusCode statusCode;
+
+        private final HttpHeaders headers;
+
+        private final byte[] body;
+
+        CoalescedResponse(final HttpStatusCode statusCode, final HttpHeaders headers, final byte[] body) {
+            this.statusCode = statusCode;
+            this.headers = headers;
+            this.body = body;
+        }
+    }
+
+    /**
+     * The response of the in-flight request, it shares the response with the waiters when it is written.
+     */
+    private static final class CoalescingHttpResponse extends ServerHttpResponseDecorator {
+
+        private final InFlight inFlight;
+
+        CoalescingHttpResponse(final ServerHttpResponse delegate, final InFlight inFlight) {
+            super(delegate);
+            this.inFlight = inFlight;
+        }
+
+        @Override
+        @NonNull
+        public Mono<Void> writeWith(@NonNull final Publisher<? extends DataBuffer> body) {
+            // the waiters request the upstream by themselves if the response is too large to share.
+            return ResponseUtils.aggregate(getDelegate(), body, dataBuffer -> {
+                byte[] bytes = new byte[dataBuffer.readableByteCount()];
+                dataBuffer.read(bytes);
+                DataBufferUtils.release(dataBuffer);
+                HttpHeaders headers = new HttpHeaders();
+                headers.putAll(getHeaders());
+                inFlight.sink.tryEmitValue(new CoalescedResponse(getStatusCode(), headers, bytes));
+                return super.writeWith(Mono.just(bufferFactory().wrap(bytes)));
+            }, passThrough -> {
+                inFlight.sink.tryEmitEmpty();
+                return super.writeWith(passThrough);
+            });
+        }
+    }
+}
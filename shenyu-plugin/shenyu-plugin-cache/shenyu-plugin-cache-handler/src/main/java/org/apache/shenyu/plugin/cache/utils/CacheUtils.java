@@ -18,11 +18,19 @@
 package org.apache.shenyu.plugin.cache.utils;
 
 import org.apache.commons.codec.digest.DigestUtils;
+import org.apache.commons.lang3.StringUtils;
+import org.apache.shenyu.common.dto.convert.rule.impl.CacheRuleHandle;
 import org.apache.shenyu.common.utils.Singleton;
 import org.apache.shenyu.plugin.cache.ICache;
+import org.springframework.http.server.reactive.ServerHttpRequest;
 import org.springframework.web.server.ServerWebExchange;
 
 import java.net.URI;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.StringJoiner;
+import java.util.stream.Collectors;
 
 /**
  * CacheUtils.
@@ -58,6 +66,40 @@ public final class CacheUtils {
         return String.join(KEY_JOIN_RULE, dataKey(exchange), CONTENT_TYPEKEY_SUFFIX);
     }
 
+    /**
+     * the fingerprint of the request to coalesce, it is the method, the path,
+     * the selected query params and the selected headers of the request.
+     *
+     * @param exchange the exchange
+     * @param cacheRuleHandle the cache rule handle
+     * @return the coalesce key
+     */
+    public static String coalesceKey(final ServerWebExchange exchange, final CacheRuleHandle cacheRuleHandle) {
+        ServerHttpRequest request = exchange.getRequest();
+        StringJoiner joiner = new StringJoiner(KEY_JOIN_RULE);
+        joiner.add(request.getMethod().name()).add(request.getURI().getRawPath());
+        if (StringUtils.isBlank(cacheRuleHandle.getCoalesceQueryParams())) {
+            joiner.add(String.valueOf(request.getURI().getRawQuery()));
+        } else {
+            splitNames(cacheRuleHandle.getCoalesceQueryParams())
+                    .forEach(name -> joiner.add(name + "=" + request.getQueryParams().getOrDefault(name, Collections.emptyList())));
+        }
+        splitNames(cacheRuleHandle.getCoalesceHeaders())
+                .forEach(name -> joiner.add(name + ":" + request.getHeaders().getOrEmpty(name)));
+        return DigestUtils.md5Hex(joiner.toString());
+    }
+
+    private static List<String> splitNames(final String names) {
+        if (StringUtils.isBlank(names)) {
+            return Collections.emptyList();
+        }
+        return Arrays.stream(StringUtils.split(names, ','))
+                .map(String::trim)
+                .filter(StringUtils::isNotEmpty)
+                .sorted()
+                .collect(Collectors.toList());
+    }
+
     /**
      * get the cache.
      *
@@ -26,6 +26,7 @@ import org.apache.shenyu.plugin.api.result.DefaultShenyuResult;
 import org.apache.shenyu.plugin.api.result.ShenyuResult;
 import org.apache.shenyu.plugin.api.utils.SpringBeanUtils;
 import org.apache.shenyu.plugin.base.utils.CacheKeyUtils;
+import org.apache.shenyu.plugin.cache.coalesce.RequestCoalescer;
 import org.apache.shenyu.plugin.cache.handler.CachePluginDataHandler;
 import org.apache.shenyu.plugin.cache.memory.MemoryCache;
 import org.apache.shenyu.plugin.cache.utils.CacheUtils;
@@ -44,6 +45,8 @@ import reactor.core.scheduler.Schedulers;
 import reactor.test.StepVerifier;
 
 import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.mock;
@@ -61,6 +64,50 @@ public class CachePluginTest {
         Assertions.assertDoesNotThrow(() -> CacheUtils.contentTypeKey(exchange));
     }
 
+    @Test
+    public void coalesceKeyTest() {
+        final CacheRuleHandle cacheRuleHandle = new CacheRuleHandle();
+        cacheRuleHandle.setCoalesceQueryParams("id");
+        cacheRuleHandle.setCoalesceHeaders("X-Tenant");
+        ServerWebExchange exchange = MockServerWebExchange.from(MockServerHttpRequest.get("/test?id=1&ts=1").header("X-Tenant", "a").build());
+        ServerWebExchange sameExchange = MockServerWebExchange.from(MockServerHttpRequest.get("/test?ts=2&id=1").header("X-Tenant", "a").build());
+        ServerWebExchange otherExchange = MockServerWebExchange.from(MockServerHttpRequest.get("/test?id=1&ts=1").header("X-Tenant", "b").build());
+        Assertions.assertEquals(CacheUtils.coalesceKey(exchange, cacheRuleHandle), CacheUtils.coalesceKey(sameExchange, cacheRuleHandle));
+        Assertions.assertNotEquals(CacheUtils.coalesceKey(exchange, cacheRuleHandle), CacheUtils.coalesceKey(otherExchange, cacheRuleHandle));
+    }
+
+    @Test
+    public void coalesceTest() {
+        ConfigurableApplicationContext context = mock(ConfigurableApplicationContext.class);
+        when(context.getBean(ShenyuResult.class)).thenReturn(new DefaultShenyuResult());
+        SpringBeanUtils.getInstance().setApplicationContext(context);
+        Singleton.INST.single(ICache.class, new MemoryCache());
+        final RuleData ruleData = new RuleData();
+        ruleData.setId("coalesceRule");
+        ruleData.setSelectorId("coalesceSelector");
+        final CacheRuleHandle cacheRuleHandle = new CacheRuleHandle();
+        cacheRuleHandle.setCoalesce(true);
+        CachePluginDataHandler.CACHED_HANDLE.get().cachedHandle(CacheKeyUtils.INST.getKey(ruleData), cacheRuleHandle);
+        final AtomicInteger upstreamRequests = new AtomicInteger();
+        final ShenyuPluginChain shenyuPluginChain = mock(ShenyuPluginChain.class);
+        when(shenyuPluginChain.execute(any())).thenAnswer(invocation -> {
+            ServerWebExchange upstreamExchange = invocation.getArgument(0);
+            upstreamRequests.incrementAndGet();
+            upstreamExchange.getResponse().getHeaders().setContentType(MediaType.TEXT_PLAIN);
+            return Mono.delay(Duration.ofMillis(200)).then(upstreamExchange.getResponse().writeWith(Mono.fromSupplier(() ->
+                    upstreamExchange.getResponse().bufferFactory().wrap("body".getBytes(StandardCharsets.UTF_8)))));
+        });
+        final CachePlugin cachePlugin = new CachePlugin();
+        MockServerWebExchange exchange = MockServerWebExchange.from(MockServerHttpRequest.get("/coalesce").build());
+        MockServerWebExchange waiterExchange = MockServerWebExchange.from(MockServerHttpRequest.get("/coalesce").build());
+        StepVerifier.create(Mono.when(cachePlugin.doExecute(exchange, shenyuPluginChain, null, ruleData),
+                cachePlugin.doExecute(waiterExchange, shenyuPluginChain, null, ruleData))).verifyComplete();
+        Assertions.assertEquals(1, upstreamRequests.get());
+        Assertions.assertEquals("body", exchange.getResponse().getBodyAsString().block());
+        Assertions.assertEquals("body", waiterExchange.getResponse().getBodyAsString().block());
+        Assertions.assertEquals(0, RequestCoalescer.getInstance().inFlightSize());
+    }
+
     @Test
     public void getOrderTest() {
         final CachePlugin cachePlugin = new CachePlugin();
@@ -30,9 +30,12 @@ import org.apache.shenyu.plugin.base.AbstractShenyuPlugin;
 import org.apache.shenyu.plugin.base.utils.CacheKeyUtils;
 import org.apache.shenyu.plugin.ratelimiter.algorithm.RateLimiterAlgorithm;
 import org.apache.shenyu.plugin.ratelimiter.algorithm.RateLimiterAlgorithmFactory;
+import org.apache.shenyu.plugin.ratelimiter.executor.HybridRateLimiter;
+import org.apache.shenyu.plugin.ratelimiter.executor.LocalRateLimiter;
 import org.apache.shenyu.plugin.ratelimiter.executor.RedisRateLimiter;
 import org.apache.shenyu.plugin.ratelimiter.handler.RateLimiterPluginDataHandler;
 import org.apache.shenyu.plugin.ratelimiter.resolver.RateLimiterKeyResolverFactory;
+import org.apache.shenyu.plugin.ratelimiter.response.RateLimiterResponse;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.HttpStatusCode;
 import org.springframework.web.server.ServerWebExchange;
@@ -48,13 +51,30 @@ public class RateLimiterPlugin extends AbstractShenyuPlugin {
 
     private final RedisRateLimiter redisRateLimiter;
 
+    private final HybridRateLimiter hybridRateLimiter;
+
+    private final LocalRateLimiter localRateLimiter;
+
     /**
      * Instantiates a new Rate limiter plugin.
      *
      * @param redisRateLimiter  the redis rate limiter
      */
     public RateLimiterPlugin(final RedisRateLimiter redisRateLimiter) {
+        this(redisRateLimiter, new HybridRateLimiter(), new LocalRateLimiter());
+    }
+
+    /**
+     * Instantiates a new Rate limiter plugin.
+     *
+     * @param redisRateLimiter  the redis rate limiter
+     * @param hybridRateLimiter the hybrid rate limiter
+     * @param localRateLimiter  the in-memory rate limiter
+     */
+    public RateLimiterPlugin(final RedisRateLimiter redisRateLimiter, final HybridRateLimiter hybridRateLimiter, final LocalRateLimiter localRateLimiter) {
         this.redisRateLimiter = redisRateLimiter;
+        this.hybridRateLimiter = hybridRateLimiter;
+        this.localRateLimiter = localRateLimiter;
     }
 
     @Override
@@ -74,7 +94,7 @@ public class RateLimiterPlugin extends AbstractShenyuPlugin {
         String resolverKey = Optional.ofNullable(limiterHandle.getKeyResolverName())
                 .flatMap(name -> Optional.of("-" + RateLimiterKeyResolverFactory.newInstance(name).resolve(exchange)))
                 .orElse("");
-        return redisRateLimiter.isAllowed(rule.getId() + resolverKey, limiterHandle)
+        return isAllowed(rule.getId() + resolverKey, limiterHandle)
                 .flatMap(response -> {
                     if (!response.isAllowed()) {
                         exchange.getResponse().setStatusCode(HttpStatus.TOO_MANY_REQUESTS);
@@ -83,10 +103,26 @@ public class RateLimiterPlugin extends AbstractShenyuPlugin {
                         Object error = ShenyuResultWrap.error(exchange, ShenyuResultEnum.TOO_MANY_REQUESTS);
                         return WebFluxResultUtils.result(exchange, error);
                     }
-                    return chain.execute(exchange).doFinally(signalType -> {
-                        RateLimiterAlgorithm<?> rateLimiterAlgorithm = RateLimiterAlgorithmFactory.newInstance(limiterHandle.getAlgorithmName());
-                        rateLimiterAlgorithm.callback(rateLimiterAlgorithm.getScript(), response.getKeys(), null);
-                    });
+                    return chain.execute(exchange).doFinally(signalType -> release(limiterHandle, response));
                 });
     }
+
+    private Mono<RateLimiterResponse> isAllowed(final String id, final RateLimiterHandle limiterHandle) {
+        if (LocalRateLimiter.isSupported(limiterHandle)) {
+            return localRateLimiter.isAllowed(id, limiterHandle);
+        }
+        if (HybridRateLimiter.isSupported(limiterHandle)) {
+            return hybridRateLimiter.isAllowed(id, limiterHandle);
+        }
+        return redisRateLimiter.isAllowed(id, limiterHandle);
+    }
+
+    private void release(final RateLimiterHandle limiterHandle, final RateLimiterResponse response) {
+        if (LocalRateLimiter.isSupported(limiterHandle)) {
+            localRateLimiter.release(limiterHandle, response.getKeys());
+            return;
+        }
+        RateLimiterAlgorithm<?> rateLimiterAlgorithm = RateLimiterAlgorithmFactory.newInstance(limiterHandle.getAlgorithmName());
+        rateLimiterAlgorithm.callback(rateLimiterAlgorithm.getScript(), response.getKeys(), null);
+    }
 }
@@ -0,0 +1,88 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.shenyu.plugin.ratelimiter.algorithm;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.apache.shenyu.plugin.ratelimiter.response.RateLimiterResponse;
+
+import java.time.Duration;
+import java.util.Collections;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * The type abstract in-memory rate limiter algorithm, the state of keys is kept in a bounded cache,
+ * the least used keys are evicted so that the cardinality of keys cannot exhaust the heap.
+ *
+ * @param <S> the state type
+ */
+public abstract class AbstractLocalRateLimiterAlgorithm<S> implements LocalRateLimiterAlgorithm {
+
+    /**
+     * The nanos of one second.
+     */
+    protected static final double NANOS_PER_SECOND = TimeUnit.SECONDS.toNanos(1);
+
+    private static final long MAXIMUM_KEYS = 100000;
+
+    private static final Duration EXPIRE_AFTER_ACCESS = Duration.ofMinutes(10);
+
+    private final Cache<String, S> states = Caffeine.newBuilder()
+            .maximumSize(MAXIMUM_KEYS)
+            .expireAfterAccess(EXPIRE_AFTER_ACCESS)
+            .build();
+
+    /**
+     * Obtain the state of the key.
+     *
+     * @param key the key
+     * @param supplier the initial state supplier
+     * @return the state
+     */
+    protected S obtainState(final String key, final Supplier<S> supplier) {
+        return states.get(key, k -> supplier.get());
+    }
+
+    /**
+     * Get the state of the key if present.
+     *
+     * @param key the key
+     * @return the state or null
+     */
+    protected S getState(final String key) {
+        return states.getIfPresent(key);
+    }
+
+    /**
+     * Build the response.
+     *
+     * @param allowed whether allowed
+     * @param tokensRemaining the tokens remaining
+     * @param key the key
+     * @return the response
+     */
+    protected RateLimiterResponse response(final boolean allowed, final double tokensRemaining, final String key) {
+        return new RateLimiterResponse(allowed, (long) tokensRemaining, Collections.singletonList(key));
+    }
+
+    @Override
+    public void clean(final String ruleId) {
+        states.asMap().keySet().removeIf(key -> key.equals(ruleId) || key.startsWith(ruleId + "-"));
+    }
+}
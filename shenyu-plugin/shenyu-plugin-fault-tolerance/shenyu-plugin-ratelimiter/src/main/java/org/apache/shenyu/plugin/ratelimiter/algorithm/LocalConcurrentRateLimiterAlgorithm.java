@@ -0,0 +1,56 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.shenyu.plugin.ratelimiter.algorithm;
+
+import org.apache.shenyu.common.dto.convert.rule.RateLimiterHandle;
+import org.apache.shenyu.plugin.ratelimiter.response.RateLimiterResponse;
+import org.apache.shenyu.spi.Join;
+
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * The type in-memory concurrent rate limiter algorithm, at most burst capacity requests are in flight,
+ * the same as concurrent_request_rate_limiter.lua.
+ */
+@Join
+public class LocalConcurrentRateLimiterAlgorithm extends AbstractLocalRateLimiterAlgorithm<AtomicLong> {
+
+    @Override
+    public RateLimiterResponse isAllowed(final String key, final RateLimiterHandle limiterHandle) {
+        final double capacity = limiterHandle.getBurstCapacity();
+        final AtomicLong inflight = obtainState(key, AtomicLong::new);
+        while (true) {
+            final long current = inflight.get();
+            if (current >= capacity) {
+                return response(false, current, key);
+            }
+            if (inflight.compareAndSet(current, current + 1)) {
+                return response(true, current + 1, key);
+            }
+        }
+    }
+
+    @Override
+    public void release(final String key) {
+        AtomicLong inflight = getState(key);
+        if (Objects.nonNull(inflight)) {
+            inflight.updateAndGet(current -> Math.max(0, current - 1));
+        }
+    }
+}
@@ -0,0 +1,60 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.shenyu.plugin.ratelimiter.algorithm;
+
+import org.apache.shenyu.common.dto.convert.rule.RateLimiterHandle;
+import org.apache.shenyu.plugin.ratelimiter.response.RateLimiterResponse;
+import org.apache.shenyu.spi.Join;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * The type in-memory leaky bucket rate limiter algorithm, the same as request_leaky_rate_limiter.lua.
+ * The bucket is kept as the time when it leaks empty, so the state is a single atomic long.
+ */
+@Join
+public class LocalLeakyBucketRateLimiterAlgorithm extends AbstractLocalRateLimiterAlgorithm<AtomicLong> {
+
+    @Override
+    public RateLimiterResponse isAllowed(final String key, final RateLimiterHandle limiterHandle) {
+        final double rate = limiterHandle.getReplenishRate();
+        final double capacity = limiterHandle.getBurstCapacity();
+        final double requested = limiterHandle.getRequestCount();
+        if (rate <= 0) {
+            return response(false, capacity, key);
+        }
+        final double nanosPerWater = NANOS_PER_SECOND / rate;
+        final long capacityNanos = (long) (capacity * nanosPerWater);
+        final long requestedNanos = (long) (requested * nanosPerWater);
+        final AtomicLong emptyTime = obtainState(key, () -> new AtomicLong(Long.MIN_VALUE));
+        while (true) {
+            final long now = System.nanoTime();
+            final long current = emptyTime.get();
+            final long base = Math.max(current, now);
+            final long next = base + requestedNanos;
+            // the water in the bucket after the request.
+            final double water = (next - now) / nanosPerWater;
+            if (next - now > capacityNanos) {
+                return response(false, water, key);
+            }
+            if (emptyTime.compareAndSet(current, next)) {
+                return response(true, water, key);
+            }
+        }
+    }
+}
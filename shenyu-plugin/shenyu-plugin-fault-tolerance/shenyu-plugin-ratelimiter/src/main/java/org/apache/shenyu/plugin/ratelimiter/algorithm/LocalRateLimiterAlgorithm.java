@@ -0,0 +1,54 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.shenyu.plugin.ratelimiter.algorithm;
+
+import org.apache.shenyu.common.dto.convert.rule.RateLimiterHandle;
+import org.apache.shenyu.plugin.ratelimiter.response.RateLimiterResponse;
+import org.apache.shenyu.spi.SPI;
+
+/**
+ * The interface in-memory rate limiter algorithm, the state is kept in the gateway node.
+ */
+@SPI
+public interface LocalRateLimiterAlgorithm {
+
+    /**
+     * Verify the request.
+     *
+     * @param key the limited key
+     * @param limiterHandle the limiter handle
+     * @return the rate limiter response
+     */
+    RateLimiterResponse isAllowed(String key, RateLimiterHandle limiterHandle);
+
+    /**
+     * Release the resources held by the request.
+     *
+     * @param key the limited key
+     */
+    default void release(String key) {
+    }
+
+    /**
+     * Clean the state of the rule, the keys of the rule are the rule id and the rule id with the resolved key.
+     *
+     * @param ruleId the rule id
+     */
+    default void clean(String ruleId) {
+    }
+}
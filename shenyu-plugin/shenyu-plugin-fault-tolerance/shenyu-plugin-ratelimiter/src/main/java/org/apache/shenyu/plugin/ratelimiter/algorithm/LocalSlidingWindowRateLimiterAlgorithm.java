@@ -0,0 +1,85 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.shenyu.plugin.ratelimiter.algorithm;
+
+import org.apache.shenyu.common.dto.convert.rule.RateLimiterHandle;
+import org.apache.shenyu.plugin.ratelimiter.response.RateLimiterResponse;
+import org.apache.shenyu.spi.Join;
+
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * The type in-memory sliding window rate limiter algorithm, at most burst capacity requests are
+ * allowed in a window of burst capacity / replenish rate seconds, the same as sliding_window_request_rate_limiter.lua.
+ * The window is approximated by the counts of the current and the previous fixed windows,
+ * the previous count is weighted by its overlap with the sliding window.
+ */
+@Join
+public class LocalSlidingWindowRateLimiterAlgorithm extends AbstractLocalRateLimiterAlgorithm<AtomicReference<LocalSlidingWindowRateLimiterAlgorithm.Window>> {
+
+    @Override
+    public RateLimiterResponse isAllowed(final String key, final RateLimiterHandle limiterHandle) {
+        final double rate = limiterHandle.getReplenishRate();
+        final double capacity = limiterHandle.getBurstCapacity();
+        if (rate <= 0) {
+            return response(false, 0, key);
+        }
+        final long windowNanos = Math.max(1L, (long) (capacity / rate * NANOS_PER_SECOND));
+        final AtomicReference<Window> state = obtainState(key, () -> new AtomicReference<>(new Window(System.nanoTime(), 0, 0)));
+        while (true) {
+            final long now = System.nanoTime();
+            final Window current = state.get();
+            final Window window = current.slide(now, windowNanos);
+            final double weight = 1 - (double) (now - window.start) / windowNanos;
+            final double requested = window.previous * weight + window.count;
+            if (requested >= capacity) {
+                return response(false, capacity - requested, key);
+            }
+            if (state.compareAndSet(current, new Window(window.start, window.previous, window.count + 1))) {
+                return response(true, capacity - requested, key);
+            }
+        }
+    }
+
+    /**
+     * The fixed window.
+     */
+    static final class Window {
+
+        private final long start;
+
+        private final long previous;
+
+        private final long count;
+
+        Window(final long start, final long previous, final long count) {
+            this.start = start;
+            this.previous = previous;
+            this.count = count;
+        }
+
+        Window slide(final long now, final long windowNanos) {
+            final long elapsed = now - start;
+            if (elapsed < windowNanos) {
+                return this;
+            }
+            final long windows = elapsed / windowNanos;
+            return new Window(start + windows * windowNanos, windows == 1 ? count : 0, 0);
+        }
+    }
+}
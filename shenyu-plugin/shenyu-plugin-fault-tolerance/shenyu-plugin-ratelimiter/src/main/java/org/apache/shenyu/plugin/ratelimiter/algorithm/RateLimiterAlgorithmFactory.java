@@ -38,4 +38,14 @@ public final class RateLimiterAlgorithmFactory {
     public static RateLimiterAlgorithm<?> newInstance(final String name) {
         return Optional.ofNullable(ExtensionLoader.getExtensionLoader(RateLimiterAlgorithm.class).getJoin(name)).orElseGet(TokenBucketRateLimiterAlgorithm::new);
     }
+
+    /**
+     * New instance in-memory rate limiter algorithm.
+     *
+     * @param name the name
+     * @return the in-memory rate limiter algorithm
+     */
+    public static LocalRateLimiterAlgorithm newLocalInstance(final String name) {
+        return Optional.ofNullable(ExtensionLoader.getExtensionLoader(LocalRateLimiterAlgorithm.class).getJoin(name)).orElseGet(LocalTokenBucketRateLimiterAlgorithm::new);
+    }
 }
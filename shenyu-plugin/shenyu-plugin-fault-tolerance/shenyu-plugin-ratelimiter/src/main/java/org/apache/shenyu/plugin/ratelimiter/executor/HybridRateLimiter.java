@@ -0,0 +1,201 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.shenyu.plugin.ratelimiter.executor;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.apache.shenyu.common.constant.Constants;
+import org.apache.shenyu.common.dto.convert.rule.RateLimiterHandle;
+import org.apache.shenyu.common.enums.RateLimitEnum;
+import org.apache.shenyu.common.enums.RateLimiterModeEnum;
+import org.apache.shenyu.common.utils.Singleton;
+import org.apache.shenyu.plugin.ratelimiter.algorithm.RateLimiterAlgorithmFactory;
+import org.apache.shenyu.plugin.ratelimiter.algorithm.TokenBucketRateLimiterAlgorithm;
+import org.apache.shenyu.plugin.ratelimiter.response.RateLimiterResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.data.redis.core.ReactiveRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.scripting.support.ResourceScriptSource;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * The hybrid rate limiter, every gateway node leases tokens from the redis token bucket in batches
+ * and admits requests by the leased tokens locally, so the redis round trip is taken once per lease
+ * instead of once per request. A new lease is requested asynchronously when the local tokens
+ * drop below half of the lease size, so a node holds at most one and a half lease size of tokens
+ * ahead of redis, which bounds the over-admission of the fleet by the lease size.
+ * When redis is unavailable, the node falls back to a local token bucket with the rule's rate.
+ */
+public class HybridRateLimiter {
+
+    private static final Logger LOG = LoggerFactory.getLogger(HybridRateLimiter.class);
+
+    private static final long MAXIMUM_KEYS = 100000;
+
+    private static final Duration EXPIRE_AFTER_ACCESS = Duration.ofMinutes(10);
+
+    private final TokenBucketRateLimiterAlgorithm algorithm = new TokenBucketRateLimiterAlgorithm();
+
+    private final RedisScript<List<Long>> leaseScript;
+
+    private final Cache<String, LeasedBucket> buckets = Caffeine.newBuilder()
+            .maximumSize(MAXIMUM_KEYS)
+            .expireAfterAccess(EXPIRE_AFTER_ACCESS)
+            .build();
+
+    /**
+     * Instantiates a new hybrid rate limiter.
+     */
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    public HybridRateLimiter() {
+        DefaultRedisScript redisScript = new DefaultRedisScript<>();
+        redisScript.setScriptSource(new ResourceScriptSource(new ClassPathResource(Constants.SCRIPT_PATH + RateLimitEnum.TOKEN_BUCKET_LEASE.getScriptName())));
+        redisScript.setResultType(List.class);
+        this.leaseScript = redisScript;
+    }
+
+    /**
+     * Whether the limiter handle is judged by the hybrid rate limiter, only the token bucket algorithm is leased.
+     *
+     * @param limiterHandle the limiter handle
+     * @return true if supported
+     */
+    public static boolean isSupported(final RateLimiterHandle limiterHandle) {
+        return RateLimiterModeEnum.HYBRID == RateLimiterModeEnum.acquireByName(limiterHandle.getLimiterMode())
+                && RateLimiterAlgorithmFactory.newInstance(limiterHandle.getAlgorithmName()) instanceof TokenBucketRateLimiterAlgorithm;
+    }
+
+    /**
+     * Verify by the leased tokens.
+     *
+     * @param id is rule id
+     * @param limiterHandle the limiter handle
+     * @return {@code Mono<RateLimiterResponse>} to indicate when request processing is complete
+     */
+    public Mono<RateLimiterResponse> isAllowed(final String id, final RateLimiterHandle limiterHandle) {
+        final LeasedBucket bucket = buckets.get(id, key -> new LeasedBucket(algorithm.getKeys(key)));
+        final long requested = Math.max(1L, (long) Math.ceil(limiterHandle.getRequestCount()));
+        final long leaseSize = Math.max(requested, limiterHandle.getLeaseSize() > 0
+                ? (long) Math.ceil(limiterHandle.getLeaseSize()) : (long) Math.ceil(limiterHandle.getReplenishRate() / 10));
+        long remaining = bucket.tryAcquire(requested);
+        if (remaining >= 0) {
+            if (remaining < leaseSize / 2) {
+                bucket.lease(limiterHandle, leaseSize).subscribe();
+            }
+            return Mono.just(new RateLimiterResponse(true, remaining, bucket.keys));
+        }
+        // the local tokens are used up, wait for the lease in flight.
+        return bucket.lease(limiterHandle, leaseSize).map(granted -> {
+            long left = bucket.tryAcquire(requested);
+            return new RateLimiterResponse(left >= 0, Math.max(left, 0L), bucket.keys);
+        });
+    }
+
+    /**
+     * Remove the leased tokens of the rule, the keys of the rule are the rule id and the rule id with the resolved key.
+     *
+     * @param ruleId the rule id
+     */
+    public void clean(final String ruleId) {
+        buckets.asMap().keySet().removeIf(key -> key.equals(ruleId) || key.startsWith(ruleId + "-"));
+    }
+
+    private final class LeasedBucket {
+
+        private final List<String> keys;
+
+        private final AtomicLong tokens = new AtomicLong();
+
+        private final AtomicReference<Mono<Long>> pending = new AtomicReference<>();
+
+        private volatile long lastLeaseTime = Long.MIN_VALUE;
+
+        LeasedBucket(final List<String> keys) {
+            this.keys = keys;
+        }
+
+        long tryAcquire(final long requested) {
+            while (true) {
+                final long current = tokens.get();
+                if (current < requested) {
+                    return -1L;
+                }
+                if (tokens.compareAndSet(current, current - requested)) {
+                    return current - requested;
+                }
+            }
+        }
+
+        Mono<Long> lease(final RateLimiterHandle limiterHandle, final long leaseSize) {
+            while (true) {
+                Mono<Long> current = pending.get();
+                if (Objects.nonNull(current)) {
+                    return current;
+                }
+                Mono<Long> lease = doLease(limiterHandle, leaseSize)
+                        .doOnNext(tokens::addAndGet)
+                        .doFinally(signalType -> pending.set(null))
+                        .cache();
+                if (pending.compareAndSet(null, lease)) {
+                    return lease;
+                }
+            }
+        }
+
+        @SuppressWarnings("unchecked")
+        private Mono<Long> doLease(final RateLimiterHandle limiterHandle, final long leaseSize) {
+            return Mono.defer(() -> {
+                List<String> scriptArgs = Stream.of(limiterHandle.getReplenishRate(), limiterHandle.getBurstCapacity(),
+                        Instant.now().getEpochSecond(), leaseSize).map(String::valueOf).collect(Collectors.toList());
+                Flux<List<Long>> resultFlux = Singleton.INST.get(ReactiveRedisTemplate.class).execute(leaseScript, keys, scriptArgs);
+                return resultFlux.next().map(results -> results.get(0)).defaultIfEmpty(0L);
+            }).doOnSuccess(granted -> lastLeaseTime = System.nanoTime()).onErrorResume(throwable -> {
+                LOG.warn("lease tokens from redis error, fallback to the local token bucket, keys: {}, error: {}", keys, throwable.getMessage());
+                return Mono.just(localLease(limiterHandle, leaseSize));
+            });
+        }
+
+        private long localLease(final RateLimiterHandle limiterHandle, final long leaseSize) {
+            final double rate = limiterHandle.getReplenishRate();
+            if (rate <= 0) {
+                return 0L;
+            }
+            final long now = System.nanoTime();
+            final double nanosPerToken = TimeUnit.SECONDS.toNanos(1) / rate;
+            // the bucket is full if it is not leased for the fill time.
+            final long base = Math.max(lastLeaseTime, now - (long) (nanosPerToken * limiterHandle.getBurstCapacity()));
+            final long granted = (long) Math.min((now - base) / nanosPerToken, leaseSize);
+            lastLeaseTime = base + (long) (granted * nanosPerToken);
+            return granted;
+        }
+    }
+}
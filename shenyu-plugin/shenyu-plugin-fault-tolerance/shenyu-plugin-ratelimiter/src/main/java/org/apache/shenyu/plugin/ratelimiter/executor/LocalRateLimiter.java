@@ -0,0 +1,77 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.shenyu.plugin.ratelimiter.executor;
+
+import org.apache.shenyu.common.dto.convert.rule.RateLimiterHandle;
+import org.apache.shenyu.common.enums.RateLimiterModeEnum;
+import org.apache.shenyu.plugin.ratelimiter.algorithm.LocalRateLimiterAlgorithm;
+import org.apache.shenyu.plugin.ratelimiter.algorithm.RateLimiterAlgorithmFactory;
+import org.apache.shenyu.plugin.ratelimiter.response.RateLimiterResponse;
+import org.apache.shenyu.spi.ExtensionLoader;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * The in-memory rate limiter, the requests are limited by each gateway node without redis.
+ */
+public class LocalRateLimiter {
+
+    /**
+     * Whether the limiter handle is judged by the in-memory rate limiter.
+     *
+     * @param limiterHandle the limiter handle
+     * @return true if supported
+     */
+    public static boolean isSupported(final RateLimiterHandle limiterHandle) {
+        return RateLimiterModeEnum.LOCAL == RateLimiterModeEnum.acquireByName(limiterHandle.getLimiterMode());
+    }
+
+    /**
+     * Verify using the in-memory algorithm.
+     *
+     * @param id is rule id
+     * @param limiterHandle the limiter handle
+     * @return {@code Mono<RateLimiterResponse>} to indicate when request processing is complete
+     */
+    public Mono<RateLimiterResponse> isAllowed(final String id, final RateLimiterHandle limiterHandle) {
+        return Mono.just(RateLimiterAlgorithmFactory.newLocalInstance(limiterHandle.getAlgorithmName()).isAllowed(id, limiterHandle));
+    }
+
+    /**
+     * Release the resources held by the request.
+     *
+     * @param limiterHandle the limiter handle
+     * @param keys the keys of response
+     */
+    public void release(final RateLimiterHandle limiterHandle, final List<String> keys) {
+        if (Objects.nonNull(keys) && !keys.isEmpty()) {
+            RateLimiterAlgorithmFactory.newLocalInstance(limiterHandle.getAlgorithmName()).release(keys.get(0));
+        }
+    }
+
+    /**
+     * Clean the state of the rule in all in-memory algorithms.
+     *
+     * @param ruleId the rule id
+     */
+    public void clean(final String ruleId) {
+        ExtensionLoader.getExtensionLoader(LocalRateLimiterAlgorithm.class).getJoins().forEach(algorithm -> algorithm.clean(ruleId));
+    }
+}
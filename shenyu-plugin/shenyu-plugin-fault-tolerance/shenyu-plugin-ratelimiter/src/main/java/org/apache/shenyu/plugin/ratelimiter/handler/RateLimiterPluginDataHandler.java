@@ -32,6 +32,8 @@ import org.apache.shenyu.plugin.base.utils.CacheKeyUtils;
 import org.apache.shenyu.plugin.cache.redis.RedisConfigProperties;
 import org.apache.shenyu.plugin.cache.redis.RedisConnectionFactory;
 import org.apache.shenyu.plugin.cache.redis.serializer.ShenyuRedisSerializationContext;
+import org.apache.shenyu.plugin.ratelimiter.executor.HybridRateLimiter;
+import org.apache.shenyu.plugin.ratelimiter.executor.LocalRateLimiter;
 import org.springframework.data.redis.core.ReactiveRedisTemplate;
 
 import java.util.Objects;
@@ -45,6 +47,28 @@ public class RateLimiterPluginDataHandler implements PluginDataHandler {
 
     public static final Supplier<CommonHandleCache<String, RateLimiterHandle>> CACHED_HANDLE = new BeanHolder<>(CommonHandleCache::new);
 
+    private final HybridRateLimiter hybridRateLimiter;
+
+    private final LocalRateLimiter localRateLimiter;
+
+    /**
+     * Instantiates a new rate limiter plugin data handler.
+     */
+    public RateLimiterPluginDataHandler() {
+        this(new HybridRateLimiter(), new LocalRateLimiter());
+    }
+
+    /**
+     * Instantiates a new rate limiter plugin data handler, the state of the limiters is cleaned when the rule is removed.
+     *
+     * @param hybridRateLimiter the hybrid rate limiter of the plugin
+     * @param localRateLimiter the in-memory rate limiter of the plugin
+     */
+    public RateLimiterPluginDataHandler(final HybridRateLimiter hybridRateLimiter, final LocalRateLimiter localRateLimiter) {
+        this.hybridRateLimiter = hybridRateLimiter;
+        this.localRateLimiter = localRateLimiter;
+    }
+
     @Override
     public void handlerPlugin(final PluginData pluginData) {
         if (Objects.nonNull(pluginData) && Boolean.TRUE.equals(pluginData.getEnabled())) {
@@ -87,6 +111,8 @@ public class RateLimiterPluginDataHandler implements PluginDataHandler {
     @Override
     public void removeRule(final RuleData ruleData) {
         Optional.ofNullable(ruleData.getHandle()).ifPresent(s -> CACHED_HANDLE.get().removeHandle(CacheKeyUtils.INST.getKey(ruleData)));
+        hybridRateLimiter.clean(ruleData.getId());
+        localRateLimiter.clean(ruleData.getId());
     }
 
     @Override
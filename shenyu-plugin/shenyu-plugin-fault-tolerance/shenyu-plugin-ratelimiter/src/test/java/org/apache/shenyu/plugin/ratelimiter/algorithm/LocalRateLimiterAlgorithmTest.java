@@ -0,0 +1,103 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.shenyu.plugin.ratelimiter.algorithm;
+
+import org.apache.shenyu.common.dto.convert.rule.RateLimiterHandle;
+import org.apache.shenyu.plugin.ratelimiter.response.RateLimiterResponse;
+import org.junit.jupiter.api.Test;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+
+/**
+ * test for the in-memory rate limiter algorithms.
+ */
+public final class LocalRateLimiterAlgorithmTest {
+
+    private static final String KEY = "local-key";
+
+    @Test
+    public void tokenBucketTest() {
+        LocalRateLimiterAlgorithm algorithm = RateLimiterAlgorithmFactory.newLocalInstance("tokenBucket");
+        assertThat(algorithm.getClass().getName(), is(LocalTokenBucketRateLimiterAlgorithm.class.getName()));
+        RateLimiterHandle handle = buildHandle(0.001, 5);
+        for (int i = 0; i < 5; i++) {
+            assertThat(algorithm.isAllowed("tokenBucket", handle).isAllowed(), is(true));
+        }
+        RateLimiterResponse response = algorithm.isAllowed("tokenBucket", handle);
+        assertThat(response.isAllowed(), is(false));
+        assertThat(response.getTokensRemaining(), is(0L));
+        assertThat(algorithm.isAllowed("otherTokenBucket", handle).isAllowed(), is(true));
+    }
+
+    @Test
+    public void leakyBucketTest() {
+        LocalRateLimiterAlgorithm algorithm = new LocalLeakyBucketRateLimiterAlgorithm();
+        RateLimiterHandle handle = buildHandle(0.001, 3);
+        assertThat(algorithm.isAllowed(KEY, handle).getTokensRemaining(), is(1L));
+        assertThat(algorithm.isAllowed(KEY, handle).isAllowed(), is(true));
+        assertThat(algorithm.isAllowed(KEY, handle).isAllowed(), is(true));
+        assertThat(algorithm.isAllowed(KEY, handle).isAllowed(), is(false));
+    }
+
+    @Test
+    public void slidingWindowTest() {
+        LocalRateLimiterAlgorithm algorithm = new LocalSlidingWindowRateLimiterAlgorithm();
+        RateLimiterHandle handle = buildHandle(0.001, 4);
+        for (int i = 0; i < 4; i++) {
+            assertThat(algorithm.isAllowed(KEY, handle).isAllowed(), is(true));
+        }
+        assertThat(algorithm.isAllowed(KEY, handle).isAllowed(), is(false));
+    }
+
+    @Test
+    public void concurrentTest() {
+        LocalRateLimiterAlgorithm algorithm = new LocalConcurrentRateLimiterAlgorithm();
+        RateLimiterHandle handle = buildHandle(1, 2);
+        assertThat(algorithm.isAllowed(KEY, handle).isAllowed(), is(true));
+        assertThat(algorithm.isAllowed(KEY, handle).isAllowed(), is(true));
+        assertThat(algorithm.isAllowed(KEY, handle).isAllowed(), is(false));
+        algorithm.release(KEY);
+        assertThat(algorithm.isAllowed(KEY, handle).isAllowed(), is(true));
+        algorithm.release(KEY);
+        algorithm.release(KEY);
+        algorithm.release(KEY);
+        assertThat(algorithm.isAllowed(KEY, handle).getTokensRemaining(), is(1L));
+    }
+
+    @Test
+    public void cleanTest() {
+        LocalRateLimiterAlgorithm algorithm = new LocalSlidingWindowRateLimiterAlgorithm();
+        RateLimiterHandle handle = buildHandle(0.001, 1);
+        assertThat(algorithm.isAllowed("rule", handle).isAllowed(), is(true));
+        assertThat(algorithm.isAllowed("rule-127.0.0.1", handle).isAllowed(), is(true));
+        assertThat(algorithm.isAllowed("rules", handle).isAllowed(), is(true));
+        algorithm.clean("rule");
+        assertThat(algorithm.isAllowed("rule", handle).isAllowed(), is(true));
+        assertThat(algorithm.isAllowed("rule-127.0.0.1", handle).isAllowed(), is(true));
+        assertThat(algorithm.isAllowed("rules", handle).isAllowed(), is(false));
+    }
+
+    private RateLimiterHandle buildHandle(final double rate, final double capacity) {
+        RateLimiterHandle handle = new RateLimiterHandle();
+        handle.setReplenishRate(rate);
+        handle.setBurstCapacity(capacity);
+        handle.setRequestCount(1);
+        return handle;
+    }
+}
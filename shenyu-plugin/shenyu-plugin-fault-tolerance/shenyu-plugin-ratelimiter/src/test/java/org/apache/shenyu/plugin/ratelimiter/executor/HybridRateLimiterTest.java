@@ -0,0 +1,110 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.shenyu.plugin.ratelimiter.executor;
+
+import com.google.common.collect.Lists;
+import org.apache.shenyu.common.dto.convert.rule.RateLimiterHandle;
+import org.apache.shenyu.common.enums.RateLimiterModeEnum;
+import org.apache.shenyu.common.utils.Singleton;
+import org.apache.shenyu.plugin.ratelimiter.response.RateLimiterResponse;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.core.ReactiveRedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
+import reactor.core.publisher.Flux;
+import reactor.test.StepVerifier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * HybridRateLimiter test.
+ */
+public final class HybridRateLimiterTest {
+
+    private static final String DEFAULT_TEST_ID = "testId";
+
+    private HybridRateLimiter hybridRateLimiter;
+
+    private RateLimiterHandle rateLimiterHandle;
+
+    private ReactiveRedisTemplate<?, ?> reactiveRedisTemplate;
+
+    @BeforeEach
+    public void setUp() {
+        hybridRateLimiter = new HybridRateLimiter();
+        rateLimiterHandle = new RateLimiterHandle();
+        rateLimiterHandle.setAlgorithmName("tokenBucket");
+        rateLimiterHandle.setLimiterMode(RateLimiterModeEnum.HYBRID.getName());
+        rateLimiterHandle.setReplenishRate(10);
+        rateLimiterHandle.setBurstCapacity(100);
+        rateLimiterHandle.setLeaseSize(4);
+        reactiveRedisTemplate = mock(ReactiveRedisTemplate.class);
+        Singleton.INST.single(ReactiveRedisTemplate.class, reactiveRedisTemplate);
+    }
+
+    @Test
+    public void isSupportedTest() {
+        assertTrue(HybridRateLimiter.isSupported(rateLimiterHandle));
+        rateLimiterHandle.setAlgorithmName("concurrent");
+        assertFalse(HybridRateLimiter.isSupported(rateLimiterHandle));
+        rateLimiterHandle.setAlgorithmName("tokenBucket");
+        rateLimiterHandle.setLimiterMode(RateLimiterModeEnum.REDIS.getName());
+        assertFalse(HybridRateLimiter.isSupported(rateLimiterHandle));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void leasedTokensTest() {
+        when(reactiveRedisTemplate.execute(any(RedisScript.class), anyList(), anyList()))
+                .thenReturn(Flux.just(Lists.newArrayList(4L, 96L)))
+                .thenReturn(Flux.just(Lists.newArrayList(0L, 0L)));
+        for (int i = 3; i >= 0; i--) {
+            final long remaining = i;
+            StepVerifier.create(hybridRateLimiter.isAllowed(DEFAULT_TEST_ID, rateLimiterHandle)).assertNext(r -> {
+                assertTrue(r.isAllowed());
+                assertEquals(remaining, r.getTokensRemaining());
+            }).verifyComplete();
+        }
+        StepVerifier.create(hybridRateLimiter.isAllowed(DEFAULT_TEST_ID, rateLimiterHandle))
+                .assertNext(r -> assertFalse(r.isAllowed())).verifyComplete();
+        // the first lease, two prefetch leases once the tokens are less than a half, and the lease of the denied request.
+        verify(reactiveRedisTemplate, times(4)).execute(any(RedisScript.class), anyList(), anyList());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void redisErrorFallbackTest() {
+        when(reactiveRedisTemplate.execute(any(RedisScript.class), anyList(), anyList())).thenReturn(Flux.error(new IllegalStateException("redis down")));
+        rateLimiterHandle.setBurstCapacity(2);
+        rateLimiterHandle.setReplenishRate(0.001);
+        int allowed = 0;
+        for (int i = 0; i < 5; i++) {
+            RateLimiterResponse response = hybridRateLimiter.isAllowed(DEFAULT_TEST_ID, rateLimiterHandle).block();
+            allowed += response.isAllowed() ? 1 : 0;
+        }
+        assertEquals(2, allowed);
+    }
+}
@@ -31,6 +31,7 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.data.redis.core.ReactiveRedisTemplate;
 import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.test.util.ReflectionTestUtils;
 import reactor.core.publisher.Flux;
 import reactor.test.StepVerifier;
 import redis.embedded.RedisServer;
@@ -120,6 +121,22 @@ public class RedisRateLimiterScriptsTest {
                 .verify();
     }
 
+    @Test
+    @SuppressWarnings("unchecked")
+    public void tokenBucketLeaseLuaTest() {
+        RedisScript<List<Long>> script = (RedisScript<List<Long>>) ReflectionTestUtils.getField(new HybridRateLimiter(), "leaseScript");
+        List<String> keys = Stream.of("test-tokenBucketLease.tokens", "test-tokenBucketLease.timestamp").collect(Collectors.toList());
+        List<String> scriptArgs = Arrays.asList("0.001", 100 + "", String.valueOf(Instant.now().getEpochSecond()), "60");
+        Flux<List<Long>> resultFlux = Singleton.INST.get(ReactiveRedisTemplate.class).execute(script, keys, scriptArgs);
+        StepVerifier
+                .create(resultFlux.concatWith(Singleton.INST.get(ReactiveRedisTemplate.class).execute(script, keys, scriptArgs)))
+                .expectSubscription()
+                .expectNext(Arrays.asList(60L, 40L))
+                .expectNext(Arrays.asList(40L, 0L))
+                .expectComplete()
+                .verify();
+    }
+
     @Test
     @SuppressWarnings("unchecked")
     public void slidingWindowLuaTest() {
@@ -17,6 +17,7 @@
 
 package org.apache.shenyu.plugin.httpclient;
 
+import java.net.ConnectException;
 import java.net.URI;
 import java.time.Duration;
 import java.util.ArrayList;
@@ -36,6 +37,8 @@ import org.apache.shenyu.common.enums.RetryEnum;
 import org.apache.shenyu.common.enums.UniqueHeaderEnum;
 import org.apache.shenyu.common.exception.ShenyuException;
 import org.apache.shenyu.common.utils.LogUtils;
+import org.apache.shenyu.loadbalancer.cache.UpstreamCacheManager;
+import org.apache.shenyu.loadbalancer.cache.UpstreamOutlierDetector;
 import org.apache.shenyu.plugin.api.ShenyuPlugin;
 import org.apache.shenyu.plugin.api.ShenyuPluginChain;
 import org.apache.shenyu.plugin.api.context.ShenyuContext;
@@ -51,6 +54,7 @@ import org.springframework.web.server.ResponseStatusException;
 import org.springframework.web.server.ServerWebExchange;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
+import reactor.util.function.Tuple2;
 
 
 /**
@@ -74,9 +78,7 @@ public abstract class AbstractHttpClientPlugin<R> implements ShenyuPlugin {
         final int retryTimes = (int) Optional.ofNullable(exchange.getAttribute(Constants.HTTP_RETRY)).orElse(0);
         final String retryStrategy = (String) Optional.ofNullable(exchange.getAttribute(Constants.RETRY_STRATEGY)).orElseGet(RetryEnum.CURRENT::getName);
         LogUtils.debug(LOG, () -> String.format("The request urlPath is: %s, retryTimes is : %s, retryStrategy is : %s", uri, retryTimes, retryStrategy));
-        final Mono<R> response = doRequest(exchange, exchange.getRequest().getMethod().name(), uri, exchange.getRequest().getBody())
-                .timeout(duration, Mono.error(() -> new TimeoutException("Response took longer than timeout: " + duration)))
-                .doOnError(e -> LOG.error(e.getMessage(), e));
+        final Mono<R> response = requestUpstream(exchange, uri, duration);
         RetryStrategy<R> strategy;
         //Is it better to go with the configuration file here?
         String retryStrategyType = (String) Optional.ofNullable(exchange.getAttribute(Constants.HTTP_RETRY_BACK_OFF_SPEC)).orElse(HttpRetryBackoffSpecEnum.getDefault());
@@ -90,6 +92,9 @@ public abstract class AbstractHttpClientPlugin<R> implements ShenyuPlugin {
             case "custom":
                 strategy = new CustomRetryStrategy<>(this);
                 break;
+            case "hedged":
+                strategy = new HedgedRetryStrategy<>(this);
+                break;
             default:
                 strategy = new DefaultRetryStrategy<>(this);
         }
@@ -102,6 +107,37 @@ public abstract class AbstractHttpClientPlugin<R> implements ShenyuPlugin {
     }
 
 
+    /**
+     * Request the upstream with the timeout, the result is recorded by the outlier detection of the divide selector.
+     *
+     * @param exchange the current server exchange
+     * @param uri      the request uri
+     * @param duration the timeout
+     * @return the response
+     */
+    protected Mono<R> requestUpstream(final ServerWebExchange exchange, final URI uri, final Duration duration) {
+        return requestUpstream(exchange, uri, duration, exchange.getRequest().getBody());
+    }
+
+    /**
+     * Request the upstream with the body and the timeout.
+     *
+     * @param exchange the current server exchange
+     * @param uri      the request uri
+     * @param duration the timeout
+     * @param body     the request body
+     * @return the response
+     */
+    protected Mono<R> requestUpstream(final ServerWebExchange exchange, final URI uri, final Duration duration, final Flux<DataBuffer> body) {
+        return doRequest(exchange, exchange.getRequest().getMethod().name(), uri, body)
+                .timeout(duration, Mono.error(() -> new TimeoutException("Response took longer than timeout: " + duration)))
+                .elapsed()
+                .doOnNext(tuple -> recordResponse(exchange, uri, statusCode(tuple.getT2()), tuple.getT1()))
+                .map(Tuple2::getT2)
+                .doOnError(e -> recordError(exchange, uri, e))
+                .doOnError(e -> LOG.error(e.getMessage(), e));
+    }
+
     /**
      * Process the Web request.
      *
@@ -114,6 +150,48 @@ public abstract class AbstractHttpClientPlugin<R> implements ShenyuPlugin {
     protected abstract Mono<R> doRequest(ServerWebExchange exchange, String httpMethod,
                                          URI uri, Flux<DataBuffer> body);
 
+    /**
+     * Gets the status code of the upstream response.
+     *
+     * @param response the upstream response
+     * @return the status code
+     */
+    protected abstract int statusCode(R response);
+
+    private void recordResponse(final ServerWebExchange exchange, final URI uri, final int statusCode, final long elapsed) {
+        final String selectorId = exchange.getAttribute(Constants.DIVIDE_SELECTOR_ID);
+        final UpstreamOutlierDetector detector = UpstreamCacheManager.getInstance().getOutlierDetector();
+        if (Objects.isNull(selectorId) || !detector.isEnabled()) {
+            return;
+        }
+        detector.recordResponse(selectorId, upstreamUrl(uri), statusCode, elapsed);
+    }
+
+    private void recordError(final ServerWebExchange exchange, final URI uri, final Throwable throwable) {
+        final String selectorId = exchange.getAttribute(Constants.DIVIDE_SELECTOR_ID);
+        final UpstreamOutlierDetector detector = UpstreamCacheManager.getInstance().getOutlierDetector();
+        if (Objects.isNull(selectorId) || !detector.isEnabled()) {
+            return;
+        }
+        boolean connectFailure = false;
+        for (Throwable cause = throwable; Objects.nonNull(cause) && !connectFailure; cause = cause.getCause()) {
+            // the connect timeout of netty is a connect exception as well
+            connectFailure = cause instanceof ConnectException;
+        }
+        detector.recordError(selectorId, upstreamUrl(uri), connectFailure);
+    }
+
+    /**
+     * Gets the upstream url of the request uri, the uri is built from the domain of the upstream,
+     * so the port is absent when the upstream url has no port.
+     *
+     * @param uri the request uri
+     * @return the upstream url
+     */
+    static String upstreamUrl(final URI uri) {
+        return uri.getPort() < 0 ? uri.getHost() : uri.getHost() + Constants.COLONS + uri.getPort();
+    }
+
     protected void duplicateHeaders(final ServerWebExchange exchange, final HttpHeaders headers, final UniqueHeaderEnum uniqueHeaderEnum) {
         final String duplicateHeader = exchange.getAttribute(uniqueHeaderEnum.getName());
         if (StringUtils.isEmpty(duplicateHeader)) {
@@ -25,7 +25,6 @@ import java.util.List;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.Set;
-import java.util.concurrent.TimeoutException;
 import java.util.stream.Collectors;
 import org.apache.shenyu.common.constant.Constants;
 import org.apache.shenyu.common.enums.RetryEnum;
@@ -35,8 +34,6 @@ import org.apache.shenyu.loadbalancer.entity.Upstream;
 import org.apache.shenyu.loadbalancer.factory.LoadBalancerFactory;
 import org.apache.shenyu.plugin.api.utils.RequestUrlUtils;
 import org.apache.shenyu.plugin.httpclient.exception.ShenyuTimeoutException;
-import org.slf4j.Logger;
-import org.slf4j.LoggerFactory;
 import org.springframework.http.HttpStatus;
 import org.springframework.web.server.ResponseStatusException;
 import org.springframework.web.server.ServerWebExchange;
@@ -52,7 +49,6 @@ import reactor.util.retry.RetryBackoffSpec;
  * @Date 2025/3/23 08:36
  */
 public class DefaultRetryStrategy<R> implements RetryStrategy<R> {
-    private static final Logger LOG = LoggerFactory.getLogger(DefaultRetryStrategy.class);
 
     private final AbstractHttpClientPlugin<R> httpClientPlugin;
 
@@ -129,9 +125,7 @@ public class DefaultRetryStrategy<R> implements RetryStrategy<R> {
             final URI newUri = RequestUrlUtils.buildRequestUri(exchange, upstream.buildDomain());
             // in order not to affect the next retry call, newUri needs to be excluded
             exclude.add(newUri);
-            return httpClientPlugin.doRequest(exchange, exchange.getRequest().getMethod().name(), newUri, exchange.getRequest().getBody())
-                    .timeout(duration, Mono.error(() -> new TimeoutException("Response took longer than timeout: " + duration)))
-                    .doOnError(e -> LOG.error(e.getMessage(), e));
+            return httpClientPlugin.requestUpstream(exchange, newUri, duration);
         });
     }
 }
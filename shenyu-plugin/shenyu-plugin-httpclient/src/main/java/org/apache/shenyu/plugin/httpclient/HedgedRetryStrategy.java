@@ -0,0 +1,172 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.shenyu.plugin.httpclient;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import java.net.URI;
+import java.time.Duration;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.stream.Collectors;
+import org.apache.shenyu.common.constant.Constants;
+import org.apache.shenyu.common.utils.LogUtils;
+import org.apache.shenyu.loadbalancer.cache.UpstreamCacheManager;
+import org.apache.shenyu.loadbalancer.entity.Upstream;
+import org.apache.shenyu.loadbalancer.factory.LoadBalancerFactory;
+import org.apache.shenyu.plugin.api.utils.RequestUrlUtils;
+import org.apache.shenyu.plugin.httpclient.hedge.AttemptExchange;
+import org.apache.shenyu.plugin.httpclient.hedge.LatencyHistogram;
+import org.apache.shenyu.plugin.httpclient.hedge.RetryBudget;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.SignalType;
+import reactor.util.function.Tuple2;
+import reactor.util.function.Tuples;
+
+/**
+ * Hedged retry policy.
+ * When the response of a safe request without body has not arrived by the latency percentile of the selector,
+ * the same request is sent to another upstream chosen by the load balancer, the first response wins and the other is cancelled.
+ * The hedged requests are withdrawn from the retry budget of the selector, so they cannot amplify an outage.
+ * Every attempt writes the upstream response into its own {@link AttemptExchange}, only the winner is committed to the exchange.
+ * The default retry policy is used until the selector has enough latency samples.
+ * Hedging replaces the retries: once a request is hedged, the retry times are ignored and the request is sent
+ * at most twice, to the chosen upstream and to one hedged upstream.
+ *
+ * @param <R> Request Response Type
+ */
+public class HedgedRetryStrategy<R> implements RetryStrategy<R> {
+
+    private static final Logger LOG = LoggerFactory.getLogger(HedgedRetryStrategy.class);
+
+    private static final Set<String> HEDGEABLE_METHODS = Set.of(HttpMethod.GET.name(), HttpMethod.HEAD.name(),
+            HttpMethod.OPTIONS.name(), HttpMethod.TRACE.name());
+
+    private static final double DEFAULT_PERCENTILE = 95;
+
+    private static final double DEFAULT_BUDGET_RATIO = 0.1;
+
+    private static final int MAX_SAVED_HEDGES = 10;
+
+    private static final Cache<String, LatencyHistogram> LATENCIES = Caffeine.newBuilder()
+            .maximumSize(10000).expireAfterAccess(Duration.ofMinutes(30)).build();
+
+    private static final Cache<String, RetryBudget> BUDGETS = Caffeine.newBuilder()
+            .maximumSize(10000).expireAfterAccess(Duration.ofMinutes(30)).build();
+
+    private final AbstractHttpClientPlugin<R> httpClientPlugin;
+
+    public HedgedRetryStrategy(final AbstractHttpClientPlugin<R> httpClientPlugin) {
+        this.httpClientPlugin = httpClientPlugin;
+    }
+
+    @Override
+    public Mono<R> execute(final Mono<R> clientResponse, final ServerWebExchange exchange, final Duration duration, final int retryTimes) {
+        final String selectorId = exchange.getAttribute(Constants.DIVIDE_SELECTOR_ID);
+        if (Objects.isNull(selectorId) || !isHedgeable(exchange)) {
+            return new DefaultRetryStrategy<>(httpClientPlugin).execute(clientResponse, exchange, duration, retryTimes);
+        }
+        final double percentile = (double) Optional.ofNullable(exchange.getAttribute(Constants.HTTP_HEDGE_PERCENTILE)).orElse(DEFAULT_PERCENTILE);
+        final double budgetRatio = (double) Optional.ofNullable(exchange.getAttribute(Constants.HTTP_RETRY_BUDGET_RATIO)).orElse(DEFAULT_BUDGET_RATIO);
+        final LatencyHistogram histogram = LATENCIES.get(selectorId, key -> new LatencyHistogram());
+        final RetryBudget budget = BUDGETS.get(selectorId, key -> new RetryBudget(MAX_SAVED_HEDGES));
+        budget.deposit(budgetRatio);
+        final long hedgeDelay = histogram.percentile(percentile);
+        if (hedgeDelay < 0 || hedgeDelay >= duration.toMillis()) {
+            return new DefaultRetryStrategy<>(httpClientPlugin).execute(recordLatency(clientResponse, histogram), exchange, duration, retryTimes);
+        }
+        final URI uri = Objects.requireNonNull(exchange.getAttribute(Constants.HTTP_URI));
+        final AtomicReference<Throwable> error = new AtomicReference<>();
+        // the request has no body, so the primary is sent again with its own exchange instead of the client response.
+        final Mono<Tuple2<R, AttemptExchange>> primary = attempt(exchange, uri, duration, histogram);
+        final Mono<Tuple2<R, AttemptExchange>> hedge = Mono.delay(Duration.ofMillis(hedgeDelay))
+                .flatMap(tick -> hedge(exchange, uri, duration, budget, histogram));
+        return Mono.firstWithValue(primary.doOnError(error::set), hedge.doOnError(error::set))
+                .map(winner -> {
+                    winner.getT2().commit();
+                    return winner.getT1();
+                })
+                // all of them failed or the hedge is not allowed, surface the error of the request.
+                .onErrorMap(NoSuchElementException.class, th -> Optional.ofNullable(error.get()).orElse(th));
+    }
+
+    private Mono<Tuple2<R, AttemptExchange>> hedge(final ServerWebExchange exchange, final URI uri, final Duration duration,
+                                                   final RetryBudget budget, final LatencyHistogram histogram) {
+        if (!budget.tryWithdraw()) {
+            return Mono.empty();
+        }
+        final Upstream upstream = selectOtherUpstream(exchange, uri);
+        if (Objects.isNull(upstream)) {
+            return Mono.empty();
+        }
+        final URI hedgeUri = RequestUrlUtils.buildRequestUri(exchange, upstream.buildDomain());
+        LogUtils.debug(LOG, () -> String.format("The request %s is slow, hedge it to %s", uri, hedgeUri));
+        return attempt(exchange, hedgeUri, duration, histogram);
+    }
+
+    private Mono<Tuple2<R, AttemptExchange>> attempt(final ServerWebExchange exchange, final URI uri, final Duration duration,
+                                                     final LatencyHistogram histogram) {
+        return Mono.defer(() -> {
+            final AttemptExchange attemptExchange = new AttemptExchange(exchange);
+            return recordLatency(httpClientPlugin.requestUpstream(attemptExchange, uri, duration, Flux.empty()), histogram)
+                    .map(response -> Tuples.of(response, attemptExchange));
+        });
+    }
+
+    private Upstream selectOtherUpstream(final ServerWebExchange exchange, final URI uri) {
+        final String selectorId = exchange.getAttribute(Constants.DIVIDE_SELECTOR_ID);
+        final String loadBalance = exchange.getAttribute(Constants.LOAD_BALANCE);
+        final String exclude = AbstractHttpClientPlugin.upstreamUrl(uri);
+        final List<Upstream> upstreamList = UpstreamCacheManager.getInstance().findUpstreamListBySelectorId(selectorId)
+                .stream().filter(data -> !exclude.equals(data.getUrl().trim())).collect(Collectors.toList());
+        if (upstreamList.isEmpty()) {
+            return null;
+        }
+        final String ip = Objects.requireNonNull(exchange.getRequest().getRemoteAddress()).getAddress().getHostAddress();
+        return LoadBalancerFactory.selector(upstreamList, loadBalance, ip);
+    }
+
+    private Mono<R> recordLatency(final Mono<R> response, final LatencyHistogram histogram) {
+        return Mono.defer(() -> {
+            final long start = System.nanoTime();
+            // the cancelled request is slower than the winner, record it as well so that the percentile is not biased.
+            return response.doFinally(signal -> {
+                if (signal != SignalType.ON_ERROR) {
+                    histogram.record(Duration.ofNanos(System.nanoTime() - start).toMillis());
+                }
+            });
+        });
+    }
+
+    private static boolean isHedgeable(final ServerWebExchange exchange) {
+        // the request body can be subscribed only once.
+        final HttpHeaders headers = exchange.getRequest().getHeaders();
+        return HEDGEABLE_METHODS.contains(exchange.getRequest().getMethod().name())
+                && headers.getContentLength() <= 0 && !headers.containsKey(HttpHeaders.TRANSFER_ENCODING);
+    }
+}
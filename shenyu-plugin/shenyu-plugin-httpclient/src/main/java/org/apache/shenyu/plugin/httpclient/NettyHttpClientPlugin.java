@@ -22,22 +22,23 @@ import io.netty.handler.codec.http.HttpMethod;
 import org.apache.commons.lang3.StringUtils;
 import org.apache.shenyu.common.constant.Constants;
 import org.apache.shenyu.common.enums.PluginEnum;
+import org.apache.shenyu.common.enums.RpcTypeEnum;
 import org.apache.shenyu.common.enums.UniqueHeaderEnum;
 import org.springframework.core.io.buffer.DataBuffer;
 import org.springframework.core.io.buffer.NettyDataBuffer;
 import org.springframework.http.HttpHeaders;
-import org.springframework.http.HttpStatus;
-import org.springframework.http.server.reactive.AbstractServerHttpResponse;
+import org.springframework.http.HttpStatusCode;
 import org.springframework.http.server.reactive.ServerHttpRequest;
 import org.springframework.http.server.reactive.ServerHttpResponse;
 import org.springframework.web.server.ServerWebExchange;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
+import reactor.netty.http.HttpProtocol;
 import reactor.netty.http.client.HttpClient;
 import reactor.netty.http.client.HttpClientResponse;
 
 import java.net.URI;
-import java.util.Objects;
+import java.util.List;
 
 /**
  * The type Netty http client plugin.
@@ -46,6 +47,10 @@ public class NettyHttpClientPlugin extends AbstractHttpClientPlugin<HttpClientRe
 
     private final HttpClient httpClient;
 
+    private final HttpClient h2Client;
+
+    private final HttpClient h2cClient;
+
     /**
      * Instantiates a new Netty http client plugin.
      *
@@ -53,6 +58,8 @@ public class NettyHttpClientPlugin extends AbstractHttpClientPlugin<HttpClientRe
      */
     public NettyHttpClientPlugin(final HttpClient httpClient) {
         this.httpClient = httpClient;
+        this.h2Client = httpClient.protocol(HttpProtocol.H2);
+        this.h2cClient = httpClient.protocol(HttpProtocol.H2C);
     }
 
     @Override
@@ -61,7 +68,7 @@ public class NettyHttpClientPlugin extends AbstractHttpClientPlugin<HttpClientRe
         ServerHttpRequest request = exchange.getRequest();
         final HttpHeaders httpHeaders = new HttpHeaders(request.getHeaders());
         this.duplicateHeaders(exchange, httpHeaders, UniqueHeaderEnum.REQ_UNIQUE_HEADER);
-        return Mono.from(httpClient.headers(headers -> {
+        return Mono.from(selectHttpClient(exchange, uri).headers(headers -> {
             httpHeaders.forEach(headers::set);
             headers.remove(HttpHeaders.HOST);
             Boolean preserveHost = exchange.getAttributeOrDefault(Constants.PRESERVE_HOST, Boolean.FALSE);
@@ -81,19 +88,25 @@ public class NettyHttpClientPlugin extends AbstractHttpClientPlugin<HttpClientRe
                     if (StringUtils.isNotBlank(contentTypeValue)) {
                         exchange.getAttributes().put(Constants.ORIGINAL_RESPONSE_CONTENT_TYPE_ATTR, contentTypeValue);
                     }
-                    HttpStatus status = HttpStatus.resolve(res.status().code());
-                    if (Objects.nonNull(status)) {
-                        response.setStatusCode(status);
-                    } else if (response instanceof AbstractServerHttpResponse) {
-                        response.setRawStatusCode(res.status().code());
-                    } else {
-                        throw new IllegalStateException("Unable to set status code on response: " + res.status().code() + ", " + response.getClass());
-                    }
+                    // the unknown status code is kept as well, the response may be the attempt of a hedged request.
+                    response.setStatusCode(HttpStatusCode.valueOf(res.status().code()));
                     response.getHeaders().putAll(headers);
                     return Mono.just(res);
                 }));
     }
 
+    @Override
+    protected int statusCode(final HttpClientResponse response) {
+        return response.status().code();
+    }
+
+    private HttpClient selectHttpClient(final ServerWebExchange exchange, final URI uri) {
+        if (!Boolean.TRUE.equals(exchange.getAttribute(Constants.HTTP_UPSTREAM_HTTP2))) {
+            return httpClient;
+        }
+        // the multiplexed connections, h2 negotiated by alpn with tls and h2c with prior knowledge without tls.
+        return "https".equalsIgnoreCase(uri.getScheme()) ? h2Client : h2cClient;
+    }
 
     @Override
     public int getOrder() {
@@ -105,6 +118,11 @@ public class NettyHttpClientPlugin extends AbstractHttpClientPlugin<HttpClientRe
         return skipExceptHttpLike(exchange);
     }
 
+    @Override
+    public List<RpcTypeEnum> supportedRpcTypes() {
+        return RpcTypeEnum.acquireHttpLikes();
+    }
+
     @Override
     public String named() {
         return PluginEnum.NETTY_HTTP_CLIENT.getName();
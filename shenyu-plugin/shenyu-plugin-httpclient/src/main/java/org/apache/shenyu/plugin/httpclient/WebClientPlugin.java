@@ -20,6 +20,7 @@ package org.apache.shenyu.plugin.httpclient;
 import org.apache.shenyu.common.constant.Constants;
 import org.apache.shenyu.common.enums.PluginEnum;
 import org.apache.shenyu.common.enums.ResultEnum;
+import org.apache.shenyu.common.enums.RpcTypeEnum;
 import org.apache.shenyu.common.enums.UniqueHeaderEnum;
 import org.apache.shenyu.plugin.base.utils.MediaTypeUtils;
 import org.springframework.core.io.buffer.DataBuffer;
@@ -35,6 +36,7 @@ import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
 import java.net.URI;
+import java.util.List;
 
 /**
  * The type Web client plugin.
@@ -98,6 +100,11 @@ public class WebClientPlugin extends AbstractHttpClientPlugin<ResponseEntity<Flu
                 });
     }
 
+    @Override
+    protected int statusCode(final ResponseEntity<Flux<DataBuffer>> response) {
+        return response.getStatusCode().value();
+    }
+
     @Override
     public int getOrder() {
         return PluginEnum.WEB_CLIENT.getCode();
@@ -112,4 +119,9 @@ public class WebClientPlugin extends AbstractHttpClientPlugin<ResponseEntity<Flu
     public boolean skip(final ServerWebExchange exchange) {
         return skipExceptHttpLike(exchange);
     }
+
+    @Override
+    public List<RpcTypeEnum> supportedRpcTypes() {
+        return RpcTypeEnum.acquireHttpLikes();
+    }
 }
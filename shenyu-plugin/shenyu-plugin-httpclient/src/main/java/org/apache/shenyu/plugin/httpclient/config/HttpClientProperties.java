@@ -437,6 +437,12 @@ public class HttpClientProperties {
          */
         private Boolean metrics = Boolean.FALSE;
 
+        /**
+         * The max concurrent streams of a http2 connection to the upstream,
+         * if NULL it is limited by the settings of the upstream.
+         */
+        private Long maxConcurrentStreams;
+
         /**
          * Gets type.
          *
@@ -571,6 +577,24 @@ public class HttpClientProperties {
         public void setMetrics(final Boolean metrics) {
             this.metrics = metrics;
         }
+
+        /**
+         * Gets max concurrent streams.
+         *
+         * @return the max concurrent streams
+         */
+        public Long getMaxConcurrentStreams() {
+            return maxConcurrentStreams;
+        }
+
+        /**
+         * Sets max concurrent streams.
+         *
+         * @param maxConcurrentStreams the max concurrent streams
+         */
+        public void setMaxConcurrentStreams(final Long maxConcurrentStreams) {
+            this.maxConcurrentStreams = maxConcurrentStreams;
+        }
         
         /**
          * Gets metrics.
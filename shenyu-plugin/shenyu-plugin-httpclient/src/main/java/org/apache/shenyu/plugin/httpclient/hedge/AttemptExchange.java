@@ -0,0 +1,116 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.shenyu.plugin.httpclient.hedge;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.http.server.reactive.ServerHttpResponseDecorator;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.server.ServerWebExchangeDecorator;
+
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * The exchange of a hedged attempt, the attempt writes the attributes, the status and the headers of the upstream response
+ * into its own copy instead of the exchange, so the attempts racing each other cannot mix their responses.
+ * The copy starts with the headers of the exchange, and only the winner is committed to the exchange.
+ */
+public final class AttemptExchange extends ServerWebExchangeDecorator {
+
+    private final Map<String, Object> attributes;
+
+    private final AttemptResponse response;
+
+    /**
+     * Instantiates a new attempt exchange.
+     *
+     * @param delegate the exchange
+     */
+    public AttemptExchange(final ServerWebExchange delegate) {
+        super(delegate);
+        this.attributes = new ConcurrentHashMap<>(delegate.getAttributes());
+        this.response = new AttemptResponse(delegate.getResponse());
+    }
+
+    @Override
+    public Map<String, Object> getAttributes() {
+        return attributes;
+    }
+
+    @Override
+    public ServerHttpResponse getResponse() {
+        return response;
+    }
+
+    /**
+     * Copy the attributes, the status and the headers written by the attempt to the exchange,
+     * the headers of the exchange are replaced by the headers of the attempt, so the removed ones are removed as well.
+     */
+    public void commit() {
+        final Map<String, Object> delegateAttributes = getDelegate().getAttributes();
+        attributes.forEach((key, value) -> {
+            if (!Objects.equals(delegateAttributes.get(key), value)) {
+                delegateAttributes.put(key, value);
+            }
+        });
+        final ServerHttpResponse delegateResponse = getDelegate().getResponse();
+        if (Objects.nonNull(response.statusCode)) {
+            delegateResponse.setStatusCode(response.statusCode);
+        }
+        delegateResponse.getHeaders().clear();
+        delegateResponse.getHeaders().putAll(response.headers);
+    }
+
+    private static final class AttemptResponse extends ServerHttpResponseDecorator {
+
+        private final HttpHeaders headers = new HttpHeaders();
+
+        private volatile HttpStatusCode statusCode;
+
+        AttemptResponse(final ServerHttpResponse delegate) {
+            super(delegate);
+            // the headers written by the plugins before the request are kept.
+            headers.putAll(delegate.getHeaders());
+        }
+
+        @Override
+        public boolean setStatusCode(final HttpStatusCode status) {
+            this.statusCode = status;
+            return true;
+        }
+
+        @Override
+        public HttpStatusCode getStatusCode() {
+            return Objects.nonNull(statusCode) ? statusCode : getDelegate().getStatusCode();
+        }
+
+        @Override
+        @Deprecated
+        public boolean setRawStatusCode(final Integer value) {
+            return setStatusCode(Objects.isNull(value) ? null : HttpStatusCode.valueOf(value));
+        }
+
+        @Override
+        public HttpHeaders getHeaders() {
+            return headers;
+        }
+    }
+}
@@ -0,0 +1,99 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.shenyu.plugin.httpclient.hedge;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * The latency histogram of a selector, the buckets grow by a quarter power of two so that
+ * the percentile is estimated within 19% with a fixed footprint.
+ * The counts are halved once the samples reach the decay threshold, so the recent latencies dominate.
+ */
+public final class LatencyHistogram {
+
+    private static final int SUB_BUCKETS = 4;
+
+    private static final int BUCKETS = 26 * SUB_BUCKETS + 1;
+
+    private static final long MIN_SAMPLES = 100;
+
+    private static final long DECAY_THRESHOLD = 10000;
+
+    private final AtomicLongArray counts = new AtomicLongArray(BUCKETS);
+
+    private final AtomicLong total = new AtomicLong();
+
+    private final AtomicBoolean decaying = new AtomicBoolean();
+
+    /**
+     * Record the latency.
+     *
+     * @param millis the latency in millis
+     */
+    public void record(final long millis) {
+        counts.incrementAndGet(indexOf(millis));
+        if (total.incrementAndGet() >= DECAY_THRESHOLD && decaying.compareAndSet(false, true)) {
+            try {
+                long removed = 0;
+                for (int i = 0; i < BUCKETS; i++) {
+                    final long count = counts.getAndUpdate(i, value -> value >>> 1);
+                    removed += count - (count >>> 1);
+                }
+                total.addAndGet(-removed);
+            } finally {
+                decaying.set(false);
+            }
+        }
+    }
+
+    /**
+     * Estimate the latency percentile.
+     *
+     * @param percentile the percentile, eg. 95
+     * @return the latency in millis, or -1 if the samples are not enough
+     */
+    public long percentile(final double percentile) {
+        final long samples = total.get();
+        if (samples < MIN_SAMPLES) {
+            return -1;
+        }
+        final long rank = (long) Math.ceil(samples * Math.min(percentile, 100) / 100);
+        long accumulated = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            accumulated += counts.get(i);
+            if (accumulated >= rank) {
+                return upperBound(i);
+            }
+        }
+        return upperBound(BUCKETS - 1);
+    }
+
+    private static int indexOf(final long millis) {
+        if (millis <= 1) {
+            return 0;
+        }
+        final int index = (int) Math.ceil(Math.log(millis) / Math.log(2) * SUB_BUCKETS);
+        return Math.min(index, BUCKETS - 1);
+    }
+
+    private static long upperBound(final int index) {
+        return (long) Math.ceil(Math.pow(2, (double) index / SUB_BUCKETS));
+    }
+}
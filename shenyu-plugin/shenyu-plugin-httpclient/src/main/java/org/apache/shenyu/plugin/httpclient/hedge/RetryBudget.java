@@ -0,0 +1,73 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.shenyu.plugin.httpclient.hedge;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * The retry budget of a selector, every request deposits a ratio of a retry and every retry
+ * withdraws a whole one, so the retries cannot exceed the ratio of the requests when the upstreams are failing.
+ * The balance is capped so that an idle selector cannot save up a retry storm.
+ */
+public final class RetryBudget {
+
+    private static final long SCALE = 1000;
+
+    private final long maxBalance;
+
+    private final AtomicLong balance;
+
+    /**
+     * Instantiates a new retry budget.
+     *
+     * @param maxRetries the max retries the budget can save up
+     */
+    public RetryBudget(final int maxRetries) {
+        this.maxBalance = Math.max(1, maxRetries) * SCALE;
+        this.balance = new AtomicLong(maxBalance);
+    }
+
+    /**
+     * Deposit the ratio of a retry for a request.
+     *
+     * @param ratio the retry ratio
+     */
+    public void deposit(final double ratio) {
+        final long amount = (long) (Math.max(0, ratio) * SCALE);
+        if (amount > 0) {
+            balance.updateAndGet(current -> Math.min(maxBalance, current + amount));
+        }
+    }
+
+    /**
+     * Try to withdraw a retry.
+     *
+     * @return true if the retry is allowed
+     */
+    public boolean tryWithdraw() {
+        while (true) {
+            final long current = balance.get();
+            if (current < SCALE) {
+                return false;
+            }
+            if (balance.compareAndSet(current, current - SCALE)) {
+                return true;
+            }
+        }
+    }
+}
@@ -0,0 +1,80 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.shenyu.plugin.httpclient.pool;
+
+/**
+ * The metrics of a connection pool of a remote address, they are scraped by the jmx collector of the metrics plugin.
+ */
+public interface ConnectionPoolMetricsMXBean {
+
+    /**
+     * Gets the pool name.
+     *
+     * @return the pool name
+     */
+    String getPoolName();
+
+    /**
+     * Gets the remote address.
+     *
+     * @return the remote address
+     */
+    String getRemoteAddress();
+
+    /**
+     * Gets the connections acquired by requests.
+     *
+     * @return the active connections
+     */
+    int getActiveConnections();
+
+    /**
+     * Gets the idle connections.
+     *
+     * @return the idle connections
+     */
+    int getIdleConnections();
+
+    /**
+     * Gets the allocated connections, both active and idle.
+     *
+     * @return the allocated connections
+     */
+    int getAllocatedConnections();
+
+    /**
+     * Gets the requests waiting for a connection.
+     *
+     * @return the pending acquires
+     */
+    int getPendingAcquires();
+
+    /**
+     * Gets the max connections.
+     *
+     * @return the max connections
+     */
+    int getMaxConnections();
+
+    /**
+     * Gets the max pending acquires.
+     *
+     * @return the max pending acquires
+     */
+    int getMaxPendingAcquires();
+}
@@ -0,0 +1,139 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.shenyu.plugin.httpclient.pool;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import reactor.netty.resources.ConnectionPoolMetrics;
+import reactor.netty.resources.ConnectionProvider;
+
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+import java.net.SocketAddress;
+
+/**
+ * Register the metrics of the connection pools to the platform MBean server, one per pool of a remote address.
+ */
+public final class ConnectionPoolMetricsRegistrar implements ConnectionProvider.MeterRegistrar {
+
+    private static final Logger LOG = LoggerFactory.getLogger(ConnectionPoolMetricsRegistrar.class);
+
+    private static final ConnectionPoolMetricsRegistrar INSTANCE = new ConnectionPoolMetricsRegistrar();
+
+    private static final String OBJECT_NAME_PREFIX = "org.apache.shenyu:type=ConnectionPool";
+
+    private ConnectionPoolMetricsRegistrar() {
+    }
+
+    /**
+     * Gets instance.
+     *
+     * @return the instance
+     */
+    public static ConnectionPoolMetricsRegistrar getInstance() {
+        return INSTANCE;
+    }
+
+    @Override
+    public void registerMetrics(final String poolName, final String id, final SocketAddress remoteAddress, final ConnectionPoolMetrics metrics) {
+        MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+        try {
+            ObjectName objectName = objectName(poolName, id, remoteAddress);
+            if (!server.isRegistered(objectName)) {
+                server.registerMBean(new PoolMetrics(poolName, String.valueOf(remoteAddress), metrics), objectName);
+            }
+        } catch (JMException e) {
+            LOG.warn("register connection pool metrics error, pool: {}, remote address: {}", poolName, remoteAddress, e);
+        }
+    }
+
+    @Override
+    public void deRegisterMetrics(final String poolName, final String id, final SocketAddress remoteAddress) {
+        MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+        try {
+            ObjectName objectName = objectName(poolName, id, remoteAddress);
+            if (server.isRegistered(objectName)) {
+                server.unregisterMBean(objectName);
+            }
+        } catch (JMException e) {
+            LOG.warn("deregister connection pool metrics error, pool: {}, remote address: {}", poolName, remoteAddress, e);
+        }
+    }
+
+    private static ObjectName objectName(final String poolName, final String id, final SocketAddress remoteAddress) throws JMException {
+        return new ObjectName(OBJECT_NAME_PREFIX + ",name=" + ObjectName.quote(poolName)
+                + ",remoteAddress=" + ObjectName.quote(String.valueOf(remoteAddress)) + ",id=" + ObjectName.quote(id));
+    }
+
+    private static final class PoolMetrics implements ConnectionPoolMetricsMXBean {
+
+        private final String poolName;
+
+        private final String remoteAddress;
+
+        private final ConnectionPoolMetrics metrics;
+
+        PoolMetrics(final String poolName, final String remoteAddress, final ConnectionPoolMetrics metrics) {
+            this.poolName = poolName;
+            this.remoteAddress = remoteAddress;
+            this.metrics = metrics;
+        }
+
+        @Override
+        public String getPoolName() {
+            return poolName;
+        }
+
+        @Override
+        public String getRemoteAddress() {
+            return remoteAddress;
+        }
+
+        @Override
+        public int getActiveConnections() {
+            return metrics.acquiredSize();
+        }
+
+        @Override
+        public int getIdleConnections() {
+            return metrics.idleSize();
+        }
+
+        @Override
+        public int getAllocatedConnections() {
+            return metrics.allocatedSize();
+        }
+
+        @Override
+        public int getPendingAcquires() {
+            return metrics.pendingAcquireSize();
+        }
+
+        @Override
+        public int getMaxConnections() {
+            return metrics.maxAllocatedSize();
+        }
+
+        @Override
+        public int getMaxPendingAcquires() {
+            return metrics.maxPendingAcquireSize();
+        }
+    }
+}
@@ -0,0 +1,212 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.shenyu.plugin.httpclient.pool;
+
+import io.netty.resolver.AddressResolverGroup;
+import org.apache.shenyu.common.constant.Constants;
+import org.apache.shenyu.loadbalancer.cache.UpstreamCacheManager;
+import org.apache.shenyu.loadbalancer.entity.UpstreamConnectionPool;
+import org.apache.shenyu.plugin.httpclient.config.HttpClientProperties;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.netty.Connection;
+import reactor.netty.ConnectionObserver;
+import reactor.netty.http.client.Http2AllocationStrategy;
+import reactor.netty.resources.ConnectionProvider;
+import reactor.netty.transport.TransportConfig;
+
+import java.net.InetSocketAddress;
+import java.net.SocketAddress;
+import java.time.Duration;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+import java.util.stream.LongStream;
+
+/**
+ * The connection provider partitioned by upstream, the upstreams with a dedicated connection pool
+ * acquire the connections from their own pool, and the others from the shared pool.
+ * The dedicated pool is rebuilt when its settings of the upstream are changed, and disposed
+ * once the upstream is removed, the http2 connections are pooled by the shared settings.
+ */
+public final class UpstreamConnectionProvider implements ConnectionProvider {
+
+    private static final Logger LOG = LoggerFactory.getLogger(UpstreamConnectionProvider.class);
+
+    private final ConnectionProvider sharedProvider;
+
+    private final HttpClientProperties.Pool pool;
+
+    private final Map<String, Partition> partitions = new ConcurrentHashMap<>();
+
+    private final Consumer<String> removedListener = this::remove;
+
+    /**
+     * Instantiates a new upstream connection provider.
+     *
+     * @param sharedProvider the shared connection provider
+     * @param pool the pool properties
+     */
+    public UpstreamConnectionProvider(final ConnectionProvider sharedProvider, final HttpClientProperties.Pool pool) {
+        this.sharedProvider = sharedProvider;
+        this.pool = pool;
+        UpstreamCacheManager.getInstance().addConnectionPoolRemovedListener(removedListener);
+    }
+
+    @Override
+    public Mono<? extends Connection> acquire(final TransportConfig config, final ConnectionObserver connectionObserver,
+                                              final Supplier<? extends SocketAddress> remoteAddress, final AddressResolverGroup<?> resolverGroup) {
+        final SocketAddress address = Objects.isNull(remoteAddress) ? null : remoteAddress.get();
+        if (!(address instanceof InetSocketAddress)) {
+            return sharedProvider.acquire(config, connectionObserver, remoteAddress, resolverGroup);
+        }
+        final InetSocketAddress inetAddress = (InetSocketAddress) address;
+        final String url = inetAddress.getHostString() + Constants.COLONS + inetAddress.getPort();
+        final Partition partition = obtainPartition(url, UpstreamCacheManager.getInstance().findConnectionPool(url));
+        final ConnectionProvider provider = Objects.isNull(partition) ? sharedProvider : partition.provider;
+        return provider.acquire(config, connectionObserver, () -> address, resolverGroup);
+    }
+
+    @Override
+    public Mono<Void> disposeLater() {
+        UpstreamCacheManager.getInstance().removeConnectionPoolRemovedListener(removedListener);
+        return Flux.fromIterable(partitions.values())
+                .flatMap(partition -> partition.provider.disposeLater())
+                .then(sharedProvider.disposeLater())
+                .doFinally(signal -> partitions.clear());
+    }
+
+    @Override
+    public void disposeWhen(final SocketAddress address) {
+        sharedProvider.disposeWhen(address);
+        partitions.values().forEach(partition -> partition.provider.disposeWhen(address));
+    }
+
+    @Override
+    public boolean isDisposed() {
+        return sharedProvider.isDisposed();
+    }
+
+    @Override
+    public int maxConnections() {
+        return sharedProvider.maxConnections();
+    }
+
+    @Override
+    public Map<SocketAddress, Integer> maxConnectionsPerHost() {
+        return sharedProvider.maxConnectionsPerHost();
+    }
+
+    @Override
+    public Builder mutate() {
+        // the http2 pools are derived from the shared pool, the streams of a connection are limited by the allocation strategy.
+        final Builder builder = sharedProvider.mutate();
+        if (Objects.isNull(builder)) {
+            return null;
+        }
+        // named apart, so the metrics of the http2 pools are not mixed with the shared and the dedicated pools.
+        builder.name(sharedProvider.name() + "-h2");
+        final Long maxConcurrentStreams = pool.getMaxConcurrentStreams();
+        if (Objects.nonNull(maxConcurrentStreams) && maxConcurrentStreams > 0) {
+            final int maxConnections = sharedProvider.maxConnections();
+            builder.allocationStrategy(Http2AllocationStrategy.builder()
+                    .maxConcurrentStreams(maxConcurrentStreams)
+                    .maxConnections(maxConnections > 0 ? maxConnections : Integer.MAX_VALUE)
+                    .build());
+        }
+        return builder;
+    }
+
+    @Override
+    public String name() {
+        return sharedProvider.name();
+    }
+
+    private Partition obtainPartition(final String url, final UpstreamConnectionPool connectionPool) {
+        final Partition partition = partitions.get(url);
+        if (Objects.nonNull(partition) && partition.connectionPool.equals(connectionPool)) {
+            return partition;
+        }
+        if (Objects.isNull(connectionPool)) {
+            if (Objects.nonNull(partition) && partitions.remove(url, partition)) {
+                dispose(url, partition);
+            }
+            return null;
+        }
+        return partitions.compute(url, (key, current) -> {
+            if (Objects.nonNull(current) && current.connectionPool.equals(connectionPool)) {
+                return current;
+            }
+            if (Objects.nonNull(current)) {
+                dispose(key, current);
+            }
+            LOG.info("create the dedicated connection pool of upstream {}, {}", key, connectionPool);
+            return new Partition(connectionPool, buildProvider(key, connectionPool));
+        });
+    }
+
+    private ConnectionProvider buildProvider(final String url, final UpstreamConnectionPool connectionPool) {
+        final ConnectionProvider.Builder builder = ConnectionProvider.builder(pool.getName() + "-" + url)
+                .maxConnections(connectionPool.getMaxConnections())
+                .pendingAcquireTimeout(Duration.ofMillis(pool.getAcquireTimeout()))
+                .metrics(true, ConnectionPoolMetricsRegistrar::getInstance);
+        if (connectionPool.getPendingAcquireMaxCount() != 0) {
+            builder.pendingAcquireMaxCount(connectionPool.getPendingAcquireMaxCount());
+        }
+        if (connectionPool.getMaxIdleTime() > 0) {
+            builder.maxIdleTime(Duration.ofMillis(connectionPool.getMaxIdleTime()));
+        }
+        if (connectionPool.getMaxLifeTime() > 0) {
+            builder.maxLifeTime(Duration.ofMillis(connectionPool.getMaxLifeTime()));
+        }
+        // evict the idle and expired connections in background, so they are closed without a request of the upstream.
+        LongStream.of(connectionPool.getMaxIdleTime(), connectionPool.getMaxLifeTime())
+                .filter(time -> time > 0)
+                .min()
+                .ifPresent(time -> builder.evictInBackground(Duration.ofMillis(Objects.isNull(pool.getEvictionInterval()) ? time : pool.getEvictionInterval())));
+        return builder.build();
+    }
+
+    private void remove(final String url) {
+        final Partition partition = partitions.remove(url);
+        if (Objects.nonNull(partition)) {
+            dispose(url, partition);
+        }
+    }
+
+    private void dispose(final String url, final Partition partition) {
+        LOG.info("dispose the dedicated connection pool of upstream {}", url);
+        partition.provider.disposeLater().subscribe();
+    }
+
+    private static final class Partition {
+
+        private final UpstreamConnectionPool connectionPool;
+
+        private final ConnectionProvider provider;
+
+        Partition(final UpstreamConnectionPool connectionPool, final ConnectionProvider provider) {
+            this.connectionPool = connectionPool;
+            this.provider = provider;
+        }
+    }
+}
@@ -0,0 +1,122 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.shenyu.plugin.httpclient;
+
+import org.apache.shenyu.common.constant.Constants;
+import org.apache.shenyu.loadbalancer.cache.UpstreamCacheManager;
+import org.apache.shenyu.loadbalancer.entity.Upstream;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Collections;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * The test case for {@link HedgedRetryStrategy}.
+ */
+public final class HedgedRetryStrategyTest {
+
+    private static final String SELECTOR_ID = "hedgedRaceSelector";
+
+    private static final URI PRIMARY_URI = URI.create("http://127.0.0.1:18080/test");
+
+    private static final String UPSTREAM_HEADER = "X-Upstream";
+
+    private static final String GATEWAY_HEADER = "X-Gateway";
+
+    @Test
+    public void testSlowPrimaryRacingFastHedge() {
+        UpstreamCacheManager.getInstance().submit(SELECTOR_ID, Arrays.asList(
+                Upstream.builder().url("127.0.0.1:18080").status(true).build(),
+                Upstream.builder().url("127.0.0.1:18081").status(true).build()));
+        HedgedRetryStrategy<String> strategy = new HedgedRetryStrategy<>(new RacingHttpClientPlugin());
+        Duration duration = Duration.ofSeconds(5);
+        // the default retry strategy is used until the latency samples are enough.
+        for (int i = 0; i < 100; i++) {
+            StepVerifier.create(strategy.execute(Mono.just("warmup"), buildExchange(), duration, 0))
+                    .expectNext("warmup")
+                    .verifyComplete();
+        }
+        ServerWebExchange exchange = buildExchange();
+        exchange.getResponse().getHeaders().add(GATEWAY_HEADER, "shenyu");
+        StepVerifier.create(strategy.execute(Mono.just("unused"), exchange, duration, 0))
+                .expectNext("127.0.0.1:18081")
+                .verifyComplete();
+        // only the response of the hedge is written to the exchange, the primary has written into its own attempt.
+        assertEquals("127.0.0.1:18081", exchange.getAttribute(Constants.CLIENT_RESPONSE_ATTR));
+        assertEquals(HttpStatus.ACCEPTED, exchange.getResponse().getStatusCode());
+        assertEquals(Collections.singletonList("127.0.0.1:18081"), exchange.getResponse().getHeaders().get(UPSTREAM_HEADER));
+        // the headers written before the request are kept once.
+        assertEquals(Collections.singletonList("shenyu"), exchange.getResponse().getHeaders().get(GATEWAY_HEADER));
+    }
+
+    private ServerWebExchange buildExchange() {
+        ServerWebExchange exchange = MockServerWebExchange.from(MockServerHttpRequest.get("/test")
+                .remoteAddress(new InetSocketAddress("127.0.0.1", 9999)).build());
+        exchange.getAttributes().put(Constants.DIVIDE_SELECTOR_ID, SELECTOR_ID);
+        exchange.getAttributes().put(Constants.HTTP_URI, PRIMARY_URI);
+        exchange.getAttributes().put(Constants.REWRITE_URI, "/test");
+        exchange.getAttributes().put(Constants.LOAD_BALANCE, "roundRobin");
+        return exchange;
+    }
+
+    /**
+     * The primary upstream writes its response into the exchange at once but completes slowly, the other one is fast.
+     */
+    private static final class RacingHttpClientPlugin extends AbstractHttpClientPlugin<String> {
+
+        @Override
+        protected Mono<String> doRequest(final ServerWebExchange exchange, final String httpMethod, final URI uri, final Flux<DataBuffer> body) {
+            return Mono.defer(() -> {
+                final String upstream = uri.getHost() + Constants.COLONS + uri.getPort();
+                final boolean slow = PRIMARY_URI.getPort() == uri.getPort();
+                exchange.getAttributes().put(Constants.CLIENT_RESPONSE_ATTR, upstream);
+                exchange.getResponse().setStatusCode(slow ? HttpStatus.OK : HttpStatus.ACCEPTED);
+                exchange.getResponse().getHeaders().add(UPSTREAM_HEADER, upstream);
+                return Mono.delay(Duration.ofMillis(slow ? 3000 : 10)).thenReturn(upstream);
+            });
+        }
+
+        @Override
+        protected int statusCode(final String response) {
+            return HttpStatus.OK.value();
+        }
+
+        @Override
+        public int getOrder() {
+            return 0;
+        }
+
+        @Override
+        public String named() {
+            return "racing";
+        }
+    }
+}
@@ -19,6 +19,7 @@ package org.apache.shenyu.plugin.httpclient;
 
 import io.netty.handler.codec.http.HttpHeaderNames;
 import io.netty.handler.codec.http.HttpHeaderValues;
+import io.netty.handler.codec.http2.HttpConversionUtil.ExtensionHeaderNames;
 import org.apache.shenyu.common.constant.Constants;
 import org.apache.shenyu.common.enums.PluginEnum;
 import org.apache.shenyu.common.enums.RpcTypeEnum;
@@ -36,8 +37,12 @@ import org.springframework.context.ConfigurableApplicationContext;
 import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
 import org.springframework.mock.web.server.MockServerWebExchange;
 import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
+import reactor.netty.DisposableServer;
+import reactor.netty.http.HttpProtocol;
 import reactor.netty.http.client.HttpClient;
+import reactor.netty.http.server.HttpServer;
 import reactor.test.StepVerifier;
 
 import java.net.URI;
@@ -88,6 +93,33 @@ public final class NettyHttpClientPluginTest {
         StepVerifier.create(nettyHttpClientPlugin.execute(exchange, chain)).expectSubscription().verifyError();
     }
 
+    /**
+     * test case for NettyHttpClientPlugin with the http2 upstream.
+     */
+    @Test
+    public void testDoRequestWithHttp2() {
+        DisposableServer server = HttpServer.create()
+                .host("127.0.0.1")
+                .port(0)
+                .protocol(HttpProtocol.H2C)
+                .handle((request, response) -> response.sendString(Mono.just(request.protocol())))
+                .bindNow();
+        try {
+            URI uri = URI.create("http://127.0.0.1:" + server.port() + "/test");
+            ServerWebExchange exchange = MockServerWebExchange.from(MockServerHttpRequest.get("/test").build());
+            exchange.getAttributes().put(Constants.HTTP_UPSTREAM_HTTP2, Boolean.TRUE);
+            // the http2 frames are converted to the http1 objects, the stream id is kept in the headers.
+            StepVerifier.create(nettyHttpClientPlugin.doRequest(exchange, "GET", uri, Flux.empty()))
+                    .assertNext(response -> {
+                        assertTrue(response.responseHeaders().contains(ExtensionHeaderNames.STREAM_ID.text()));
+                        assertEquals(200, nettyHttpClientPlugin.statusCode(response));
+                    })
+                    .verifyComplete();
+        } finally {
+            server.disposeNow();
+        }
+    }
+
     /**
      * test case for NettyHttpClientPlugin {@link NettyHttpClientPlugin#skip(ServerWebExchange)}.
      */
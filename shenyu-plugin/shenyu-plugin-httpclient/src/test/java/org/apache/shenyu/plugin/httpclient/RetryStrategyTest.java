@@ -17,15 +17,28 @@
 
 package org.apache.shenyu.plugin.httpclient;
 
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.util.Arrays;
 import java.util.concurrent.TimeoutException;
+import org.apache.shenyu.common.constant.Constants;
+import org.apache.shenyu.loadbalancer.cache.UpstreamCacheManager;
+import org.apache.shenyu.loadbalancer.entity.Upstream;
 import org.junit.jupiter.api.Test;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
 import org.springframework.web.server.ServerWebExchange;
 import reactor.core.publisher.Mono;
 import reactor.test.StepVerifier;
 
 import java.time.Duration;
 
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
 
 /**
  * retry strategy test.
@@ -102,4 +115,38 @@ public class RetryStrategyTest {
                 .expectError(TimeoutException.class)
                 .verify();
     }
+
+    @Test
+    void testHedgedRetryStrategyExecute() {
+        AbstractHttpClientPlugin<String> httpClientPlugin = mock(AbstractHttpClientPlugin.class);
+        when(httpClientPlugin.requestUpstream(any(), eq(URI.create("http://127.0.0.1:8080/test")), any(), any()))
+                .thenReturn(Mono.delay(Duration.ofSeconds(3)).thenReturn("primary"));
+        when(httpClientPlugin.requestUpstream(any(), eq(URI.create("http://127.0.0.1:8081/test")), any(), any())).thenReturn(Mono.just("hedged"));
+        UpstreamCacheManager.getInstance().submit("hedgedSelector", Arrays.asList(
+                Upstream.builder().url("127.0.0.1:8080").status(true).build(),
+                Upstream.builder().url("127.0.0.1:8081").status(true).build()));
+        ServerWebExchange exchange = MockServerWebExchange.from(MockServerHttpRequest.get("/test")
+                .remoteAddress(new InetSocketAddress("127.0.0.1", 9999)).build());
+        exchange.getAttributes().put(Constants.DIVIDE_SELECTOR_ID, "hedgedSelector");
+        exchange.getAttributes().put(Constants.HTTP_URI, URI.create("http://127.0.0.1:8080/test"));
+        exchange.getAttributes().put(Constants.REWRITE_URI, "/test");
+        exchange.getAttributes().put(Constants.LOAD_BALANCE, "roundRobin");
+        exchange.getAttributes().put(Constants.HTTP_HEDGE_PERCENTILE, 90.0);
+        HedgedRetryStrategy<String> strategy = new HedgedRetryStrategy<>(httpClientPlugin);
+        Duration duration = Duration.ofSeconds(5);
+
+        // the default retry strategy is used until the latency samples are enough.
+        for (int i = 0; i < 100; i++) {
+            StepVerifier.create(strategy.execute(Mono.just("primary"), exchange, duration, 0))
+                    .expectNext("primary")
+                    .verifyComplete();
+        }
+        verify(httpClientPlugin, never()).requestUpstream(any(), any(), any(), any());
+
+        // the slow request is hedged to the other upstream after the percentile latency.
+        StepVerifier.create(strategy.execute(Mono.just("primary"), exchange, duration, 0))
+                .expectNext("hedged")
+                .verifyComplete();
+        verify(httpClientPlugin).requestUpstream(any(), eq(URI.create("http://127.0.0.1:8081/test")), any(), any());
+    }
 }
@@ -0,0 +1,58 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.shenyu.plugin.httpclient.hedge;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * The test case for {@link LatencyHistogram}.
+ */
+public final class LatencyHistogramTest {
+
+    @Test
+    public void testPercentile() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        assertEquals(-1, histogram.percentile(95));
+        for (int i = 0; i < 90; i++) {
+            histogram.record(10);
+        }
+        for (int i = 0; i < 10; i++) {
+            histogram.record(1000);
+        }
+        long p50 = histogram.percentile(50);
+        assertTrue(p50 >= 10 && p50 <= 12);
+        long p99 = histogram.percentile(99);
+        assertTrue(p99 >= 1000 && p99 < 1190);
+    }
+
+    @Test
+    public void testDecay() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        for (int i = 0; i < 9999; i++) {
+            histogram.record(1000);
+        }
+        for (int i = 0; i < 10000; i++) {
+            histogram.record(1);
+        }
+        // the old samples are halved twice, the recent samples dominate.
+        assertEquals(1, histogram.percentile(70));
+    }
+}
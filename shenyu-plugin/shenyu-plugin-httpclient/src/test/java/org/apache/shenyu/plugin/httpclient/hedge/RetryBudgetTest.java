@@ -0,0 +1,53 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.shenyu.plugin.httpclient.hedge;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * The test case for {@link RetryBudget}.
+ */
+public final class RetryBudgetTest {
+
+    @Test
+    public void testWithdraw() {
+        RetryBudget budget = new RetryBudget(2);
+        assertTrue(budget.tryWithdraw());
+        assertTrue(budget.tryWithdraw());
+        assertFalse(budget.tryWithdraw());
+        for (int i = 0; i < 9; i++) {
+            budget.deposit(0.1);
+            assertFalse(budget.tryWithdraw());
+        }
+        budget.deposit(0.1);
+        assertTrue(budget.tryWithdraw());
+    }
+
+    @Test
+    public void testCapped() {
+        RetryBudget budget = new RetryBudget(1);
+        for (int i = 0; i < 100; i++) {
+            budget.deposit(0.5);
+        }
+        assertTrue(budget.tryWithdraw());
+        assertFalse(budget.tryWithdraw());
+    }
+}
@@ -0,0 +1,136 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.shenyu.plugin.httpclient.pool;
+
+import org.apache.shenyu.loadbalancer.cache.UpstreamCacheManager;
+import org.apache.shenyu.loadbalancer.entity.Upstream;
+import org.apache.shenyu.loadbalancer.entity.UpstreamConnectionPool;
+import org.apache.shenyu.plugin.httpclient.config.HttpClientProperties;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Mono;
+import reactor.netty.DisposableServer;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.http.server.HttpServer;
+import reactor.netty.resources.ConnectionProvider;
+
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+import java.util.Collections;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * The test case for {@link UpstreamConnectionProvider}.
+ */
+public final class UpstreamConnectionProviderTest {
+
+    private static final String SELECTOR_ID = "upstreamConnectionProvider";
+
+    private DisposableServer server;
+
+    private UpstreamConnectionProvider connectionProvider;
+
+    @BeforeEach
+    public void setUp() {
+        server = HttpServer.create().host("127.0.0.1").port(0)
+                .handle((request, response) -> response.sendString(Mono.just("ok")))
+                .bindNow();
+        HttpClientProperties.Pool pool = new HttpClientProperties.Pool();
+        pool.setName("shared");
+        ConnectionProvider sharedProvider = ConnectionProvider.builder("shared")
+                .metrics(true, ConnectionPoolMetricsRegistrar::getInstance).build();
+        connectionProvider = new UpstreamConnectionProvider(sharedProvider, pool);
+    }
+
+    @AfterEach
+    public void tearDown() {
+        UpstreamCacheManager.getInstance().removeByKey(SELECTOR_ID);
+        connectionProvider.disposeLater().block();
+        server.disposeNow();
+    }
+
+    @Test
+    public void testSharedPool() throws Exception {
+        assertEquals("ok", request());
+        assertEquals(1, queryPools("shared").size());
+        assertTrue(queryPools("shared-127.0.0.1:" + server.port()).isEmpty());
+    }
+
+    @Test
+    public void testDedicatedPool() throws Exception {
+        String url = "127.0.0.1:" + server.port();
+        UpstreamCacheManager.getInstance().submit(SELECTOR_ID, Collections.singletonList(Upstream.builder().url(url)
+                .status(true).connectionPool(new UpstreamConnectionPool(2, 4, 10000, 0)).build()));
+        assertEquals("ok", request());
+        Set<ObjectName> pools = queryPools("shared-" + url);
+        assertEquals(1, pools.size());
+        MBeanServer mBeanServer = ManagementFactory.getPlatformMBeanServer();
+        ObjectName objectName = pools.iterator().next();
+        assertEquals(2, mBeanServer.getAttribute(objectName, "MaxConnections"));
+        assertEquals(4, mBeanServer.getAttribute(objectName, "MaxPendingAcquires"));
+        awaitReleased(mBeanServer, objectName);
+        assertEquals(0, mBeanServer.getAttribute(objectName, "ActiveConnections"));
+    }
+
+    @Test
+    public void testDedicatedPoolDisposedOnRemove() throws Exception {
+        String url = "127.0.0.1:" + server.port();
+        UpstreamCacheManager.getInstance().submit(SELECTOR_ID, Collections.singletonList(Upstream.builder().url(url)
+                .status(true).connectionPool(new UpstreamConnectionPool(2, 4, 10000, 0)).build()));
+        assertEquals("ok", request());
+        assertEquals(1, queryPools("shared-" + url).size());
+        UpstreamCacheManager.getInstance().removeByKey(SELECTOR_ID);
+        // the pool is disposed asynchronously without a request of the upstream.
+        long deadline = System.currentTimeMillis() + 5000;
+        while (!queryPools("shared-" + url).isEmpty() && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+        assertTrue(queryPools("shared-" + url).isEmpty());
+    }
+
+    @Test
+    public void testHttp2PoolNamedApart() {
+        ConnectionProvider h2Provider = connectionProvider.mutate().build();
+        assertEquals("shared-h2", h2Provider.name());
+        h2Provider.disposeLater().block();
+    }
+
+    private String request() {
+        return HttpClient.create(connectionProvider).get()
+                .uri("http://127.0.0.1:" + server.port() + "/")
+                .responseContent().aggregate().asString().block();
+    }
+
+    private void awaitReleased(final MBeanServer mBeanServer, final ObjectName objectName) throws Exception {
+        // the connection is released to the pool asynchronously after the response is completed.
+        long deadline = System.currentTimeMillis() + 5000;
+        while ((int) mBeanServer.getAttribute(objectName, "ActiveConnections") > 0 && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+    }
+
+    private Set<ObjectName> queryPools(final String poolName) throws Exception {
+        return ManagementFactory.getPlatformMBeanServer()
+                .queryNames(new ObjectName("org.apache.shenyu:type=ConnectionPool,name=" + ObjectName.quote(poolName) + ",*"), null);
+    }
+}
@@ -309,6 +309,8 @@ public class AliyunLogCollectConfig {
                     && Objects.equals(getTtlInDay(), that.getTtlInDay())
                     && Objects.equals(getSampleRate(), that.getSampleRate())
                     && Objects.equals(getBufferQueueSize(), that.getBufferQueueSize())
+                    && Objects.equals(getBatchSize(), that.getBatchSize())
+                    && Objects.equals(getLingerTime(), that.getLingerTime())
                     && Objects.equals(getMaxRequestBody(), that.getMaxRequestBody())
                     && Objects.equals(getMaxResponseBody(), that.getMaxResponseBody());
         }
@@ -317,7 +319,7 @@ public class AliyunLogCollectConfig {
         public int hashCode() {
             return Objects.hash(accessId, accessKey, host, ioThreadCount, logStoreName,
                     projectName, sendThreadCount, shardCount, topic, ttlInDay,
-                    getSampleRate(), getBufferQueueSize(), getMaxRequestBody(), getMaxResponseBody());
+                    getSampleRate(), getBufferQueueSize(), getBatchSize(), getLingerTime(), getMaxRequestBody(), getMaxResponseBody());
         }
     }
 }
@@ -228,13 +228,15 @@ public class ClickHouseLogCollectConfig {
                     && Objects.equals(getTtl(), that.getTtl())
                     && Objects.equals(getSampleRate(), that.getSampleRate())
                     && Objects.equals(getBufferQueueSize(), that.getBufferQueueSize())
+                    && Objects.equals(getBatchSize(), that.getBatchSize())
+                    && Objects.equals(getLingerTime(), that.getLingerTime())
                     && Objects.equals(getMaxResponseBody(), that.getMaxResponseBody())
                     && Objects.equals(getMaxRequestBody(), that.getMaxRequestBody());
         }
 
         @Override
         public int hashCode() {
-            return Objects.hash(host, port, username, password, database, clusterName, engine, ttl);
+            return Objects.hash(host, port, username, password, database, clusterName, engine, ttl, getBatchSize(), getLingerTime());
         }
     }
 
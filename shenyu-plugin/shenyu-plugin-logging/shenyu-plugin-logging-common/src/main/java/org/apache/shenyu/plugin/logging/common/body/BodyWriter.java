@@ -41,6 +41,22 @@ public class BodyWriter {
 
     private final AtomicBoolean isClosed = new AtomicBoolean(false);
 
+    private final int limit;
+
+    private long size;
+
+    public BodyWriter() {
+        this(Integer.MAX_VALUE);
+    }
+
+    /**
+     * the body beyond the limit won't be logged, so it stops copying once the size exceeds the limit.
+     *
+     * @param limit the max size to copy
+     */
+    public BodyWriter(final int limit) {
+        this.limit = limit;
+    }
 
     /**
      * write ByteBuffer.
@@ -48,13 +64,20 @@ public class BodyWriter {
      * @param buffer byte buffer
      */
     public void write(final ByteBuffer buffer) {
-        if (!isClosed.get()) {
-            try {
-                channel.write(buffer);
-            } catch (IOException e) {
-                isClosed.compareAndSet(false, true);
-                LOG.error("write buffer Failed.", e);
-            }
+        size += buffer.remaining();
+        if (isClosed.get()) {
+            return;
+        }
+        if (size > limit) {
+            isClosed.compareAndSet(false, true);
+            stream.reset();
+            return;
+        }
+        try {
+            channel.write(buffer);
+        } catch (IOException e) {
+            isClosed.compareAndSet(false, true);
+            LOG.error("write buffer Failed.", e);
         }
     }
 
@@ -68,12 +91,12 @@ public class BodyWriter {
     }
 
     /**
-     * get stream size.
+     * get the size of the written body, including the part beyond the limit.
      *
-     * @return size of stream
+     * @return size of body
      */
     public int size() {
-        return stream.size();
+        return (int) Math.min(size, Integer.MAX_VALUE);
     }
 
     /**
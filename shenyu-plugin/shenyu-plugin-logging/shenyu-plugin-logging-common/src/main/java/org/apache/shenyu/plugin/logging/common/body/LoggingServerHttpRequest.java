@@ -46,7 +46,7 @@ public class LoggingServerHttpRequest<L extends ShenyuRequestLog> extends Server
     @Override
     @NonNull
     public Flux<DataBuffer> getBody() {
-        BodyWriter writer = new BodyWriter();
+        BodyWriter writer = new BodyWriter(LogCollectConfigUtils.getMaxRequestBody());
         return super.getBody().doOnNext(dataBuffer -> {
             if (LogCollectUtils.isNotBinaryType(getHeaders())) {
                 try (DataBuffer.ByteBufferIterator bufferIterator = dataBuffer.readableByteBuffers()) {
@@ -137,7 +137,7 @@ public class LoggingServerHttpResponse<L extends ShenyuRequestLog> extends Serve
         if (MediaTypeUtils.isByteType(mediaType)) {
             return Flux.from(body).doFinally(signal -> logResponse(shenyuContext, null));
         }
-        BodyWriter writer = new BodyWriter();
+        BodyWriter writer = new BodyWriter(LogCollectConfigUtils.getMaxResponseBody());
         return Flux.from(body).doOnNext(buffer -> {
             if (LogCollectUtils.isNotBinaryType(getHeaders())) {
                 try (DataBuffer.ByteBufferIterator bufferIterator = buffer.readableByteBuffers()) {
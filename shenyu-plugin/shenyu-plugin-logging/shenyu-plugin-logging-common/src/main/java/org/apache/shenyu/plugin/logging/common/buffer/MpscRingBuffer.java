@@ -0,0 +1,153 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.shenyu.plugin.logging.common.buffer;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * A bounded lock-free ring buffer for multiple producers and a single consumer.
+ * Producers claim a slot by a CAS on the tail sequence, every slot has its own sequence
+ * which tells whether it is free to write or ready to read, so the producers never block
+ * and {@link #offer(Object)} fails fast when the buffer is full.
+ *
+ * @param <E> the element type
+ */
+public final class MpscRingBuffer<E> {
+
+    private static final int MAXIMUM_CAPACITY = 1 << 30;
+
+    private final int capacity;
+
+    private final int mask;
+
+    private final AtomicReferenceArray<E> elements;
+
+    private final AtomicLongArray sequences;
+
+    private final AtomicLong tail = new AtomicLong();
+
+    private final AtomicLong head = new AtomicLong();
+
+    /**
+     * Instantiates a new ring buffer.
+     *
+     * @param capacity the expected capacity, it is rounded up to a power of two
+     */
+    public MpscRingBuffer(final int capacity) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("the capacity of ring buffer must be positive: " + capacity);
+        }
+        this.capacity = powerOfTwo(capacity);
+        this.mask = this.capacity - 1;
+        this.elements = new AtomicReferenceArray<>(this.capacity);
+        this.sequences = new AtomicLongArray(this.capacity);
+        for (int i = 0; i < this.capacity; i++) {
+            sequences.set(i, i);
+        }
+    }
+
+    /**
+     * Offer the element, it is safe to be called by multiple threads.
+     *
+     * @param element the element
+     * @return false if the buffer is full
+     */
+    public boolean offer(final E element) {
+        while (true) {
+            final long position = tail.get();
+            final int index = (int) position & mask;
+            final long delta = sequences.get(index) - position;
+            if (delta == 0) {
+                if (tail.compareAndSet(position, position + 1)) {
+                    elements.lazySet(index, element);
+                    // publish the slot to the consumer.
+                    sequences.set(index, position + 1);
+                    return true;
+                }
+            } else if (delta < 0) {
+                return false;
+            }
+        }
+    }
+
+    /**
+     * Drain the published elements, it must be called by the only consumer thread.
+     *
+     * @param target the target list
+     * @param limit the max count to drain
+     * @return the drained count
+     */
+    public int drainTo(final List<E> target, final int limit) {
+        long position = head.get();
+        int count = 0;
+        while (count < limit) {
+            final int index = (int) position & mask;
+            if (sequences.get(index) != position + 1) {
+                break;
+            }
+            target.add(elements.get(index));
+            elements.lazySet(index, null);
+            // release the slot for the round after the next one.
+            sequences.set(index, position + capacity);
+            position++;
+            count++;
+        }
+        if (count > 0) {
+            head.set(position);
+        }
+        return count;
+    }
+
+    /**
+     * Get the count of elements which are claimed but not consumed.
+     *
+     * @return the size
+     */
+    public int size() {
+        final long size = tail.get() - head.get();
+        return (int) Math.max(0, Math.min(size, capacity));
+    }
+
+    /**
+     * Whether the buffer is empty.
+     *
+     * @return true if empty
+     */
+    public boolean isEmpty() {
+        return size() == 0;
+    }
+
+    /**
+     * Get the capacity.
+     *
+     * @return the capacity
+     */
+    public int capacity() {
+        return capacity;
+    }
+
+    private static int powerOfTwo(final int capacity) {
+        if (capacity >= MAXIMUM_CAPACITY) {
+            return MAXIMUM_CAPACITY;
+        }
+        return capacity == 1 ? 1 : Integer.highestOneBit(capacity - 1) << 1;
+    }
+}
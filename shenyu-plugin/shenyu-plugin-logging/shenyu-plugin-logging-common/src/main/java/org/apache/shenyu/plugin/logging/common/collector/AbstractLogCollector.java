@@ -17,13 +17,8 @@
 
 package org.apache.shenyu.plugin.logging.common.collector;
 
-import org.apache.shenyu.common.concurrent.MemorySafeTaskQueue;
 import org.apache.shenyu.common.concurrent.ShenyuThreadFactory;
-import org.apache.shenyu.common.concurrent.ShenyuThreadPoolExecutor;
-import org.apache.shenyu.common.config.ShenyuConfig;
-import org.apache.shenyu.common.constant.Constants;
-import org.apache.shenyu.common.utils.Singleton;
-import org.apache.shenyu.common.utils.ThreadUtils;
+import org.apache.shenyu.plugin.logging.common.buffer.MpscRingBuffer;
 import org.apache.shenyu.plugin.logging.common.client.AbstractLogConsumeClient;
 import org.apache.shenyu.plugin.logging.common.config.GenericGlobalConfig;
 import org.apache.shenyu.plugin.logging.common.constant.GenericLoggingConstant;
@@ -34,13 +29,13 @@ import org.slf4j.LoggerFactory;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
-import java.util.Optional;
-import java.util.concurrent.BlockingQueue;
-import java.util.concurrent.LinkedBlockingDeque;
-import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
 
 import static org.apache.shenyu.plugin.logging.desensitize.api.utils.DataDesensitizeUtils.desensitizeForBody;
 import static org.apache.shenyu.plugin.logging.desensitize.api.utils.DataDesensitizeUtils.desensitizeForSingleWord;
@@ -53,36 +48,67 @@ public abstract class AbstractLogCollector<T extends AbstractLogConsumeClient<?,
 
     private static final Logger LOG = LoggerFactory.getLogger(AbstractLogCollector.class);
 
-    private int bufferSize;
+    private static final long DROP_WARN_INTERVAL = 10000;
 
-    private BlockingQueue<L> bufferQueue;
+    private static final long STOP_TIMEOUT_MILLIS = 3000;
 
-    private long lastPushTime;
+    private static final Map<String, AtomicInteger> INSTANCE_COUNTS = new ConcurrentHashMap<>();
 
-    private final AtomicBoolean started = new AtomicBoolean(true);
+    private final LogCollectorMetrics metrics = new LogCollectorMetrics(metricsName(getClass().getSimpleName()));
+
+    private volatile MpscRingBuffer<L> bufferQueue;
+
+    private volatile int batchSize;
+
+    private volatile long lingerNanos;
+
+    private volatile int wakeUpSize;
+
+    private volatile Consumer consumer;
+
+    private final AtomicBoolean waiting = new AtomicBoolean(false);
 
     @Override
     public void start() {
-        bufferSize = getLogCollectConfig().getBufferQueueSize();
-        bufferQueue = new LinkedBlockingDeque<>(bufferSize);
-        ShenyuConfig config = Optional.ofNullable(Singleton.INST.get(ShenyuConfig.class)).orElse(new ShenyuConfig());
-        final ShenyuConfig.SharedPool sharedPool = config.getSharedPool();
-        ShenyuThreadPoolExecutor threadExecutor = new ShenyuThreadPoolExecutor(sharedPool.getCorePoolSize(),
-                sharedPool.getMaximumPoolSize(), sharedPool.getKeepAliveTime(), TimeUnit.MILLISECONDS,
-                new MemorySafeTaskQueue<>(Constants.THE_256_MB),
-                ShenyuThreadFactory.create(config.getSharedPool().getPrefix(), true),
-                new ThreadPoolExecutor.AbortPolicy());
-        started.set(true);
-        threadExecutor.execute(this::consume);
+        // the collector is restarted when the config is changed.
+        final Consumer previous = stopConsumer(false);
+        C config = getLogCollectConfig();
+        int bufferSize = Math.max(1, config.getBufferQueueSize());
+        batchSize = Math.max(1, config.getBatchSize());
+        lingerNanos = TimeUnit.MILLISECONDS.toNanos(Math.max(1, config.getLingerTime()));
+        MpscRingBuffer<L> migrated = null;
+        MpscRingBuffer<L> current = bufferQueue;
+        if (Objects.isNull(current) || current.capacity() < bufferSize) {
+            // the logs of the previous buffer are moved by the new consumer, it is the only consumer of both buffers.
+            migrated = current;
+            MpscRingBuffer<L> buffer = new MpscRingBuffer<>(bufferSize);
+            bufferQueue = buffer;
+            metrics.bind(buffer);
+        }
+        metrics.register();
+        Consumer next = new Consumer(previous, migrated);
+        consumer = next;
+        next.thread.start();
     }
 
     @Override
     public void collect(final L log) {
-        if (Objects.isNull(log) || Objects.isNull(getLogConsumeClient())) {
+        MpscRingBuffer<L> buffer = bufferQueue;
+        if (Objects.isNull(log) || Objects.isNull(buffer) || Objects.isNull(getLogConsumeClient())) {
+            return;
+        }
+        if (!buffer.offer(log)) {
+            long dropped = metrics.dropped();
+            if (dropped % DROP_WARN_INTERVAL == 1) {
+                LOG.warn("{} buffer queue is full, {} logs are dropped", metrics.getName(), dropped);
+            }
             return;
         }
-        if (bufferQueue.size() < bufferSize) {
-            bufferQueue.add(log);
+        metrics.collected();
+        // flush on size, wake up the consumer once the batch is full.
+        Consumer current = consumer;
+        if (Objects.nonNull(current) && waiting.get() && buffer.size() >= wakeUpSize && waiting.compareAndSet(true, false)) {
+            LockSupport.unpark(current.thread);
         }
     }
 
@@ -93,34 +119,109 @@ public abstract class AbstractLogCollector<T extends AbstractLogConsumeClient<?,
     }
 
     /**
-     * batch and async consume.
+     * get the metrics of this collector.
+     *
+     * @return metrics
      */
-    private void consume() {
-        while (started.get()) {
-            int diffTimeMSForPush = 100;
+    public LogCollectorMetrics getMetrics() {
+        return metrics;
+    }
+
+    private static String metricsName(final String simpleName) {
+        // the collectors of the same class are registered under different names.
+        int index = INSTANCE_COUNTS.computeIfAbsent(simpleName, key -> new AtomicInteger()).getAndIncrement();
+        return index == 0 ? simpleName : simpleName + "-" + index;
+    }
+
+    /**
+     * batch and async consume, the batch is flushed when it is full or the linger time is up.
+     *
+     * @param self the consumer
+     */
+    private void consume(final Consumer self) {
+        List<L> batch = new ArrayList<>(batchSize);
+        long deadline = System.nanoTime() + lingerNanos;
+        while (self.running.get()) {
             try {
-                List<L> logs = new ArrayList<>();
-                int size = bufferQueue.size();
-                long time = System.currentTimeMillis();
-                long timeDiffMs = time - lastPushTime;
-                int batchSize = 100;
-                if (size >= batchSize || timeDiffMs > diffTimeMSForPush) {
-                    bufferQueue.drainTo(logs, batchSize);
-                    AbstractLogConsumeClient<?, L> logCollectClient = getLogConsumeClient();
-                    if (Objects.nonNull(logCollectClient)) {
-                        logCollectClient.consume(logs);
-                    }
-                    lastPushTime = time;
-                } else {
-                    ThreadUtils.sleep(TimeUnit.MILLISECONDS, diffTimeMSForPush);
+                bufferQueue.drainTo(batch, batchSize - batch.size());
+                long now = System.nanoTime();
+                if (batch.size() >= batchSize || now - deadline >= 0) {
+                    batch = flush(batch);
+                    deadline = now + lingerNanos;
+                    continue;
                 }
+                await(deadline - now, batchSize - batch.size());
             } catch (Throwable t) {
-                LOG.error("DefaultLogCollector collect log error", t);
-                ThreadUtils.sleep(TimeUnit.MILLISECONDS, diffTimeMSForPush);
+                LOG.error("{} consume log error", metrics.getName(), t);
+                batch = new ArrayList<>(batchSize);
+            }
+        }
+        // flush the buffered logs before the client is closed, a restarted collector leaves them to the next consumer.
+        if (!self.drainOnStop) {
+            flush(batch);
+            return;
+        }
+        int remaining = bufferQueue.size();
+        while (remaining > 0 || !batch.isEmpty()) {
+            int drained = bufferQueue.drainTo(batch, batchSize - batch.size());
+            if (drained == 0 && batch.isEmpty()) {
+                break;
             }
+            remaining -= drained;
+            batch = flush(batch);
         }
     }
 
+    private void await(final long nanos, final int size) {
+        wakeUpSize = size;
+        waiting.set(true);
+        if (bufferQueue.size() < size) {
+            LockSupport.parkNanos(this, nanos);
+        }
+        waiting.set(false);
+    }
+
+    private List<L> flush(final List<L> batch) {
+        if (batch.isEmpty()) {
+            return batch;
+        }
+        AbstractLogConsumeClient<?, L> logCollectClient = getLogConsumeClient();
+        if (Objects.nonNull(logCollectClient)) {
+            long start = System.nanoTime();
+            boolean success = true;
+            try {
+                logCollectClient.consume(batch);
+            } catch (Exception e) {
+                success = false;
+                LOG.error("{} flush {} logs error", metrics.getName(), batch.size(), e);
+            }
+            metrics.flushed(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start), success);
+        }
+        // the client may hold the batch, do not reuse it.
+        return new ArrayList<>(batchSize);
+    }
+
+    /**
+     * stop the current consumer and wait for it a while.
+     *
+     * @param drain whether the consumer flushes all buffered logs before it exits
+     * @return the stopped consumer, or null if there is none
+     */
+    private Consumer stopConsumer(final boolean drain) {
+        Consumer current = consumer;
+        if (Objects.isNull(current)) {
+            return null;
+        }
+        current.drainOnStop = drain;
+        current.running.set(false);
+        LockSupport.unpark(current.thread);
+        if (!current.join(STOP_TIMEOUT_MILLIS)) {
+            LOG.warn("{} consumer is not stopped in {} ms", metrics.getName(), STOP_TIMEOUT_MILLIS);
+        }
+        consumer = null;
+        return current;
+    }
+
     private void desensitizeShenyuRequestLog(final L logInfo, final KeyWordMatch keyWordMatch, final String desensitizedAlg) {
         logInfo.setClientIp(desensitizeForSingleWord(GenericLoggingConstant.CLIENT_IP, logInfo.getClientIp(), keyWordMatch, desensitizedAlg));
         logInfo.setTimeLocal(desensitizeForSingleWord(GenericLoggingConstant.TIME_LOCAL, logInfo.getTimeLocal(), keyWordMatch, desensitizedAlg));
@@ -176,10 +277,61 @@ public abstract class AbstractLogCollector<T extends AbstractLogConsumeClient<?,
 
     @Override
     public void close() throws Exception {
-        started.set(false);
+        stopConsumer(true);
+        metrics.deregister();
         AbstractLogConsumeClient<?, ?> logCollectClient = getLogConsumeClient();
         if (Objects.nonNull(logCollectClient)) {
             logCollectClient.close();
         }
     }
+
+    /**
+     * The consumer of the buffer queue, it owns its stop flag so a stopped consumer never resumes.
+     * The ring buffer allows a single consumer, so a consumer drains nothing until the previous one has exited.
+     */
+    private final class Consumer implements Runnable {
+
+        private final AtomicBoolean running = new AtomicBoolean(true);
+
+        private final Consumer previous;
+
+        private final MpscRingBuffer<L> migrated;
+
+        private final Thread thread;
+
+        private volatile boolean drainOnStop;
+
+        Consumer(final Consumer previous, final MpscRingBuffer<L> migrated) {
+            this.previous = previous;
+            this.migrated = migrated;
+            this.thread = ShenyuThreadFactory.create("shenyu-log-collector-" + metrics.getName(), true).newThread(this);
+        }
+
+        @Override
+        public void run() {
+            if (Objects.nonNull(previous)) {
+                while (!previous.join(STOP_TIMEOUT_MILLIS)) {
+                    if (!running.get()) {
+                        return;
+                    }
+                    LOG.warn("{} consumer waits for the previous consumer to stop", metrics.getName());
+                }
+            }
+            if (Objects.nonNull(migrated)) {
+                List<L> remaining = new ArrayList<>(migrated.size());
+                migrated.drainTo(remaining, migrated.capacity());
+                remaining.forEach(bufferQueue::offer);
+            }
+            consume(this);
+        }
+
+        private boolean join(final long millis) {
+            try {
+                thread.join(millis);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return !thread.isAlive();
+        }
+    }
 }
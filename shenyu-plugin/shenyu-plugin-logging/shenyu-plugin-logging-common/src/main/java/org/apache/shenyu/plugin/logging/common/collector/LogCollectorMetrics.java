@@ -0,0 +1,197 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.shenyu.plugin.logging.common.collector;
+
+import org.apache.shenyu.plugin.logging.common.buffer.MpscRingBuffer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * The metrics of a log collector, a collector writes to one sink so they are the metrics of the sink.
+ */
+public final class LogCollectorMetrics implements LogCollectorMetricsMXBean {
+
+    private static final Logger LOG = LoggerFactory.getLogger(LogCollectorMetrics.class);
+
+    private static final String OBJECT_NAME_PREFIX = "org.apache.shenyu:type=LogCollector,name=";
+
+    private final String name;
+
+    private final LongAdder collectedCount = new LongAdder();
+
+    private final AtomicLong droppedCount = new AtomicLong();
+
+    private final AtomicLong flushCount = new AtomicLong();
+
+    private final AtomicLong flushErrorCount = new AtomicLong();
+
+    private final AtomicLong totalFlushLatency = new AtomicLong();
+
+    private volatile long lastFlushLatency;
+
+    private volatile long maxFlushLatency;
+
+    private volatile MpscRingBuffer<?> buffer;
+
+    /**
+     * Instantiates a new log collector metrics.
+     *
+     * @param name the collector name
+     */
+    public LogCollectorMetrics(final String name) {
+        this.name = name;
+    }
+
+    /**
+     * register to the platform MBean server, it is ignored if registered.
+     */
+    public void register() {
+        MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+        try {
+            ObjectName objectName = new ObjectName(OBJECT_NAME_PREFIX + name);
+            if (!server.isRegistered(objectName)) {
+                server.registerMBean(this, objectName);
+            }
+        } catch (JMException e) {
+            LOG.warn("register log collector metrics error, name: {}", name, e);
+        }
+    }
+
+    /**
+     * deregister from the platform MBean server, it is ignored if not registered.
+     */
+    public void deregister() {
+        MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+        try {
+            ObjectName objectName = new ObjectName(OBJECT_NAME_PREFIX + name);
+            if (server.isRegistered(objectName)) {
+                server.unregisterMBean(objectName);
+            }
+        } catch (JMException e) {
+            LOG.warn("deregister log collector metrics error, name: {}", name, e);
+        }
+    }
+
+    /**
+     * bind the buffer queue whose depth is reported.
+     *
+     * @param buffer buffer queue
+     */
+    public void bind(final MpscRingBuffer<?> buffer) {
+        this.buffer = buffer;
+    }
+
+    /**
+     * record a collected log.
+     */
+    public void collected() {
+        collectedCount.increment();
+    }
+
+    /**
+     * record a dropped log.
+     *
+     * @return the dropped count
+     */
+    public long dropped() {
+        return droppedCount.incrementAndGet();
+    }
+
+    /**
+     * record a flush.
+     *
+     * @param latency the latency millis
+     * @param success whether the flush is success
+     */
+    public void flushed(final long latency, final boolean success) {
+        flushCount.incrementAndGet();
+        if (!success) {
+            flushErrorCount.incrementAndGet();
+        }
+        totalFlushLatency.addAndGet(latency);
+        lastFlushLatency = latency;
+        if (latency > maxFlushLatency) {
+            // only the consumer thread records flushes.
+            maxFlushLatency = latency;
+        }
+    }
+
+    /**
+     * get collector name.
+     *
+     * @return name
+     */
+    public String getName() {
+        return name;
+    }
+
+    @Override
+    public int getQueueCapacity() {
+        MpscRingBuffer<?> current = buffer;
+        return Objects.isNull(current) ? 0 : current.capacity();
+    }
+
+    @Override
+    public int getQueueDepth() {
+        MpscRingBuffer<?> current = buffer;
+        return Objects.isNull(current) ? 0 : current.size();
+    }
+
+    @Override
+    public long getCollectedCount() {
+        return collectedCount.sum();
+    }
+
+    @Override
+    public long getDroppedCount() {
+        return droppedCount.get();
+    }
+
+    @Override
+    public long getFlushCount() {
+        return flushCount.get();
+    }
+
+    @Override
+    public long getFlushErrorCount() {
+        return flushErrorCount.get();
+    }
+
+    @Override
+    public long getLastFlushLatency() {
+        return lastFlushLatency;
+    }
+
+    @Override
+    public long getMaxFlushLatency() {
+        return maxFlushLatency;
+    }
+
+    @Override
+    public long getTotalFlushLatency() {
+        return totalFlushLatency.get();
+    }
+}
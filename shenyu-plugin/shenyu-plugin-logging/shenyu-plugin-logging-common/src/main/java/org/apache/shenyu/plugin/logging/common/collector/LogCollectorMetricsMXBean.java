@@ -0,0 +1,89 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.shenyu.plugin.logging.common.collector;
+
+/**
+ * The metrics of a log collector, they are registered to the platform MBean server as
+ * {@code org.apache.shenyu:type=LogCollector,name=<collector>}, so the metrics plugin exports them
+ * by the jmx collector, e.g. {@code jmxConfig: '{"whitelistObjectNames": ["org.apache.shenyu:type=LogCollector,*"]}'}.
+ */
+public interface LogCollectorMetricsMXBean {
+
+    /**
+     * get the capacity of buffer queue.
+     *
+     * @return queue capacity
+     */
+    int getQueueCapacity();
+
+    /**
+     * get the count of logs waiting in buffer queue.
+     *
+     * @return queue depth
+     */
+    int getQueueDepth();
+
+    /**
+     * get the count of collected logs.
+     *
+     * @return collected count
+     */
+    long getCollectedCount();
+
+    /**
+     * get the count of logs dropped because the buffer queue is full.
+     *
+     * @return dropped count
+     */
+    long getDroppedCount();
+
+    /**
+     * get the count of flushed batches.
+     *
+     * @return flush count
+     */
+    long getFlushCount();
+
+    /**
+     * get the count of failed flushes.
+     *
+     * @return flush error count
+     */
+    long getFlushErrorCount();
+
+    /**
+     * get the latency millis of the last flush.
+     *
+     * @return last flush latency
+     */
+    long getLastFlushLatency();
+
+    /**
+     * get the max latency millis of flushes.
+     *
+     * @return max flush latency
+     */
+    long getMaxFlushLatency();
+
+    /**
+     * get the total latency millis of flushes.
+     *
+     * @return total flush latency
+     */
+    long getTotalFlushLatency();
+}
@@ -43,6 +43,16 @@ public class GenericGlobalConfig {
      */
     private int bufferQueueSize = 50000;
 
+    /**
+     * the max count of logs in a batch, the batch is flushed once it is full, default 100.
+     */
+    private int batchSize = 100;
+
+    /**
+     * the max millis a log waits for the batch to be full, default 100.
+     */
+    private long lingerTime = 100;
+
     /**
      * get sampler.
      *
@@ -132,4 +142,40 @@ public class GenericGlobalConfig {
     public void setBufferQueueSize(final int bufferQueueSize) {
         this.bufferQueueSize = bufferQueueSize;
     }
+
+    /**
+     * get batch size.
+     *
+     * @return batch size
+     */
+    public int getBatchSize() {
+        return batchSize;
+    }
+
+    /**
+     * set batch size.
+     *
+     * @param batchSize batch size
+     */
+    public void setBatchSize(final int batchSize) {
+        this.batchSize = batchSize;
+    }
+
+    /**
+     * get linger time.
+     *
+     * @return linger time
+     */
+    public long getLingerTime() {
+        return lingerTime;
+    }
+
+    /**
+     * set linger time.
+     *
+     * @param lingerTime linger time
+     */
+    public void setLingerTime(final long lingerTime) {
+        this.lingerTime = lingerTime;
+    }
 }
@@ -69,4 +69,14 @@ public class BodyWriterTest {
         String res = writer.output();
         Assertions.assertEquals(res, "hello, shenyu");
     }
+
+    @Test
+    public void testWriteBeyondLimit() {
+        BodyWriter limitedWriter = new BodyWriter(20);
+        limitedWriter.write(byteBuffer.asReadOnlyBuffer());
+        Assertions.assertEquals(13, limitedWriter.size());
+        limitedWriter.write(ByteBuffer.wrap(sendString.getBytes(StandardCharsets.UTF_8)));
+        Assertions.assertEquals(26, limitedWriter.size());
+        Assertions.assertTrue(limitedWriter.isEmpty());
+    }
 }
@@ -0,0 +1,96 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.shenyu.plugin.logging.common.buffer;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Test cases for MpscRingBuffer.
+ */
+public final class MpscRingBufferTest {
+
+    @Test
+    public void testCapacity() {
+        assertEquals(1, new MpscRingBuffer<>(1).capacity());
+        assertEquals(8, new MpscRingBuffer<>(5).capacity());
+        assertEquals(8, new MpscRingBuffer<>(8).capacity());
+        assertThrows(IllegalArgumentException.class, () -> new MpscRingBuffer<>(0));
+    }
+
+    @Test
+    public void testOfferAndDrain() {
+        MpscRingBuffer<Integer> buffer = new MpscRingBuffer<>(4);
+        for (int i = 0; i < 4; i++) {
+            assertTrue(buffer.offer(i));
+        }
+        assertFalse(buffer.offer(4));
+        assertEquals(4, buffer.size());
+        List<Integer> target = new ArrayList<>();
+        assertEquals(3, buffer.drainTo(target, 3));
+        assertEquals(List.of(0, 1, 2), target);
+        assertTrue(buffer.offer(5));
+        assertEquals(2, buffer.drainTo(target, 10));
+        assertEquals(List.of(0, 1, 2, 3, 5), target);
+        assertTrue(buffer.isEmpty());
+    }
+
+    @Test
+    public void testConcurrentOffer() throws InterruptedException {
+        final int producers = 4;
+        final int count = 10000;
+        MpscRingBuffer<Integer> buffer = new MpscRingBuffer<>(1024);
+        ExecutorService executor = Executors.newFixedThreadPool(producers);
+        CountDownLatch latch = new CountDownLatch(producers);
+        for (int p = 0; p < producers; p++) {
+            final int base = p * count;
+            executor.execute(() -> {
+                for (int i = 0; i < count; i++) {
+                    while (!buffer.offer(base + i)) {
+                        Thread.yield();
+                    }
+                }
+                latch.countDown();
+            });
+        }
+        List<Integer> target = new ArrayList<>();
+        while (target.size() < producers * count) {
+            if (buffer.drainTo(target, 100) == 0) {
+                Thread.yield();
+            }
+        }
+        assertTrue(latch.await(5, TimeUnit.SECONDS));
+        executor.shutdown();
+        Set<Integer> distinct = new HashSet<>(target);
+        assertEquals(producers * count, distinct.size());
+        assertTrue(buffer.isEmpty());
+    }
+}
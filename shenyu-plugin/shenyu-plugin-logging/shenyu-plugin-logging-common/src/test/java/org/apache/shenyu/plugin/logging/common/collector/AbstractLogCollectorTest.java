@@ -0,0 +1,206 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.shenyu.plugin.logging.common.collector;
+
+import org.apache.shenyu.plugin.logging.common.client.AbstractLogConsumeClient;
+import org.apache.shenyu.plugin.logging.common.config.GenericGlobalConfig;
+import org.apache.shenyu.plugin.logging.common.entity.ShenyuRequestLog;
+import org.apache.shenyu.plugin.logging.desensitize.api.matcher.KeyWordMatch;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.lang.NonNull;
+
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Test cases for AbstractLogCollector.
+ */
+public final class AbstractLogCollectorTest {
+
+    private final GenericGlobalConfig config = new GenericGlobalConfig();
+
+    private final TestLogConsumeClient client = new TestLogConsumeClient();
+
+    private final TestLogCollector collector = new TestLogCollector();
+
+    @BeforeEach
+    public void setUp() {
+        config.setBufferQueueSize(64);
+        config.setBatchSize(10);
+        config.setLingerTime(60000);
+        client.initClient(config);
+    }
+
+    @AfterEach
+    public void tearDown() throws Exception {
+        collector.close();
+    }
+
+    @Test
+    public void testFlushOnSize() throws InterruptedException {
+        collector.start();
+        for (int i = 0; i < 10; i++) {
+            collector.collect(new ShenyuRequestLog());
+        }
+        assertTrue(waitFor(() -> client.batches.size() == 1));
+        assertEquals(10, client.batches.get(0).size());
+        assertEquals(1, collector.getMetrics().getFlushCount());
+        assertEquals(10, collector.getMetrics().getCollectedCount());
+    }
+
+    @Test
+    public void testFlushOnLinger() throws InterruptedException {
+        config.setLingerTime(50);
+        collector.start();
+        collector.collect(new ShenyuRequestLog());
+        assertTrue(waitFor(() -> client.batches.size() == 1));
+        assertEquals(1, client.batches.get(0).size());
+    }
+
+    @Test
+    public void testDropWhenFull() throws Exception {
+        config.setBatchSize(1000);
+        collector.start();
+        for (int i = 0; i < 100; i++) {
+            collector.collect(new ShenyuRequestLog());
+        }
+        // the consumer may drain a part of the queue into its batch before the queue is full.
+        long collected = collector.getMetrics().getCollectedCount();
+        assertTrue(collector.getMetrics().getDroppedCount() > 0);
+        assertEquals(100, collected + collector.getMetrics().getDroppedCount());
+        collector.close();
+        assertEquals(collected, client.batches.stream().mapToInt(List::size).sum());
+    }
+
+    @Test
+    public void testMetricsDeregisteredOnClose() throws Exception {
+        ObjectName objectName = new ObjectName("org.apache.shenyu:type=LogCollector,name=" + collector.getMetrics().getName());
+        collector.start();
+        assertTrue(ManagementFactory.getPlatformMBeanServer().isRegistered(objectName));
+        collector.close();
+        assertFalse(ManagementFactory.getPlatformMBeanServer().isRegistered(objectName));
+    }
+
+    @Test
+    public void testRestartDuringSlowFlush() throws Exception {
+        client.gate = new CountDownLatch(1);
+        collector.start();
+        for (int i = 0; i < 10; i++) {
+            collector.collect(new ShenyuRequestLog());
+        }
+        assertTrue(waitFor(() -> client.active.get() == 1));
+        // the blocked consumer outlives the stop timeout, the next consumer must wait for it.
+        collector.start();
+        for (int i = 0; i < 10; i++) {
+            collector.collect(new ShenyuRequestLog());
+        }
+        TimeUnit.MILLISECONDS.sleep(100);
+        assertTrue(client.batches.isEmpty());
+        client.gate.countDown();
+        assertTrue(waitFor(() -> client.batches.stream().mapToInt(List::size).sum() == 20));
+        assertEquals(1, client.maxActive.get());
+    }
+
+    @Test
+    public void testMetricsNamedApart() throws Exception {
+        TestLogCollector other = new TestLogCollector();
+        try {
+            assertNotEquals(collector.getMetrics().getName(), other.getMetrics().getName());
+        } finally {
+            other.close();
+        }
+    }
+
+    private boolean waitFor(final Condition condition) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (System.nanoTime() < deadline) {
+            if (condition.test()) {
+                return true;
+            }
+            TimeUnit.MILLISECONDS.sleep(10);
+        }
+        return false;
+    }
+
+    private interface Condition {
+
+        boolean test();
+    }
+
+    private final class TestLogCollector extends AbstractLogCollector<TestLogConsumeClient, ShenyuRequestLog, GenericGlobalConfig> {
+
+        @Override
+        protected TestLogConsumeClient getLogConsumeClient() {
+            return client;
+        }
+
+        @Override
+        protected GenericGlobalConfig getLogCollectConfig() {
+            return config;
+        }
+
+        @Override
+        protected void desensitizeLog(final ShenyuRequestLog log, final KeyWordMatch keyWordMatch, final String desensitizeAlg) {
+        }
+    }
+
+    private static final class TestLogConsumeClient extends AbstractLogConsumeClient<GenericGlobalConfig, ShenyuRequestLog> {
+
+        private final List<List<ShenyuRequestLog>> batches = new CopyOnWriteArrayList<>();
+
+        private final AtomicInteger active = new AtomicInteger();
+
+        private final AtomicInteger maxActive = new AtomicInteger();
+
+        private volatile CountDownLatch gate;
+
+        @Override
+        public void initClient0(@NonNull final GenericGlobalConfig config) {
+        }
+
+        @Override
+        public void consume0(@NonNull final List<ShenyuRequestLog> logs) throws InterruptedException {
+            maxActive.accumulateAndGet(active.incrementAndGet(), Math::max);
+            try {
+                if (Objects.nonNull(gate)) {
+                    gate.await();
+                }
+                batches.add(logs);
+            } finally {
+                active.decrementAndGet();
+            }
+        }
+
+        @Override
+        public void close0() {
+        }
+    }
+}
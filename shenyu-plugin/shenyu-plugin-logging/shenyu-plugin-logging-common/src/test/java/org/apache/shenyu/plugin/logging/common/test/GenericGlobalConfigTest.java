@@ -53,4 +53,18 @@ public class GenericGlobalConfigTest {
         genericGlobalConfig.setBufferQueueSize(5000);
         Assertions.assertEquals(genericGlobalConfig.getBufferQueueSize(), 5000);
     }
+
+    @Test
+    public void testSetGenericGlobalConfigBatchSize() {
+        GenericGlobalConfig genericGlobalConfig = new GenericGlobalConfig();
+        genericGlobalConfig.setBatchSize(500);
+        Assertions.assertEquals(genericGlobalConfig.getBatchSize(), 500);
+    }
+
+    @Test
+    public void testSetGenericGlobalConfigLingerTime() {
+        GenericGlobalConfig genericGlobalConfig = new GenericGlobalConfig();
+        genericGlobalConfig.setLingerTime(200);
+        Assertions.assertEquals(genericGlobalConfig.getLingerTime(), 200);
+    }
 }
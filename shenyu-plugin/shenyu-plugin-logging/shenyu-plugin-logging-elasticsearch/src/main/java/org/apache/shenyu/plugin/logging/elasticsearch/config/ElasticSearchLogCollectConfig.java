@@ -207,6 +207,8 @@ public class ElasticSearchLogCollectConfig {
                     && Objects.equals(getPort(), that.getPort())
                     && Objects.equals(getSampleRate(), that.getSampleRate())
                     && Objects.equals(getBufferQueueSize(), that.getBufferQueueSize())
+                    && Objects.equals(getBatchSize(), that.getBatchSize())
+                    && Objects.equals(getLingerTime(), that.getLingerTime())
                     && Objects.equals(getMaxRequestBody(), that.getMaxRequestBody())
                     && Objects.equals(getMaxResponseBody(), that.getMaxResponseBody())
                     && Objects.equals(getIndexName(), that.getIndexName())
@@ -218,7 +220,7 @@ public class ElasticSearchLogCollectConfig {
         @Override
         public int hashCode() {
             return Objects.hash(host, compressAlg, port, indexName, username, password, authCache,
-                    getSampleRate(), getBufferQueueSize(), getMaxRequestBody(), getMaxResponseBody());
+                    getSampleRate(), getBufferQueueSize(), getBatchSize(), getLingerTime(), getMaxRequestBody(), getMaxResponseBody());
         }
     }
 
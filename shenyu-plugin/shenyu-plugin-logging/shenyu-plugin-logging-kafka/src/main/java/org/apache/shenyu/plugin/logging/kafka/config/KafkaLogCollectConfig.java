@@ -234,13 +234,15 @@ public class KafkaLogCollectConfig {
                     && Objects.equals(getProducerGroup(), that.getProducerGroup())
                     && Objects.equals(getSampleRate(), that.getSampleRate())
                     && Objects.equals(getBufferQueueSize(), that.getBufferQueueSize())
+                    && Objects.equals(getBatchSize(), that.getBatchSize())
+                    && Objects.equals(getLingerTime(), that.getLingerTime())
                     && Objects.equals(getMaxRequestBody(), that.getMaxRequestBody())
                     && Objects.equals(getMaxResponseBody(), that.getMaxResponseBody());
         }
 
         @Override
         public int hashCode() {
-            return Objects.hash(topic, compressAlg, bootstrapServer, producerGroup);
+            return Objects.hash(topic, compressAlg, bootstrapServer, producerGroup, getBatchSize(), getLingerTime());
         }
     }
 
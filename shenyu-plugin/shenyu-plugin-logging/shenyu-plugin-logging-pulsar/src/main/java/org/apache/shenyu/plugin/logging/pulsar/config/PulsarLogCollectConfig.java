@@ -123,13 +123,15 @@ public class PulsarLogCollectConfig {
                     && Objects.equals(getServiceUrl(), that.getServiceUrl())
                     && Objects.equals(getSampleRate(), that.getSampleRate())
                     && Objects.equals(getBufferQueueSize(), that.getBufferQueueSize())
+                    && Objects.equals(getBatchSize(), that.getBatchSize())
+                    && Objects.equals(getLingerTime(), that.getLingerTime())
                     && Objects.equals(getMaxRequestBody(), that.getMaxRequestBody())
                     && Objects.equals(getMaxResponseBody(), that.getMaxResponseBody());
         }
 
         @Override
         public int hashCode() {
-            return Objects.hash(topic, compressAlg, serviceUrl);
+            return Objects.hash(topic, compressAlg, serviceUrl, getBatchSize(), getLingerTime());
         }
     }
 
@@ -341,13 +341,15 @@ public class RabbitmqLogCollectConfig {
                     && Objects.equals(getArgs(), that.getArgs())
                     && Objects.equals(getSampleRate(), that.getSampleRate())
                     && Objects.equals(getBufferQueueSize(), that.getBufferQueueSize())
+                    && Objects.equals(getBatchSize(), that.getBatchSize())
+                    && Objects.equals(getLingerTime(), that.getLingerTime())
                     && Objects.equals(getMaxResponseBody(), that.getMaxResponseBody())
                     && Objects.equals(getMaxRequestBody(), that.getMaxRequestBody());
         }
 
         @Override
         public int hashCode() {
-            return Objects.hash(routingKey, queueName, exchangeName, host, port, exchangeType, virtualHost, durable, autoDelete, exchangeType, args);
+            return Objects.hash(routingKey, queueName, exchangeName, host, port, exchangeType, virtualHost, durable, autoDelete, exchangeType, args, getBatchSize(), getLingerTime());
         }
     }
 
@@ -196,13 +196,15 @@ public class RocketMQLogCollectConfig {
                     && Objects.equals(getSecretKey(), that.getSecretKey())
                     && Objects.equals(getSampleRate(), that.getSampleRate())
                     && Objects.equals(getBufferQueueSize(), that.getBufferQueueSize())
+                    && Objects.equals(getBatchSize(), that.getBatchSize())
+                    && Objects.equals(getLingerTime(), that.getLingerTime())
                     && Objects.equals(getMaxRequestBody(), that.getMaxRequestBody())
                     && Objects.equals(getMaxResponseBody(), that.getMaxResponseBody());
         }
 
         @Override
         public int hashCode() {
-            return Objects.hash(topic, compressAlg, secretKey, accessKey, namesrvAddr, producerGroup);
+            return Objects.hash(topic, compressAlg, secretKey, accessKey, namesrvAddr, producerGroup, getBatchSize(), getLingerTime());
         }
     }
 
@@ -32,6 +32,7 @@ import org.apache.shenyu.plugin.api.context.ShenyuContext;
 import org.apache.shenyu.plugin.api.utils.WebFluxResultUtils;
 import org.apache.shenyu.plugin.base.AbstractShenyuPlugin;
 import org.apache.shenyu.plugin.base.utils.CacheKeyUtils;
+import org.apache.shenyu.plugin.base.utils.ResponseUtils;
 import org.apache.shenyu.plugin.modify.response.handler.ModifyResponsePluginDataHandler;
 import org.reactivestreams.Publisher;
 import org.slf4j.Logger;
@@ -97,13 +98,21 @@ public class ModifyResponsePlugin extends AbstractShenyuPlugin {
         @NonNull
         public Mono<Void> writeWith(@NonNull final Publisher<? extends DataBuffer> body) {
             modifyResponseHeadersAndStatus();
-            final Mono<DataBuffer> dataBufferMono = DataBufferUtils.join(body);
-            return dataBufferMono.flatMap(dataBuffer -> {
+            if (!isModifyBody()) {
+                return super.writeWith(body);
+            }
+            return ResponseUtils.aggregate(getDelegate(), body, dataBuffer -> {
                 byte[] bytes = new byte[dataBuffer.readableByteCount()];
                 dataBuffer.read(bytes);
                 DataBufferUtils.release(dataBuffer);
                 return WebFluxResultUtils.result(this.exchange, modifyBody(bytes));
-            });
+            }, ResponseUtils.rejectPassThrough(this.exchange));
+        }
+
+        private boolean isModifyBody() {
+            return CollectionUtils.isNotEmpty(this.ruleHandle.getAddBodyKeys())
+                    || CollectionUtils.isNotEmpty(this.ruleHandle.getReplaceBodyKeys())
+                    || CollectionUtils.isNotEmpty(this.ruleHandle.getRemoveBodyKeys());
         }
 
         private void modifyResponseHeadersAndStatus() {
@@ -17,6 +17,7 @@
 
 package org.apache.shenyu.plugin.modify.response;
 
+import org.apache.shenyu.common.config.ShenyuConfig;
 import org.apache.shenyu.common.constant.Constants;
 import org.apache.shenyu.common.dto.RuleData;
 import org.apache.shenyu.common.dto.SelectorData;
@@ -24,23 +25,35 @@ import org.apache.shenyu.common.dto.convert.rule.impl.ModifyResponseRuleHandle;
 import org.apache.shenyu.common.enums.PluginEnum;
 import org.apache.shenyu.plugin.api.ShenyuPluginChain;
 import org.apache.shenyu.plugin.api.context.ShenyuContext;
+import org.apache.shenyu.plugin.api.result.DefaultShenyuResult;
+import org.apache.shenyu.plugin.api.result.ShenyuResult;
+import org.apache.shenyu.plugin.api.utils.SpringBeanUtils;
+import org.apache.shenyu.plugin.base.utils.CacheKeyUtils;
 import org.apache.shenyu.plugin.modify.response.handler.ModifyResponsePluginDataHandler;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
+import org.springframework.http.HttpStatus;
 import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.http.server.reactive.MockServerHttpResponse;
 import org.springframework.mock.web.server.MockServerWebExchange;
 import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 import reactor.test.StepVerifier;
 
 import java.net.InetSocketAddress;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.Map;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.spy;
@@ -100,6 +113,36 @@ public final class ModifyResponsePluginTest {
         StepVerifier.create(result).expectSubscription().verifyComplete();
     }
 
+    @Test
+    @SuppressWarnings("unchecked")
+    public void testRejectBodyBeyondMaxAggregateSize() {
+        ShenyuConfig shenyuConfig = new ShenyuConfig();
+        shenyuConfig.getResponse().setMaxAggregateSize(2);
+        ObjectProvider<ShenyuConfig> provider = mock(ObjectProvider.class);
+        when(provider.getIfAvailable()).thenReturn(shenyuConfig);
+        ConfigurableApplicationContext context = mock(ConfigurableApplicationContext.class);
+        when(context.getBeanProvider(ShenyuConfig.class)).thenReturn(provider);
+        when(context.getBean(ShenyuResult.class)).thenReturn(new DefaultShenyuResult());
+        SpringBeanUtils.getInstance().setApplicationContext(context);
+        when(chain.execute(any())).thenAnswer(invocation -> {
+            ServerWebExchange newExchange = invocation.getArgument(0);
+            DefaultDataBufferFactory bufferFactory = DefaultDataBufferFactory.sharedInstance;
+            return newExchange.getResponse().writeWith(Flux.range(0, 3).map(i -> bufferFactory.wrap(new byte[1024 * 1024])));
+        });
+        final RuleData ruleDataTest = RuleData.builder().id("2")
+                .name("test-modify-response-body")
+                .pluginName("modifyResponse")
+                .selectorId("test")
+                .build();
+        final ModifyResponseRuleHandle responseRuleHandle = new ModifyResponseRuleHandle();
+        responseRuleHandle.setRemoveBodyKeys(Collections.singleton("$.data"));
+        ModifyResponsePluginDataHandler.CACHED_HANDLE.get().cachedHandle(CacheKeyUtils.INST.getKey(ruleDataTest), responseRuleHandle);
+        Mono<Void> result = modifyResponsePlugin.doExecute(exchange, chain, selectorData, ruleDataTest);
+        StepVerifier.create(result).expectSubscription().verifyComplete();
+        assertEquals(HttpStatus.BAD_GATEWAY, exchange.getResponse().getStatusCode());
+        assertTrue(((MockServerHttpResponse) exchange.getResponse()).getBodyAsString().block().contains("-123"));
+    }
+
     @Test
     public void testGetOrder() {
         assertEquals(modifyResponsePlugin.getOrder(), PluginEnum.MODIFY_RESPONSE.getCode());
@@ -23,6 +23,7 @@ import org.apache.shenyu.common.constant.Constants;
 import org.apache.shenyu.common.dto.RuleData;
 import org.apache.shenyu.common.dto.SelectorData;
 import org.apache.shenyu.common.dto.convert.rule.impl.DivideRuleHandle;
+import org.apache.shenyu.common.enums.HttpRetryBackoffSpecEnum;
 import org.apache.shenyu.common.enums.LoadBalanceEnum;
 import org.apache.shenyu.common.enums.PluginEnum;
 import org.apache.shenyu.common.enums.RetryEnum;
@@ -46,6 +47,7 @@ import reactor.core.publisher.Mono;
 
 import java.nio.charset.StandardCharsets;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.List;
 import java.util.Objects;
 
@@ -118,6 +120,14 @@ public class DividePlugin extends AbstractShenyuPlugin {
         exchange.getAttributes().put(Constants.RETRY_STRATEGY, StringUtils.defaultString(ruleHandle.getRetryStrategy(), RetryEnum.CURRENT.getName()));
         exchange.getAttributes().put(Constants.LOAD_BALANCE, StringUtils.defaultString(ruleHandle.getLoadBalance(), LoadBalanceEnum.RANDOM.getName()));
         exchange.getAttributes().put(Constants.DIVIDE_SELECTOR_ID, selector.getId());
+        if (ruleHandle.getHedgePercentile() > 0) {
+            exchange.getAttributes().put(Constants.HTTP_RETRY_BACK_OFF_SPEC, HttpRetryBackoffSpecEnum.HEDGED_BACKOFF.getName());
+            exchange.getAttributes().put(Constants.HTTP_HEDGE_PERCENTILE, ruleHandle.getHedgePercentile());
+            exchange.getAttributes().put(Constants.HTTP_RETRY_BUDGET_RATIO, ruleHandle.getRetryBudgetRatio());
+        }
+        if (ruleHandle.isHttp2()) {
+            exchange.getAttributes().put(Constants.HTTP_UPSTREAM_HTTP2, Boolean.TRUE);
+        }
         if (ruleHandle.getLoadBalance().equals(P2C)) {
             return chain.execute(exchange).doOnSuccess(e -> responseTrigger(upstream
             )).doOnError(throwable -> responseTrigger(upstream));
@@ -139,6 +149,11 @@ public class DividePlugin extends AbstractShenyuPlugin {
         return skipExcept(exchange, RpcTypeEnum.HTTP);
     }
 
+    @Override
+    public List<RpcTypeEnum> supportedRpcTypes() {
+        return Collections.singletonList(RpcTypeEnum.HTTP);
+    }
+
     @Override
     public int getOrder() {
         return PluginEnum.DIVIDE.getCode();
@@ -17,22 +17,32 @@
 
 package org.apache.shenyu.plugin.divide.handler;
 
+import com.google.gson.JsonParseException;
 import org.apache.shenyu.common.constant.Constants;
 import org.apache.shenyu.common.dto.RuleData;
 import org.apache.shenyu.common.dto.SelectorData;
 import org.apache.shenyu.common.dto.convert.rule.impl.DivideRuleHandle;
+import org.apache.shenyu.common.dto.convert.selector.DivideUpstream;
 import org.apache.shenyu.common.enums.PluginEnum;
 import org.apache.shenyu.common.utils.GsonUtils;
 import org.apache.shenyu.loadbalancer.cache.UpstreamCacheManager;
+import org.apache.shenyu.loadbalancer.entity.UpstreamConnectionPool;
 import org.apache.shenyu.plugin.base.cache.CommonHandleCache;
 import org.apache.shenyu.plugin.base.cache.MetaDataCache;
 import org.apache.shenyu.plugin.base.handler.PluginDataHandler;
 import org.apache.shenyu.plugin.base.utils.BeanHolder;
 import org.apache.shenyu.plugin.base.utils.CacheKeyUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.util.ObjectUtils;
 
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.function.Supplier;
+import java.util.stream.Collectors;
 
 /**
  * The type Divide plugin data handler.
@@ -41,6 +51,8 @@ public class DividePluginDataHandler implements PluginDataHandler {
     
     public static final Supplier<CommonHandleCache<String, DivideRuleHandle>> CACHED_HANDLE = new BeanHolder<>(CommonHandleCache::new);
     
+    private static final Logger LOG = LoggerFactory.getLogger(DividePluginDataHandler.class);
+    
     @Override
     public void handlerSelector(final SelectorData selectorData) {
         if (Objects.isNull(selectorData) || Objects.isNull(selectorData.getId())) {
@@ -49,6 +61,7 @@ public class DividePluginDataHandler implements PluginDataHandler {
         // the update is also need to clean, but there is no way to
         // distinguish between crate and update, so it is always clean
         MetaDataCache.getInstance().clean();
+        UpstreamCacheManager.getInstance().submitConnectionPools(selectorData.getId(), buildConnectionPools(selectorData.getHandle()));
         if (!selectorData.getContinued()) {
             CACHED_HANDLE.get().cachedHandle(CacheKeyUtils.INST.getKey(selectorData.getId(), Constants.DEFAULT_RULE), DivideRuleHandle.newInstance());
         }
@@ -83,4 +96,22 @@ public class DividePluginDataHandler implements PluginDataHandler {
         return PluginEnum.DIVIDE.getName();
     }
 
+    private Map<String, UpstreamConnectionPool> buildConnectionPools(final String handle) {
+        if (ObjectUtils.isEmpty(handle)) {
+            return Collections.emptyMap();
+        }
+        final List<DivideUpstream> divideUpstreams;
+        try {
+            divideUpstreams = GsonUtils.getInstance().fromList(handle, DivideUpstream.class);
+        } catch (JsonParseException e) {
+            LOG.warn("invalid divide upstreams of the selector handle {}, use the shared pool", handle, e);
+            return Collections.emptyMap();
+        }
+        return divideUpstreams.stream()
+                .filter(upstream -> Objects.nonNull(upstream.getUpstreamUrl()) && Optional.ofNullable(upstream.getMaxConnections()).orElse(0) > 0)
+                .collect(Collectors.toMap(upstream -> upstream.getUpstreamUrl().trim(),
+                        upstream -> new UpstreamConnectionPool(upstream.getMaxConnections(), Optional.ofNullable(upstream.getPendingAcquireMaxCount()).orElse(0),
+                                Optional.ofNullable(upstream.getMaxIdleTime()).orElse(0L), Optional.ofNullable(upstream.getMaxLifeTime()).orElse(0L)), (first, last) -> last));
+    }
+
 }
@@ -23,8 +23,11 @@ import org.apache.shenyu.common.enums.PluginEnum;
 import org.apache.shenyu.common.utils.GsonUtils;
 import org.apache.shenyu.loadbalancer.cache.UpstreamCacheManager;
 import org.apache.shenyu.loadbalancer.entity.Upstream;
+import org.apache.shenyu.loadbalancer.entity.UpstreamConnectionPool;
 import org.apache.shenyu.plugin.base.cache.MetaDataCache;
 import org.apache.shenyu.plugin.base.handler.DiscoveryUpstreamDataHandler;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.util.ObjectUtils;
 
 import java.sql.Timestamp;
@@ -40,6 +43,10 @@ import java.util.stream.Collectors;
  */
 public class DivideUpstreamDataHandler implements DiscoveryUpstreamDataHandler {
 
+    private static final Logger LOG = LoggerFactory.getLogger(DivideUpstreamDataHandler.class);
+
+    private static final String MAX_CONNECTIONS = "maxConnections";
+
     @Override
     public void handlerDiscoveryUpstreamData(final DiscoverySyncData discoverySyncData) {
         if (Objects.isNull(discoverySyncData) || Objects.isNull(discoverySyncData.getSelectorId())) {
@@ -75,10 +82,28 @@ public class DivideUpstreamDataHandler implements DiscoveryUpstreamDataHandler {
                     .weight(u.getWeight())
                     .warmup(Integer.parseInt(properties.getProperty("warmup", "10")))
                     .gray(Boolean.parseBoolean(properties.getProperty("gray", "false")))
+                    .connectionPool(buildConnectionPool(u.getUrl(), properties))
                     .status(0 == u.getStatus())
                     .timestamp(Optional.ofNullable(u.getDateCreated()).map(Timestamp::getTime).orElse(System.currentTimeMillis()))
                     .build();
         }).collect(Collectors.toList());
     }
 
+    private UpstreamConnectionPool buildConnectionPool(final String url, final Properties properties) {
+        if (!properties.containsKey(MAX_CONNECTIONS)) {
+            return null;
+        }
+        try {
+            return new UpstreamConnectionPool((int) parseNumber(properties, MAX_CONNECTIONS), (int) parseNumber(properties, "pendingAcquireMaxCount"),
+                    parseNumber(properties, "maxIdleTime"), parseNumber(properties, "maxLifeTime"));
+        } catch (NumberFormatException e) {
+            LOG.warn("invalid connection pool of upstream {}, use the shared pool", url, e);
+            return null;
+        }
+    }
+
+    private long parseNumber(final Properties properties, final String key) {
+        // the numbers of the json props are parsed as double.
+        return Optional.ofNullable(properties.get(key)).map(String::valueOf).map(Double::parseDouble).map(Double::longValue).orElse(0L);
+    }
 }
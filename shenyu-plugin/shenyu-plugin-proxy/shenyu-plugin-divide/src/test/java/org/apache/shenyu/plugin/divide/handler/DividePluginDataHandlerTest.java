@@ -25,6 +25,7 @@ import org.apache.shenyu.common.utils.GsonUtils;
 import org.apache.shenyu.common.utils.UpstreamCheckUtils;
 import org.apache.shenyu.loadbalancer.cache.UpstreamCacheManager;
 import org.apache.shenyu.loadbalancer.entity.Upstream;
+import org.apache.shenyu.loadbalancer.entity.UpstreamConnectionPool;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -35,6 +36,7 @@ import org.mockito.junit.jupiter.MockitoExtension;
 import org.mockito.junit.jupiter.MockitoSettings;
 import org.mockito.quality.Strictness;
 
+import java.util.Collections;
 import java.util.List;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
@@ -96,6 +98,23 @@ public final class DividePluginDataHandlerTest {
         assertNull(result);
     }
 
+    /**
+     * Handler selector connection pool test.
+     */
+    @Test
+    public void handlerSelectorConnectionPoolTest() {
+        DivideUpstream divideUpstream = DivideUpstream.builder().upstreamUrl("127.0.0.1:8090").build();
+        divideUpstream.setMaxConnections(10);
+        divideUpstream.setPendingAcquireMaxCount(20);
+        divideUpstream.setMaxIdleTime(1000L);
+        SelectorData poolSelectorData = SelectorData.builder().id("pool").continued(true)
+                .handle(GsonUtils.getGson().toJson(Collections.singletonList(divideUpstream))).build();
+        dividePluginDataHandler.handlerSelector(poolSelectorData);
+        assertEquals(new UpstreamConnectionPool(10, 20, 1000, 0), UpstreamCacheManager.getInstance().findConnectionPool("127.0.0.1:8090"));
+        dividePluginDataHandler.removeSelector(poolSelectorData);
+        assertNull(UpstreamCacheManager.getInstance().findConnectionPool("127.0.0.1:8090"));
+    }
+
     /**
      * Plugin named test.
      */
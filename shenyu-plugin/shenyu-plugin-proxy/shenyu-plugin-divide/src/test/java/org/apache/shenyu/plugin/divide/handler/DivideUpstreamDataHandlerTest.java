@@ -23,6 +23,7 @@ import org.apache.shenyu.common.enums.PluginEnum;
 import org.apache.shenyu.common.utils.UpstreamCheckUtils;
 import org.apache.shenyu.loadbalancer.cache.UpstreamCacheManager;
 import org.apache.shenyu.loadbalancer.entity.Upstream;
+import org.apache.shenyu.loadbalancer.entity.UpstreamConnectionPool;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -33,6 +34,7 @@ import org.mockito.junit.jupiter.MockitoSettings;
 import org.mockito.quality.Strictness;
 
 import java.sql.Timestamp;
+import java.util.Collections;
 import java.util.List;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
@@ -90,6 +92,23 @@ public class DivideUpstreamDataHandlerTest {
         divideUpstreamDataHandler.handlerDiscoveryUpstreamData(discoverySyncData);
     }
 
+    /**
+     * Connection pool props test.
+     */
+    @Test
+    public void handlerConnectionPoolTest() {
+        DiscoveryUpstreamData upstreamData = DiscoveryUpstreamData.builder()
+                .url("127.0.0.1:8089")
+                .props("{\"maxConnections\":10,\"pendingAcquireMaxCount\":20,\"maxIdleTime\":\"30000\"}")
+                .build();
+        DiscoverySyncData syncData = new DiscoverySyncData();
+        syncData.setSelectorId("pool");
+        syncData.setUpstreamDataList(Collections.singletonList(upstreamData));
+        divideUpstreamDataHandler.handlerDiscoveryUpstreamData(syncData);
+        assertEquals(new UpstreamConnectionPool(10, 20, 30000, 0), UpstreamCacheManager.getInstance().findConnectionPool("127.0.0.1:8089"));
+        UpstreamCacheManager.getInstance().removeByKey("pool");
+    }
+
     /**
      * Plugin named test.
      */
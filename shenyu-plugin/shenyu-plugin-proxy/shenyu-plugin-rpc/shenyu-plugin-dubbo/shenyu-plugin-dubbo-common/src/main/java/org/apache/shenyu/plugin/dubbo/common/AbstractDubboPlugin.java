@@ -37,6 +37,8 @@ import org.springframework.http.HttpStatus;
 import org.springframework.web.server.ServerWebExchange;
 import reactor.core.publisher.Mono;
 
+import java.util.Collections;
+import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
@@ -146,6 +148,11 @@ public abstract class AbstractDubboPlugin extends AbstractShenyuPlugin {
         return skipExcept(exchange, RpcTypeEnum.DUBBO);
     }
 
+    @Override
+    public List<RpcTypeEnum> supportedRpcTypes() {
+        return Collections.singletonList(RpcTypeEnum.DUBBO);
+    }
+
     private void rpcContext(final ServerWebExchange exchange) {
         Map<String, Map<String, String>> rpcContext = exchange.getAttribute(Constants.GENERAL_CONTEXT);
         Optional.ofNullable(rpcContext)
@@ -47,6 +47,8 @@ import org.springframework.http.HttpStatus;
 import org.springframework.web.server.ServerWebExchange;
 import reactor.core.publisher.Mono;
 
+import java.util.Collections;
+import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
@@ -135,6 +137,11 @@ public class GrpcPlugin extends AbstractShenyuPlugin {
         return skipExcept(exchange, RpcTypeEnum.GRPC);
     }
 
+    @Override
+    public List<RpcTypeEnum> supportedRpcTypes() {
+        return Collections.singletonList(RpcTypeEnum.GRPC);
+    }
+
     @Override
     public int getOrder() {
         return PluginEnum.GRPC.getCode();
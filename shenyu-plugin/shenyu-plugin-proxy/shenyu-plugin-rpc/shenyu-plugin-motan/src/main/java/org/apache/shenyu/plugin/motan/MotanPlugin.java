@@ -38,6 +38,8 @@ import org.springframework.http.HttpStatus;
 import org.springframework.web.server.ServerWebExchange;
 import reactor.core.publisher.Mono;
 
+import java.util.Collections;
+import java.util.List;
 import java.util.Objects;
 
 /**
@@ -107,6 +109,11 @@ public class MotanPlugin extends AbstractShenyuPlugin {
     public boolean skip(final ServerWebExchange exchange) {
         return skipExcept(exchange, RpcTypeEnum.MOTAN);
     }
+
+    @Override
+    public List<RpcTypeEnum> supportedRpcTypes() {
+        return Collections.singletonList(RpcTypeEnum.MOTAN);
+    }
     
     @Override
     protected Mono<Void> handleSelectorIfNull(final String pluginName, final ServerWebExchange exchange, final ShenyuPluginChain chain) {
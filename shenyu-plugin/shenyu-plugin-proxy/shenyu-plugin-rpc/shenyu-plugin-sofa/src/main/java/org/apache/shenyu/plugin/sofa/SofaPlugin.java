@@ -18,6 +18,8 @@
 package org.apache.shenyu.plugin.sofa;
 
 import com.alipay.sofa.rpc.context.RpcInvokeContext;
+import java.util.Collections;
+import java.util.List;
 import java.util.Objects;
 import org.apache.commons.lang3.StringUtils;
 import org.apache.shenyu.common.constant.Constants;
@@ -110,6 +112,11 @@ public class SofaPlugin extends AbstractShenyuPlugin {
     public boolean skip(final ServerWebExchange exchange) {
         return skipExcept(exchange, RpcTypeEnum.SOFA);
     }
+
+    @Override
+    public List<RpcTypeEnum> supportedRpcTypes() {
+        return Collections.singletonList(RpcTypeEnum.SOFA);
+    }
     
     @Override
     protected Mono<Void> handleSelectorIfNull(final String pluginName, final ServerWebExchange exchange, final ShenyuPluginChain chain) {
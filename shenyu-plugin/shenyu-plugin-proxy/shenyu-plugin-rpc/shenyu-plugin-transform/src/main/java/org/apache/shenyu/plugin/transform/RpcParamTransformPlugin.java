@@ -36,6 +36,8 @@ import reactor.core.publisher.Mono;
 
 import java.net.URLDecoder;
 import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.List;
 import java.util.Objects;
 import java.util.Optional;
 
@@ -111,6 +113,11 @@ public class RpcParamTransformPlugin implements ShenyuPlugin {
                 RpcTypeEnum.SOFA);
     }
 
+    @Override
+    public List<RpcTypeEnum> supportedRpcTypes() {
+        return Arrays.asList(RpcTypeEnum.DUBBO, RpcTypeEnum.GRPC, RpcTypeEnum.TARS, RpcTypeEnum.MOTAN, RpcTypeEnum.SOFA);
+    }
+
     @NonNull
     private String resolveBodyFromRequest(final DataBuffer dataBuffer) {
         byte[] bytes = new byte[dataBuffer.readableByteCount()];
@@ -199,6 +199,11 @@ public class WebSocketPlugin extends AbstractShenyuPlugin {
         return skipExcept(exchange, RpcTypeEnum.WEB_SOCKET);
     }
 
+    @Override
+    public List<RpcTypeEnum> supportedRpcTypes() {
+        return Collections.singletonList(RpcTypeEnum.WEB_SOCKET);
+    }
+
     @Override
     protected Mono<Void> handleSelectorIfNull(final String pluginName, final ServerWebExchange exchange, final ShenyuPluginChain chain) {
         return WebFluxResultUtils.noSelectorResult(pluginName, exchange);
@@ -17,21 +17,30 @@
 
 package org.apache.shenyu.plugin.cryptor.plugin;
 
+import org.apache.shenyu.common.config.ShenyuConfig;
 import org.apache.shenyu.common.constant.Constants;
 import org.apache.shenyu.common.dto.RuleData;
 import org.apache.shenyu.common.dto.SelectorData;
 import org.apache.shenyu.common.enums.PluginEnum;
 import org.apache.shenyu.plugin.api.ShenyuPluginChain;
+import org.apache.shenyu.plugin.api.result.DefaultShenyuResult;
+import org.apache.shenyu.plugin.api.result.ShenyuResult;
+import org.apache.shenyu.plugin.api.utils.SpringBeanUtils;
 import org.apache.shenyu.plugin.cryptor.handler.CryptorResponsePluginDataHandler;
+import org.apache.shenyu.plugin.cryptor.handler.CryptorRuleHandler;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.codec.ServerCodecConfigurer;
 import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.http.server.reactive.MockServerHttpResponse;
 import org.springframework.mock.web.server.MockServerWebExchange;
 import org.springframework.web.reactive.function.client.ClientResponse;
 import org.springframework.web.server.ServerWebExchange;
@@ -42,6 +51,7 @@ import reactor.test.StepVerifier;
 import java.net.InetSocketAddress;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.spy;
@@ -184,6 +194,30 @@ public class CryptorResponsePluginTest {
         StepVerifier.create(result).expectSubscription().verifyComplete();
     }
 
+    @Test
+    @SuppressWarnings("unchecked")
+    public void rejectBeyondMaxAggregateSizeTest() {
+        ShenyuConfig shenyuConfig = new ShenyuConfig();
+        shenyuConfig.getResponse().setMaxAggregateSize(2);
+        ObjectProvider<ShenyuConfig> provider = mock(ObjectProvider.class);
+        when(provider.getIfAvailable()).thenReturn(shenyuConfig);
+        ConfigurableApplicationContext context = mock(ConfigurableApplicationContext.class);
+        when(context.getBeanProvider(ShenyuConfig.class)).thenReturn(provider);
+        when(context.getBean(ShenyuResult.class)).thenReturn(new DefaultShenyuResult());
+        SpringBeanUtils.getInstance().setApplicationContext(context);
+        this.exchange = MockServerWebExchange.from(MockServerHttpRequest.post("/test").build());
+        when(chain.execute(any())).thenAnswer(invocation -> {
+            ServerWebExchange newExchange = invocation.getArgument(0);
+            DefaultDataBufferFactory bufferFactory = DefaultDataBufferFactory.sharedInstance;
+            return newExchange.getResponse().writeWith(Flux.range(0, 3).map(i -> bufferFactory.wrap(new byte[1024 * 1024])));
+        });
+        Mono<Void> result = cryptorResponsePlugin.doExecute0(exchange, chain, selectorData, ruleData, new CryptorRuleHandler());
+        StepVerifier.create(result).expectSubscription().verifyComplete();
+        // the body can not be encrypted or decrypted as a whole, so it must not be written in plain.
+        assertEquals(HttpStatus.BAD_GATEWAY, exchange.getResponse().getStatusCode());
+        assertTrue(((MockServerHttpResponse) exchange.getResponse()).getBodyAsString().block().contains("-123"));
+    }
+
     @Test
     public void namedTest() {
         final String result = cryptorResponsePlugin.named();
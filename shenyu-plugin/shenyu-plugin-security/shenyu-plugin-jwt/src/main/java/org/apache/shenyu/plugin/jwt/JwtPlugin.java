@@ -28,6 +28,7 @@ import org.apache.shenyu.plugin.api.result.ShenyuResultWrap;
 import org.apache.shenyu.plugin.api.utils.WebFluxResultUtils;
 import org.apache.shenyu.plugin.base.AbstractShenyuPlugin;
 import org.apache.shenyu.plugin.base.utils.CacheKeyUtils;
+import org.apache.shenyu.plugin.jwt.cache.JwtPayloadCache;
 import org.apache.shenyu.plugin.jwt.config.JwtConfig;
 import org.apache.shenyu.plugin.jwt.handle.JwtPluginDataHandler;
 import org.apache.shenyu.plugin.jwt.rule.JwtRuleHandle;
@@ -125,7 +126,16 @@ public class JwtPlugin extends AbstractShenyuPlugin {
         if (StringUtils.isEmpty(authorization)) {
             return null;
         }
+        // the verified token is reused by the client until it expires.
+        Map<String, Object> payload = JwtPayloadCache.getInstance().obtainPayload(jwtConfig, authorization);
+        if (Objects.nonNull(payload)) {
+            return payload;
+        }
         JwtPayloadParseStrategy payloadParseStrategy = JwtPayloadParseStrategyFactory.newInstance(jwtConfig.getHandleType());
-        return payloadParseStrategy.parse(jwtConfig.getSecretKey(), authorization);
+        payload = payloadParseStrategy.parse(jwtConfig.getSecretKey(), authorization);
+        if (Objects.nonNull(payload)) {
+            JwtPayloadCache.getInstance().cachePayload(jwtConfig, authorization, payload);
+        }
+        return payload;
     }
 }
@@ -0,0 +1,169 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.shenyu.plugin.jwt.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import org.apache.commons.codec.digest.DigestUtils;
+import org.apache.commons.lang3.math.NumberUtils;
+import org.apache.shenyu.plugin.base.cache.CacheMetrics;
+import org.apache.shenyu.plugin.jwt.config.JwtConfig;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * The cache of the verified jwt payloads, a payload is cached until the expiration time of the token.
+ * The key is the hash of the token with the secret key and the handle type, so the payloads verified
+ * by the rotated secret key are never hit.
+ * The cached payloads are shared by the requests, so they are unmodifiable, and the hit, miss and eviction counters
+ * are registered as {@code org.apache.shenyu:type=Cache,name=jwt-payload}.
+ */
+public final class JwtPayloadCache {
+
+    private static final JwtPayloadCache INSTANCE = new JwtPayloadCache();
+
+    private static final long MAXIMUM_SIZE = 10000L;
+
+    private static final String EXPIRATION = "exp";
+
+    private final Cache<String, CachedPayload> cache = Caffeine.newBuilder()
+            .maximumSize(MAXIMUM_SIZE)
+            .expireAfter(new PayloadExpiry())
+            .recordStats()
+            .build();
+
+    private JwtPayloadCache() {
+        new CacheMetrics("jwt-payload", cache::stats).register();
+    }
+
+    /**
+     * Gets instance.
+     *
+     * @return the instance
+     */
+    public static JwtPayloadCache getInstance() {
+        return INSTANCE;
+    }
+
+    /**
+     * Obtain the verified payload of the token.
+     *
+     * @param jwtConfig the jwt config
+     * @param token     the token
+     * @return the unmodifiable payload, null if the token is not verified or has expired
+     */
+    public Map<String, Object> obtainPayload(final JwtConfig jwtConfig, final String token) {
+        CachedPayload cachedPayload = cache.getIfPresent(cacheKey(jwtConfig, token));
+        return Objects.isNull(cachedPayload) ? null : cachedPayload.payload;
+    }
+
+    /**
+     * Cache the verified payload of the token, the payload which has expired is not cached.
+     *
+     * @param jwtConfig the jwt config
+     * @param token     the token
+     * @param payload   the payload
+     */
+    public void cachePayload(final JwtConfig jwtConfig, final String token, final Map<String, Object> payload) {
+        long expireAt = expireAt(payload.get(EXPIRATION));
+        if (expireAt > System.currentTimeMillis()) {
+            cache.put(cacheKey(jwtConfig, token), new CachedPayload(unmodifiable(payload), expireAt));
+        }
+    }
+
+    /**
+     * Invalidate all the payloads.
+     */
+    public void invalidateAll() {
+        cache.invalidateAll();
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> T unmodifiable(final T value) {
+        // the nested claims are copied too, so a request never changes the payload of another one.
+        if (value instanceof Map) {
+            Map<Object, Object> copy = new LinkedHashMap<>();
+            ((Map<?, ?>) value).forEach((key, nested) -> copy.put(key, unmodifiable(nested)));
+            return (T) Collections.unmodifiableMap(copy);
+        }
+        if (value instanceof Collection) {
+            List<Object> copy = ((Collection<?>) value).stream().map(JwtPayloadCache::unmodifiable).collect(Collectors.toList());
+            return (T) Collections.unmodifiableList(copy);
+        }
+        return value;
+    }
+
+    private static String cacheKey(final JwtConfig jwtConfig, final String token) {
+        return DigestUtils.sha256Hex(String.join("\n", jwtConfig.getHandleType(), jwtConfig.getSecretKey(), token));
+    }
+
+    private static long expireAt(final Object expiration) {
+        if (expiration instanceof Date) {
+            return ((Date) expiration).getTime();
+        }
+        // the numeric date is the seconds since the epoch.
+        if (expiration instanceof Number) {
+            return TimeUnit.SECONDS.toMillis(((Number) expiration).longValue());
+        }
+        if (Objects.nonNull(expiration) && NumberUtils.isDigits(expiration.toString())) {
+            return TimeUnit.SECONDS.toMillis(NumberUtils.toLong(expiration.toString()));
+        }
+        // the token without expiration time is valid until it is evicted.
+        return Objects.isNull(expiration) ? Long.MAX_VALUE : 0L;
+    }
+
+    private static final class CachedPayload {
+
+        private final Map<String, Object> payload;
+
+        private final long expireAt;
+
+        CachedPayload(final Map<String, Object> payload, final long expireAt) {
+            this.payload = payload;
+            this.expireAt = expireAt;
+        }
+    }
+
+    private static final class PayloadExpiry implements Expiry<String, CachedPayload> {
+
+        @Override
+        public long expireAfterCreate(final String key, final CachedPayload value, final long currentTime) {
+            long remaining = value.expireAt - System.currentTimeMillis();
+            return remaining >= TimeUnit.NANOSECONDS.toMillis(Long.MAX_VALUE) ? Long.MAX_VALUE : TimeUnit.MILLISECONDS.toNanos(Math.max(remaining, 0L));
+        }
+
+        @Override
+        public long expireAfterUpdate(final String key, final CachedPayload value, final long currentTime, final long currentDuration) {
+            return expireAfterCreate(key, value, currentTime);
+        }
+
+        @Override
+        public long expireAfterRead(final String key, final CachedPayload value, final long currentTime, final long currentDuration) {
+            return currentDuration;
+        }
+    }
+}
@@ -27,10 +27,12 @@ import org.apache.shenyu.plugin.base.cache.CommonHandleCache;
 import org.apache.shenyu.plugin.base.handler.PluginDataHandler;
 import org.apache.shenyu.plugin.base.utils.BeanHolder;
 import org.apache.shenyu.plugin.base.utils.CacheKeyUtils;
+import org.apache.shenyu.plugin.jwt.cache.JwtPayloadCache;
 import org.apache.shenyu.plugin.jwt.config.JwtConfig;
 import org.apache.shenyu.plugin.jwt.rule.JwtRuleHandle;
 
 import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
 import java.util.function.Supplier;
 
@@ -49,7 +51,18 @@ public class JwtPluginDataHandler implements PluginDataHandler {
         JwtConfig jwtConfig = new JwtConfig();
         jwtConfig.setSecretKey(secretKey);
         jwtConfig.setHandleType(handleType);
+        JwtConfig oldConfig = Singleton.INST.get(JwtConfig.class);
         Singleton.INST.single(JwtConfig.class, jwtConfig);
+        if (Objects.nonNull(oldConfig) && (!Objects.equals(oldConfig.getSecretKey(), secretKey)
+                || !Objects.equals(oldConfig.getHandleType(), handleType))) {
+            // the payloads verified by the old secret key are never hit, release them.
+            JwtPayloadCache.getInstance().invalidateAll();
+        }
+    }
+
+    @Override
+    public void removePlugin(final PluginData pluginData) {
+        JwtPayloadCache.getInstance().invalidateAll();
     }
 
     @Override
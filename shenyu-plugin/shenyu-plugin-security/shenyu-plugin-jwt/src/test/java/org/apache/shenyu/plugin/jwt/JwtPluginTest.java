@@ -28,6 +28,8 @@ import org.apache.shenyu.plugin.api.ShenyuPluginChain;
 import org.apache.shenyu.plugin.api.result.DefaultShenyuResult;
 import org.apache.shenyu.plugin.api.result.ShenyuResult;
 import org.apache.shenyu.plugin.api.utils.SpringBeanUtils;
+import org.apache.shenyu.plugin.jwt.cache.JwtPayloadCache;
+import org.apache.shenyu.plugin.jwt.config.JwtConfig;
 import org.apache.shenyu.plugin.jwt.handle.JwtPluginDataHandler;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.BeforeEach;
@@ -39,13 +41,18 @@ import org.springframework.web.server.ServerWebExchange;
 import reactor.core.publisher.Mono;
 import reactor.test.StepVerifier;
 
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
 import java.nio.charset.StandardCharsets;
+import java.util.Collections;
 import java.util.Date;
+import java.util.HashMap;
 import java.util.Map;
 
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.argThat;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
@@ -117,6 +124,44 @@ public final class JwtPluginTest {
         StepVerifier.create(mono).expectSubscription().verifyComplete();
     }
 
+    @Test
+    public void testDoExecuteWithCachedPayload() throws Exception {
+        when(this.chain.execute(any())).thenReturn(Mono.empty());
+        long hitCount = payloadCacheHitCount();
+        StepVerifier.create(jwtPluginUnderTest.doExecute(exchange, chain, selectorData, ruleData)).expectSubscription().verifyComplete();
+        StepVerifier.create(jwtPluginUnderTest.doExecute(exchange, chain, selectorData, ruleData)).expectSubscription().verifyComplete();
+        Assertions.assertTrue(payloadCacheHitCount() > hitCount);
+        verify(chain, times(2)).execute(any());
+
+        // the token is verified again with the rotated secret key.
+        jwtPluginDataHandlerUnderTest.handlerPlugin(new PluginData("pluginId", "pluginName",
+                "{\"secretKey\":\"shenyu-rotated-shenyu-rotated-shenyu-rotated\"}", "0", false, null));
+        StepVerifier.create(jwtPluginUnderTest.doExecute(exchange, chain, selectorData, ruleData)).expectSubscription().verifyComplete();
+        verify(chain, times(2)).execute(any());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void testCachedPayloadIsUnmodifiable() {
+        JwtConfig jwtConfig = new JwtConfig();
+        jwtConfig.setSecretKey("shenyu-unmodifiable-shenyu-unmodifiable");
+        Map<String, Object> payload = new HashMap<>();
+        payload.put("userId", "1");
+        payload.put("roles", new HashMap<>(Collections.singletonMap("admin", true)));
+        JwtPayloadCache.getInstance().cachePayload(jwtConfig, "token", payload);
+        payload.put("userId", "2");
+        Map<String, Object> cached = JwtPayloadCache.getInstance().obtainPayload(jwtConfig, "token");
+        Assertions.assertEquals("1", cached.get("userId"));
+        Assertions.assertThrows(UnsupportedOperationException.class, () -> cached.put("userId", "3"));
+        Assertions.assertThrows(UnsupportedOperationException.class, () -> ((Map<String, Object>) cached.get("roles")).put("admin", false));
+    }
+
+    private static long payloadCacheHitCount() throws Exception {
+        // the metrics are registered with the cache.
+        JwtPayloadCache.getInstance();
+        return (Long) ManagementFactory.getPlatformMBeanServer().getAttribute(new ObjectName("org.apache.shenyu:type=Cache,name=jwt-payload"), "HitCount");
+    }
+
     private static boolean hasHeader(final ServerWebExchange exchange, final String name, final String val) {
         return exchange.getRequest().getHeaders().get(name).contains(val);
     }
@@ -20,6 +20,7 @@ package org.apache.shenyu.plugin.oauth2;
 import org.apache.shenyu.common.dto.RuleData;
 import org.apache.shenyu.common.dto.SelectorData;
 import org.apache.shenyu.common.enums.PluginEnum;
+import org.apache.shenyu.common.enums.RpcTypeEnum;
 import org.apache.shenyu.plugin.api.ShenyuPluginChain;
 import org.apache.shenyu.plugin.base.AbstractShenyuPlugin;
 import org.springframework.beans.factory.ObjectProvider;
@@ -31,6 +32,7 @@ import org.springframework.security.oauth2.client.authentication.OAuth2Authentic
 import org.springframework.web.server.ServerWebExchange;
 import reactor.core.publisher.Mono;
 
+import java.util.List;
 import java.util.Objects;
 
 /**
@@ -74,6 +76,11 @@ public class OAuth2Plugin extends AbstractShenyuPlugin {
     public boolean skip(final ServerWebExchange exchange) {
         return skipExceptHttpLike(exchange);
     }
+
+    @Override
+    public List<RpcTypeEnum> supportedRpcTypes() {
+        return RpcTypeEnum.acquireHttpLikes();
+    }
     
     private Mono<OAuth2AuthorizedClient> buildAuthorizedClient(final OAuth2AuthenticationToken oauth2Authentication) {
         String clientRegistrationId = oauth2Authentication.getAuthorizedClientRegistrationId();
@@ -31,12 +31,16 @@ import org.apache.shenyu.plugin.sign.service.SignService;
 import org.apache.shenyu.plugin.sign.api.VerifyResult;
 import org.apache.shenyu.plugin.sign.handler.SignPluginDataHandler;
 import org.apache.shenyu.plugin.sign.handler.SignRuleHandler;
+import org.springframework.http.MediaType;
 import org.springframework.http.codec.HttpMessageReader;
 import org.springframework.util.ObjectUtils;
 import org.springframework.web.server.ServerWebExchange;
 import reactor.core.publisher.Mono;
 
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
 import java.util.List;
+import java.util.Optional;
 
 /**
  * Sign Plugin.
@@ -80,6 +84,18 @@ public class SignPlugin extends AbstractShenyuPlugin {
             return chain.execute(exchange);
         }
 
+        if (isUtf8Body(exchange)) {
+            // verify the body buffers and replay them to the downstream plugins without decoding.
+            return ServerWebExchangeUtils.cacheRequestBody(exchange, (body, cachedExchange) -> {
+                VerifyResult result = signService.signatureVerify(exchange, body);
+                if (result.isFailed()) {
+                    return WebFluxResultUtils.failedResult(ShenyuResultEnum.SIGN_IS_NOT_PASS.getCode(),
+                            result.getReason(), exchange);
+                }
+                return chain.execute(cachedExchange);
+            });
+        }
+
         return ServerWebExchangeUtils.rewriteRequestBody(exchange, messageReaders, body -> {
             VerifyResult result = signVerifyWithBody(body, exchange);
             if (result.isSuccess()) {
@@ -95,6 +111,13 @@ public class SignPlugin extends AbstractShenyuPlugin {
                 });
     }
 
+    private boolean isUtf8Body(final ServerWebExchange exchange) {
+        Charset charset = Optional.ofNullable(exchange.getRequest().getHeaders().getContentType())
+                .map(MediaType::getCharset)
+                .orElse(StandardCharsets.UTF_8);
+        return StandardCharsets.UTF_8.equals(charset);
+    }
+
     private VerifyResult signVerifyWithBody(final String originalBody, final ServerWebExchange exchange) {
         // get url params
         return signService.signatureVerify(exchange, originalBody);
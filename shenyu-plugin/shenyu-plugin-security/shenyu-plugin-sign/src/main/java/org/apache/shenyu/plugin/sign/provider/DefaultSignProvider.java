@@ -19,6 +19,7 @@ package org.apache.shenyu.plugin.sign.provider;
 
 import com.google.common.collect.ImmutableMap;
 import org.apache.shenyu.plugin.sign.api.SignParameters;
+import org.springframework.core.io.buffer.DataBuffer;
 
 import java.util.Map;
 
@@ -39,6 +40,12 @@ public class DefaultSignProvider implements SignProvider {
                 .generateSign(signKey, signParameters, requestBody);
     }
 
+    @Override
+    public String generateSign(final String signKey, final SignParameters signParameters, final DataBuffer requestBody) {
+        return VERSION_SIGN.get(signParameters.getVersion())
+                .generateSign(signKey, signParameters, requestBody);
+    }
+
     @Override
     public String generateSign(final String signKey, final SignParameters signParameters) {
         return VERSION_SIGN.get(signParameters.getVersion())
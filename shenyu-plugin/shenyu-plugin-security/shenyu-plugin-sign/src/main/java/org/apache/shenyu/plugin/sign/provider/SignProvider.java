@@ -18,6 +18,9 @@
 package org.apache.shenyu.plugin.sign.provider;
 
 import org.apache.shenyu.plugin.sign.api.SignParameters;
+import org.springframework.core.io.buffer.DataBuffer;
+
+import java.nio.charset.StandardCharsets;
 
 public interface SignProvider {
 
@@ -31,6 +34,18 @@ public interface SignProvider {
      */
     String generateSign(String signKey, SignParameters signParameters, String requestBody);
 
+    /**
+     * Generates sign with the utf-8 request body, the position of the body is not changed.
+     *
+     * @param signKey        signKey
+     * @param signParameters signParameters
+     * @param requestBody    requestBody
+     * @return sign
+     */
+    default String generateSign(final String signKey, final SignParameters signParameters, final DataBuffer requestBody) {
+        return generateSign(signKey, signParameters, requestBody.toString(StandardCharsets.UTF_8));
+    }
+
     /**
      * Generates sign.
      *
@@ -19,6 +19,7 @@ package org.apache.shenyu.plugin.sign.provider;
 
 import org.apache.shenyu.common.utils.SignUtils;
 import org.apache.shenyu.plugin.sign.api.SignParameters;
+import org.springframework.core.io.buffer.DataBuffer;
 
 import java.net.URI;
 import java.util.Objects;
@@ -35,9 +36,20 @@ public class VersionTwoSignProvider implements SignProvider {
         return SignUtils.sign(signParameters.getSignAlg(), signKey, data).toUpperCase();
     }
 
+    @Override
+    public String generateSign(final String signKey, final SignParameters signParameters, final DataBuffer requestBody) {
+        SignUtils.Signer signer = SignUtils.newSigner(signParameters.getSignAlg(), signKey)
+                .update(signParameters.getParameters() + getRelativeURL(signParameters.getUri()));
+        // digest the body buffers one by one, they are not copied or decoded.
+        try (DataBuffer.ByteBufferIterator iterator = requestBody.readableByteBuffers()) {
+            iterator.forEachRemaining(signer::update);
+        }
+        return signer.sign().toUpperCase();
+    }
+
     @Override
     public String generateSign(final String signKey, final SignParameters signParameters) {
-        return generateSign(signKey, signParameters, null);
+        return generateSign(signKey, signParameters, (String) null);
     }
 
     private String getRelativeURL(final URI uri) {
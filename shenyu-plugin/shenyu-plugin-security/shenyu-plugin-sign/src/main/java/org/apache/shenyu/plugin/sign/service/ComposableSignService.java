@@ -40,6 +40,7 @@ import org.apache.shenyu.plugin.sign.provider.SignProvider;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.buffer.DataBuffer;
 import org.springframework.web.server.ServerWebExchange;
 
 import java.time.LocalDateTime;
@@ -96,6 +97,11 @@ public class ComposableSignService implements SignService {
         return signatureVerify(exchange, (signKey, signParameters) -> signProvider.generateSign(signKey, signParameters, requestBody));
     }
 
+    @Override
+    public VerifyResult signatureVerify(final ServerWebExchange exchange, final DataBuffer requestBody) {
+        return signatureVerify(exchange, (signKey, signParameters) -> signProvider.generateSign(signKey, signParameters, requestBody));
+    }
+
     @Override
     public VerifyResult signatureVerify(final ServerWebExchange exchange) {
         return signatureVerify(exchange, signProvider::generateSign);
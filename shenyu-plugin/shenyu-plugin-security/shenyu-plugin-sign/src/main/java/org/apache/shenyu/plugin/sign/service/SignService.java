@@ -18,8 +18,11 @@
 package org.apache.shenyu.plugin.sign.service;
 
 import org.apache.shenyu.plugin.sign.api.VerifyResult;
+import org.springframework.core.io.buffer.DataBuffer;
 import org.springframework.web.server.ServerWebExchange;
 
+import java.nio.charset.StandardCharsets;
+
 public interface SignService {
 
     /**
@@ -30,6 +33,16 @@ public interface SignService {
      */
     VerifyResult signatureVerify(ServerWebExchange exchange, String requestBody);
 
+    /**
+     * Gets verifyResult with the utf-8 request body, the position of the body is not changed.
+     * @param exchange exchange
+     * @param requestBody requestBody
+     * @return result
+     */
+    default VerifyResult signatureVerify(final ServerWebExchange exchange, final DataBuffer requestBody) {
+        return signatureVerify(exchange, requestBody.toString(StandardCharsets.UTF_8));
+    }
+
     /**
      * Gets verifyResult.
      * @param exchange exchange
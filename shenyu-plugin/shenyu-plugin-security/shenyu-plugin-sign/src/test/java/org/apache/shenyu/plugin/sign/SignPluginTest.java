@@ -37,6 +37,8 @@ import org.mockito.junit.jupiter.MockitoExtension;
 import org.mockito.junit.jupiter.MockitoSettings;
 import org.mockito.quality.Strictness;
 import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpMethod;
 import org.springframework.http.MediaType;
@@ -48,11 +50,14 @@ import reactor.core.publisher.Mono;
 import reactor.test.StepVerifier;
 
 import java.io.IOException;
+import java.nio.charset.StandardCharsets;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 /**
@@ -127,11 +132,23 @@ public final class SignPluginTest {
                 .method(HttpMethod.POST, "/test")
                 .header(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
                 .body(requestBody));
-        when(signService.signatureVerify(exchange, requestBody)).thenReturn(VerifyResult.success());
-        when(this.chain.execute(any())).thenReturn(Mono.empty());
+        when(signService.signatureVerify(any(ServerWebExchange.class), any(DataBuffer.class))).thenAnswer(invocation -> {
+            DataBuffer body = invocation.getArgument(1);
+            return requestBody.equals(body.toString(StandardCharsets.UTF_8)) ? VerifyResult.success() : VerifyResult.fail("");
+        });
+        // the downstream plugins read the same body.
+        when(this.chain.execute(any())).thenAnswer(invocation -> {
+            ServerWebExchange cachedExchange = invocation.getArgument(0);
+            return DataBufferUtils.join(cachedExchange.getRequest().getBody())
+                    .doOnNext(body -> {
+                        assertEquals(requestBody, body.toString(StandardCharsets.UTF_8));
+                        DataBufferUtils.release(body);
+                    }).then();
+        });
         SelectorData selectorData = mock(SelectorData.class);
         signPluginDataHandler.handlerRule(ruleData);
         StepVerifier.create(signPlugin.doExecute(this.exchange, this.chain, selectorData, this.ruleData)).expectSubscription().verifyComplete();
+        verify(this.chain).execute(any());
 
     }
 
@@ -145,12 +162,29 @@ public final class SignPluginTest {
                 .header(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
                 .body(requestBody));
 
-        when(signService.signatureVerify(exchange, requestBody)).thenReturn(VerifyResult.fail(""));
+        when(signService.signatureVerify(any(ServerWebExchange.class), any(DataBuffer.class))).thenReturn(VerifyResult.fail(""));
         when(this.chain.execute(any())).thenReturn(Mono.empty());
         SelectorData selectorData = mock(SelectorData.class);
         signPluginDataHandler.handlerRule(ruleData);
         StepVerifier.create(signPlugin.doExecute(this.exchange, this.chain, selectorData, this.ruleData)).expectSubscription().verifyComplete();
+        verify(this.chain, never()).execute(any());
+    }
 
+    @Test
+    public void testSignPluginSignBodyWithCharset() {
+        this.ruleData.setHandle("{\"signRequestBody\": true}");
+        String requestBody = "{\"data\": \"5\"}";
+        this.exchange = MockServerWebExchange.from(MockServerHttpRequest
+                .method(HttpMethod.POST, "/test")
+                .header(HttpHeaders.CONTENT_TYPE, "application/json;charset=GBK")
+                .body(requestBody));
+        // the body which is not utf-8 is decoded before verifying.
+        when(signService.signatureVerify(exchange, requestBody)).thenReturn(VerifyResult.success());
+        when(this.chain.execute(any())).thenReturn(Mono.empty());
+        SelectorData selectorData = mock(SelectorData.class);
+        signPluginDataHandler.handlerRule(ruleData);
+        StepVerifier.create(signPlugin.doExecute(this.exchange, this.chain, selectorData, this.ruleData)).expectSubscription().verifyComplete();
+        verify(this.chain).execute(any());
     }
 
     @AfterEach
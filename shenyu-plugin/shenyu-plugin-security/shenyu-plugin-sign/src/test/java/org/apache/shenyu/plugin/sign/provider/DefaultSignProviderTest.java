@@ -21,9 +21,12 @@ import com.google.common.collect.ImmutableMap;
 import org.apache.shenyu.common.utils.JsonUtils;
 import org.apache.shenyu.plugin.sign.api.SignParameters;
 import org.junit.jupiter.api.Test;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
 
 import java.net.URI;
 import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
 import java.util.Base64;
 
 import static org.hamcrest.MatcherAssert.assertThat;
@@ -62,5 +65,12 @@ public class DefaultSignProviderTest {
         ImmutableMap<String, String> requestBody = ImmutableMap.of("userName", "Lee", "userId", "3");
         String actual = signProvider.generateSign("061521A73DD94A3FA873C25D050685BB", signParameters, JsonUtils.toJson(requestBody));
         assertThat(actual, is("61A097079016A18B1246A375482BEDBC"));
+
+        byte[] body = JsonUtils.toJson(requestBody).getBytes(StandardCharsets.UTF_8);
+        DataBuffer dataBuffer = DefaultDataBufferFactory.sharedInstance.join(Arrays.asList(
+                DefaultDataBufferFactory.sharedInstance.wrap(Arrays.copyOfRange(body, 0, 5)),
+                DefaultDataBufferFactory.sharedInstance.wrap(Arrays.copyOfRange(body, 5, body.length))));
+        assertThat(signProvider.generateSign("061521A73DD94A3FA873C25D050685BB", signParameters, dataBuffer), is("61A097079016A18B1246A375482BEDBC"));
+        assertThat(dataBuffer.readableByteCount(), is(body.length));
     }
 }
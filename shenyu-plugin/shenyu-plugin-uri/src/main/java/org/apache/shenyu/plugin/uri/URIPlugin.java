@@ -20,6 +20,7 @@ package org.apache.shenyu.plugin.uri;
 import org.apache.commons.lang3.StringUtils;
 import org.apache.shenyu.common.constant.Constants;
 import org.apache.shenyu.common.enums.PluginEnum;
+import org.apache.shenyu.common.enums.RpcTypeEnum;
 import org.apache.shenyu.plugin.api.ShenyuPlugin;
 import org.apache.shenyu.plugin.api.ShenyuPluginChain;
 import org.apache.shenyu.plugin.api.utils.RequestUrlUtils;
@@ -27,6 +28,7 @@ import org.springframework.web.server.ServerWebExchange;
 import reactor.core.publisher.Mono;
 
 import java.net.URI;
+import java.util.List;
 
 /**
  * The type Uri plugin.
@@ -58,4 +60,9 @@ public class URIPlugin implements ShenyuPlugin {
     public boolean skip(final ServerWebExchange exchange) {
         return skipExceptHttpLike(exchange);
     }
+
+    @Override
+    public List<RpcTypeEnum> supportedRpcTypes() {
+        return RpcTypeEnum.acquireHttpLikes();
+    }
 }
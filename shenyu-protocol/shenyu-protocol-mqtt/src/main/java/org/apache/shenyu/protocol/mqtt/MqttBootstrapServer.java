@@ -19,7 +19,9 @@ package org.apache.shenyu.protocol.mqtt;
 
 import io.netty.bootstrap.ServerBootstrap;
 import io.netty.channel.ChannelFuture;
+import io.netty.channel.ChannelOption;
 import io.netty.channel.EventLoopGroup;
+import io.netty.channel.WriteBufferWaterMark;
 import io.netty.channel.nio.NioEventLoopGroup;
 import io.netty.channel.socket.nio.NioServerSocketChannel;
 import io.netty.util.ResourceLeakDetector;
@@ -38,6 +40,10 @@ public class MqttBootstrapServer implements BootstrapServer {
 
     private static final MqttContext ENV = new MqttContext();
 
+    private static final int WRITE_BUFFER_LOW_WATER_MARK = 32 * 1024;
+
+    private static final int WRITE_BUFFER_HIGH_WATER_MARK = 64 * 1024;
+
     private EventLoopGroup bossGroup;
 
     private EventLoopGroup workerGroup;
@@ -62,6 +68,8 @@ public class MqttBootstrapServer implements BootstrapServer {
         ServerBootstrap bootstrap = new ServerBootstrap();
         bootstrap.group(bossGroup, workerGroup)
                 .channel(NioServerSocketChannel.class)
+                // the subscriber above the high water mark skips the published messages until it drains.
+                .childOption(ChannelOption.WRITE_BUFFER_WATER_MARK, new WriteBufferWaterMark(WRITE_BUFFER_LOW_WATER_MARK, WRITE_BUFFER_HIGH_WATER_MARK))
                 .childHandler(new MqttTransportServerInitializer(ENV.getMaxPayloadSize()));
         try {
             future = bootstrap.bind(ENV.getPort()).sync();
@@ -22,6 +22,8 @@ import io.netty.channel.ChannelInboundHandlerAdapter;
 import io.netty.handler.codec.mqtt.MqttMessage;
 import io.netty.util.concurrent.Future;
 import io.netty.util.concurrent.GenericFutureListener;
+import org.apache.shenyu.common.utils.Singleton;
+import org.apache.shenyu.protocol.mqtt.repositories.SubscribeRepository;
 
 /**
  * mqtt transport handler.
@@ -38,6 +40,13 @@ public class MqttTransportHandler extends ChannelInboundHandlerAdapter implement
         }
     }
 
+    @Override
+    public void channelInactive(final ChannelHandlerContext ctx) throws Exception {
+        // the subscriptions of the dropped connection are not matched any more.
+        Singleton.INST.get(SubscribeRepository.class).remove(ctx.channel());
+        super.channelInactive(ctx);
+    }
+
     @Override
     public void operationComplete(final Future<? super Void> future) throws Exception {
 
@@ -27,13 +27,15 @@ import io.netty.handler.codec.mqtt.MqttPublishMessage;
 import io.netty.handler.codec.mqtt.MqttQoS;
 import io.netty.handler.codec.mqtt.MqttPubAckMessage;
 import io.netty.handler.codec.mqtt.MqttMessageType;
-import io.netty.handler.codec.mqtt.MqttPublishVariableHeader;
 import org.apache.shenyu.common.utils.Singleton;
 import org.apache.shenyu.protocol.mqtt.repositories.SubscribeRepository;
 import org.apache.shenyu.protocol.mqtt.repositories.TopicRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
-import java.util.List;
-import java.util.concurrent.CompletableFuture;
+import java.nio.charset.StandardCharsets;
+import java.util.Set;
+import java.util.concurrent.atomic.LongAdder;
 
 import static io.netty.handler.codec.mqtt.MqttMessageType.PUBACK;
 
@@ -42,19 +44,29 @@ import static io.netty.handler.codec.mqtt.MqttMessageType.PUBACK;
  */
 public class Publish extends MessageType {
 
+    private static final Logger LOG = LoggerFactory.getLogger(Publish.class);
+
+    private static final LongAdder DROPPED = new LongAdder();
+
     @Override
     public void publish(final ChannelHandlerContext ctx, final MqttPublishMessage msg) {
         if (isConnected()) {
+            msg.release();
             return;
         }
         String topic = msg.variableHeader().topicName();
         ByteBuf payload = msg.payload();
-        String message = byteBufToString(payload);
         //// todo qos
         MqttQoS mqttQoS = msg.fixedHeader().qosLevel();
-        Singleton.INST.get(TopicRepository.class).add(topic, message);
+        if (msg.fixedHeader().isRetain()) {
+            Singleton.INST.get(TopicRepository.class).add(topic, payload);
+        }
         int packetId = msg.variableHeader().packetId();
-        CompletableFuture.runAsync(() -> send(topic, payload, packetId));
+        try {
+            send(topic, payload);
+        } finally {
+            msg.release();
+        }
 
         switch (mqttQoS.value()) {
             case 0:
@@ -102,26 +114,51 @@ public class Publish extends MessageType {
         ctx.writeAndFlush(mqttPubAckMessage);
     }
 
-    private String byteBufToString(final ByteBuf byteBuf) {
-        if (byteBuf.hasArray()) {
-            return new String(byteBuf.array(), byteBuf.arrayOffset() + byteBuf.readerIndex(), byteBuf.readableBytes());
-        } else {
-            byte[] bytes = new byte[byteBuf.readableBytes()];
-            byteBuf.getBytes(byteBuf.readerIndex(), bytes);
-            return new String(bytes, 0, byteBuf.readableBytes());
+    /**
+     * write the payload to the subscribers without copying, the publish header is encoded once, and every subscriber
+     * writes it with a retained duplicate of the payload on its own event loop.
+     * This is load shedding, not back-pressure: the subscriber above the write buffer high water mark drops the message,
+     * which is delivered at most once, and the publisher is never slowed down.
+     */
+    private void send(final String topic, final ByteBuf payload) {
+        Set<Channel> channels = Singleton.INST.get(SubscribeRepository.class).match(topic);
+        if (channels.isEmpty()) {
+            return;
+        }
+        ByteBuf header = encodePublishHeader(topic, payload.readableBytes());
+        try {
+            for (Channel channel : channels) {
+                if (!channel.isActive()) {
+                    continue;
+                }
+                if (channel.isWritable()) {
+                    // the encoded message passes through the mqtt encoder.
+                    channel.writeAndFlush(Unpooled.wrappedBuffer(header.retainedDuplicate(), payload.retainedDuplicate()), channel.voidPromise());
+                } else {
+                    DROPPED.increment();
+                    LOG.debug("MQTT subscriber {} is not writable, drop the message of topic {}, {} messages dropped in total", channel, topic, DROPPED.sum());
+                }
+            }
+        } finally {
+            header.release();
         }
     }
 
-    private void send(final String topic, final ByteBuf payload, final int packetId) {
-        List<Channel> channels = Singleton.INST.get(SubscribeRepository.class).get(topic);
-        //// todo thread pool
-        channels.parallelStream().forEach(channel -> {
-            if (channel.isActive()) {
-                MqttFixedHeader mqttFixedHeader = new MqttFixedHeader(MqttMessageType.PUBLISH, false, MqttQoS.AT_MOST_ONCE, false, 0);
-                MqttPublishVariableHeader mqttPublishVariableHeader = new MqttPublishVariableHeader(topic, packetId);
-                MqttPublishMessage mqttPublishMessage = new MqttPublishMessage(mqttFixedHeader, mqttPublishVariableHeader, Unpooled.wrappedBuffer(payload));
-                channel.writeAndFlush(mqttPublishMessage);
-            }
-        });
+    /**
+     * encode the fixed header and the variable header of the publish message with qos 0.
+     */
+    private static ByteBuf encodePublishHeader(final String topic, final int payloadLength) {
+        byte[] topicBytes = topic.getBytes(StandardCharsets.UTF_8);
+        int remainingLength = 2 + topicBytes.length + payloadLength;
+        ByteBuf header = Unpooled.buffer(1 + 4 + 2 + topicBytes.length);
+        header.writeByte(MqttMessageType.PUBLISH.value() << 4);
+        do {
+            int digit = remainingLength % 128;
+            remainingLength /= 128;
+            header.writeByte(remainingLength > 0 ? digit | 0x80 : digit);
+        } while (remainingLength > 0);
+        header.writeShort(topicBytes.length);
+        header.writeBytes(topicBytes);
+        return header;
     }
 }
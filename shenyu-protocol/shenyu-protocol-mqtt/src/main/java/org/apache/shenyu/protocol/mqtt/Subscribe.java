@@ -17,7 +17,7 @@
 
 package org.apache.shenyu.protocol.mqtt;
 
-import io.netty.buffer.Unpooled;
+import io.netty.buffer.ByteBuf;
 import io.netty.channel.Channel;
 import io.netty.channel.ChannelHandlerContext;
 import io.netty.handler.codec.mqtt.MqttFixedHeader;
@@ -29,8 +29,6 @@ import io.netty.handler.codec.mqtt.MqttSubAckPayload;
 import io.netty.handler.codec.mqtt.MqttSubAckMessage;
 import io.netty.handler.codec.mqtt.MqttPublishVariableHeader;
 import io.netty.handler.codec.mqtt.MqttPublishMessage;
-import io.netty.util.CharsetUtil;
-import org.apache.commons.lang3.StringUtils;
 import org.apache.shenyu.common.utils.Singleton;
 import org.apache.shenyu.protocol.mqtt.repositories.SubscribeRepository;
 import org.apache.shenyu.protocol.mqtt.repositories.TopicRepository;
@@ -60,7 +58,6 @@ public class Subscribe extends MessageType {
         List<MqttTopicSubscription> mqttTopicSubscriptions = msg.payload().topicSubscriptions();
         int packetId = msg.variableHeader().messageId();
 
-        //// todo Regular match
         List<String> ackTopics = mqttTopicSubscriptions
                 .stream()
                 .filter(topicSub -> topicSub.qualityOfService() != FAILURE)
@@ -69,14 +66,12 @@ public class Subscribe extends MessageType {
 
         Singleton.INST.get(SubscribeRepository.class).add(ctx.channel(), mqttTopicSubscriptions);
 
+        sendSubAckMessage(packetId, ackTopics, channel);
+
         for (String ackTopic : ackTopics) {
-            String message = Singleton.INST.get(TopicRepository.class).get(ackTopic);
-            if (StringUtils.isNotEmpty(message)) {
-                sendSubMessage(ackTopic, message, packetId, channel);
-            }
+            Singleton.INST.get(TopicRepository.class).match(ackTopic)
+                    .forEach((topic, message) -> sendSubMessage(topic, message, packetId, channel));
         }
-
-        sendSubAckMessage(packetId, ackTopics, channel);
     }
 
     /**
@@ -101,16 +96,16 @@ public class Subscribe extends MessageType {
     }
 
     /**
-     * send subscribe message.
+     * send retained message.
      * @param topic topic
-     * @param message message
+     * @param message the retained message, it is released by the write
      * @param packetId packetId
      * @param channel channel
      */
-    private void sendSubMessage(final String topic, final String message, final int packetId, final Channel channel) {
+    private void sendSubMessage(final String topic, final ByteBuf message, final int packetId, final Channel channel) {
         MqttFixedHeader fixedHeader = new MqttFixedHeader(MqttMessageType.PUBLISH, false, AT_MOST_ONCE, true, 0);
         MqttPublishVariableHeader varHeader = new MqttPublishVariableHeader(topic, packetId);
-        MqttPublishMessage mqttPublishMessage = new MqttPublishMessage(fixedHeader, varHeader, Unpooled.copiedBuffer(message, CharsetUtil.UTF_8));
+        MqttPublishMessage mqttPublishMessage = new MqttPublishMessage(fixedHeader, varHeader, message);
         channel.writeAndFlush(mqttPublishMessage);
     }
 }
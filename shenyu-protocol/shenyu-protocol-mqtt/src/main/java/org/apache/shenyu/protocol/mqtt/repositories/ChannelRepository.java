@@ -20,7 +20,6 @@ package org.apache.shenyu.protocol.mqtt.repositories;
 import io.netty.channel.Channel;
 
 import java.util.Map;
-import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentHashMap;
 
 /**
@@ -32,7 +31,7 @@ public class ChannelRepository implements BaseRepository<Channel, String> {
 
     @Override
     public void add(final Channel channel, final String clientId) {
-        CompletableFuture.runAsync(() -> CHANNEL_FACTORY.put(channel, clientId));
+        CHANNEL_FACTORY.put(channel, clientId);
     }
 
     @Override
@@ -19,33 +19,33 @@ package org.apache.shenyu.protocol.mqtt.repositories;
 
 import io.netty.channel.Channel;
 import io.netty.handler.codec.mqtt.MqttTopicSubscription;
-import org.slf4j.Logger;
-import org.slf4j.LoggerFactory;
+import org.apache.shenyu.protocol.mqtt.topic.SubscriptionTrie;
 
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 import java.util.Set;
-import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.CopyOnWriteArrayList;
-import java.util.concurrent.CopyOnWriteArraySet;
 
 /**
- * Topic and channel association.
+ * Topic filter and channel association.
+ * The subscribers of a topic name are matched by the {@link SubscriptionTrie}, the wildcards '+' and '#' are supported.
  */
 public class SubscribeRepository implements BaseRepository<List<String>, List<Channel>> {
 
-    private static final Logger LOG = LoggerFactory.getLogger(SubscribeRepository.class);
+    private static final SubscriptionTrie SUBSCRIPTION_TRIE = new SubscriptionTrie();
 
-    private static final Map<String, List<Channel>> TOPIC_CHANNEL_FACTORY = new ConcurrentHashMap<>();
+    /**
+     * channel -> subscribed topic filters, to remove the subscriptions of the closed channel.
+     */
+    private static final Map<Channel, Set<String>> CHANNEL_TOPIC_FACTORY = new ConcurrentHashMap<>();
 
     @Override
     public void add(final List<String> topics, final List<Channel> channels) {
-        CompletableFuture.runAsync(() -> topics.parallelStream().forEach(s -> {
-            List<Channel> list = get(s);
-            list.addAll(channels);
-            TOPIC_CHANNEL_FACTORY.put(s, list);
-        }));
+        channels.forEach(channel -> topics.forEach(topic -> subscribe(topic, channel)));
     }
 
     /**
@@ -54,16 +54,13 @@ public class SubscribeRepository implements BaseRepository<List<String>, List<Ch
      * @param mqttTopicSubscription mqtt subscription info
      */
     public void add(final Channel channel, final List<MqttTopicSubscription> mqttTopicSubscription) {
-        CompletableFuture.runAsync(() -> mqttTopicSubscription.parallelStream().forEach(s -> {
-            List<Channel> channels = get(s.topicName());
-            channels.add(channel);
-            TOPIC_CHANNEL_FACTORY.put(s.topicName(), channels);
-        }));
+        mqttTopicSubscription.forEach(s -> subscribe(s.topicName(), channel));
     }
 
     @Override
     public void remove(final List<String> topics) {
-        CompletableFuture.runAsync(() -> topics.parallelStream().forEach(TOPIC_CHANNEL_FACTORY::remove));
+        topics.forEach(SUBSCRIPTION_TRIE::remove);
+        CHANNEL_TOPIC_FACTORY.values().forEach(filters -> topics.forEach(filters::remove));
     }
 
     /**
@@ -72,14 +69,29 @@ public class SubscribeRepository implements BaseRepository<List<String>, List<Ch
      * @param channel channel
      */
     public void remove(final List<String> topics, final Channel channel) {
-        CompletableFuture.runAsync(() -> topics.parallelStream().forEach(topic -> TOPIC_CHANNEL_FACTORY.get(topic).remove(channel)));
+        topics.forEach(topic -> SUBSCRIPTION_TRIE.unsubscribe(topic, channel));
+        Set<String> filters = CHANNEL_TOPIC_FACTORY.get(channel);
+        if (Objects.nonNull(filters)) {
+            topics.forEach(filters::remove);
+        }
+    }
+
+    /**
+     * remove all subscriptions of the channel.
+     * @param channel channel
+     */
+    public void remove(final Channel channel) {
+        Set<String> filters = CHANNEL_TOPIC_FACTORY.remove(channel);
+        if (Objects.nonNull(filters)) {
+            filters.forEach(topic -> SUBSCRIPTION_TRIE.unsubscribe(topic, channel));
+        }
     }
 
     @Override
     public List<Channel> get(final List<String> topics) {
-        Set<Channel> channels = new CopyOnWriteArraySet<>();
-        topics.parallelStream().forEach(s -> channels.addAll(TOPIC_CHANNEL_FACTORY.get(s)));
-        return new CopyOnWriteArrayList<>(channels);
+        Set<Channel> channels = new LinkedHashSet<>();
+        topics.forEach(s -> channels.addAll(SUBSCRIPTION_TRIE.match(s)));
+        return new ArrayList<>(channels);
     }
 
     /**
@@ -88,7 +100,21 @@ public class SubscribeRepository implements BaseRepository<List<String>, List<Ch
      * @return Channels
      */
     public List<Channel> get(final String topic) {
-        return TOPIC_CHANNEL_FACTORY.getOrDefault(topic, new CopyOnWriteArrayList<>());
+        return new ArrayList<>(SUBSCRIPTION_TRIE.match(topic));
+    }
+
+    /**
+     * match the subscribers of the topic name.
+     * @param topic topic name
+     * @return subscribers, each channel once
+     */
+    public Set<Channel> match(final String topic) {
+        return SUBSCRIPTION_TRIE.match(topic);
+    }
+
+    private void subscribe(final String topic, final Channel channel) {
+        SUBSCRIPTION_TRIE.subscribe(topic, channel);
+        CHANNEL_TOPIC_FACTORY.computeIfAbsent(channel, key -> Collections.newSetFromMap(new ConcurrentHashMap<>())).add(topic);
     }
 
 }
@@ -17,33 +17,63 @@
 
 package org.apache.shenyu.protocol.mqtt.repositories;
 
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+import org.apache.shenyu.protocol.mqtt.topic.RetainedMessageTrie;
+
 import java.util.Map;
-import java.util.concurrent.CompletableFuture;
-import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * Topic repository.
- * Save the posted message.
+ * Save the retained message of the topics in a topic trie, the least recently retained messages are evicted
+ * when the retained bytes exceed the bound.
  * {@link org.apache.shenyu.protocol.mqtt.agent.MessageAgent}
  */
-public class TopicRepository implements BaseRepository<String, String> {
+public class TopicRepository implements BaseRepository<String, ByteBuf> {
+
+    private static final long MAX_RETAINED_BYTES = 64L * 1024 * 1024;
 
-    private static final Map<String, String> TOPIC_FACTORY = new ConcurrentHashMap<>();
+    private static final RetainedMessageTrie RETAINED_MESSAGE_TRIE = new RetainedMessageTrie(MAX_RETAINED_BYTES);
 
+    /**
+     * retain a copy of the message, the empty message removes the retained message of the topic.
+     * @param topic topic
+     * @param message message, it is not released
+     */
     @Override
-    public void add(final String topic, final String message) {
-        //// todo MessageAgent.java. Carry out message processing and processing
-        CompletableFuture.runAsync(() -> TOPIC_FACTORY.put(topic, message));
+    public void add(final String topic, final ByteBuf message) {
+        if (!message.isReadable()) {
+            remove(topic);
+            return;
+        }
+        if (message.readableBytes() > MAX_RETAINED_BYTES) {
+            return;
+        }
+        RETAINED_MESSAGE_TRIE.put(topic, Unpooled.copiedBuffer(message));
     }
 
     @Override
     public void remove(final String topic) {
-        TOPIC_FACTORY.remove(topic);
+        RETAINED_MESSAGE_TRIE.remove(topic);
     }
 
+    /**
+     * get the retained message.
+     * @param topic topic
+     * @return the retained duplicate of the message, the caller should release it, or null
+     */
     @Override
-    public String get(final String topic) {
-        return TOPIC_FACTORY.getOrDefault(topic, null);
+    public ByteBuf get(final String topic) {
+        return RETAINED_MESSAGE_TRIE.get(topic);
+    }
+
+    /**
+     * match the retained messages of the topic filter by walking the topic trie.
+     * @param topicFilter topic filter
+     * @return topic -> the retained duplicate of the message, the caller should release them
+     */
+    public Map<String, ByteBuf> match(final String topicFilter) {
+        return RETAINED_MESSAGE_TRIE.match(topicFilter);
     }
 
 }
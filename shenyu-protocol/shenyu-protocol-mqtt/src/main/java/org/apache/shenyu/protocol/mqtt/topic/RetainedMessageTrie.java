@@ -0,0 +1,198 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.apache.shenyu.protocol.mqtt.topic;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.util.IllegalReferenceCountException;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * The trie of the retained messages, one node per topic level.
+ * Topic filters walk the trie without locks, only the matching branches are visited,
+ * retains and removes are serialized. The least recently retained messages are evicted
+ * when the retained bytes exceed the bound.
+ */
+public final class RetainedMessageTrie {
+
+    private final Node root = new Node(null);
+
+    /**
+     * topic -> node of the retained message, in the retained order.
+     */
+    private final Map<String, Node> retained = new LinkedHashMap<>();
+
+    private final long maxRetainedBytes;
+
+    private long retainedBytes;
+
+    public RetainedMessageTrie(final long maxRetainedBytes) {
+        this.maxRetainedBytes = maxRetainedBytes;
+    }
+
+    /**
+     * Retain the message of the topic, the former message of the topic is released.
+     *
+     * @param topic topic name
+     * @param message message, it is released by the trie
+     */
+    public synchronized void put(final String topic, final ByteBuf message) {
+        remove(topic);
+        Node node = root;
+        for (String level : SubscriptionTrie.split(topic)) {
+            Node parent = node;
+            node = node.children.computeIfAbsent(level, key -> new Node(Objects.isNull(parent.topic) ? key : parent.topic + SubscriptionTrie.LEVEL_SEPARATOR + key));
+        }
+        node.message = message;
+        retained.put(topic, node);
+        retainedBytes += message.readableBytes();
+        Iterator<String> iterator = retained.keySet().iterator();
+        while (retainedBytes > maxRetainedBytes && iterator.hasNext()) {
+            String eldest = iterator.next();
+            iterator.remove();
+            removeMessage(root, SubscriptionTrie.split(eldest), 0);
+        }
+    }
+
+    /**
+     * Remove and release the retained message of the topic, the empty nodes are pruned.
+     *
+     * @param topic topic name
+     */
+    public synchronized void remove(final String topic) {
+        if (Objects.nonNull(retained.remove(topic))) {
+            removeMessage(root, SubscriptionTrie.split(topic), 0);
+        }
+    }
+
+    /**
+     * Get the retained message of the topic.
+     *
+     * @param topic topic name
+     * @return the retained duplicate of the message, the caller should release it, or null
+     */
+    public ByteBuf get(final String topic) {
+        Node node = root;
+        for (String level : SubscriptionTrie.split(topic)) {
+            node = node.children.get(level);
+            if (Objects.isNull(node)) {
+                return null;
+            }
+        }
+        return retainedDuplicate(node);
+    }
+
+    /**
+     * Match the retained messages of the topic filter.
+     *
+     * @param topicFilter topic filter
+     * @return topic -> the retained duplicate of the message, the caller should release them
+     */
+    public Map<String, ByteBuf> match(final String topicFilter) {
+        Map<String, ByteBuf> messages = new LinkedHashMap<>();
+        collect(root, SubscriptionTrie.split(topicFilter), 0, messages);
+        return messages;
+    }
+
+    private boolean removeMessage(final Node node, final String[] levels, final int depth) {
+        if (depth == levels.length) {
+            ByteBuf message = node.message;
+            if (Objects.nonNull(message)) {
+                node.message = null;
+                retainedBytes -= message.readableBytes();
+                message.release();
+            }
+        } else {
+            Node child = node.children.get(levels[depth]);
+            if (Objects.nonNull(child) && removeMessage(child, levels, depth + 1)) {
+                node.children.remove(levels[depth]);
+            }
+        }
+        return Objects.isNull(node.message) && node.children.isEmpty();
+    }
+
+    private void collect(final Node node, final String[] levels, final int depth, final Map<String, ByteBuf> messages) {
+        if (depth == levels.length) {
+            addMessage(node, messages);
+            return;
+        }
+        String level = levels[depth];
+        if (SubscriptionTrie.MULTI_LEVEL_WILDCARD.equals(level)) {
+            // "a/#" matches "a" as well.
+            addMessage(node, messages);
+            node.children.values().forEach(child -> collectAll(child, depth, messages));
+        } else if (SubscriptionTrie.SINGLE_LEVEL_WILDCARD.equals(level)) {
+            node.children.values().forEach(child -> {
+                if (!SubscriptionTrie.isWildcardExcluded(depth, child.topic)) {
+                    collect(child, levels, depth + 1, messages);
+                }
+            });
+        } else {
+            Node child = node.children.get(level);
+            if (Objects.nonNull(child)) {
+                collect(child, levels, depth + 1, messages);
+            }
+        }
+    }
+
+    private void collectAll(final Node node, final int depth, final Map<String, ByteBuf> messages) {
+        if (SubscriptionTrie.isWildcardExcluded(depth, node.topic)) {
+            return;
+        }
+        addMessage(node, messages);
+        node.children.values().forEach(child -> collectAll(child, depth + 1, messages));
+    }
+
+    private static void addMessage(final Node node, final Map<String, ByteBuf> messages) {
+        ByteBuf message = retainedDuplicate(node);
+        if (Objects.nonNull(message)) {
+            messages.put(node.topic, message);
+        }
+    }
+
+    private static ByteBuf retainedDuplicate(final Node node) {
+        ByteBuf message = node.message;
+        if (Objects.isNull(message)) {
+            return null;
+        }
+        try {
+            return message.retainedDuplicate();
+        } catch (IllegalReferenceCountException e) {
+            // the message is released by a concurrent retain or remove, the released count is kept.
+            return null;
+        }
+    }
+
+    private static final class Node {
+
+        private final String topic;
+
+        private final Map<String, Node> children = new ConcurrentHashMap<>();
+
+        private volatile ByteBuf message;
+
+        Node(final String topic) {
+            this.topic = topic;
+        }
+    }
+}
@@ -0,0 +1,182 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.shenyu.protocol.mqtt.topic;
+
+import io.netty.channel.Channel;
+
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * The subscription trie of topic filters, one node per topic level.
+ * Publishes match the trie without locks, subscribes and unsubscribes are serialized.
+ */
+public final class SubscriptionTrie {
+
+    /**
+     * the topic level separator.
+     */
+    public static final char LEVEL_SEPARATOR = '/';
+
+    /**
+     * the single level wildcard.
+     */
+    public static final String SINGLE_LEVEL_WILDCARD = "+";
+
+    /**
+     * the multi level wildcard.
+     */
+    public static final String MULTI_LEVEL_WILDCARD = "#";
+
+    private static final char SYSTEM_TOPIC_PREFIX = '$';
+
+    private final Node root = new Node();
+
+    /**
+     * Subscribe the topic filter.
+     *
+     * @param topicFilter topic filter
+     * @param channel channel
+     */
+    public synchronized void subscribe(final String topicFilter, final Channel channel) {
+        Node node = root;
+        for (String level : split(topicFilter)) {
+            node = node.children.computeIfAbsent(level, key -> new Node());
+        }
+        node.subscribers.add(channel);
+    }
+
+    /**
+     * Unsubscribe the topic filter, the empty nodes are pruned.
+     *
+     * @param topicFilter topic filter
+     * @param channel channel
+     */
+    public synchronized void unsubscribe(final String topicFilter, final Channel channel) {
+        removeSubscriber(root, split(topicFilter), 0, channel);
+    }
+
+    /**
+     * Remove all subscribers of the topic filter.
+     *
+     * @param topicFilter topic filter
+     */
+    public synchronized void remove(final String topicFilter) {
+        removeSubscriber(root, split(topicFilter), 0, null);
+    }
+
+    /**
+     * Match the subscribers of the topic name.
+     *
+     * @param topic topic name
+     * @return the subscribers, each channel once
+     */
+    public Set<Channel> match(final String topic) {
+        Set<Channel> channels = new LinkedHashSet<>();
+        collect(root, split(topic), 0, channels);
+        return channels;
+    }
+
+    /**
+     * Whether the topic filter matches the topic name.
+     *
+     * @param topicFilter topic filter
+     * @param topic topic name
+     * @return true if matches
+     */
+    public static boolean matches(final String topicFilter, final String topic) {
+        String[] filterLevels = split(topicFilter);
+        String[] topicLevels = split(topic);
+        for (int i = 0; i < filterLevels.length; i++) {
+            if (MULTI_LEVEL_WILDCARD.equals(filterLevels[i])) {
+                return !isWildcardExcluded(i, topic);
+            }
+            if (i >= topicLevels.length) {
+                return false;
+            }
+            if (SINGLE_LEVEL_WILDCARD.equals(filterLevels[i])) {
+                if (isWildcardExcluded(i, topic)) {
+                    return false;
+                }
+            } else if (!filterLevels[i].equals(topicLevels[i])) {
+                return false;
+            }
+        }
+        return filterLevels.length == topicLevels.length;
+    }
+
+    private boolean removeSubscriber(final Node node, final String[] levels, final int depth, final Channel channel) {
+        if (depth == levels.length) {
+            if (Objects.isNull(channel)) {
+                node.subscribers.clear();
+            } else {
+                node.subscribers.remove(channel);
+            }
+        } else {
+            Node child = node.children.get(levels[depth]);
+            if (Objects.nonNull(child) && removeSubscriber(child, levels, depth + 1, channel)) {
+                node.children.remove(levels[depth]);
+            }
+        }
+        return node.subscribers.isEmpty() && node.children.isEmpty();
+    }
+
+    private void collect(final Node node, final String[] levels, final int depth, final Set<Channel> channels) {
+        boolean excluded = isWildcardExcluded(depth, levels[0]);
+        // "a/#" matches "a" as well.
+        Node multi = excluded ? null : node.children.get(MULTI_LEVEL_WILDCARD);
+        if (Objects.nonNull(multi)) {
+            channels.addAll(multi.subscribers);
+        }
+        if (depth == levels.length) {
+            channels.addAll(node.subscribers);
+            return;
+        }
+        Node exact = node.children.get(levels[depth]);
+        if (Objects.nonNull(exact)) {
+            collect(exact, levels, depth + 1, channels);
+        }
+        Node single = excluded ? null : node.children.get(SINGLE_LEVEL_WILDCARD);
+        if (Objects.nonNull(single)) {
+            collect(single, levels, depth + 1, channels);
+        }
+    }
+
+    /**
+     * The topics beginning with '$' are not matched by a wildcard at the first level.
+     */
+    static boolean isWildcardExcluded(final int depth, final String topic) {
+        return depth == 0 && !topic.isEmpty() && topic.charAt(0) == SYSTEM_TOPIC_PREFIX;
+    }
+
+    static String[] split(final String topic) {
+        // keep the empty levels, "a//b" has three levels.
+        return topic.split(String.valueOf(LEVEL_SEPARATOR), -1);
+    }
+
+    private static final class Node {
+
+        private final Map<String, Node> children = new ConcurrentHashMap<>();
+
+        private final Set<Channel> subscribers = Collections.newSetFromMap(new ConcurrentHashMap<>());
+    }
+}
@@ -0,0 +1,101 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.shenyu.protocol.mqtt;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+import io.netty.channel.Channel;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.embedded.EmbeddedChannel;
+import io.netty.handler.codec.mqtt.MqttDecoder;
+import io.netty.handler.codec.mqtt.MqttEncoder;
+import io.netty.handler.codec.mqtt.MqttFixedHeader;
+import io.netty.handler.codec.mqtt.MqttMessageType;
+import io.netty.handler.codec.mqtt.MqttPublishMessage;
+import io.netty.handler.codec.mqtt.MqttPublishVariableHeader;
+import io.netty.handler.codec.mqtt.MqttQoS;
+import io.netty.handler.codec.mqtt.MqttTopicSubscription;
+import org.apache.shenyu.common.utils.Singleton;
+import org.apache.shenyu.protocol.mqtt.repositories.SubscribeRepository;
+import org.apache.shenyu.protocol.mqtt.repositories.TopicRepository;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * The test case for {@link Publish}.
+ */
+public final class PublishTest {
+
+    @BeforeAll
+    public static void setUp() {
+        Singleton.INST.single(SubscribeRepository.class, new SubscribeRepository());
+        Singleton.INST.single(TopicRepository.class, new TopicRepository());
+    }
+
+    @Test
+    public void testPublishToWildcardSubscriber() {
+        EmbeddedChannel subscriber = new EmbeddedChannel(MqttEncoder.INSTANCE);
+        Singleton.INST.get(SubscribeRepository.class).add(subscriber,
+                Collections.singletonList(new MqttTopicSubscription("device/+/status", MqttQoS.AT_MOST_ONCE)));
+        ByteBuf payload = Unpooled.copiedBuffer("online", StandardCharsets.UTF_8);
+        MqttPublishMessage message = new MqttPublishMessage(new MqttFixedHeader(MqttMessageType.PUBLISH, false, MqttQoS.AT_MOST_ONCE, true, 0),
+                new MqttPublishVariableHeader("device/1/status", -1), payload);
+        new Publish().publish(mock(ChannelHandlerContext.class), message);
+
+        EmbeddedChannel decoder = new EmbeddedChannel(new MqttDecoder());
+        decoder.writeInbound((ByteBuf) subscriber.readOutbound());
+        MqttPublishMessage received = decoder.readInbound();
+        assertEquals("device/1/status", received.variableHeader().topicName());
+        assertFalse(received.fixedHeader().isRetain());
+        assertEquals("online", received.payload().toString(StandardCharsets.UTF_8));
+        received.release();
+
+        ByteBuf retained = Singleton.INST.get(TopicRepository.class).get("device/1/status");
+        assertEquals("online", retained.toString(StandardCharsets.UTF_8));
+        retained.release();
+        Singleton.INST.get(SubscribeRepository.class).remove(subscriber);
+    }
+
+    @Test
+    public void testDropForNotWritableSubscriber() {
+        Channel subscriber = mock(Channel.class);
+        when(subscriber.isActive()).thenReturn(true);
+        when(subscriber.isWritable()).thenReturn(false);
+        Singleton.INST.get(SubscribeRepository.class).add(subscriber,
+                Collections.singletonList(new MqttTopicSubscription("device/2/status", MqttQoS.AT_MOST_ONCE)));
+        ByteBuf payload = Unpooled.copiedBuffer("offline", StandardCharsets.UTF_8);
+        MqttPublishMessage message = new MqttPublishMessage(new MqttFixedHeader(MqttMessageType.PUBLISH, false, MqttQoS.AT_MOST_ONCE, false, 0),
+                new MqttPublishVariableHeader("device/2/status", -1), payload);
+        new Publish().publish(mock(ChannelHandlerContext.class), message);
+        // the message is shed for the slow subscriber, and the payload is released.
+        verify(subscriber, never()).writeAndFlush(any(), any());
+        assertEquals(0, payload.refCnt());
+        Singleton.INST.get(SubscribeRepository.class).remove(subscriber);
+    }
+}
@@ -0,0 +1,92 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.apache.shenyu.protocol.mqtt.topic;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.containsInAnyOrder;
+import static org.hamcrest.Matchers.empty;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+/**
+ * The test case for {@link RetainedMessageTrie}.
+ */
+public final class RetainedMessageTrieTest {
+
+    @Test
+    public void testMatch() {
+        RetainedMessageTrie trie = new RetainedMessageTrie(1024L);
+        trie.put("sport", message("sport"));
+        trie.put("sport/tennis/player1", message("player1"));
+        trie.put("sport/tennis/player2", message("player2"));
+        trie.put("sport/golf/player1", message("golf"));
+        trie.put("$SYS/broker", message("broker"));
+        assertMatch(trie, "sport/tennis/player1", "sport/tennis/player1");
+        assertMatch(trie, "sport/+/player1", "sport/tennis/player1", "sport/golf/player1");
+        assertMatch(trie, "sport/#", "sport", "sport/tennis/player1", "sport/tennis/player2", "sport/golf/player1");
+        assertMatch(trie, "sport/tennis/+", "sport/tennis/player1", "sport/tennis/player2");
+        // the wildcards at the first level do not match the system topics.
+        assertMatch(trie, "#", "sport", "sport/tennis/player1", "sport/tennis/player2", "sport/golf/player1");
+        assertMatch(trie, "+/broker");
+        assertMatch(trie, "$SYS/#", "$SYS/broker");
+        ByteBuf message = trie.get("sport/golf/player1");
+        assertEquals("golf", message.toString(StandardCharsets.UTF_8));
+        message.release();
+        assertNull(trie.get("sport/golf"));
+    }
+
+    @Test
+    public void testRemoveAndEvict() {
+        RetainedMessageTrie trie = new RetainedMessageTrie(8L);
+        ByteBuf first = message("abcd");
+        ByteBuf second = message("efgh");
+        trie.put("a/b", first);
+        trie.put("a/c", second);
+        trie.put("a/b", message("ijkl"));
+        // the former message is released, and the least recently retained one is evicted.
+        assertEquals(0, first.refCnt());
+        trie.put("a/d", message("mnop"));
+        assertEquals(0, second.refCnt());
+        assertMatch(trie, "a/+", "a/b", "a/d");
+        trie.remove("a/b");
+        trie.remove("a/d");
+        assertThat(trie.match("#").keySet(), empty());
+    }
+
+    private static ByteBuf message(final String payload) {
+        return Unpooled.copiedBuffer(payload, StandardCharsets.UTF_8);
+    }
+
+    private static void assertMatch(final RetainedMessageTrie trie, final String topicFilter, final String... topics) {
+        Map<String, ByteBuf> messages = trie.match(topicFilter);
+        messages.values().forEach(ByteBuf::release);
+        if (topics.length == 0) {
+            assertThat(messages.keySet(), empty());
+        } else {
+            assertThat(messages.keySet(), containsInAnyOrder(topics));
+        }
+    }
+}
@@ -0,0 +1,84 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.shenyu.protocol.mqtt.topic;
+
+import io.netty.channel.Channel;
+import io.netty.channel.embedded.EmbeddedChannel;
+import org.junit.jupiter.api.Test;
+
+import java.util.Set;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.containsInAnyOrder;
+import static org.hamcrest.Matchers.empty;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * The test case for {@link SubscriptionTrie}.
+ */
+public final class SubscriptionTrieTest {
+
+    @Test
+    public void testMatch() {
+        SubscriptionTrie trie = new SubscriptionTrie();
+        Channel exact = new EmbeddedChannel();
+        Channel single = new EmbeddedChannel();
+        Channel multi = new EmbeddedChannel();
+        Channel all = new EmbeddedChannel();
+        trie.subscribe("sport/tennis/player1", exact);
+        trie.subscribe("sport/+/player1", single);
+        trie.subscribe("sport/#", multi);
+        trie.subscribe("#", all);
+        trie.subscribe("sport/+/player1", exact);
+        assertThat(trie.match("sport/tennis/player1"), containsInAnyOrder(exact, single, multi, all));
+        assertThat(trie.match("sport/tennis/player2"), containsInAnyOrder(multi, all));
+        assertThat(trie.match("sport"), containsInAnyOrder(multi, all));
+        assertThat(trie.match("news"), containsInAnyOrder(all));
+        // the wildcards at the first level do not match the system topics.
+        assertThat(trie.match("$SYS/broker"), empty());
+    }
+
+    @Test
+    public void testUnsubscribe() {
+        SubscriptionTrie trie = new SubscriptionTrie();
+        Channel first = new EmbeddedChannel();
+        Channel second = new EmbeddedChannel();
+        trie.subscribe("a/+/c", first);
+        trie.subscribe("a/+/c", second);
+        trie.unsubscribe("a/+/c", first);
+        Set<Channel> channels = trie.match("a/b/c");
+        assertThat(channels, containsInAnyOrder(second));
+        trie.remove("a/+/c");
+        assertThat(trie.match("a/b/c"), empty());
+        trie.subscribe("a/+/c", first);
+        assertThat(trie.match("a/b/c"), containsInAnyOrder(first));
+    }
+
+    @Test
+    public void testMatches() {
+        assertTrue(SubscriptionTrie.matches("a/+/c", "a/b/c"));
+        assertTrue(SubscriptionTrie.matches("a/#", "a"));
+        assertTrue(SubscriptionTrie.matches("+/+", "/a"));
+        assertTrue(SubscriptionTrie.matches("a//c", "a//c"));
+        assertFalse(SubscriptionTrie.matches("a/+", "a/b/c"));
+        assertFalse(SubscriptionTrie.matches("a/b/c", "a/b"));
+        assertFalse(SubscriptionTrie.matches("#", "$SYS/broker"));
+        assertTrue(SubscriptionTrie.matches("$SYS/#", "$SYS/broker"));
+    }
+}
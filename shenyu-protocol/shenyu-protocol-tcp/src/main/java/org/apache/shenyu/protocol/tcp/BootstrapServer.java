@@ -33,6 +33,13 @@ public interface BootstrapServer {
      */
     void start(TcpServerConfiguration tcpServerConfiguration);
 
+    /**
+     * warm the connections to the discovered upstreams.
+     *
+     * @param upstreamList upstreamList
+     */
+    void warmCommonUpstream(List<DiscoveryUpstreamData> upstreamList);
+
     /**
      * doOnUpdate.
      *
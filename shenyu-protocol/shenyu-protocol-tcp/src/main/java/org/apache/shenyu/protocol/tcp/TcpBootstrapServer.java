@@ -18,17 +18,16 @@
 package org.apache.shenyu.protocol.tcp;
 
 import com.google.common.eventbus.EventBus;
-import io.netty.handler.logging.LogLevel;
-import io.netty.handler.logging.LoggingHandler;
+import io.netty.channel.ChannelOption;
 import org.apache.shenyu.common.dto.DiscoveryUpstreamData;
 import org.apache.shenyu.protocol.tcp.connection.ActivityConnectionObserver;
 import org.apache.shenyu.protocol.tcp.connection.Bridge;
 import org.apache.shenyu.protocol.tcp.connection.ConnectionContext;
 import org.apache.shenyu.protocol.tcp.connection.DefaultConnectionConfigProvider;
 import org.apache.shenyu.protocol.tcp.connection.TcpConnectionBridge;
+import org.apache.shenyu.protocol.tcp.connection.TcpProxyMetrics;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
-import reactor.core.publisher.Mono;
 import reactor.netty.Connection;
 import reactor.netty.DisposableServer;
 import reactor.netty.resources.LoopResources;
@@ -53,6 +52,12 @@ public class TcpBootstrapServer implements BootstrapServer {
 
     private DisposableServer server;
 
+    private ActivityConnectionObserver connectionObserver;
+
+    private TcpProxyMetrics metrics;
+
+    private long maxConnections;
+
     private final EventBus eventBus;
 
     public TcpBootstrapServer(final EventBus eventBus) {
@@ -64,17 +69,21 @@ public class TcpBootstrapServer implements BootstrapServer {
         final String loadBalanceAlgorithm = tcpServerConfiguration.getProps().getOrDefault("loadBalance", "random").toString();
         final String bossGroupThreadCount = tcpServerConfiguration.getProps().getOrDefault("bossGroupThreadCount", "1").toString();
         final String workerGroupThreadCount = tcpServerConfiguration.getProps().getOrDefault("workerGroupThreadCount", "12").toString();
-        DefaultConnectionConfigProvider connectionConfigProvider = new DefaultConnectionConfigProvider(loadBalanceAlgorithm, tcpServerConfiguration.getPluginSelectorName());
-        this.bridge = new TcpConnectionBridge();
-        connectionContext = new ConnectionContext(connectionConfigProvider);
-        connectionContext.init(tcpServerConfiguration.getProps());
+        final String idleTimeoutMs = tcpServerConfiguration.getProps().getOrDefault("idleTimeoutMs", "0").toString();
+        maxConnections = Long.parseLong(tcpServerConfiguration.getProps().getOrDefault("maxConnections", "10000").toString());
+        metrics = new TcpProxyMetrics(tcpServerConfiguration.getPluginSelectorName(), tcpServerConfiguration.getPort());
+        metrics.register();
+        this.bridge = new TcpConnectionBridge(metrics, Long.parseLong(idleTimeoutMs));
+        connectionObserver = new ActivityConnectionObserver("TcpClient");
+        eventBus.register(connectionObserver);
         loopResources = LoopResources.create("shenyu-tcp-bootstrap-server-" + tcpServerConfiguration.getPort(), Integer.parseInt(bossGroupThreadCount),
                 Integer.parseInt(workerGroupThreadCount), true);
+        connectionContext = new ConnectionContext(new DefaultConnectionConfigProvider(loadBalanceAlgorithm, tcpServerConfiguration.getPluginSelectorName()));
+        connectionContext.init(tcpServerConfiguration.getProps(), loopResources, connectionObserver);
+        connectionContext.warm(UpstreamProvider.getSingleton().provide(tcpServerConfiguration.getPluginSelectorName()));
         TcpServer tcpServer = TcpServer.create()
-                .doOnChannelInit((connObserver, channel, remoteAddress) -> channel.pipeline().addFirst(new LoggingHandler(LogLevel.INFO)))
-                .wiretap(true)
-                .observe((c, s) -> LOG.info("connection={}|status={}", c, s))
-                //.childObserve(connectionObserver)
+                // the reading is paused until the upstream connection is bridged.
+                .childOption(ChannelOption.AUTO_READ, false)
                 .doOnConnection(this::bridgeConnections)
                 .port(tcpServerConfiguration.getPort())
                 .runOn(loopResources);
@@ -82,12 +91,18 @@ public class TcpBootstrapServer implements BootstrapServer {
     }
 
     private void bridgeConnections(final Connection serverConn) {
-        LOG.info("Starting proxy client ={}", serverConn);
+        if (!metrics.tryAccept(maxConnections)) {
+            LOG.warn("shenyu TcpProxy reject connection {}, exceeds the max connections {}", serverConn, maxConnections);
+            serverConn.dispose();
+            return;
+        }
+        serverConn.onDispose(metrics::release);
         SocketAddress socketAddress = serverConn.channel().remoteAddress();
-        ActivityConnectionObserver connectionObserver = new ActivityConnectionObserver("TcpClient");
-        eventBus.register(connectionObserver);
-        Mono<Connection> client = connectionContext.getTcpClientConnection(getIp(socketAddress), connectionObserver);
-        client.subscribe(clientConn -> bridge.bridge(serverConn, clientConn));
+        connectionContext.getTcpClientConnection(getIp(socketAddress)).subscribe(clientConn -> bridge.bridge(serverConn, clientConn), e -> {
+            LOG.error("shenyu TcpProxy connect upstream error, close connection {}", serverConn, e);
+            metrics.fail();
+            serverConn.dispose();
+        });
     }
 
     private String getIp(final SocketAddress socketAddress) {
@@ -98,6 +113,16 @@ public class TcpBootstrapServer implements BootstrapServer {
         return address.substring(1, address.indexOf(':'));
     }
 
+    /**
+     * warm the connections to the discovered upstreams.
+     *
+     * @param upstreamList upstreamList
+     */
+    @Override
+    public void warmCommonUpstream(final List<DiscoveryUpstreamData> upstreamList) {
+        connectionContext.warm(upstreamList);
+    }
+
     /**
      * doOnUpdate.
      *
@@ -105,6 +130,7 @@ public class TcpBootstrapServer implements BootstrapServer {
      */
     @Override
     public void removeCommonUpstream(final List<DiscoveryUpstreamData> removeList) {
+        connectionContext.evict(removeList);
         eventBus.post(removeList);
     }
 
@@ -115,6 +141,9 @@ public class TcpBootstrapServer implements BootstrapServer {
     @Override
     public void shutdown() {
         server.disposeNow();
+        eventBus.unregister(connectionObserver);
+        connectionContext.dispose();
+        metrics.deregister();
         loopResources.dispose();
     }
 
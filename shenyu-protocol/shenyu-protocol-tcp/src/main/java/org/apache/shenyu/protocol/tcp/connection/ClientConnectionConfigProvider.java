@@ -32,4 +32,13 @@ public interface ClientConnectionConfigProvider {
      */
     URI getProxiedService(String ip);
 
+    /**
+     * onConnected, report whether the proxied service is connected.
+     *
+     * @param uri       the proxied service
+     * @param connected connected
+     */
+    default void onConnected(final URI uri, final boolean connected) {
+    }
+
 }
@@ -17,22 +17,26 @@
 
 package org.apache.shenyu.protocol.tcp.connection;
 
+import io.netty.channel.ChannelOption;
+import org.apache.shenyu.common.dto.DiscoveryUpstreamData;
 import reactor.core.publisher.Mono;
 import reactor.netty.Connection;
-import reactor.netty.resources.ConnectionProvider;
+import reactor.netty.resources.LoopResources;
 import reactor.netty.tcp.TcpClient;
 
-import java.time.Duration;
+import java.net.URI;
+import java.util.List;
+import java.util.Objects;
 import java.util.Properties;
+import java.util.stream.Collectors;
 
-/**
- * ConnectionContext.
- */
 public class ConnectionContext {
 
     private final ClientConnectionConfigProvider connectionConfigProvider;
 
-    private ConnectionProvider connectionProvider;
+    private TcpClient tcpClient;
+
+    private WarmConnectionPool warmConnectionPool;
 
     public ConnectionContext(final ClientConnectionConfigProvider connectionConfigProvider) {
         this.connectionConfigProvider = connectionConfigProvider;
@@ -41,40 +45,73 @@ public class ConnectionContext {
     /**
      * init.
      *
-     * @param props props
+     * @param props         props
+     * @param loopResources the loop resources shared with the tcp server
+     * @param observer      observer
      */
-    public void init(final Properties props) {
-        final String tcpProxyClientName = "shenyu-tcp-connection-pool-client";
-        final String maxConnections = props.getProperty("clientMaxConnections", "20");
+    public void init(final Properties props, final LoopResources loopResources, final ActivityConnectionObserver observer) {
+        final String connectTimeoutMs = props.getProperty("clientConnectTimeoutMs", "3000");
+        final String warmConnections = props.getProperty("clientWarmConnections", "0");
         final String maxIdleTimeMs = props.getProperty("clientMaxIdleTimeMs", "30000");
-        final String maxLifeTimeMs = props.getProperty("clientMaxLifeTimeMs", "60000");
-        final String pendingAcquireTimeout = props.getProperty("clientPendingAcquireTimeout", "5");
-        final String pendingAcquireMaxCount = props.getProperty("clientPendingAcquireMaxCount", "5");
-        connectionProvider = ConnectionProvider.builder(tcpProxyClientName)
-                .maxConnections(Integer.parseInt(maxConnections))
-                .pendingAcquireTimeout(Duration.ofSeconds(Integer.parseInt(pendingAcquireTimeout)))
-                .pendingAcquireMaxCount(Integer.parseInt(pendingAcquireMaxCount))
-                .maxIdleTime(Duration.ofMillis(Integer.parseInt(maxIdleTimeMs)))
-                .maxLifeTime(Duration.ofMillis(Integer.parseInt(maxLifeTimeMs)))
-                .build();
+        // every proxied connection owns its upstream connection, which is never released back to a pool,
+        // and the reading is paused until the connections are bridged.
+        tcpClient = TcpClient.newConnection()
+                .runOn(loopResources)
+                .option(ChannelOption.CONNECT_TIMEOUT_MILLIS, Integer.parseInt(connectTimeoutMs))
+                .option(ChannelOption.AUTO_READ, false)
+                .observe(observer);
+        warmConnectionPool = new WarmConnectionPool(this::connect, Integer.parseInt(warmConnections), Long.parseLong(maxIdleTimeMs));
     }
 
     /**
-     * getTcpClientConnection.
+     * getTcpClientConnection, select another upstream once if the selected one is not connected.
      *
-     * @param ip       ip
-     * @param observer observer
+     * @param ip ip
      * @return MonoConnection
      */
-    public Mono<Connection> getTcpClientConnection(final String ip, final ActivityConnectionObserver observer) {
-        return Mono.just(connectionConfigProvider.getProxiedService(ip))
-                .flatMap(url ->
-                        TcpClient.create(connectionProvider)
-                                .host(url.getHost())
-                                .port(url.getPort())
-                                .observe(observer)
-                                .connect()
-                );
+    public Mono<Connection> getTcpClientConnection(final String ip) {
+        return selectAndConnect(ip).onErrorResume(e -> selectAndConnect(ip));
+    }
+
+    /**
+     * warm the connections to the discovered upstreams.
+     *
+     * @param upstreamList upstreamList
+     */
+    public void warm(final List<DiscoveryUpstreamData> upstreamList) {
+        warmConnectionPool.warm(upstreamList.stream()
+                .filter(upstream -> upstream.getStatus() == 0)
+                .map(upstream -> URI.create(upstream.getProtocol() + "://" + upstream.getUrl()))
+                .collect(Collectors.toList()));
+    }
+
+    /**
+     * evict the warm connections to the removed upstreams.
+     *
+     * @param removeList removeList
+     */
+    public void evict(final List<DiscoveryUpstreamData> removeList) {
+        warmConnectionPool.evict(removeList.stream().map(DiscoveryUpstreamData::getUrl).collect(Collectors.toList()));
+    }
+
+    /**
+     * dispose.
+     */
+    public void dispose() {
+        if (Objects.nonNull(warmConnectionPool)) {
+            warmConnectionPool.dispose();
+        }
+    }
+
+    private Mono<Connection> selectAndConnect(final String ip) {
+        return Mono.fromCallable(() -> connectionConfigProvider.getProxiedService(ip))
+                .flatMap(url -> warmConnectionPool.acquire(url)
+                        .doOnSuccess(connection -> connectionConfigProvider.onConnected(url, true))
+                        .doOnError(e -> connectionConfigProvider.onConnected(url, false)));
+    }
+
+    private Mono<Connection> connect(final URI url) {
+        return tcpClient.host(url.getHost()).port(url.getPort()).connect().map(Connection.class::cast);
     }
 
 }
@@ -18,6 +18,7 @@
 package org.apache.shenyu.protocol.tcp.connection;
 
 import org.apache.commons.collections4.CollectionUtils;
+import org.apache.shenyu.common.dto.DiscoveryUpstreamData;
 import org.apache.shenyu.common.exception.ShenyuException;
 import org.apache.shenyu.common.utils.JsonUtils;
 import org.apache.shenyu.loadbalancer.entity.Upstream;
@@ -29,7 +30,9 @@ import org.slf4j.LoggerFactory;
 import java.net.URI;
 import java.net.URISyntaxException;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.stream.Collectors;
 
 
@@ -40,10 +43,16 @@ public class DefaultConnectionConfigProvider implements ClientConnectionConfigPr
 
     private static final Logger LOG = LoggerFactory.getLogger(DefaultConnectionConfigProvider.class);
 
+    private static final long UNHEALTHY_COOLDOWN_MS = 10000L;
+
     private final String loadBalanceAlgorithm;
 
     private final String pluginSelectorName;
 
+    private final Map<String, Long> unhealthyUntil = new ConcurrentHashMap<>();
+
+    private volatile UpstreamSnapshot snapshot = new UpstreamSnapshot(null, List.of());
+
     public DefaultConnectionConfigProvider(final String loadBalanceAlgorithm, final String pluginSelectorName) {
         this.loadBalanceAlgorithm = loadBalanceAlgorithm;
         this.pluginSelectorName = pluginSelectorName;
@@ -51,7 +60,38 @@ public class DefaultConnectionConfigProvider implements ClientConnectionConfigPr
 
     @Override
     public URI getProxiedService(final String ip) {
-        List<Upstream> upstreamList = UpstreamProvider.getSingleton().provide(this.pluginSelectorName).stream().map(dp -> Upstream.builder()
+        List<Upstream> upstreamList = healthy(upstreams());
+        if (CollectionUtils.isEmpty(upstreamList)) {
+            throw new ShenyuException("shenyu TcpProxy don't have any upstream");
+        }
+        Upstream upstream = LoadBalancerFactory.selector(upstreamList, loadBalanceAlgorithm, ip);
+        return cover(upstream);
+    }
+
+    @Override
+    public void onConnected(final URI uri, final boolean connected) {
+        if (connected) {
+            if (!unhealthyUntil.isEmpty()) {
+                unhealthyUntil.remove(uri.getAuthority());
+            }
+        } else {
+            LOG.warn("shenyu TcpProxy connect to {} failed, exclude it for {} ms", uri, UNHEALTHY_COOLDOWN_MS);
+            unhealthyUntil.put(uri.getAuthority(), System.currentTimeMillis() + UNHEALTHY_COOLDOWN_MS);
+        }
+    }
+
+    /**
+     * the upstreams are only rebuilt when the discovered upstream list is replaced.
+     *
+     * @return upstreams
+     */
+    private List<Upstream> upstreams() {
+        List<DiscoveryUpstreamData> source = UpstreamProvider.getSingleton().provide(this.pluginSelectorName);
+        UpstreamSnapshot current = snapshot;
+        if (current.source == source) {
+            return current.upstreams;
+        }
+        List<Upstream> upstreamList = source.stream().map(dp -> Upstream.builder()
                 .url(dp.getUrl())
                 .status(open(dp.getStatus()))
                 .weight(dp.getWeight())
@@ -59,11 +99,26 @@ public class DefaultConnectionConfigProvider implements ClientConnectionConfigPr
                 .warmup(JsonUtils.jsonToMap(dp.getProps(), Integer.class).get("warmupTime"))
                 .timestamp(dp.getDateCreated().getTime())
                 .build()).collect(Collectors.toList());
-        if (CollectionUtils.isEmpty(upstreamList)) {
-            throw new ShenyuException("shenyu TcpProxy don't have any upstream");
+        snapshot = new UpstreamSnapshot(source, upstreamList);
+        return upstreamList;
+    }
+
+    /**
+     * exclude the upstreams failed to connect recently, unless none is left.
+     *
+     * @param upstreamList upstreamList
+     * @return healthy upstreams
+     */
+    private List<Upstream> healthy(final List<Upstream> upstreamList) {
+        if (unhealthyUntil.isEmpty()) {
+            return upstreamList;
         }
-        Upstream upstream = LoadBalancerFactory.selector(upstreamList, loadBalanceAlgorithm, ip);
-        return cover(upstream);
+        long now = System.currentTimeMillis();
+        unhealthyUntil.values().removeIf(until -> until <= now);
+        List<Upstream> healthyList = upstreamList.stream()
+                .filter(upstream -> !unhealthyUntil.containsKey(upstream.getUrl()))
+                .collect(Collectors.toList());
+        return healthyList.isEmpty() ? upstreamList : healthyList;
     }
 
     private URI cover(final Upstream upstream) {
@@ -84,4 +139,16 @@ public class DefaultConnectionConfigProvider implements ClientConnectionConfigPr
         return Objects.equals(status, 0);
     }
 
+    private static final class UpstreamSnapshot {
+
+        private final List<DiscoveryUpstreamData> source;
+
+        private final List<Upstream> upstreams;
+
+        UpstreamSnapshot(final List<DiscoveryUpstreamData> source, final List<Upstream> upstreams) {
+            this.source = source;
+            this.upstreams = upstreams;
+        }
+    }
+
 }
@@ -0,0 +1,54 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.apache.shenyu.protocol.tcp.connection;
+
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.handler.timeout.IdleStateEvent;
+import io.netty.handler.timeout.IdleStateHandler;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Close the bridged connection when it neither reads nor writes within the idle timeout.
+ */
+public class IdleTimeoutHandler extends IdleStateHandler {
+
+    /**
+     * the handler name.
+     */
+    public static final String NAME = "shenyuIdleTimeout";
+
+    private static final Logger LOG = LoggerFactory.getLogger(IdleTimeoutHandler.class);
+
+    private final Runnable onIdle;
+
+    public IdleTimeoutHandler(final long idleTimeoutMs, final Runnable onIdle) {
+        super(0, 0, idleTimeoutMs, TimeUnit.MILLISECONDS);
+        this.onIdle = onIdle;
+    }
+
+    @Override
+    protected void channelIdle(final ChannelHandlerContext ctx, final IdleStateEvent evt) {
+        LOG.debug("tcp proxy channel {} is idle, close it", ctx.channel());
+        onIdle.run();
+        ctx.close();
+    }
+}
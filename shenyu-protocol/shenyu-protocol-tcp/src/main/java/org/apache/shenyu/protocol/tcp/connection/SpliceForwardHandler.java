@@ -0,0 +1,87 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.shenyu.protocol.tcp.connection;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.channel.Channel;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.ChannelInboundHandlerAdapter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Forward the inbound buffers of a channel to its peer channel as they are, without copying.
+ * The reading of the channel is paused while the peer is not writable and resumed when the peer drains.
+ */
+public class SpliceForwardHandler extends ChannelInboundHandlerAdapter {
+
+    /**
+     * the handler name.
+     */
+    public static final String NAME = "shenyuSpliceForward";
+
+    private static final Logger LOG = LoggerFactory.getLogger(SpliceForwardHandler.class);
+
+    private final Channel peer;
+
+    private final LongAdder bytes;
+
+    public SpliceForwardHandler(final Channel peer, final LongAdder bytes) {
+        this.peer = peer;
+        this.bytes = bytes;
+    }
+
+    @Override
+    public void channelRead(final ChannelHandlerContext ctx, final Object msg) {
+        if (msg instanceof ByteBuf) {
+            bytes.add(((ByteBuf) msg).readableBytes());
+        }
+        peer.write(msg, peer.voidPromise());
+        if (!peer.isWritable()) {
+            peer.flush();
+            ctx.channel().config().setAutoRead(false);
+            // the peer runs on another loop and may have drained before the reading was paused, its wakeup is missed then.
+            if (peer.isWritable()) {
+                ctx.channel().config().setAutoRead(true);
+            }
+        }
+    }
+
+    @Override
+    public void channelReadComplete(final ChannelHandlerContext ctx) {
+        peer.flush();
+        ctx.fireChannelReadComplete();
+    }
+
+    @Override
+    public void channelWritabilityChanged(final ChannelHandlerContext ctx) {
+        // this channel is the peer of the opposite direction, resume the reading of it once drained.
+        if (ctx.channel().isWritable()) {
+            peer.config().setAutoRead(true);
+        }
+        ctx.fireChannelWritabilityChanged();
+    }
+
+    @Override
+    public void exceptionCaught(final ChannelHandlerContext ctx, final Throwable cause) {
+        LOG.debug("tcp proxy channel {} error, close it", ctx.channel(), cause);
+        ctx.close();
+    }
+}
@@ -17,34 +17,52 @@
 
 package org.apache.shenyu.protocol.tcp.connection;
 
-import org.slf4j.Logger;
-import org.slf4j.LoggerFactory;
-import reactor.core.Disposable;
-import reactor.core.Disposables;
+import io.netty.buffer.Unpooled;
+import io.netty.channel.Channel;
+import io.netty.channel.ChannelFutureListener;
 import reactor.netty.Connection;
-import reactor.netty.NettyInbound;
-import reactor.netty.NettyOutbound;
 
 /**
- * TcpConnectionBridge.
+ * Bridge the downstream and the upstream connections by splicing the channels,
+ * the inbound buffers are written to the opposite channel without copying and with back-pressure.
  */
 public class TcpConnectionBridge implements Bridge {
 
-    private static final Logger LOG = LoggerFactory.getLogger(TcpConnectionBridge.class);
+    private final TcpProxyMetrics metrics;
+
+    private final long idleTimeoutMs;
+
+    public TcpConnectionBridge(final TcpProxyMetrics metrics, final long idleTimeoutMs) {
+        this.metrics = metrics;
+        this.idleTimeoutMs = idleTimeoutMs;
+    }
 
     @Override
     public void bridge(final Connection server, final Connection client) {
-        //   LOG.info("start server#inbound -> client#outbound");
-        Disposable requestDisposable = bridge(server.inbound(), client.outbound());
-        //  LOG.info("start client#inbound -> server#outbound");
-        Disposable responseDisposable = bridge(client.inbound(), server.outbound());
+        Channel serverChannel = server.channel();
+        Channel clientChannel = client.channel();
+        server.addHandlerFirst(SpliceForwardHandler.NAME, new SpliceForwardHandler(clientChannel, metrics.bytesReceivedCounter()));
+        client.addHandlerFirst(SpliceForwardHandler.NAME, new SpliceForwardHandler(serverChannel, metrics.bytesSentCounter()));
+        if (idleTimeoutMs > 0) {
+            // the downstream channel reads the received bytes and writes the sent bytes, so it sees both directions.
+            server.addHandlerFirst(IdleTimeoutHandler.NAME, new IdleTimeoutHandler(idleTimeoutMs, metrics::idle));
+        }
         // binding dispose: when server connection is disposed ,client while close too.
-        server.onDispose(Disposables.composite(requestDisposable, responseDisposable, client.channel()::close));
-        client.onDispose(Disposables.composite(requestDisposable, responseDisposable, server.channel()::close));
+        server.onDispose(() -> closeOnFlush(clientChannel));
+        client.onDispose(() -> closeOnFlush(serverChannel));
+        startReading(serverChannel);
+        startReading(clientChannel);
+    }
+
+    private void startReading(final Channel channel) {
+        channel.config().setAutoRead(true);
+        channel.read();
     }
 
-    private Disposable bridge(final NettyInbound inbound, final NettyOutbound outbound) {
-        return outbound.send(inbound.receive().retain()).then().subscribe();
+    private void closeOnFlush(final Channel channel) {
+        if (channel.isActive()) {
+            channel.writeAndFlush(Unpooled.EMPTY_BUFFER).addListener(ChannelFutureListener.CLOSE);
+        }
     }
 
 }
@@ -0,0 +1,195 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.shenyu.protocol.tcp.connection;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * The connection and throughput metrics of a tcp proxy listener, registered to the platform MBean server.
+ */
+public final class TcpProxyMetrics implements TcpProxyMetricsMXBean {
+
+    private static final Logger LOG = LoggerFactory.getLogger(TcpProxyMetrics.class);
+
+    private static final String OBJECT_NAME_PREFIX = "org.apache.shenyu:type=TcpProxy";
+
+    private final String listenerName;
+
+    private final int port;
+
+    private final AtomicLong activeConnections = new AtomicLong();
+
+    private final LongAdder totalConnections = new LongAdder();
+
+    private final LongAdder rejectedConnections = new LongAdder();
+
+    private final LongAdder failedConnections = new LongAdder();
+
+    private final LongAdder idleConnections = new LongAdder();
+
+    private final LongAdder bytesReceived = new LongAdder();
+
+    private final LongAdder bytesSent = new LongAdder();
+
+    public TcpProxyMetrics(final String listenerName, final int port) {
+        this.listenerName = listenerName;
+        this.port = port;
+    }
+
+    /**
+     * Register to the platform MBean server.
+     */
+    public void register() {
+        MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+        try {
+            ObjectName objectName = objectName();
+            if (!server.isRegistered(objectName)) {
+                server.registerMBean(this, objectName);
+            }
+        } catch (JMException e) {
+            LOG.warn("register tcp proxy metrics error, listener: {}, port: {}", listenerName, port, e);
+        }
+    }
+
+    /**
+     * Deregister from the platform MBean server.
+     */
+    public void deregister() {
+        MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+        try {
+            ObjectName objectName = objectName();
+            if (server.isRegistered(objectName)) {
+                server.unregisterMBean(objectName);
+            }
+        } catch (JMException e) {
+            LOG.warn("deregister tcp proxy metrics error, listener: {}, port: {}", listenerName, port, e);
+        }
+    }
+
+    /**
+     * Try to accept a connection under the limit.
+     *
+     * @param maxConnections the maximum active connections
+     * @return true if accepted
+     */
+    public boolean tryAccept(final long maxConnections) {
+        totalConnections.increment();
+        if (activeConnections.incrementAndGet() > maxConnections) {
+            activeConnections.decrementAndGet();
+            rejectedConnections.increment();
+            return false;
+        }
+        return true;
+    }
+
+    /**
+     * Release an accepted connection.
+     */
+    public void release() {
+        activeConnections.decrementAndGet();
+    }
+
+    /**
+     * Record a connection which no upstream is connected for.
+     */
+    public void fail() {
+        failedConnections.increment();
+    }
+
+    /**
+     * Record a connection closed by the idle timeout.
+     */
+    public void idle() {
+        idleConnections.increment();
+    }
+
+    /**
+     * get the counter of the bytes received.
+     *
+     * @return counter
+     */
+    public LongAdder bytesReceivedCounter() {
+        return bytesReceived;
+    }
+
+    /**
+     * get the counter of the bytes sent.
+     *
+     * @return counter
+     */
+    public LongAdder bytesSentCounter() {
+        return bytesSent;
+    }
+
+    @Override
+    public String getListenerName() {
+        return listenerName;
+    }
+
+    @Override
+    public int getPort() {
+        return port;
+    }
+
+    @Override
+    public long getActiveConnections() {
+        return activeConnections.get();
+    }
+
+    @Override
+    public long getTotalConnections() {
+        return totalConnections.sum();
+    }
+
+    @Override
+    public long getRejectedConnections() {
+        return rejectedConnections.sum();
+    }
+
+    @Override
+    public long getFailedConnections() {
+        return failedConnections.sum();
+    }
+
+    @Override
+    public long getIdleConnections() {
+        return idleConnections.sum();
+    }
+
+    @Override
+    public long getBytesReceived() {
+        return bytesReceived.sum();
+    }
+
+    @Override
+    public long getBytesSent() {
+        return bytesSent.sum();
+    }
+
+    private ObjectName objectName() throws JMException {
+        return new ObjectName(OBJECT_NAME_PREFIX + ",name=" + ObjectName.quote(String.valueOf(listenerName)) + ",port=" + port);
+    }
+}
@@ -0,0 +1,87 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.shenyu.protocol.tcp.connection;
+
+/**
+ * The metrics of a tcp proxy listener.
+ */
+public interface TcpProxyMetricsMXBean {
+
+    /**
+     * get the listener name.
+     *
+     * @return the plugin selector name
+     */
+    String getListenerName();
+
+    /**
+     * get the listening port.
+     *
+     * @return port
+     */
+    int getPort();
+
+    /**
+     * get the active proxied connections.
+     *
+     * @return active connections
+     */
+    long getActiveConnections();
+
+    /**
+     * get the accepted connections.
+     *
+     * @return total connections
+     */
+    long getTotalConnections();
+
+    /**
+     * get the connections rejected by the connection limit.
+     *
+     * @return rejected connections
+     */
+    long getRejectedConnections();
+
+    /**
+     * get the connections closed because no upstream is connected.
+     *
+     * @return failed connections
+     */
+    long getFailedConnections();
+
+    /**
+     * get the connections closed because neither side reads nor writes within the idle timeout.
+     *
+     * @return idle connections
+     */
+    long getIdleConnections();
+
+    /**
+     * get the bytes received from the downstream clients and forwarded to the upstreams.
+     *
+     * @return bytes received
+     */
+    long getBytesReceived();
+
+    /**
+     * get the bytes received from the upstreams and forwarded to the downstream clients.
+     *
+     * @return bytes sent
+     */
+    long getBytesSent();
+}
@@ -0,0 +1,201 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.shenyu.protocol.tcp.connection;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import reactor.core.Disposable;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+import reactor.netty.Connection;
+
+import java.net.URI;
+import java.util.Collection;
+import java.util.Deque;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+/**
+ * Keep a few connected but not yet read connections to each upstream, so a proxied connection
+ * can be bridged without waiting for the tcp handshake. Every warm connection is handed out once.
+ * The upstreams are warmed once discovered, and the idle connections are replaced on a timer.
+ */
+public class WarmConnectionPool {
+
+    private static final Logger LOG = LoggerFactory.getLogger(WarmConnectionPool.class);
+
+    private final Map<String, Slot> slots = new ConcurrentHashMap<>();
+
+    private final Function<URI, Mono<Connection>> connector;
+
+    private final int warmConnections;
+
+    private final long maxIdleTimeMs;
+
+    private final Disposable evictTask;
+
+    private volatile boolean disposed;
+
+    public WarmConnectionPool(final Function<URI, Mono<Connection>> connector, final int warmConnections, final long maxIdleTimeMs) {
+        this.connector = connector;
+        this.warmConnections = warmConnections;
+        this.maxIdleTimeMs = maxIdleTimeMs;
+        if (warmConnections > 0 && maxIdleTimeMs > 0) {
+            long period = Math.max(maxIdleTimeMs / 2, 1L);
+            this.evictTask = Schedulers.parallel().schedulePeriodically(this::evictIdle, period, period, TimeUnit.MILLISECONDS);
+        } else {
+            this.evictTask = null;
+        }
+    }
+
+    /**
+     * warm the connections to the discovered upstreams.
+     *
+     * @param uris upstream uris
+     */
+    public void warm(final Collection<URI> uris) {
+        if (warmConnections <= 0) {
+            return;
+        }
+        uris.forEach(uri -> refill(slots.computeIfAbsent(uri.getAuthority(), key -> new Slot(uri)), uri));
+    }
+
+    /**
+     * acquire a connection to the upstream, a warm one if any.
+     *
+     * @param uri upstream uri
+     * @return connection
+     */
+    public Mono<Connection> acquire(final URI uri) {
+        if (warmConnections <= 0) {
+            return connector.apply(uri);
+        }
+        Slot slot = slots.computeIfAbsent(uri.getAuthority(), key -> new Slot(uri));
+        Connection connection = poll(slot);
+        refill(slot, uri);
+        return Objects.nonNull(connection) ? Mono.just(connection) : connector.apply(uri);
+    }
+
+    /**
+     * evict the warm connections to the removed upstreams.
+     *
+     * @param urls the removed upstream urls
+     */
+    public void evict(final Collection<String> urls) {
+        urls.forEach(url -> {
+            Slot slot = slots.remove(url);
+            if (Objects.nonNull(slot)) {
+                drain(slot);
+            }
+        });
+    }
+
+    /**
+     * dispose all the warm connections.
+     */
+    public void dispose() {
+        disposed = true;
+        if (Objects.nonNull(evictTask)) {
+            evictTask.dispose();
+        }
+        slots.values().forEach(this::drain);
+        slots.clear();
+    }
+
+    private Connection poll(final Slot slot) {
+        long now = System.currentTimeMillis();
+        for (IdleConnection idle = slot.idle.poll(); Objects.nonNull(idle); idle = slot.idle.poll()) {
+            if (!isExpired(idle, now)) {
+                return idle.connection;
+            }
+            idle.connection.dispose();
+        }
+        return null;
+    }
+
+    private void evictIdle() {
+        long now = System.currentTimeMillis();
+        slots.values().forEach(slot -> {
+            slot.idle.removeIf(idle -> {
+                if (isExpired(idle, now)) {
+                    idle.connection.dispose();
+                    return true;
+                }
+                return false;
+            });
+            refill(slot, slot.uri);
+        });
+    }
+
+    private boolean isExpired(final IdleConnection idle, final long now) {
+        return idle.connection.isDisposed() || now - idle.since >= maxIdleTimeMs;
+    }
+
+    private void refill(final Slot slot, final URI uri) {
+        while (!disposed && slot.idle.size() + slot.connecting.get() < warmConnections) {
+            slot.connecting.incrementAndGet();
+            connector.apply(uri).subscribe(connection -> {
+                slot.connecting.decrementAndGet();
+                if (disposed || slots.get(uri.getAuthority()) != slot) {
+                    connection.dispose();
+                    return;
+                }
+                slot.idle.offer(new IdleConnection(connection, System.currentTimeMillis()));
+            }, e -> {
+                slot.connecting.decrementAndGet();
+                LOG.warn("warm up tcp connection to {} error: {}", uri, e.getMessage());
+            });
+        }
+    }
+
+    private void drain(final Slot slot) {
+        for (IdleConnection idle = slot.idle.poll(); Objects.nonNull(idle); idle = slot.idle.poll()) {
+            idle.connection.dispose();
+        }
+    }
+
+    private static final class Slot {
+
+        private final URI uri;
+
+        private final Deque<IdleConnection> idle = new ConcurrentLinkedDeque<>();
+
+        private final AtomicInteger connecting = new AtomicInteger();
+
+        Slot(final URI uri) {
+            this.uri = uri;
+        }
+    }
+
+    private static final class IdleConnection {
+
+        private final Connection connection;
+
+        private final long since;
+
+        IdleConnection(final Connection connection, final long since) {
+            this.connection = connection;
+            this.since = since;
+        }
+    }
+}
@@ -0,0 +1,157 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.shenyu.protocol.tcp;
+
+import com.google.common.eventbus.EventBus;
+import org.apache.shenyu.common.dto.DiscoveryUpstreamData;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import reactor.netty.DisposableServer;
+import reactor.netty.tcp.TcpServer;
+
+import javax.management.ObjectName;
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.management.ManagementFactory;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.util.Collections;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.awaitility.Awaitility.await;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * The test case for {@link TcpBootstrapServer}.
+ */
+public final class TcpBootstrapServerTest {
+
+    private static final String SELECTOR_NAME = "tcpBootstrapServerTest";
+
+    private final AtomicInteger upstreamConnections = new AtomicInteger();
+
+    private DisposableServer upstream;
+
+    private TcpBootstrapServer bootstrapServer;
+
+    private int port;
+
+    @BeforeEach
+    public void setUp() throws IOException {
+        upstream = TcpServer.create().host("127.0.0.1").port(0)
+                .doOnConnection(connection -> upstreamConnections.incrementAndGet())
+                .handle((inbound, outbound) -> outbound.send(inbound.receive().retain()))
+                .bindNow();
+        UpstreamProvider.getSingleton().createUpstreams(SELECTOR_NAME, Collections.singletonList(DiscoveryUpstreamData.builder()
+                .url("127.0.0.1:" + upstream.port())
+                .protocol("tcp")
+                .status(0)
+                .weight(50)
+                .props("{\"warmupTime\":10}")
+                .dateCreated(new Timestamp(System.currentTimeMillis()))
+                .build()));
+        try (ServerSocket serverSocket = new ServerSocket(0)) {
+            port = serverSocket.getLocalPort();
+        }
+        TcpServerConfiguration configuration = new TcpServerConfiguration();
+        configuration.setPluginSelectorName(SELECTOR_NAME);
+        configuration.setPort(port);
+        configuration.getProps().setProperty("workerGroupThreadCount", "2");
+        configuration.getProps().setProperty("maxConnections", "1");
+        configuration.getProps().setProperty("clientWarmConnections", "1");
+        configuration.getProps().setProperty("clientMaxIdleTimeMs", "1000");
+        configuration.getProps().setProperty("idleTimeoutMs", "1000");
+        bootstrapServer = new TcpBootstrapServer(new EventBus());
+        bootstrapServer.start(configuration);
+    }
+
+    @AfterEach
+    public void tearDown() {
+        bootstrapServer.shutdown();
+        upstream.disposeNow();
+        UpstreamProvider.getSingleton().createUpstreams(SELECTOR_NAME, Collections.emptyList());
+    }
+
+    @Test
+    public void testProxy() throws Exception {
+        for (int i = 0; i < 2; i++) {
+            try (Socket socket = new Socket("127.0.0.1", port)) {
+                assertEquals("hello" + i, echo(socket, "hello" + i));
+            }
+            await().atMost(Duration.ofSeconds(3)).until(() -> (long) attribute("ActiveConnections") == 0L);
+        }
+        assertEquals(2L, attribute("TotalConnections"));
+        assertEquals(12L, attribute("BytesReceived"));
+        assertEquals(12L, attribute("BytesSent"));
+    }
+
+    @Test
+    public void testRejectExceedsMaxConnections() throws Exception {
+        try (Socket socket = new Socket("127.0.0.1", port)) {
+            assertEquals("first", echo(socket, "first"));
+            try (Socket rejected = new Socket("127.0.0.1", port)) {
+                assertEquals(-1, rejected.getInputStream().read());
+            }
+            assertEquals(1L, attribute("RejectedConnections"));
+            assertEquals("second", echo(socket, "second"));
+        }
+    }
+
+    @Test
+    public void testWarmAndReplaceIdleConnections() {
+        // the upstream is warmed once the listener starts, and the idle warm connection is replaced.
+        await().atMost(Duration.ofSeconds(3)).until(() -> upstreamConnections.get() >= 1);
+        await().atMost(Duration.ofSeconds(5)).until(() -> upstreamConnections.get() >= 2);
+    }
+
+    @Test
+    public void testCloseIdleConnection() throws Exception {
+        try (Socket socket = new Socket("127.0.0.1", port)) {
+            assertEquals("idle", echo(socket, "idle"));
+            socket.setSoTimeout(5000);
+            assertEquals(-1, socket.getInputStream().read());
+        }
+        assertEquals(1L, attribute("IdleConnections"));
+    }
+
+    private String echo(final Socket socket, final String message) throws IOException {
+        byte[] bytes = message.getBytes(StandardCharsets.UTF_8);
+        socket.getOutputStream().write(bytes);
+        socket.getOutputStream().flush();
+        InputStream inputStream = socket.getInputStream();
+        byte[] received = new byte[bytes.length];
+        int offset = 0;
+        while (offset < received.length) {
+            int read = inputStream.read(received, offset, received.length - offset);
+            if (read < 0) {
+                break;
+            }
+            offset += read;
+        }
+        return new String(received, 0, offset, StandardCharsets.UTF_8);
+    }
+
+    private Object attribute(final String name) throws Exception {
+        ObjectName objectName = new ObjectName("org.apache.shenyu:type=TcpProxy,name=" + ObjectName.quote(SELECTOR_NAME) + ",port=" + port);
+        return ManagementFactory.getPlatformMBeanServer().getAttribute(objectName, name);
+    }
+}
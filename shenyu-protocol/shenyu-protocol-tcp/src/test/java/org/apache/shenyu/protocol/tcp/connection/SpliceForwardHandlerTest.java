@@ -0,0 +1,60 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.shenyu.protocol.tcp.connection;
+
+import io.netty.buffer.Unpooled;
+import io.netty.channel.Channel;
+import io.netty.channel.embedded.EmbeddedChannel;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.atomic.LongAdder;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Test case for {@link SpliceForwardHandler}.
+ */
+public final class SpliceForwardHandlerTest {
+
+    @Test
+    public void testPauseWhenPeerNotWritable() {
+        Channel peer = mock(Channel.class);
+        when(peer.isWritable()).thenReturn(false);
+        LongAdder bytes = new LongAdder();
+        EmbeddedChannel channel = new EmbeddedChannel(new SpliceForwardHandler(peer, bytes));
+        channel.writeInbound(Unpooled.wrappedBuffer(new byte[8]));
+        assertFalse(channel.config().isAutoRead());
+        assertEquals(8, bytes.sum());
+        channel.finishAndReleaseAll();
+    }
+
+    @Test
+    public void testResumeWhenPeerDrainedBeforePause() {
+        Channel peer = mock(Channel.class);
+        // the peer drains between the first check and the pause.
+        when(peer.isWritable()).thenReturn(false, true);
+        EmbeddedChannel channel = new EmbeddedChannel(new SpliceForwardHandler(peer, new LongAdder()));
+        channel.writeInbound(Unpooled.wrappedBuffer(new byte[8]));
+        assertTrue(channel.config().isAutoRead());
+        channel.finishAndReleaseAll();
+    }
+}
@@ -18,6 +18,8 @@
 package org.apache.shenyu.springboot.starter.plugin.ai.token.limiter;
 
 import org.apache.shenyu.plugin.ai.token.limiter.AiTokenLimiterPlugin;
+import org.apache.shenyu.plugin.ai.token.limiter.budget.LocalTokenBudget;
+import org.apache.shenyu.plugin.ai.token.limiter.budget.RedisTokenBudget;
 import org.apache.shenyu.plugin.ai.token.limiter.handler.AiTokenLimiterPluginHandler;
 import org.apache.shenyu.plugin.api.ShenyuPlugin;
 import org.apache.shenyu.plugin.base.handler.PluginDataHandler;
@@ -32,25 +34,37 @@ import org.springframework.context.annotation.Configuration;
 @ConditionalOnProperty(value = {"shenyu.plugins.ai.token.limiter.enabled"}, havingValue = "true", matchIfMissing = true)
 public class AiTokenLimiterPluginConfiguration {
     
+    /**
+     * Ai token limiter local token budget.
+     *
+     * @return the local token budget
+     */
+    @Bean
+    public LocalTokenBudget aiTokenLimiterLocalTokenBudget() {
+        return new LocalTokenBudget(new RedisTokenBudget());
+    }
+    
     /**
      * Ai token limiter plugin.
      *
+     * @param localTokenBudget the local token budget
      * @return the shenyu plugin
      */
     @Bean
-    public ShenyuPlugin aiTokenLimiterPlugin() {
-        return new AiTokenLimiterPlugin();
+    public ShenyuPlugin aiTokenLimiterPlugin(final LocalTokenBudget localTokenBudget) {
+        return new AiTokenLimiterPlugin(localTokenBudget);
     }
     
     
     /**
      * Ai statistic plugin handler.
      *
+     * @param localTokenBudget the local token budget
      * @return the shenyu plugin handler
      */
     @Bean
-    public PluginDataHandler aiTokenLimiterPluginHandler() {
-        return new AiTokenLimiterPluginHandler();
+    public PluginDataHandler aiTokenLimiterPluginHandler(final LocalTokenBudget localTokenBudget) {
+        return new AiTokenLimiterPluginHandler(localTokenBudget);
     }
     
     
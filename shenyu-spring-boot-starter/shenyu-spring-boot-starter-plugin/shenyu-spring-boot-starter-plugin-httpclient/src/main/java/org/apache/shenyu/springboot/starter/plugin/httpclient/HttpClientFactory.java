@@ -26,6 +26,8 @@ import org.apache.commons.lang3.ArrayUtils;
 import org.apache.commons.lang3.StringUtils;
 import org.apache.shenyu.plugin.httpclient.config.HttpClientProperties;
 import org.apache.shenyu.plugin.httpclient.config.HttpClientProperties.Pool;
+import org.apache.shenyu.plugin.httpclient.pool.ConnectionPoolMetricsRegistrar;
+import org.apache.shenyu.plugin.httpclient.pool.UpstreamConnectionProvider;
 import org.springframework.beans.factory.config.AbstractFactoryBean;
 import org.springframework.boot.autoconfigure.web.ServerProperties;
 import org.springframework.boot.context.properties.PropertyMapper;
@@ -160,8 +162,14 @@ public class HttpClientFactory extends AbstractFactoryBean<HttpClient> {
             Optional.ofNullable(pool.getMaxIdleTime()).map(Duration::ofMillis).ifPresent(builder::maxIdleTime);
             Optional.ofNullable(pool.getMaxLifeTime()).map(Duration::ofMillis).ifPresent(builder::maxLifeTime);
             Optional.ofNullable(pool.getEvictionInterval()).map(Duration::ofMillis).ifPresent(builder::evictInBackground);
-            builder.metrics(pool.getMetrics());
-            return builder.build();
+            if (Boolean.TRUE.equals(pool.getMetrics())) {
+                builder.metrics(true);
+            } else {
+                // expose the pool metrics by jmx when micrometer is not enabled.
+                builder.metrics(true, ConnectionPoolMetricsRegistrar::getInstance);
+            }
+            // the upstreams with a dedicated pool do not share the connections of the others.
+            return new UpstreamConnectionProvider(builder.build(), pool);
         }
     }
 
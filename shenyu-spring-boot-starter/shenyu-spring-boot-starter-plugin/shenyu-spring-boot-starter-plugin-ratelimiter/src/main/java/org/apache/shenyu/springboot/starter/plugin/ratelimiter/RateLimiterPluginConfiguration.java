@@ -20,6 +20,8 @@ package org.apache.shenyu.springboot.starter.plugin.ratelimiter;
 import org.apache.shenyu.plugin.api.ShenyuPlugin;
 import org.apache.shenyu.plugin.base.handler.PluginDataHandler;
 import org.apache.shenyu.plugin.ratelimiter.RateLimiterPlugin;
+import org.apache.shenyu.plugin.ratelimiter.executor.HybridRateLimiter;
+import org.apache.shenyu.plugin.ratelimiter.executor.LocalRateLimiter;
 import org.apache.shenyu.plugin.ratelimiter.executor.RedisRateLimiter;
 import org.apache.shenyu.plugin.ratelimiter.handler.RateLimiterPluginDataHandler;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
@@ -33,23 +35,47 @@ import org.springframework.context.annotation.Configuration;
 @ConditionalOnProperty(value = {"shenyu.plugins.rate-limiter.enabled"}, havingValue = "true", matchIfMissing = true)
 public class RateLimiterPluginConfiguration {
     
+    /**
+     * Hybrid rate limiter.
+     *
+     * @return the hybrid rate limiter
+     */
+    @Bean
+    public HybridRateLimiter hybridRateLimiter() {
+        return new HybridRateLimiter();
+    }
+    
+    /**
+     * Local rate limiter.
+     *
+     * @return the local rate limiter
+     */
+    @Bean
+    public LocalRateLimiter localRateLimiter() {
+        return new LocalRateLimiter();
+    }
+    
     /**
      * RateLimiter plugin.
      *
+     * @param hybridRateLimiter the hybrid rate limiter
+     * @param localRateLimiter the local rate limiter
      * @return the shenyu plugin
      */
     @Bean
-    public ShenyuPlugin rateLimiterPlugin() {
-        return new RateLimiterPlugin(new RedisRateLimiter());
+    public ShenyuPlugin rateLimiterPlugin(final HybridRateLimiter hybridRateLimiter, final LocalRateLimiter localRateLimiter) {
+        return new RateLimiterPlugin(new RedisRateLimiter(), hybridRateLimiter, localRateLimiter);
     }
     
     /**
      * Rate limiter plugin data handler.
      *
+     * @param hybridRateLimiter the hybrid rate limiter
+     * @param localRateLimiter the local rate limiter
      * @return the plugin data handler
      */
     @Bean
-    public PluginDataHandler rateLimiterPluginDataHandler() {
-        return new RateLimiterPluginDataHandler();
+    public PluginDataHandler rateLimiterPluginDataHandler(final HybridRateLimiter hybridRateLimiter, final LocalRateLimiter localRateLimiter) {
+        return new RateLimiterPluginDataHandler(hybridRateLimiter, localRateLimiter);
     }
 }
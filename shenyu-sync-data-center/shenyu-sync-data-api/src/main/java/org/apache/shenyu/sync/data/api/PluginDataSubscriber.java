@@ -79,6 +79,16 @@ public interface PluginDataSubscriber {
     default void refreshSelectorDataAll() {
     }
     
+    /**
+     * Refresh all selector data with the full selector data list.
+     *
+     * @param selectorDataList the full selector data list
+     */
+    default void refreshSelectorDataAll(List<SelectorData> selectorDataList) {
+        refreshSelectorDataAll();
+        selectorDataList.forEach(this::onSelectorSubscribe);
+    }
+    
     /**
      * Refresh selector data.
      *
@@ -109,6 +119,16 @@ public interface PluginDataSubscriber {
     default void refreshRuleDataAll() {
     }
     
+    /**
+     * Refresh all rule data with the full rule data list.
+     *
+     * @param ruleDataList the full rule data list
+     */
+    default void refreshRuleDataAll(List<RuleData> ruleDataList) {
+        refreshRuleDataAll();
+        ruleDataList.forEach(this::onRuleSubscribe);
+    }
+    
     /**
      * Refresh rule data self.
      *
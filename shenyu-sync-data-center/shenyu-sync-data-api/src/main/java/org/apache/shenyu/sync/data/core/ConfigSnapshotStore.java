@@ -0,0 +1,159 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.shenyu.sync.data.core;
+
+import org.apache.shenyu.common.dto.ConfigData;
+import org.apache.shenyu.common.enums.ConfigGroupEnum;
+import org.apache.shenyu.common.utils.GsonUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.zip.CRC32;
+
+/**
+ * The local snapshot of the last applied config groups. The gateway loads it on start and serves
+ * the requests with it while the sync data service reconciles with the config center.
+ *
+ * <p>The file layout is: magic, version, group count, (group name, config json) of each group,
+ * and the crc32 of all the previous bytes. A snapshot which does not pass the check is ignored.</p>
+ */
+public final class ConfigSnapshotStore {
+
+    private static final Logger LOG = LoggerFactory.getLogger(ConfigSnapshotStore.class);
+
+    private static final int MAGIC = 0x53484E59;
+
+    private static final int VERSION = 1;
+
+    private static final int CRC_LENGTH = Long.BYTES;
+
+    private final Path path;
+
+    public ConfigSnapshotStore(final String path) {
+        this.path = Paths.get(path);
+    }
+
+    /**
+     * Get the path of the snapshot file.
+     *
+     * @return the path
+     */
+    public Path getPath() {
+        return path;
+    }
+
+    /**
+     * Save the config groups, the previous snapshot is replaced atomically.
+     *
+     * @param configs the config data of the groups
+     */
+    public synchronized void save(final Map<ConfigGroupEnum, ConfigData<?>> configs) {
+        try {
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+            DataOutputStream out = new DataOutputStream(bytes);
+            out.writeInt(MAGIC);
+            out.writeInt(VERSION);
+            out.writeInt(configs.size());
+            for (Map.Entry<ConfigGroupEnum, ConfigData<?>> entry : configs.entrySet()) {
+                writeBytes(out, entry.getKey().name().getBytes(StandardCharsets.UTF_8));
+                writeBytes(out, GsonUtils.getInstance().toJson(entry.getValue()).getBytes(StandardCharsets.UTF_8));
+            }
+            CRC32 crc = new CRC32();
+            crc.update(bytes.toByteArray());
+            out.writeLong(crc.getValue());
+            Path parent = path.toAbsolutePath().getParent();
+            if (Objects.nonNull(parent)) {
+                Files.createDirectories(parent);
+            }
+            Path temp = path.resolveSibling(path.getFileName() + ".tmp");
+            Files.write(temp, bytes.toByteArray());
+            Files.move(temp, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            // the snapshot only speeds up the start, do not break the data sync.
+            LOG.warn("save the config snapshot to {} error", path, e);
+        }
+    }
+
+    /**
+     * Load the config groups.
+     *
+     * @return the config json of the groups, empty if the snapshot does not exist or is broken
+     */
+    public Map<ConfigGroupEnum, String> load() {
+        if (!Files.isRegularFile(path)) {
+            return Collections.emptyMap();
+        }
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            long size = channel.size();
+            if (size < Integer.BYTES * 3 + CRC_LENGTH || size > Integer.MAX_VALUE) {
+                LOG.warn("the config snapshot {} is broken, size: {}", path, size);
+                return Collections.emptyMap();
+            }
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+            int limit = (int) size - CRC_LENGTH;
+            CRC32 crc = new CRC32();
+            crc.update(buffer.duplicate().limit(limit));
+            if (crc.getValue() != buffer.getLong(limit) || buffer.getInt() != MAGIC || buffer.getInt() != VERSION) {
+                LOG.warn("the config snapshot {} is broken or of another version", path);
+                return Collections.emptyMap();
+            }
+            buffer.limit(limit);
+            int count = buffer.getInt();
+            Map<ConfigGroupEnum, String> configs = new EnumMap<>(ConfigGroupEnum.class);
+            for (int i = 0; i < count; i++) {
+                String group = readString(buffer);
+                String json = readString(buffer);
+                // the groups of the newer versions are skipped.
+                Arrays.stream(ConfigGroupEnum.values()).filter(e -> e.name().equals(group))
+                        .findFirst().ifPresent(e -> configs.put(e, json));
+            }
+            return configs;
+        } catch (IOException | BufferUnderflowException | IllegalArgumentException e) {
+            LOG.warn("load the config snapshot from {} error", path, e);
+            return Collections.emptyMap();
+        }
+    }
+
+    private static void writeBytes(final DataOutputStream out, final byte[] bytes) throws IOException {
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    private static String readString(final MappedByteBuffer buffer) {
+        byte[] bytes = new byte[buffer.getInt()];
+        buffer.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,70 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.shenyu.sync.data.core;
+
+import org.apache.shenyu.common.dto.ConfigData;
+import org.apache.shenyu.common.dto.PluginData;
+import org.apache.shenyu.common.enums.ConfigGroupEnum;
+import org.apache.shenyu.common.utils.GsonUtils;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * The test case for {@link ConfigSnapshotStore}.
+ */
+public final class ConfigSnapshotStoreTest {
+
+    @TempDir
+    private Path tempDir;
+
+    @Test
+    public void testSaveAndLoad() {
+        ConfigSnapshotStore store = new ConfigSnapshotStore(tempDir.resolve("snapshot/config.snapshot").toString());
+        assertTrue(store.load().isEmpty());
+        ConfigData<PluginData> pluginConfig = new ConfigData<>("md5", 1L,
+                Collections.singletonList(PluginData.builder().id("1").name("divide").enabled(true).build())).setRevision(2L);
+        Map<ConfigGroupEnum, ConfigData<?>> configs = new EnumMap<>(ConfigGroupEnum.class);
+        configs.put(ConfigGroupEnum.PLUGIN, pluginConfig);
+        configs.put(ConfigGroupEnum.RULE, new ConfigData<>("empty", 1L, Collections.emptyList()));
+        store.save(configs);
+        Map<ConfigGroupEnum, String> loaded = store.load();
+        assertEquals(2, loaded.size());
+        assertEquals(GsonUtils.getInstance().toJson(pluginConfig), loaded.get(ConfigGroupEnum.PLUGIN));
+    }
+
+    @Test
+    public void testLoadBrokenSnapshot() throws Exception {
+        ConfigSnapshotStore store = new ConfigSnapshotStore(tempDir.resolve("config.snapshot").toString());
+        store.save(Collections.singletonMap(ConfigGroupEnum.RULE, new ConfigData<>("empty", 1L, Collections.emptyList())));
+        byte[] bytes = Files.readAllBytes(store.getPath());
+        bytes[bytes.length / 2] ^= 1;
+        Files.write(store.getPath(), bytes);
+        assertTrue(store.load().isEmpty());
+        Files.write(store.getPath(), new byte[]{1, 2, 3});
+        assertTrue(store.load().isEmpty());
+    }
+}
@@ -22,6 +22,7 @@ import com.google.common.collect.Lists;
 import com.google.gson.JsonArray;
 import com.google.gson.JsonElement;
 import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
 import okhttp3.Headers;
 import okhttp3.OkHttpClient;
 import okhttp3.Request;
@@ -35,6 +36,7 @@ import org.apache.shenyu.common.constant.Constants;
 import org.apache.shenyu.common.dto.ConfigData;
 import org.apache.shenyu.common.enums.ConfigGroupEnum;
 import org.apache.shenyu.common.exception.ShenyuException;
+import org.apache.shenyu.common.utils.DigestUtils;
 import org.apache.shenyu.common.utils.GsonUtils;
 import org.apache.shenyu.common.utils.ThreadUtils;
 import org.apache.shenyu.sync.data.api.AuthDataSubscriber;
@@ -43,24 +45,34 @@ import org.apache.shenyu.sync.data.api.MetaDataSubscriber;
 import org.apache.shenyu.sync.data.api.PluginDataSubscriber;
 import org.apache.shenyu.sync.data.api.ProxySelectorDataSubscriber;
 import org.apache.shenyu.sync.data.api.SyncDataService;
+import org.apache.shenyu.sync.data.core.ConfigSnapshotStore;
 import org.apache.shenyu.sync.data.http.config.HttpConfig;
 import org.apache.shenyu.sync.data.http.refresh.DataRefreshFactory;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpStatus;
 import org.springframework.util.Assert;
 import org.springframework.util.LinkedMultiValueMap;
 import org.springframework.util.MultiValueMap;
 import org.springframework.web.util.UriComponentsBuilder;
 
 import java.io.IOException;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.EnumMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.ThreadPoolExecutor;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Collectors;
 
 /**
  * HTTP long polling implementation.
@@ -74,6 +86,11 @@ public class HttpSyncDataService implements SyncDataService {
 
     private static final AtomicBoolean RUNNING = new AtomicBoolean(false);
 
+    /**
+     * the changes within the delay are saved to the snapshot together.
+     */
+    private static final long SNAPSHOT_SAVE_DELAY_MILLIS = 1000L;
+
     private ExecutorService executor;
 
     private final List<String> serverList;
@@ -86,6 +103,17 @@ public class HttpSyncDataService implements SyncDataService {
 
     private final ShenyuConfig shenyuConfig;
 
+    /**
+     * the servers which do not respond the config delta.
+     */
+    private final Set<String> deltaUnsupportedServers = ConcurrentHashMap.newKeySet();
+
+    private final ConfigSnapshotStore snapshotStore;
+
+    private final ScheduledExecutorService snapshotExecutor;
+
+    private final AtomicBoolean snapshotDirty = new AtomicBoolean(false);
+
     public HttpSyncDataService(final HttpConfig httpConfig,
                                final PluginDataSubscriber pluginDataSubscriber,
                                final OkHttpClient okHttpClient,
@@ -100,14 +128,25 @@ public class HttpSyncDataService implements SyncDataService {
         this.serverList = Lists.newArrayList(Splitter.on(",").split(httpConfig.getUrl()));
         this.okHttpClient = okHttpClient;
         this.shenyuConfig = shenyuConfig;
+        if (StringUtils.isBlank(httpConfig.getSnapshotPath())) {
+            this.snapshotStore = null;
+            this.snapshotExecutor = null;
+        } else {
+            this.snapshotStore = new ConfigSnapshotStore(snapshotPath(httpConfig.getSnapshotPath(), shenyuConfig.getNamespace(), serverList));
+            this.snapshotExecutor = Executors.newSingleThreadScheduledExecutor(ShenyuThreadFactory.create("http-sync-snapshot", true));
+        }
         this.start();
     }
 
     private void start() {
         // It could be initialized multiple times, so you need to control that.
         if (RUNNING.compareAndSet(false, true)) {
-            // fetch all group configs.
-            this.fetchGroupConfig(ConfigGroupEnum.values());
+            // serve with the local snapshot, the long polling reconciles it with the servers at once.
+            if (!this.loadSnapshot()) {
+                // fetch all group configs.
+                this.fetchGroupConfig(ConfigGroupEnum.values());
+                this.markSnapshotDirty();
+            }
             int threadSize = serverList.size();
             this.executor = new ThreadPoolExecutor(threadSize, threadSize, 60L, TimeUnit.SECONDS,
                     new LinkedBlockingQueue<>(),
@@ -119,6 +158,64 @@ public class HttpSyncDataService implements SyncDataService {
         }
     }
 
+    private boolean loadSnapshot() {
+        if (Objects.isNull(snapshotStore)) {
+            return false;
+        }
+        Map<ConfigGroupEnum, String> snapshot = snapshotStore.load();
+        // the long polling requires the config of all the groups.
+        if (snapshot.size() < ConfigGroupEnum.values().length) {
+            return false;
+        }
+        JsonObject data = new JsonObject();
+        snapshot.forEach((group, json) -> data.add(group.name(), JsonParser.parseString(json)));
+        factory.executor(data);
+        LOG.info("load configs from the local snapshot: [{}]", snapshotStore.getPath());
+        return true;
+    }
+
+    /**
+     * the snapshot of each namespace and admin cluster is kept apart, so a gateway never starts
+     * with the configs of another namespace or cluster.
+     *
+     * @param path        the configured path
+     * @param namespaceId the namespace id
+     * @param serverList  the admin servers
+     * @return the path of the snapshot file
+     */
+    private static String snapshotPath(final String path, final String namespaceId, final List<String> serverList) {
+        String servers = serverList.stream().map(String::trim).sorted().collect(Collectors.joining(","));
+        return path + "-" + DigestUtils.md5Hex(namespaceId + "@" + servers).substring(0, 16);
+    }
+
+    /**
+     * the snapshot is saved in background after the delay, the whole configs are serialized
+     * once for the changes within the delay.
+     */
+    private void markSnapshotDirty() {
+        if (Objects.isNull(snapshotStore)) {
+            return;
+        }
+        if (snapshotDirty.compareAndSet(false, true)) {
+            snapshotExecutor.schedule(this::saveSnapshot, SNAPSHOT_SAVE_DELAY_MILLIS, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    private void saveSnapshot() {
+        // the changes after the reset are saved by the next schedule.
+        if (Objects.isNull(snapshotStore) || !snapshotDirty.compareAndSet(true, false)) {
+            return;
+        }
+        Map<ConfigGroupEnum, ConfigData<?>> configs = new EnumMap<>(ConfigGroupEnum.class);
+        for (ConfigGroupEnum group : ConfigGroupEnum.values()) {
+            ConfigData<?> cacheConfig = factory.cacheConfigData(group);
+            if (Objects.nonNull(cacheConfig)) {
+                configs.put(group, cacheConfig);
+            }
+        }
+        snapshotStore.save(configs);
+    }
+
     private void fetchGroupConfig(final ConfigGroupEnum... groups) throws ShenyuException {
         for (int index = 0; index < this.serverList.size(); index++) {
             String server = serverList.get(index);
@@ -174,6 +271,82 @@ public class HttpSyncDataService implements SyncDataService {
     }
 
 
+    /**
+     * fetch the changes of the groups since the cached revisions, the groups which the changes
+     * can not be applied to fetch the full config.
+     *
+     * @param server the server
+     * @param groups the changed groups
+     */
+    private void doFetchGroupDelta(final String server, final ConfigGroupEnum... groups) {
+        List<ConfigGroupEnum> deltaGroups = new ArrayList<>(groups.length);
+        List<ConfigGroupEnum> fullGroups = new ArrayList<>(groups.length);
+        for (ConfigGroupEnum group : groups) {
+            ConfigData<?> cacheConfig = factory.cacheConfigData(group);
+            if (!deltaUnsupportedServers.contains(server) && factory.isDeltaSupported(group)
+                    && Objects.nonNull(cacheConfig) && cacheConfig.getRevision() > 0) {
+                deltaGroups.add(group);
+            } else {
+                fullGroups.add(group);
+            }
+        }
+        if (!deltaGroups.isEmpty()) {
+            try {
+                JsonObject data = this.requestGroupDelta(server, deltaGroups);
+                JsonObject fullData = new JsonObject();
+                for (ConfigGroupEnum group : deltaGroups) {
+                    JsonObject delta = Objects.isNull(data) ? null : data.getAsJsonObject(group.name());
+                    if (Objects.isNull(delta)) {
+                        fullGroups.add(group);
+                    } else if (delta.has("full") && delta.get("full").getAsBoolean()) {
+                        // the full config has the same fields as the config data.
+                        fullData.add(group.name(), delta);
+                    } else if (!factory.applyDelta(group, data)) {
+                        fullGroups.add(group);
+                    }
+                }
+                if (fullData.size() > 0) {
+                    factory.executor(fullData);
+                }
+            } catch (ShenyuException e) {
+                LOG.warn("fetch config delta fail from server[{}], fetch the full config. {}", server, e.getMessage());
+                fullGroups.addAll(deltaGroups);
+            }
+        }
+        if (!fullGroups.isEmpty()) {
+            this.doFetchGroupConfig(server, fullGroups.toArray(new ConfigGroupEnum[0]));
+        }
+    }
+
+    private JsonObject requestGroupDelta(final String server, final List<ConfigGroupEnum> groups) {
+        UriComponentsBuilder builder = UriComponentsBuilder.fromHttpUrl(server + Constants.SHENYU_ADMIN_PATH_CONFIGS_DELTA);
+        for (ConfigGroupEnum group : groups) {
+            ConfigData<?> cacheConfig = factory.cacheConfigData(group);
+            builder.queryParam("groupKeys", group.name())
+                    .queryParam(group.name(), String.join(",", cacheConfig.getMd5(), String.valueOf(cacheConfig.getRevision())));
+        }
+        String url = builder.queryParam("namespaceId", shenyuConfig.getNamespace()).build().encode().toUriString();
+        LOG.info("request config delta: [{}]", url);
+        Request request = new Request.Builder().url(url)
+                .addHeader(Constants.X_ACCESS_TOKEN, this.accessTokenManager.getAccessToken())
+                .get()
+                .build();
+        try (Response response = okHttpClient.newCall(request).execute()) {
+            if (response.code() == HttpStatus.NOT_FOUND.value()) {
+                // the server before the config delta, fetch the full config from it.
+                deltaUnsupportedServers.add(server);
+            }
+            if (!response.isSuccessful()) {
+                throw new ShenyuException(String.format("fetch config delta fail from server[%s], http status code[%s]", url, response.code()));
+            }
+            ResponseBody responseBody = response.body();
+            Assert.notNull(responseBody, "Resolve response responseBody failed.");
+            return GsonUtils.getGson().fromJson(responseBody.string(), JsonObject.class).getAsJsonObject("data");
+        } catch (IOException e) {
+            throw new ShenyuException(String.format("fetch config delta fail from server[%s], %s", url, e.getMessage()), e);
+        }
+    }
+
     /**
      * update local cache.
      *
@@ -234,7 +407,8 @@ public class HttpSyncDataService implements SyncDataService {
             // fetch group configuration async.
             ConfigGroupEnum[] changedGroups = GsonUtils.getGson().fromJson(groupJson, ConfigGroupEnum[].class);
             LOG.info("Group config changed: {}", Arrays.toString(changedGroups));
-            this.doFetchGroupConfig(server, changedGroups);
+            this.doFetchGroupDelta(server, changedGroups);
+            this.markSnapshotDirty();
         }
     }
 
@@ -246,6 +420,11 @@ public class HttpSyncDataService implements SyncDataService {
             // help gc
             executor = null;
         }
+        if (Objects.nonNull(snapshotExecutor)) {
+            snapshotExecutor.shutdownNow();
+            // save the pending changes at once.
+            this.saveSnapshot();
+        }
     }
 
     class HttpLongPollingTask implements Runnable {
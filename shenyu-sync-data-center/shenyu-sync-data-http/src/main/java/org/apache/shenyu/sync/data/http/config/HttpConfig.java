@@ -42,6 +42,8 @@ public class HttpConfig {
 
     private String aesSecretIv;
 
+    private String snapshotPath;
+
     /**
      * get aesSecretKey.
      * @return  aesSecretKey
@@ -200,6 +202,25 @@ public class HttpConfig {
         this.writeTimeout = writeTimeout;
     }
 
+    /**
+     * Gets the path of the local config snapshot.
+     *
+     * @return the path of the local config snapshot
+     */
+    public String getSnapshotPath() {
+        return snapshotPath;
+    }
+
+    /**
+     * Sets the path of the local config snapshot, the snapshot is disabled if it is blank.
+     * The file name is suffixed with the hash of the namespace and the admin servers.
+     *
+     * @param snapshotPath snapshotPath
+     */
+    public void setSnapshotPath(final String snapshotPath) {
+        this.snapshotPath = snapshotPath;
+    }
+
     @Override
     public boolean equals(final Object o) {
         if (this == o) {
@@ -0,0 +1,131 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.shenyu.sync.data.http.refresh;
+
+import com.google.gson.JsonObject;
+import org.apache.commons.lang3.StringUtils;
+import org.apache.shenyu.common.dto.ConfigData;
+import org.apache.shenyu.common.dto.ConfigDelta;
+import org.apache.shenyu.common.enums.ConfigGroupEnum;
+import org.apache.shenyu.common.enums.DataEventTypeEnum;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * The data refresh which applies the config changes incrementally, the changes are applied
+ * only if they start from the revision of the cached config.
+ *
+ * @param <T> the type parameter
+ */
+public abstract class AbstractDeltaDataRefresh<T> extends AbstractDataRefresh<T> {
+
+    /**
+     * logger.
+     */
+    private static final Logger LOG = LoggerFactory.getLogger(AbstractDeltaDataRefresh.class);
+
+    private final ConfigGroupEnum groupEnum;
+
+    /**
+     * Instantiates a new Abstract delta data refresh.
+     *
+     * @param groupEnum the group enum
+     */
+    protected AbstractDeltaDataRefresh(final ConfigGroupEnum groupEnum) {
+        this.groupEnum = groupEnum;
+    }
+
+    /**
+     * From json config delta.
+     *
+     * @param data the data
+     * @return the config delta
+     */
+    protected abstract ConfigDelta<T> fromDeltaJson(JsonObject data);
+
+    /**
+     * The key of the data in the config.
+     *
+     * @param data the data
+     * @return the key
+     */
+    protected abstract String keyOf(T data);
+
+    /**
+     * Refresh the changed data.
+     *
+     * @param eventType the event type
+     * @param data      the changed data
+     */
+    protected abstract void refresh(DataEventTypeEnum eventType, List<T> data);
+
+    @Override
+    public boolean isDeltaSupported() {
+        return true;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public boolean applyDelta(final JsonObject data) {
+        JsonObject jsonObject = convert(data);
+        if (Objects.isNull(jsonObject)) {
+            return false;
+        }
+        ConfigDelta<T> delta = fromDeltaJson(jsonObject);
+        ConfigData<T> cached = (ConfigData<T>) GROUP_CACHE.get(groupEnum);
+        if (Objects.isNull(cached) || delta.isFull() || Objects.isNull(delta.getChanges())) {
+            return false;
+        }
+        List<ConfigDelta.Change<T>> changes = delta.getChanges();
+        if (changes.isEmpty()) {
+            return StringUtils.equals(cached.getMd5(), delta.getMd5());
+        }
+        if (changes.get(0).getRevision() != cached.getRevision() + 1) {
+            LOG.info("the {} changes start from revision {}, but the cached revision is {}", groupEnum, changes.get(0).getRevision(), cached.getRevision());
+            return false;
+        }
+        Map<String, T> merged = new LinkedHashMap<>();
+        if (Objects.nonNull(cached.getData())) {
+            cached.getData().forEach(value -> merged.put(keyOf(value), value));
+        }
+        for (ConfigDelta.Change<T> change : changes) {
+            boolean deleted = DataEventTypeEnum.DELETE == DataEventTypeEnum.acquireByName(change.getEventType());
+            change.getData().forEach(value -> {
+                if (deleted) {
+                    merged.remove(keyOf(value));
+                } else {
+                    merged.put(keyOf(value), value);
+                }
+            });
+        }
+        ConfigData<T> updated = new ConfigData<>(delta.getMd5(), delta.getLastModifyTime(), new ArrayList<>(merged.values()))
+                .setRevision(delta.getRevision());
+        if (!GROUP_CACHE.replace(groupEnum, cached, updated)) {
+            return false;
+        }
+        LOG.info("apply {} changes of {} config, revision: {} -> {}", changes.size(), groupEnum, cached.getRevision(), delta.getRevision());
+        changes.forEach(change -> refresh(DataEventTypeEnum.acquireByName(change.getEventType()), change.getData()));
+        return true;
+    }
+}
@@ -39,4 +39,23 @@ public interface DataRefresh {
      * @return the config data
      */
     ConfigData<?> cacheConfigData();
+
+    /**
+     * Whether the changes of the config can be applied incrementally.
+     *
+     * @return true if the delta is supported
+     */
+    default boolean isDeltaSupported() {
+        return false;
+    }
+
+    /**
+     * Apply the changes of the config delta.
+     *
+     * @param data the data
+     * @return true if the changes are applied, false if the full config should be fetched
+     */
+    default boolean applyDelta(JsonObject data) {
+        return false;
+    }
 }
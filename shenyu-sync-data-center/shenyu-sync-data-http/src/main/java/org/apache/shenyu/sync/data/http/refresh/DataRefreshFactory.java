@@ -81,4 +81,25 @@ public final class DataRefreshFactory {
     public ConfigData<?> cacheConfigData(final ConfigGroupEnum group) {
         return ENUM_MAP.get(group).cacheConfigData();
     }
+
+    /**
+     * Whether the changes of the group can be applied incrementally.
+     *
+     * @param group the group
+     * @return true if the delta is supported
+     */
+    public boolean isDeltaSupported(final ConfigGroupEnum group) {
+        return ENUM_MAP.get(group).isDeltaSupported();
+    }
+
+    /**
+     * Apply the config delta of the group.
+     *
+     * @param group the group
+     * @param data  the data
+     * @return true if the changes are applied, false if the full config should be fetched
+     */
+    public boolean applyDelta(final ConfigGroupEnum group, final JsonObject data) {
+        return ENUM_MAP.get(group).applyDelta(data);
+    }
 }
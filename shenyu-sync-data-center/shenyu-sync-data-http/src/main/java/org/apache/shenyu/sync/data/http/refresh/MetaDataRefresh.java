@@ -21,8 +21,10 @@ import com.google.gson.JsonObject;
 import com.google.gson.reflect.TypeToken;
 import org.apache.commons.collections4.CollectionUtils;
 import org.apache.shenyu.common.dto.ConfigData;
+import org.apache.shenyu.common.dto.ConfigDelta;
 import org.apache.shenyu.common.dto.MetaData;
 import org.apache.shenyu.common.enums.ConfigGroupEnum;
+import org.apache.shenyu.common.enums.DataEventTypeEnum;
 import org.apache.shenyu.common.utils.GsonUtils;
 import org.apache.shenyu.sync.data.api.MetaDataSubscriber;
 import org.slf4j.Logger;
@@ -33,7 +35,7 @@ import java.util.List;
 /**
  * The type meta data refresh.
  */
-public class MetaDataRefresh extends AbstractDataRefresh<MetaData> {
+public class MetaDataRefresh extends AbstractDeltaDataRefresh<MetaData> {
     /**
      * logger.
      */
@@ -42,6 +44,7 @@ public class MetaDataRefresh extends AbstractDataRefresh<MetaData> {
     private final List<MetaDataSubscriber> metaDataSubscribers;
 
     public MetaDataRefresh(final List<MetaDataSubscriber> metaDataSubscribers) {
+        super(ConfigGroupEnum.META_DATA);
         this.metaDataSubscribers = metaDataSubscribers;
     }
 
@@ -56,6 +59,17 @@ public class MetaDataRefresh extends AbstractDataRefresh<MetaData> {
         }.getType());
     }
 
+    @Override
+    protected ConfigDelta<MetaData> fromDeltaJson(final JsonObject data) {
+        return GsonUtils.getGson().fromJson(data, new TypeToken<ConfigDelta<MetaData>>() {
+        }.getType());
+    }
+
+    @Override
+    protected String keyOf(final MetaData data) {
+        return data.getId();
+    }
+
     @Override
     protected boolean updateCacheIfNeed(final ConfigData<MetaData> result) {
         return updateCacheIfNeed(result, ConfigGroupEnum.META_DATA);
@@ -75,4 +89,13 @@ public class MetaDataRefresh extends AbstractDataRefresh<MetaData> {
             data.forEach(metaData -> metaDataSubscribers.forEach(subscriber -> subscriber.onSubscribe(metaData)));
         }
     }
+
+    @Override
+    protected void refresh(final DataEventTypeEnum eventType, final List<MetaData> data) {
+        if (DataEventTypeEnum.DELETE == eventType) {
+            data.forEach(metaData -> metaDataSubscribers.forEach(subscriber -> subscriber.unSubscribe(metaData)));
+        } else {
+            data.forEach(metaData -> metaDataSubscribers.forEach(subscriber -> subscriber.onSubscribe(metaData)));
+        }
+    }
 }
@@ -21,8 +21,10 @@ import com.google.gson.JsonObject;
 import com.google.gson.reflect.TypeToken;
 import org.apache.commons.collections4.CollectionUtils;
 import org.apache.shenyu.common.dto.ConfigData;
+import org.apache.shenyu.common.dto.ConfigDelta;
 import org.apache.shenyu.common.dto.RuleData;
 import org.apache.shenyu.common.enums.ConfigGroupEnum;
+import org.apache.shenyu.common.enums.DataEventTypeEnum;
 import org.apache.shenyu.common.utils.GsonUtils;
 import org.apache.shenyu.sync.data.api.PluginDataSubscriber;
 import org.slf4j.Logger;
@@ -33,7 +35,7 @@ import java.util.List;
 /**
  * The type Rule data refresh.
  */
-public class RuleDataRefresh extends AbstractDataRefresh<RuleData> {
+public class RuleDataRefresh extends AbstractDeltaDataRefresh<RuleData> {
 
     /**
      * logger.
@@ -43,6 +45,7 @@ public class RuleDataRefresh extends AbstractDataRefresh<RuleData> {
     private final PluginDataSubscriber pluginDataSubscriber;
 
     public RuleDataRefresh(final PluginDataSubscriber pluginDataSubscriber) {
+        super(ConfigGroupEnum.RULE);
         this.pluginDataSubscriber = pluginDataSubscriber;
     }
 
@@ -57,6 +60,17 @@ public class RuleDataRefresh extends AbstractDataRefresh<RuleData> {
         }.getType());
     }
 
+    @Override
+    protected ConfigDelta<RuleData> fromDeltaJson(final JsonObject data) {
+        return GsonUtils.getGson().fromJson(data, new TypeToken<ConfigDelta<RuleData>>() {
+        }.getType());
+    }
+
+    @Override
+    protected String keyOf(final RuleData data) {
+        return data.getId();
+    }
+
     @Override
     protected boolean updateCacheIfNeed(final ConfigData<RuleData> result) {
         return updateCacheIfNeed(result, ConfigGroupEnum.RULE);
@@ -75,7 +89,15 @@ public class RuleDataRefresh extends AbstractDataRefresh<RuleData> {
             pluginDataSubscriber.refreshRuleDataAll();
         } else {
             // update cache for UpstreamCacheManager
-            pluginDataSubscriber.refreshRuleDataAll();
+            pluginDataSubscriber.refreshRuleDataAll(data);
+        }
+    }
+
+    @Override
+    protected void refresh(final DataEventTypeEnum eventType, final List<RuleData> data) {
+        if (DataEventTypeEnum.DELETE == eventType) {
+            data.forEach(pluginDataSubscriber::unRuleSubscribe);
+        } else {
             data.forEach(pluginDataSubscriber::onRuleSubscribe);
         }
     }
@@ -21,8 +21,10 @@ import com.google.gson.JsonObject;
 import com.google.gson.reflect.TypeToken;
 import org.apache.commons.collections4.CollectionUtils;
 import org.apache.shenyu.common.dto.ConfigData;
+import org.apache.shenyu.common.dto.ConfigDelta;
 import org.apache.shenyu.common.dto.SelectorData;
 import org.apache.shenyu.common.enums.ConfigGroupEnum;
+import org.apache.shenyu.common.enums.DataEventTypeEnum;
 import org.apache.shenyu.common.utils.GsonUtils;
 import org.apache.shenyu.sync.data.api.PluginDataSubscriber;
 import org.slf4j.Logger;
@@ -33,7 +35,7 @@ import java.util.List;
 /**
  * The type Selector data refresh.
  */
-public class SelectorDataRefresh extends AbstractDataRefresh<SelectorData> {
+public class SelectorDataRefresh extends AbstractDeltaDataRefresh<SelectorData> {
 
     /**
      * logger.
@@ -43,6 +45,7 @@ public class SelectorDataRefresh extends AbstractDataRefresh<SelectorData> {
     private final PluginDataSubscriber pluginDataSubscriber;
 
     public SelectorDataRefresh(final PluginDataSubscriber pluginDataSubscriber) {
+        super(ConfigGroupEnum.SELECTOR);
         this.pluginDataSubscriber = pluginDataSubscriber;
     }
 
@@ -57,6 +60,17 @@ public class SelectorDataRefresh extends AbstractDataRefresh<SelectorData> {
         }.getType());
     }
 
+    @Override
+    protected ConfigDelta<SelectorData> fromDeltaJson(final JsonObject data) {
+        return GsonUtils.getGson().fromJson(data, new TypeToken<ConfigDelta<SelectorData>>() {
+        }.getType());
+    }
+
+    @Override
+    protected String keyOf(final SelectorData data) {
+        return data.getId();
+    }
+
     @Override
     protected boolean updateCacheIfNeed(final ConfigData<SelectorData> result) {
         return updateCacheIfNeed(result, ConfigGroupEnum.SELECTOR);
@@ -75,7 +89,15 @@ public class SelectorDataRefresh extends AbstractDataRefresh<SelectorData> {
             pluginDataSubscriber.refreshSelectorDataAll();
         } else {
             // update cache for UpstreamCacheManager
-            pluginDataSubscriber.refreshSelectorDataAll();
+            pluginDataSubscriber.refreshSelectorDataAll(data);
+        }
+    }
+
+    @Override
+    protected void refresh(final DataEventTypeEnum eventType, final List<SelectorData> data) {
+        if (DataEventTypeEnum.DELETE == eventType) {
+            data.forEach(pluginDataSubscriber::unSelectorSubscribe);
+        } else {
             data.forEach(pluginDataSubscriber::onSelectorSubscribe);
         }
     }
@@ -25,6 +25,7 @@ import org.apache.shenyu.common.dto.ConfigData;
 import org.apache.shenyu.common.dto.PluginData;
 import org.apache.shenyu.common.enums.ConfigGroupEnum;
 import org.apache.shenyu.common.exception.CommonErrorCode;
+import org.apache.shenyu.common.utils.DigestUtils;
 import org.apache.shenyu.common.utils.GsonUtils;
 import org.apache.shenyu.sync.data.api.AuthDataSubscriber;
 import org.apache.shenyu.sync.data.api.MetaDataSubscriber;
@@ -36,6 +37,7 @@ import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -45,6 +47,8 @@ import okhttp3.OkHttpClient;
 import wiremock.org.apache.hc.core5.http.ContentType;
 import wiremock.org.apache.hc.core5.http.HttpHeaders;
 
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.time.Duration;
 import java.util.Collections;
 import java.util.HashMap;
@@ -161,6 +165,31 @@ public final class HttpSyncDataServiceTest {
         verify(authDataSubscriber, atLeastOnce()).refresh();
     }
 
+    @Test
+    public void testStartWithSnapshot(@TempDir final Path tempDir) {
+        httpSyncDataService.close();
+        HttpConfig httpConfig = new HttpConfig();
+        httpConfig.setUrl(this.getMockServerUrl());
+        httpConfig.setPassword("123456");
+        httpConfig.setUsername("admin");
+        httpConfig.setSnapshotPath(tempDir.resolve("config.snapshot").toString());
+        AccessTokenManager accessTokenManager = new AccessTokenManager(new OkHttpClient(), httpConfig);
+        this.httpSyncDataService = new HttpSyncDataService(httpConfig, pluginDataSubscriber, new OkHttpClient(),
+                Collections.singletonList(metaDataSubscriber), Collections.singletonList(authDataSubscriber), Collections.singletonList(proxySelectorDataSubscriber),
+                Collections.singletonList(discoveryUpstreamDataSubscriber), accessTokenManager, shenyuConfig);
+        httpSyncDataService.close();
+        // the snapshot is keyed by the namespace and the admin servers.
+        String snapshotKey = DigestUtils.md5Hex(shenyuConfig.getNamespace() + "@" + this.getMockServerUrl()).substring(0, 16);
+        assertTrue(Files.exists(tempDir.resolve("config.snapshot-" + snapshotKey)));
+        // the admin is down, start with the snapshot.
+        wireMockServer.stubFor(get(urlPathEqualTo("/configs/fetch")).willReturn(aResponse().withStatus(500)));
+        this.httpSyncDataService = new HttpSyncDataService(httpConfig, pluginDataSubscriber, new OkHttpClient(),
+                Collections.singletonList(metaDataSubscriber), Collections.singletonList(authDataSubscriber), Collections.singletonList(proxySelectorDataSubscriber),
+                Collections.singletonList(discoveryUpstreamDataSubscriber), accessTokenManager, shenyuConfig);
+        AtomicBoolean running = (AtomicBoolean) ReflectionTestUtils.getField(httpSyncDataService, "RUNNING");
+        assertTrue(Objects.requireNonNull(running).get());
+    }
+
     private String getMockServerUrl() {
         return "http://127.0.0.1:" + wireMockServer.port();
     }
@@ -190,6 +219,8 @@ public final class HttpSyncDataServiceTest {
         data.put(ConfigGroupEnum.APP_AUTH.name(), emptyData);
         data.put(ConfigGroupEnum.SELECTOR.name(), emptyData);
         data.put(ConfigGroupEnum.RULE.name(), emptyData);
+        data.put(ConfigGroupEnum.PROXY_SELECTOR.name(), emptyData);
+        data.put(ConfigGroupEnum.DISCOVER_UPSTREAM.name(), emptyData);
         Map<String, Object> response = new HashMap<>();
         response.put("data", data);
         response.put("code", 200);
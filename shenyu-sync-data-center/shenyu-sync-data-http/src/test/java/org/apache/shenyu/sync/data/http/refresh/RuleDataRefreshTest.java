@@ -19,19 +19,24 @@ package org.apache.shenyu.sync.data.http.refresh;
 
 import com.google.gson.JsonObject;
 import org.apache.shenyu.common.dto.ConfigData;
+import org.apache.shenyu.common.dto.ConfigDelta;
 import org.apache.shenyu.common.dto.PluginData;
 import org.apache.shenyu.common.dto.RuleData;
 import org.apache.shenyu.common.enums.ConfigGroupEnum;
+import org.apache.shenyu.common.enums.DataEventTypeEnum;
 import org.apache.shenyu.common.utils.GsonUtils;
 import org.apache.shenyu.sync.data.api.PluginDataSubscriber;
 import org.junit.jupiter.api.Test;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
 
 import static org.hamcrest.CoreMatchers.is;
 import static org.hamcrest.MatcherAssert.assertThat;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 public final class RuleDataRefreshTest {
 
@@ -78,4 +83,38 @@ public final class RuleDataRefreshTest {
         ruleDataList.add(ruleData);
         ruleDataRefresh.refresh(ruleDataList);
     }
+
+    @Test
+    public void testApplyDelta() {
+        final List<RuleData> subscribed = new ArrayList<>();
+        final List<RuleData> unsubscribed = new ArrayList<>();
+        final RuleDataRefresh ruleDataRefresh = new RuleDataRefresh(new PluginDataSubscriber() {
+            @Override
+            public void onRuleSubscribe(final RuleData ruleData) {
+                subscribed.add(ruleData);
+            }
+
+            @Override
+            public void unRuleSubscribe(final RuleData ruleData) {
+                unsubscribed.add(ruleData);
+            }
+        });
+        RuleData rule1 = RuleData.builder().id("1").name("rule1").build();
+        RuleData rule2 = RuleData.builder().id("2").name("rule2").build();
+        AbstractDataRefresh.GROUP_CACHE.put(ConfigGroupEnum.RULE, new ConfigData<>("md5-1", 1L, Collections.singletonList(rule1)).setRevision(1L));
+        ConfigDelta<RuleData> delta = new ConfigDelta<RuleData>().setMd5("md5-3").setLastModifyTime(3L).setRevision(3L)
+                .setChanges(Arrays.asList(new ConfigDelta.Change<>(2L, DataEventTypeEnum.CREATE.name(), Collections.singletonList(rule2)),
+                        new ConfigDelta.Change<>(3L, DataEventTypeEnum.DELETE.name(), Collections.singletonList(rule1))));
+        JsonObject jsonObject = new JsonObject();
+        jsonObject.add(ConfigGroupEnum.RULE.name(), GsonUtils.getGson().toJsonTree(delta));
+        assertTrue(ruleDataRefresh.applyDelta(jsonObject));
+        ConfigData<?> cached = ruleDataRefresh.cacheConfigData();
+        assertThat(cached.getRevision(), is(3L));
+        assertThat(cached.getMd5(), is("md5-3"));
+        assertThat(((RuleData) cached.getData().get(0)).getId(), is("2"));
+        assertThat(subscribed.get(0).getId(), is("2"));
+        assertThat(unsubscribed.get(0).getId(), is("1"));
+        // the changes do not start from the cached revision.
+        assertFalse(ruleDataRefresh.applyDelta(jsonObject));
+    }
 }
@@ -23,8 +23,10 @@ import org.apache.shenyu.common.config.ShenyuConfig;
 import org.apache.shenyu.common.constant.Constants;
 import org.apache.shenyu.common.dto.PluginData;
 import org.apache.shenyu.common.enums.PluginHandlerEventEnum;
+import org.apache.shenyu.common.enums.RpcTypeEnum;
 import org.apache.shenyu.plugin.api.ShenyuPlugin;
 import org.apache.shenyu.plugin.api.ShenyuPluginChain;
+import org.apache.shenyu.plugin.api.context.ShenyuContext;
 import org.apache.shenyu.plugin.base.cache.BaseDataCache;
 import org.apache.shenyu.plugin.base.cache.PluginHandlerEvent;
 import org.apache.shenyu.web.loader.ShenyuLoaderService;
@@ -34,12 +36,15 @@ import org.springframework.context.ApplicationListener;
 import org.springframework.lang.NonNull;
 import org.springframework.web.server.ServerWebExchange;
 import org.springframework.web.server.WebHandler;
+import reactor.core.CoreSubscriber;
 import reactor.core.publisher.Mono;
+import reactor.core.publisher.Operators;
 import reactor.core.scheduler.Scheduler;
 import reactor.core.scheduler.Schedulers;
 
 import java.util.ArrayList;
 import java.util.Comparator;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
@@ -58,6 +63,11 @@ public final class ShenyuWebHandler implements WebHandler, ApplicationListener<P
      */
     private volatile List<ShenyuPlugin> plugins;
 
+    /**
+     * plugins compiled from {@link #plugins}, it is rebuilt only when the plugin set changes.
+     */
+    private volatile CompiledPlugins compiledPlugins;
+
     /**
      * source plugins, these plugins load from ShenyuPlugin, this filed can't change.
      */
@@ -78,7 +88,7 @@ public final class ShenyuWebHandler implements WebHandler, ApplicationListener<P
      */
     public ShenyuWebHandler(final List<ShenyuPlugin> plugins, final ShenyuLoaderService shenyuLoaderService, final ShenyuConfig shenyuConfig) {
         this.sourcePlugins = new ArrayList<>(plugins);
-        this.plugins = new ArrayList<>(plugins);
+        this.updatePlugins(new ArrayList<>(plugins));
         this.shenyuLoaderService = shenyuLoaderService;
         ShenyuConfig.Scheduler config = shenyuConfig.getScheduler();
         this.scheduled = config.getEnabled();
@@ -123,7 +133,7 @@ public final class ShenyuWebHandler implements WebHandler, ApplicationListener<P
     public Mono<Void> handle(@NonNull final ServerWebExchange exchange) {
         try {
             before(exchange);
-            Mono<Void> execute = new DefaultShenyuPluginChain(plugins).execute(exchange);
+            Mono<Void> execute = new DefaultShenyuPluginChain(compiledPlugins, exchange);
             if (scheduled) {
                 return execute.subscribeOn(scheduler);
             }
@@ -187,7 +197,7 @@ public final class ShenyuWebHandler implements WebHandler, ApplicationListener<P
                 }
             }
         }
-        plugins = sortPlugins(newPluginList);
+        updatePlugins(sortPlugins(newPluginList));
     }
 
     /**
@@ -210,7 +220,7 @@ public final class ShenyuWebHandler implements WebHandler, ApplicationListener<P
                 break;
             case SORTED:
                 // copy a new one, or there will be concurrency problems
-                this.plugins = sortPlugins(new ArrayList<>(this.plugins));
+                updatePlugins(sortPlugins(new ArrayList<>(this.plugins)));
                 break;
             default:
                 throw new IllegalStateException("Unexpected value: " + event.getPluginStateEnums());
@@ -249,7 +259,7 @@ public final class ShenyuWebHandler implements WebHandler, ApplicationListener<P
         // copy a new plugin list.
         List<ShenyuPlugin> newPluginList = new ArrayList<>(this.plugins);
         newPluginList.addAll(enabledPlugins);
-        this.plugins = sortPlugins(newPluginList);
+        updatePlugins(sortPlugins(newPluginList));
     }
 
     /**
@@ -261,22 +271,107 @@ public final class ShenyuWebHandler implements WebHandler, ApplicationListener<P
         // copy a new plugin list.
         List<ShenyuPlugin> newPluginList = new ArrayList<>(this.plugins);
         newPluginList.removeIf(plugin -> plugin.named().equals(pluginData.getName()));
+        updatePlugins(newPluginList);
+    }
+
+    /**
+     * publish the new plugin list and compile the chain for it.
+     *
+     * @param newPluginList new plugin list
+     */
+    private void updatePlugins(final List<ShenyuPlugin> newPluginList) {
+        this.compiledPlugins = CompiledPlugins.compile(newPluginList);
         this.plugins = newPluginList;
     }
 
-    private static class DefaultShenyuPluginChain implements ShenyuPluginChain {
+    /**
+     * The immutable compiled plugins, the request only walks the arrays.
+     */
+    private static final class CompiledPlugins {
+
+        private static final boolean[] NONE_SKIPPED = new boolean[0];
+
+        private final ShenyuPlugin[] plugins;
+
+        /**
+         * rpc type name -> static skip flags aligned with {@link #plugins}.
+         */
+        private final Map<String, boolean[]> rpcTypeSkips;
+
+        private CompiledPlugins(final ShenyuPlugin[] plugins, final Map<String, boolean[]> rpcTypeSkips) {
+            this.plugins = plugins;
+            this.rpcTypeSkips = rpcTypeSkips;
+        }
+
+        /**
+         * compile the plugins, drop the plugins disabled in {@link BaseDataCache}
+         * and precompute which plugins are always skipped for each rpc type.
+         *
+         * @param pluginList the sorted plugins
+         * @return the compiled plugins
+         */
+        static CompiledPlugins compile(final List<ShenyuPlugin> pluginList) {
+            final ShenyuPlugin[] plugins = pluginList.stream()
+                    .filter(plugin -> {
+                        PluginData pluginData = BaseDataCache.getInstance().obtainPluginData(plugin.named());
+                        return Objects.isNull(pluginData) || !Boolean.FALSE.equals(pluginData.getEnabled());
+                    })
+                    .toArray(ShenyuPlugin[]::new);
+            final Map<String, boolean[]> rpcTypeSkips = new HashMap<>();
+            for (RpcTypeEnum rpcType : RpcTypeEnum.values()) {
+                boolean[] skips = new boolean[plugins.length];
+                boolean anySkipped = false;
+                for (int i = 0; i < plugins.length; i++) {
+                    List<RpcTypeEnum> supported = plugins[i].supportedRpcTypes();
+                    skips[i] = CollectionUtils.isNotEmpty(supported) && !supported.contains(rpcType);
+                    anySkipped |= skips[i];
+                }
+                if (anySkipped) {
+                    rpcTypeSkips.put(rpcType.getName(), skips);
+                }
+            }
+            return new CompiledPlugins(plugins, rpcTypeSkips);
+        }
+
+        /**
+         * obtain the static skip flags of the rpc type.
+         *
+         * @param rpcType rpc type
+         * @return the skip flags, empty if nothing is skipped
+         */
+        boolean[] obtainSkips(final String rpcType) {
+            if (Objects.isNull(rpcType)) {
+                return NONE_SKIPPED;
+            }
+            return rpcTypeSkips.getOrDefault(rpcType, NONE_SKIPPED);
+        }
+    }
+
+    /**
+     * The per request plugin chain, it is its own deferred {@link Mono},
+     * so walking the compiled plugins allocates neither lambdas nor lists.
+     */
+    private static final class DefaultShenyuPluginChain extends Mono<Void> implements ShenyuPluginChain {
+
+        private final CompiledPlugins compiledPlugins;
+
+        private final ServerWebExchange exchange;
+
+        private boolean[] skips;
+
+        private String skipsRpcType;
 
         private int index;
 
-        private final List<ShenyuPlugin> plugins;
-    
         /**
          * Instantiates a new Default shenyu plugin chain.
          *
-         * @param plugins the plugins
+         * @param compiledPlugins the compiled plugins
+         * @param exchange the current server exchange
          */
-        DefaultShenyuPluginChain(final List<ShenyuPlugin> plugins) {
-            this.plugins = plugins;
+        DefaultShenyuPluginChain(final CompiledPlugins compiledPlugins, final ServerWebExchange exchange) {
+            this.compiledPlugins = compiledPlugins;
+            this.exchange = exchange;
         }
 
         /**
@@ -287,22 +382,55 @@ public final class ShenyuWebHandler implements WebHandler, ApplicationListener<P
          */
         @Override
         public Mono<Void> execute(final ServerWebExchange exchange) {
-            return Mono.defer(() -> {
-                if (this.index < plugins.size()) {
-                    ShenyuPlugin plugin = plugins.get(this.index++);
-                    boolean skip = plugin.skip(exchange);
-                    if (skip) {
-                        return this.execute(exchange);
-                    }
-                    try {
-                        plugin.before(exchange);
-                        return plugin.execute(exchange, this);
-                    } finally {
-                        plugin.after(exchange);
-                    }
+            if (exchange == this.exchange) {
+                return this;
+            }
+            // the exchange is mutated by the previous plugin, keep it for the rest of the chain.
+            return Mono.defer(() -> next(exchange));
+        }
+
+        @Override
+        public void subscribe(@NonNull final CoreSubscriber<? super Void> actual) {
+            Mono<Void> next;
+            try {
+                next = next(exchange);
+            } catch (Throwable e) {
+                Operators.error(actual, Operators.onOperatorError(e, actual.currentContext()));
+                return;
+            }
+            next.subscribe(actual);
+        }
+
+        private Mono<Void> next(final ServerWebExchange exchange) {
+            final ShenyuPlugin[] plugins = compiledPlugins.plugins;
+            while (this.index < plugins.length) {
+                int current = this.index++;
+                ShenyuPlugin plugin = plugins[current];
+                if (isStaticSkipped(exchange, current) || plugin.skip(exchange)) {
+                    continue;
+                }
+                try {
+                    plugin.before(exchange);
+                    return plugin.execute(exchange, this);
+                } finally {
+                    plugin.after(exchange);
                 }
-                return Mono.empty();
-            });
+            }
+            return Mono.empty();
+        }
+
+        private boolean isStaticSkipped(final ServerWebExchange exchange, final int current) {
+            // the context is created by the global plugin, and some plugins may change the rpc type later.
+            ShenyuContext shenyuContext = exchange.getAttribute(Constants.CONTEXT);
+            if (Objects.isNull(shenyuContext)) {
+                return false;
+            }
+            String rpcType = shenyuContext.getRpcType();
+            if (Objects.isNull(skips) || !Objects.equals(rpcType, skipsRpcType)) {
+                skips = compiledPlugins.obtainSkips(rpcType);
+                skipsRpcType = rpcType;
+            }
+            return current < skips.length && skips[current];
         }
     }
 }
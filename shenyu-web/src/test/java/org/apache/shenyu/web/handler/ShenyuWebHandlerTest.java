@@ -21,6 +21,7 @@ import org.apache.shenyu.common.config.ShenyuConfig;
 import org.apache.shenyu.common.constant.Constants;
 import org.apache.shenyu.common.dto.PluginData;
 import org.apache.shenyu.common.enums.PluginHandlerEventEnum;
+import org.apache.shenyu.common.enums.RpcTypeEnum;
 import org.apache.shenyu.plugin.api.ShenyuPlugin;
 import org.apache.shenyu.plugin.api.ShenyuPluginChain;
 import org.apache.shenyu.plugin.api.context.ShenyuContext;
@@ -47,7 +48,12 @@ import java.util.List;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.verify;
 
 /**
  * test for ShenyuWebHandler.
@@ -87,6 +93,31 @@ public final class ShenyuWebHandlerTest {
 
     }
 
+    @Test
+    public void handleWithCompiledChain() {
+        final ServerWebExchange exchange = MockServerWebExchange.from(MockServerHttpRequest.get("localhost")
+                .remoteAddress(new InetSocketAddress(8090))
+                .build());
+        ShenyuContext shenyuContext = new ShenyuContext();
+        shenyuContext.setRpcType(RpcTypeEnum.DUBBO.getName());
+        exchange.getAttributes().put(Constants.CONTEXT, shenyuContext);
+        ShenyuPlugin httpPlugin = spy(new TestHttpPlugin());
+        ShenyuPlugin disabledPlugin = spy(new TestPlugin3());
+        BaseDataCache.getInstance().cachePluginData(PluginData.builder().name("test-plugin3").enabled(false).build());
+        List<ShenyuPlugin> compiledPlugins = new ArrayList<>(listPlugins);
+        compiledPlugins.add(httpPlugin);
+        compiledPlugins.add(disabledPlugin);
+        ShenyuWebHandler handler = new ShenyuWebHandler(compiledPlugins, shenyuLoaderService, new ShenyuConfig());
+        StepVerifier.create(handler.handle(exchange)).expectSubscription().verifyComplete();
+        verify(httpPlugin, never()).skip(exchange);
+        verify(disabledPlugin, never()).skip(exchange);
+
+        shenyuContext.setRpcType(RpcTypeEnum.HTTP.getName());
+        StepVerifier.create(handler.handle(exchange)).expectSubscription().verifyComplete();
+        verify(httpPlugin).execute(eq(exchange), any());
+        BaseDataCache.getInstance().removePluginDataByPluginName("test-plugin3");
+    }
+
     @Test
     public void putExtPlugins() {
         shenyuWebHandler.putExtPlugins(Collections.emptyList());
@@ -199,6 +230,34 @@ public final class ShenyuWebHandlerTest {
         }
     }
 
+    static class TestHttpPlugin implements ShenyuPlugin {
+
+        @Override
+        public Mono<Void> execute(final ServerWebExchange exchange, final ShenyuPluginChain chain) {
+            return chain.execute(exchange);
+        }
+
+        @Override
+        public int getOrder() {
+            return 4;
+        }
+
+        @Override
+        public String named() {
+            return "test-http-plugin";
+        }
+
+        @Override
+        public boolean skip(final ServerWebExchange exchange) {
+            return skipExcept(exchange, RpcTypeEnum.HTTP);
+        }
+
+        @Override
+        public List<RpcTypeEnum> supportedRpcTypes() {
+            return Collections.singletonList(RpcTypeEnum.HTTP);
+        }
+    }
+
     static class TestPlugin3 implements ShenyuPlugin {
 
         @Override